@@ -0,0 +1,67 @@
+package net.miPrimerCRUD.app.CRUD.benchmarks;
+
+import net.miPrimerCRUD.app.CRUD.entities.Product;
+import net.miPrimerCRUD.app.CRUD.entities.User;
+import net.miPrimerCRUD.app.CRUD.repositories.ProductRepository;
+import net.miPrimerCRUD.app.CRUD.repositories.UserRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+// Repositorios en memoria para los benchmarks: sin base de datos ni contexto de Spring.
+// Solo implementan las consultas que usan los caminos medidos; el resto lanza UnsupportedOperationException.
+final class InMemoryRepositories {
+
+    private final Map<Long, Product> products = new HashMap<>();
+    private final Map<Long, User> usersById = new HashMap<>();
+    private final Map<String, User> usersByEmail = new HashMap<>();
+
+    void addUser(User user) {
+        usersById.put(user.getId(), user);
+        usersByEmail.put(user.getEmail(), user);
+    }
+
+    void addProduct(Product product) {
+        products.put(product.getId(), product);
+    }
+
+    ProductRepository productRepository() {
+        return proxy(ProductRepository.class, (name, args) -> switch (name) {
+            case "findById" -> Optional.ofNullable(products.get((Long) args[0]));
+            case "save" -> {
+                Product product = (Product) args[0];
+                products.put(product.getId(), product);
+                yield product;
+            }
+            default -> throw new UnsupportedOperationException(name);
+        });
+    }
+
+    UserRepository userRepository() {
+        return proxy(UserRepository.class, (name, args) -> switch (name) {
+            case "findById" -> Optional.ofNullable(usersById.get((Long) args[0]));
+            case "findByEmail" -> Optional.ofNullable(usersByEmail.get((String) args[0]));
+            default -> throw new UnsupportedOperationException(name);
+        });
+    }
+
+    private interface Handler {
+        Object invoke(String method, Object[] args);
+    }
+
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> self == args[0];
+                    case "hashCode" -> System.identityHashCode(self);
+                    default -> "InMemory" + type.getSimpleName();
+                };
+            }
+            return handler.invoke(method.getName(), args);
+        });
+        return type.cast(proxy);
+    }
+}
@@ -0,0 +1,56 @@
+package net.miPrimerCRUD.app.CRUD.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.miPrimerCRUD.app.CRUD.DTO.ProductDTO;
+import net.miPrimerCRUD.app.CRUD.export.NdjsonWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización JSON de listas de ProductDTO: array completo en memoria (respuesta de GET /api/products)
+ * frente a NDJSON en streaming (exportación).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JsonSerializationBenchmark {
+
+    @Param({"100", "10000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<ProductDTO> products;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Misma configuración base que el ObjectMapper de Spring Boot
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        products = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            products.add(new ProductDTO(id, "Producto " + id, id * 1.5, id % 100, "Usuario " + (id % 100)));
+        }
+    }
+
+    @Benchmark
+    public byte[] jsonArray() throws IOException {
+        return objectMapper.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public void ndjsonStream() throws IOException {
+        try (NdjsonWriter writer = new NdjsonWriter(objectMapper, OutputStream.nullOutputStream())) {
+            for (ProductDTO product : products) {
+                writer.write(product);
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package net.miPrimerCRUD.app.CRUD.benchmarks;
+
+import net.miPrimerCRUD.app.CRUD.DTO.ProductDTO;
+import net.miPrimerCRUD.app.CRUD.DTO.UserDTO;
+import net.miPrimerCRUD.app.CRUD.entities.Product;
+import net.miPrimerCRUD.app.CRUD.entities.User;
+import net.miPrimerCRUD.app.CRUD.mapper.ProductMapper;
+import net.miPrimerCRUD.app.CRUD.mapper.UserMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Conversión entidad -> DTO, por elemento y para una página completa
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MapperBenchmark {
+
+    @Param({"50", "500"})
+    private int pageSize;
+
+    private User user;
+    private Product product;
+    private List<Product> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        user = new User();
+        user.setId(1L);
+        user.setName("Owner");
+        user.setEmail("owner@email.com");
+        user.setPassword("x");
+        user.setRole("USER");
+
+        product = new Product(user, 99.99, "Producto", 1L);
+        page = new ArrayList<>(pageSize);
+        for (long id = 1; id <= pageSize; id++) {
+            page.add(new Product(user, id * 1.5, "Producto " + id, id));
+        }
+    }
+
+    @Benchmark
+    public ProductDTO productToDTO() {
+        return ProductMapper.toDTO(product);
+    }
+
+    @Benchmark
+    public UserDTO userToDTO() {
+        return UserMapper.toDTO(user);
+    }
+
+    @Benchmark
+    public List<ProductDTO> productPageToDTO() {
+        return page.stream().map(ProductMapper::toDTO).collect(Collectors.toList());
+    }
+}
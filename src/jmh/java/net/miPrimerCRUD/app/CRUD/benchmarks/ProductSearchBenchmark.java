@@ -0,0 +1,157 @@
+package net.miPrimerCRUD.app.CRUD.benchmarks;
+
+import net.miPrimerCRUD.app.CRUD.CrudApplication;
+import net.miPrimerCRUD.app.CRUD.DTO.ProductDTO;
+import net.miPrimerCRUD.app.CRUD.repositories.ProductRepository;
+import net.miPrimerCRUD.app.CRUD.search.ProductSearchCriteria;
+import net.miPrimerCRUD.app.CRUD.search.ProductSearchCursor;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas de GET /api/products/search sobre un catálogo grande en H2, con los índices que genera Hibernate
+ * a partir de Product (indexes=true) y sin ellos (indexes=false). Con índices, el prefijo de nombre, el rango de precio
+ * y la página de un dueño no dependen del tamaño de la tabla; "contains" no puede usar ningún índice en ningún caso.
+ * Al arrancar se imprime el plan de ejecución de cada consulta.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductSearchBenchmark {
+
+    private static final String[] WORDS = {"Teclado", "Ratón", "Monitor", "Cable", "Altavoz", "Funda", "Cargador", "Lámpara"};
+    private static final int USERS = 1_000;
+    private static final int LIMIT = 50;
+    // Cada llamada usa otros valores: H2 reutiliza el resultado si la consulta y sus parámetros se repiten
+    private static final int VARIANTS = 256;
+
+    @Param({"200000"})
+    private int catalog;
+
+    @Param({"true", "false"})
+    private boolean indexes;
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository repository;
+
+    private final ProductSearchCriteria[] namePrefix = new ProductSearchCriteria[VARIANTS];
+    private final ProductSearchCriteria[] nameContains = new ProductSearchCriteria[VARIANTS];
+    private final ProductSearchCriteria[] priceRange = new ProductSearchCriteria[VARIANTS];
+    private final ProductSearchCriteria[] ownerPage = new ProductSearchCriteria[VARIANTS];
+    private ProductSearchCursor.Position ownerAfter;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(CrudApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:search-benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=ERROR")
+                .run();
+        repository = context.getBean(ProductRepository.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        seed(jdbcTemplate);
+        if (!indexes) {
+            dropSearchIndexes(jdbcTemplate);
+        }
+        jdbcTemplate.execute("ANALYZE");
+
+        for (int i = 0; i < VARIANTS; i++) {
+            String word = WORDS[i % WORDS.length];
+            String digits = String.valueOf(1000 + i * 31);
+            namePrefix[i] = ProductSearchCriteria.of(word + " " + digits, "prefix", null, null, null, "name", "asc");
+            nameContains[i] = ProductSearchCriteria.of(digits, "contains", null, null, null, "name", "asc");
+            priceRange[i] = ProductSearchCriteria.of(null, null, i * 3.0, i * 3.0 + 5, null, "price", "asc");
+            ownerPage[i] = ProductSearchCriteria.of(null, null, null, null, 1L + i * 3, "id", "asc");
+        }
+        ownerAfter = new ProductSearchCursor.Position(catalog / 2L, catalog / 2L);
+
+        printPlan(jdbcTemplate, "namePrefix", "SELECT id FROM products WHERE name LIKE 'Monitor 1234%' ORDER BY name, id LIMIT 51");
+        printPlan(jdbcTemplate, "nameContains", "SELECT id FROM products WHERE name LIKE '%1234%' ORDER BY name, id LIMIT 51");
+        printPlan(jdbcTemplate, "priceRange", "SELECT id FROM products WHERE price BETWEEN 500 AND 505 ORDER BY price, id LIMIT 51");
+        printPlan(jdbcTemplate, "ownerPage", "SELECT id FROM products WHERE user_id = 42 AND id > " + catalog / 2 + " ORDER BY id LIMIT 51");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ProductDTO> namePrefix() {
+        return repository.search(namePrefix[nextVariant()], null, LIMIT + 1);
+    }
+
+    @Benchmark
+    public List<ProductDTO> nameContains() {
+        return repository.search(nameContains[nextVariant()], null, LIMIT + 1);
+    }
+
+    @Benchmark
+    public List<ProductDTO> priceRange() {
+        return repository.search(priceRange[nextVariant()], null, LIMIT + 1);
+    }
+
+    @Benchmark
+    public List<ProductDTO> ownerPage() {
+        return repository.search(ownerPage[nextVariant()], ownerAfter, LIMIT + 1);
+    }
+
+    private int nextVariant() {
+        next = (next + 1) % VARIANTS;
+        return next;
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        List<Object[]> users = new ArrayList<>();
+        for (long id = 1; id <= USERS; id++) {
+            users.add(new Object[]{id, "Usuario " + id, "user" + id + "@email.com", "x", "USER"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, name, email, password, role, version) VALUES (?, ?, ?, ?, ?, 0)", users);
+
+        List<Object[]> batch = new ArrayList<>();
+        for (long id = 1; id <= catalog; id++) {
+            String name = WORDS[(int) (id % WORDS.length)] + " " + id;
+            // Precios repartidos entre 0 y 1000 con dos decimales
+            double price = (id * 7919 % 100_000) / 100.0;
+            batch.add(new Object[]{id, name, price, 1 + id % USERS});
+            if (batch.size() == 5_000) {
+                jdbcTemplate.batchUpdate("INSERT INTO products (id, name, price, user_id, version) VALUES (?, ?, ?, ?, 0)", batch);
+                batch.clear();
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO products (id, name, price, user_id, version) VALUES (?, ?, ?, ?, 0)", batch);
+    }
+
+    // La clave foránea reutiliza idx_products_user_id_id: se quita antes para poder borrar el índice
+    private void dropSearchIndexes(JdbcTemplate jdbcTemplate) {
+        List<String> foreignKeys = jdbcTemplate.queryForList(
+                "SELECT constraint_name FROM information_schema.table_constraints "
+                        + "WHERE table_name = 'products' AND constraint_type = 'FOREIGN KEY'", String.class);
+        for (String foreignKey : foreignKeys) {
+            jdbcTemplate.execute("ALTER TABLE products DROP CONSTRAINT " + foreignKey);
+        }
+        for (String index : List.of("idx_products_name", "idx_products_price", "idx_products_user_id_id")) {
+            jdbcTemplate.execute("DROP INDEX IF EXISTS " + index);
+        }
+    }
+
+    private void printPlan(JdbcTemplate jdbcTemplate, String benchmark, String sql) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+        System.out.printf("%n[indexes=%s] %s:%n%s%n", indexes, benchmark, plan);
+    }
+}
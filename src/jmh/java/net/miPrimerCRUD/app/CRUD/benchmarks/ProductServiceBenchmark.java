@@ -0,0 +1,76 @@
+package net.miPrimerCRUD.app.CRUD.benchmarks;
+
+import net.miPrimerCRUD.app.CRUD.entities.Product;
+import net.miPrimerCRUD.app.CRUD.entities.User;
+import net.miPrimerCRUD.app.CRUD.security.AuthenticatedUser;
+import net.miPrimerCRUD.app.CRUD.services.ProductServiceManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lectura de un producto con validación de propiedad (ProductServiceManager.findById).
+ * "principal": el usuario ya viene resuelto en el principal; "username": solo hay email y se busca el usuario.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ProductServiceBenchmark {
+
+    private static final int PRODUCTS = 1_000;
+
+    @Param({"principal", "username"})
+    private String authentication;
+
+    @Param({"USER", "ADMIN"})
+    private String role;
+
+    private ProductServiceManager productService;
+    private long nextId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemoryRepositories repositories = new InMemoryRepositories();
+        User owner = user(1L, "owner@email.com", role);
+        repositories.addUser(owner);
+        for (long id = 1; id <= PRODUCTS; id++) {
+            repositories.addProduct(new Product(owner, 10.0, "Producto " + id, id));
+        }
+
+        productService = new ProductServiceManager();
+        ReflectionTestUtils.setField(productService, "repository", repositories.productRepository());
+        ReflectionTestUtils.setField(productService, "userRepository", repositories.userRepository());
+
+        AuthenticatedUser principal = AuthenticatedUser.from(owner);
+        Object authPrincipal = "principal".equals(authentication) ? principal : owner.getEmail();
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(authPrincipal, null, principal.getAuthorities()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public Product findById() {
+        nextId = nextId % PRODUCTS + 1;
+        return productService.findById(nextId);
+    }
+
+    private static User user(Long id, String email, String role) {
+        User user = new User();
+        user.setId(id);
+        user.setName("Owner");
+        user.setEmail(email);
+        user.setPassword("x");
+        user.setRole(role);
+        return user;
+    }
+}
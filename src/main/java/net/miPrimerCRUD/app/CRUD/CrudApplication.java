@@ -1,12 +1,28 @@
 package net.miPrimerCRUD.app.CRUD;
 
+import net.miPrimerCRUD.app.CRUD.reactive.ReactiveCrudApplication;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.data.r2dbc.R2dbcDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.r2dbc.R2dbcRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
 
-@SpringBootApplication
+// R2DBC solo lo usa la variante reactiva; aquí su gestor de transacciones desplazaría al de JPA
+@SpringBootApplication(exclude = {
+		R2dbcAutoConfiguration.class,
+		R2dbcDataAutoConfiguration.class,
+		R2dbcRepositoriesAutoConfiguration.class,
+		R2dbcTransactionManagerAutoConfiguration.class
+})
 public class CrudApplication {
 
 	public static void main(String[] args) {
+		// Con el perfil "reactive" arranca la variante WebFlux + R2DBC
+		if (ReactiveCrudApplication.isSelected(args)) {
+			ReactiveCrudApplication.main(args);
+			return;
+		}
 		SpringApplication.run(CrudApplication.class, args);
 	}
 
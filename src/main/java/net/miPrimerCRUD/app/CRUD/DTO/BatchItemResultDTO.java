@@ -0,0 +1,33 @@
+package net.miPrimerCRUD.app.CRUD.DTO;
+
+// Resultado de un elemento de una operación por lotes: status es el código HTTP que tendría la petición individual
+public class BatchItemResultDTO {
+    private int index;
+    private int status;
+    private Long id;
+    private ProductDTO product;
+    private String error;
+
+    // Constructores
+    public BatchItemResultDTO() {}
+
+    public BatchItemResultDTO(int index, int status, Long id, ProductDTO product, String error) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.product = product;
+        this.error = error;
+    }
+
+    // Getters y Setters
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+    public int getStatus() { return status; }
+    public void setStatus(int status) { this.status = status; }
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public ProductDTO getProduct() { return product; }
+    public void setProduct(ProductDTO product) { this.product = product; }
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
@@ -0,0 +1,30 @@
+package net.miPrimerCRUD.app.CRUD.DTO;
+
+import java.util.List;
+
+public class BatchResultDTO {
+    private int total;
+    private int succeeded;
+    private int failed;
+    private List<BatchItemResultDTO> results;
+
+    // Constructores
+    public BatchResultDTO() {}
+
+    public BatchResultDTO(List<BatchItemResultDTO> results) {
+        this.results = results;
+        this.total = results.size();
+        this.failed = (int) results.stream().filter(result -> result.getError() != null).count();
+        this.succeeded = total - failed;
+    }
+
+    // Getters y Setters
+    public int getTotal() { return total; }
+    public void setTotal(int total) { this.total = total; }
+    public int getSucceeded() { return succeeded; }
+    public void setSucceeded(int succeeded) { this.succeeded = succeeded; }
+    public int getFailed() { return failed; }
+    public void setFailed(int failed) { this.failed = failed; }
+    public List<BatchItemResultDTO> getResults() { return results; }
+    public void setResults(List<BatchItemResultDTO> results) { this.results = results; }
+}
@@ -0,0 +1,57 @@
+package net.miPrimerCRUD.app.CRUD.DTO;
+
+import net.miPrimerCRUD.app.CRUD.jobs.Job;
+import net.miPrimerCRUD.app.CRUD.jobs.JobStatus;
+
+import java.time.Instant;
+
+// Estado de un trabajo en segundo plano; result es el mismo cuerpo que devolvería el endpoint síncrono
+public class JobDTO {
+    private String id;
+    private String type;
+    private JobStatus status;
+    private long processed;
+    private Instant createdAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private Object result;
+    private String error;
+
+    // Constructores
+    public JobDTO() {}
+
+    public static JobDTO from(Job job) {
+        JobDTO dto = new JobDTO();
+        // El estado primero: si ya terminó, el resultado y las fechas que se leen después son los definitivos
+        dto.status = job.getStatus();
+        dto.id = job.getId();
+        dto.type = job.getType();
+        dto.processed = job.getProcessed();
+        dto.createdAt = job.getCreatedAt();
+        dto.startedAt = job.getStartedAt();
+        dto.finishedAt = job.getFinishedAt();
+        dto.result = job.getResult();
+        dto.error = job.getError();
+        return dto;
+    }
+
+    // Getters y Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+    public JobStatus getStatus() { return status; }
+    public void setStatus(JobStatus status) { this.status = status; }
+    public long getProcessed() { return processed; }
+    public void setProcessed(long processed) { this.processed = processed; }
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+    public Instant getStartedAt() { return startedAt; }
+    public void setStartedAt(Instant startedAt) { this.startedAt = startedAt; }
+    public Instant getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(Instant finishedAt) { this.finishedAt = finishedAt; }
+    public Object getResult() { return result; }
+    public void setResult(Object result) { this.result = result; }
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
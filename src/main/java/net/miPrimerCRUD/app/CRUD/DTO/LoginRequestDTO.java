@@ -0,0 +1,26 @@
+package net.miPrimerCRUD.app.CRUD.DTO;
+
+import jakarta.validation.constraints.*;
+
+public class LoginRequestDTO {
+
+    @NotBlank(message = "El email es obligatorio")
+    private String email;
+
+    @NotBlank(message = "La contraseña es obligatoria")
+    private String password;
+
+    // Constructores
+    public LoginRequestDTO() {}
+
+    public LoginRequestDTO(String email, String password) {
+        this.email = email;
+        this.password = password;
+    }
+
+    // Getters y Setters
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+    public String getPassword() { return password; }
+    public void setPassword(String password) { this.password = password; }
+}
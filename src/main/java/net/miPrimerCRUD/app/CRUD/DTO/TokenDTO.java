@@ -0,0 +1,24 @@
+package net.miPrimerCRUD.app.CRUD.DTO;
+
+public class TokenDTO {
+    private String token;
+    private String tokenType;
+    private long expiresIn;
+
+    // Constructores
+    public TokenDTO() {}
+
+    public TokenDTO(String token, String tokenType, long expiresIn) {
+        this.token = token;
+        this.tokenType = tokenType;
+        this.expiresIn = expiresIn;
+    }
+
+    // Getters y Setters
+    public String getToken() { return token; }
+    public void setToken(String token) { this.token = token; }
+    public String getTokenType() { return tokenType; }
+    public void setTokenType(String tokenType) { this.tokenType = tokenType; }
+    public long getExpiresIn() { return expiresIn; }
+    public void setExpiresIn(long expiresIn) { this.expiresIn = expiresIn; }
+}
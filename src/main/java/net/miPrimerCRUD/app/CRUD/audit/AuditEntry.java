@@ -0,0 +1,6 @@
+package net.miPrimerCRUD.app.CRUD.audit;
+
+import java.time.Instant;
+
+// Una fila del registro de auditoría: quién hizo qué sobre qué entidad. details es texto libre (clave=valor)
+public record AuditEntry(Instant timestamp, String actor, String entity, Long entityId, String action, String details) {}
@@ -0,0 +1,48 @@
+package net.miPrimerCRUD.app.CRUD.audit;
+
+import net.miPrimerCRUD.app.CRUD.events.ProductChangedEvent;
+import net.miPrimerCRUD.app.CRUD.events.UserChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+
+/**
+ * Convierte los cambios confirmados de productos y usuarios en entradas de auditoría. Se ejecuta tras el commit,
+ * aún en el hilo de la petición (de ahí sale el autor), y solo encola: la escritura la hace AuditLog en segundo plano.
+ */
+@Component
+public class AuditEventListener {
+
+    static final String ANONYMOUS = "anónimo";
+
+    @Autowired
+    private AuditLog auditLog;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        auditLog.record(new AuditEntry(Instant.now(), currentActor(), "product", event.productId(), event.type().name(),
+                "name=\"" + event.name() + "\" price=" + event.price() + " owner=" + event.ownerId()
+                        + (event.ownerChanged() ? " previousOwner=" + event.previousOwnerId() : "")));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        auditLog.record(new AuditEntry(Instant.now(), currentActor(), "user", event.userId(), event.type().name(),
+                "email=\"" + event.email() + "\" role=" + event.role()));
+    }
+
+    // El registro público de usuarios no tiene autenticación
+    private static String currentActor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return ANONYMOUS;
+        }
+        return authentication.getName();
+    }
+}
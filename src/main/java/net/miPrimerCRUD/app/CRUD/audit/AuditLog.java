@@ -0,0 +1,219 @@
+package net.miPrimerCRUD.app.CRUD.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Registro de auditoría con escritura diferida. record() solo deja la entrada en un AuditRingBuffer acotado (sin
+ * bloqueos ni E/S en la petición); un único hilo escritor la recoge en lotes de hasta batchSize y la entrega al
+ * AuditSink. El escritor despierta cada flushInterval o en cuanto hay un lote completo.
+ *
+ * Si el destino falla, el lote se reintenta hasta maxRetries veces, con esperas que empiezan en retryDelay y se
+ * duplican; mientras tanto el buffer se llena y se aplica la AuditOverflowPolicy. Agotados los reintentos, el lote se
+ * divide por la mitad (sin más esperas) hasta aislar las entradas que el destino rechaza (un campo demasiado largo,
+ * una tabla que no existe...): esas se escriben en el log "audit.dead-letter" y el escritor sigue con las demás.
+ * Métricas: app.audit.buffer.size, app.audit.enqueued, app.audit.dropped, app.audit.blocked (espera de los
+ * productores con BLOCK), app.audit.written, app.audit.write.failures, app.audit.rejected y app.audit.batch.size.
+ */
+public class AuditLog implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLog.class);
+    private static final Logger deadLetter = LoggerFactory.getLogger("audit.dead-letter");
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+    // La espera entre reintentos se duplica hasta 32 veces retryDelay
+    private static final int MAX_BACKOFF_FACTOR = 32;
+
+    private final AuditRingBuffer<AuditEntry> buffer;
+    private final AuditSink sink;
+    private final AuditOverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long retryDelayNanos;
+    private final int maxRetries;
+    private final Duration shutdownTimeout;
+
+    private final Counter enqueued;
+    private final Counter dropped;
+    private final Timer blocked;
+    private final Counter written;
+    private final Counter writeFailures;
+    private final Counter rejected;
+    private final DistributionSummary batchSizes;
+
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public AuditLog(AuditSink sink, int capacity, AuditOverflowPolicy overflowPolicy, Duration blockTimeout,
+                    int batchSize, Duration flushInterval, Duration retryDelay, int maxRetries, Duration shutdownTimeout,
+                    MeterRegistry meterRegistry) {
+        this.buffer = new AuditRingBuffer<>(capacity);
+        this.sink = sink;
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutNanos = blockTimeout.toNanos();
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.retryDelayNanos = retryDelay.toNanos();
+        this.maxRetries = Math.max(0, maxRetries);
+        this.shutdownTimeout = shutdownTimeout;
+
+        Gauge.builder("app.audit.buffer.size", buffer, AuditRingBuffer::size)
+                .description("Entradas de auditoría pendientes de escribir")
+                .register(meterRegistry);
+        Gauge.builder("app.audit.buffer.capacity", buffer, AuditRingBuffer::capacity)
+                .description("Capacidad del buffer de auditoría")
+                .register(meterRegistry);
+        this.enqueued = Counter.builder("app.audit.enqueued")
+                .description("Entradas de auditoría aceptadas en el buffer")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("app.audit.dropped")
+                .description("Entradas de auditoría descartadas con el buffer lleno")
+                .register(meterRegistry);
+        this.blocked = Timer.builder("app.audit.blocked")
+                .description("Espera de las peticiones con el buffer de auditoría lleno (política BLOCK)")
+                .register(meterRegistry);
+        this.written = Counter.builder("app.audit.written")
+                .description("Entradas de auditoría escritas en el destino")
+                .register(meterRegistry);
+        this.writeFailures = Counter.builder("app.audit.write.failures")
+                .description("Escrituras de auditoría que el destino rechazó (reintentos incluidos)")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("app.audit.rejected")
+                .description("Entradas de auditoría que el destino rechazó tras los reintentos (van al log audit.dead-letter)")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("app.audit.batch.size")
+                .description("Entradas por lote escrito")
+                .register(meterRegistry);
+
+        this.writer = new Thread(this::writeLoop, "audit-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    // true si la entrada quedó en el buffer; false si se descartó por la política de desbordamiento
+    public boolean record(AuditEntry entry) {
+        if (offer(entry)) {
+            return true;
+        }
+        if (overflowPolicy == AuditOverflowPolicy.BLOCK && running) {
+            long start = System.nanoTime();
+            long deadline = start + blockTimeoutNanos;
+            while (System.nanoTime() - deadline < 0) {
+                LockSupport.unpark(writer);
+                LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+                if (offer(entry)) {
+                    blocked.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    return true;
+                }
+            }
+            blocked.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        dropped.increment();
+        return false;
+    }
+
+    private boolean offer(AuditEntry entry) {
+        if (!buffer.offer(entry)) {
+            return false;
+        }
+        enqueued.increment();
+        if (buffer.size() >= batchSize) {
+            LockSupport.unpark(writer);
+        }
+        return true;
+    }
+
+    private void writeLoop() {
+        List<AuditEntry> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            buffer.drainTo(batch, batchSize);
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+                continue;
+            }
+            writeWithRetry(batch);
+            batch.clear();
+        }
+    }
+
+    private void writeWithRetry(List<AuditEntry> batch) {
+        long delay = retryDelayNanos;
+        for (int attempt = 0; ; attempt++) {
+            try {
+                write(batch);
+                return;
+            } catch (Exception ex) {
+                writeFailures.increment();
+                if (!running) {
+                    log.error("No se pudieron escribir {} entradas de auditoría al cerrar: {}", batch.size(), ex.toString());
+                    dropped.increment(batch.size());
+                    return;
+                }
+                if (attempt >= maxRetries) {
+                    log.error("Fallo al escribir {} entradas de auditoría tras {} reintentos, se aíslan las que fallan: {}",
+                            batch.size(), maxRetries, ex.toString());
+                    writeOrDeadLetter(batch, ex);
+                    return;
+                }
+                log.warn("Fallo al escribir {} entradas de auditoría, se reintenta: {}", batch.size(), ex.toString());
+                LockSupport.parkNanos(this, delay);
+                delay = Math.min(delay * 2, retryDelayNanos * MAX_BACKOFF_FACTOR);
+            }
+        }
+    }
+
+    // El lote entero ya falló: cada mitad se intenta una vez y, si falla, se vuelve a dividir. Con una sola entrada
+    // mala se escriben todas las demás en unas pocas llamadas (log2 del tamaño del lote)
+    private void writeOrDeadLetter(List<AuditEntry> batch, Exception failure) {
+        if (batch.size() == 1) {
+            rejected.increment();
+            deadLetter.error("{} ({})", batch.get(0), failure.toString());
+            return;
+        }
+        int half = batch.size() / 2;
+        for (List<AuditEntry> part : List.of(batch.subList(0, half), batch.subList(half, batch.size()))) {
+            try {
+                write(part);
+            } catch (Exception ex) {
+                writeFailures.increment();
+                writeOrDeadLetter(part, ex);
+            }
+        }
+    }
+
+    private void write(List<AuditEntry> batch) throws Exception {
+        sink.write(batch);
+        written.increment(batch.size());
+        batchSizes.record(batch.size());
+    }
+
+    public int pending() {
+        return buffer.size();
+    }
+
+    // Deja de aceptar esperas y escribe lo que quede en el buffer antes de terminar
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            log.warn("El escritor de auditoría no terminó en {}; quedan {} entradas sin escribir", shutdownTimeout, buffer.size());
+        }
+    }
+}
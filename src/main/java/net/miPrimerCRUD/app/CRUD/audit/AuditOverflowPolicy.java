@@ -0,0 +1,9 @@
+package net.miPrimerCRUD.app.CRUD.audit;
+
+// Qué hace AuditLog.record() cuando el buffer está lleno (el escritor no da abasto o el destino falla)
+public enum AuditOverflowPolicy {
+    // Descarta la entrada y la cuenta en app.audit.dropped: la petición nunca espera por la auditoría
+    DROP,
+    // Espera hasta app.audit.block-timeout a que el escritor libere sitio; si no lo hay, descarta como DROP
+    BLOCK
+}
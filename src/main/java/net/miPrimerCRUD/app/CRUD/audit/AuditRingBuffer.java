@@ -0,0 +1,102 @@
+package net.miPrimerCRUD.app.CRUD.audit;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Cola circular acotada sin bloqueos para varios productores y un único consumidor. Cada casilla tiene un número
+ * de secuencia que indica si está libre para la vuelta actual del productor o ya lleva un elemento para el
+ * consumidor; los productores se reparten las posiciones con un compareAndSet sobre tail. offer() nunca espera:
+ * con la cola llena devuelve false y quien llama decide qué hacer.
+ *
+ * poll() y drainTo() solo pueden llamarse desde un hilo a la vez (el escritor de AuditLog).
+ */
+public class AuditRingBuffer<T> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<T> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    // La capacidad se redondea a la siguiente potencia de dos (posición -> casilla con una máscara)
+    public AuditRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 2 || requestedCapacity > (1 << 30)) {
+            throw new IllegalArgumentException("La capacidad debe estar entre 2 y 2^30: " + requestedCapacity);
+        }
+        this.capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    public boolean offer(T element) {
+        if (element == null) {
+            throw new NullPointerException();
+        }
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.set(index, element);
+                    // Publica el elemento: el consumidor no lo lee hasta ver esta secuencia
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // La casilla aún guarda un elemento de la vuelta anterior: llena
+                return false;
+            } else {
+                // Otro productor ya tomó esta posición
+                position = tail.get();
+            }
+        }
+    }
+
+    public T poll() {
+        long position = head.get();
+        int index = (int) (position & mask);
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        T element = slots.get(index);
+        slots.set(index, null);
+        // Libera la casilla para la siguiente vuelta de los productores
+        sequences.set(index, position + capacity);
+        head.set(position + 1);
+        return element;
+    }
+
+    public int drainTo(Collection<? super T> target, int maxElements) {
+        int drained = 0;
+        T element;
+        while (drained < maxElements && (element = poll()) != null) {
+            target.add(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    // Aproximado con productores concurrentes
+    public int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,10 @@
+package net.miPrimerCRUD.app.CRUD.audit;
+
+import java.io.IOException;
+import java.util.List;
+
+// Destino de las entradas de auditoría. Siempre se llama desde el hilo escritor de AuditLog, con lotes no vacíos
+public interface AuditSink {
+
+    void write(List<AuditEntry> entries) throws IOException;
+}
@@ -0,0 +1,31 @@
+package net.miPrimerCRUD.app.CRUD.audit;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+// Inserta cada lote en audit_log con un único batchUpdate (un viaje a la base de datos por lote, no por entrada)
+public class JdbcAuditSink implements AuditSink {
+
+    private static final String INSERT = "insert into audit_log (created_at, actor, entity, entity_id, action, details) "
+            + "values (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcAuditSink(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void write(List<AuditEntry> entries) {
+        jdbcTemplate.batchUpdate(INSERT, entries, entries.size(), (statement, entry) -> {
+            statement.setTimestamp(1, Timestamp.from(entry.timestamp()));
+            statement.setString(2, entry.actor());
+            statement.setString(3, entry.entity());
+            statement.setObject(4, entry.entityId());
+            statement.setString(5, entry.action());
+            statement.setString(6, entry.details());
+        });
+    }
+}
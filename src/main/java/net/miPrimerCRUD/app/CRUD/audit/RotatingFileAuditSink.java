@@ -0,0 +1,72 @@
+package net.miPrimerCRUD.app.CRUD.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Añade cada lote al final de un fichero NDJSON (una entrada por línea) y lo sincroniza al terminar el lote.
+ * Cuando el fichero supera maxBytes se rota: audit.log pasa a audit.log.1, audit.log.1 a audit.log.2... y se
+ * conservan como mucho maxFiles ficheros antiguos.
+ */
+public class RotatingFileAuditSink implements AuditSink {
+
+    private final ObjectWriter writer;
+    private final Path file;
+    private final long maxBytes;
+    private final int maxFiles;
+
+    public RotatingFileAuditSink(ObjectMapper objectMapper, Path file, long maxBytes, int maxFiles) {
+        // Fechas ISO-8601 en el fichero, aunque el ObjectMapper de la API las escribiera como números
+        this.writer = objectMapper.writer().without(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        this.file = file;
+        this.maxBytes = maxBytes;
+        this.maxFiles = maxFiles;
+    }
+
+    @Override
+    public void write(List<AuditEntry> entries) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        if (Files.exists(file) && Files.size(file) >= maxBytes) {
+            rotate();
+        }
+        StringBuilder lines = new StringBuilder(entries.size() * 160);
+        for (AuditEntry entry : entries) {
+            lines.append(writer.writeValueAsString(entry)).append('\n');
+        }
+        try (OutputStream out = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND,
+                StandardOpenOption.WRITE, StandardOpenOption.DSYNC)) {
+            out.write(lines.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private void rotate() throws IOException {
+        Files.deleteIfExists(rotated(maxFiles));
+        for (int i = maxFiles - 1; i >= 1; i--) {
+            if (Files.exists(rotated(i))) {
+                Files.move(rotated(i), rotated(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        if (maxFiles > 0) {
+            Files.move(file, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.delete(file);
+        }
+    }
+
+    private Path rotated(int generation) {
+        return file.resolveSibling(file.getFileName() + "." + generation);
+    }
+}
@@ -0,0 +1,55 @@
+package net.miPrimerCRUD.app.CRUD.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.miPrimerCRUD.app.CRUD.audit.AuditLog;
+import net.miPrimerCRUD.app.CRUD.audit.AuditOverflowPolicy;
+import net.miPrimerCRUD.app.CRUD.audit.AuditSink;
+import net.miPrimerCRUD.app.CRUD.audit.JdbcAuditSink;
+import net.miPrimerCRUD.app.CRUD.audit.RotatingFileAuditSink;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Auditoría de altas, modificaciones y bajas con escritura diferida. app.audit.sink elige el destino:
+ * "jdbc" (tabla audit_log, por defecto) o "file" (NDJSON rotado en app.audit.file.path).
+ */
+@Configuration
+public class AuditConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.audit.sink", havingValue = "jdbc", matchIfMissing = true)
+    public AuditSink jdbcAuditSink(JdbcTemplate jdbcTemplate) {
+        return new JdbcAuditSink(jdbcTemplate);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.audit.sink", havingValue = "file")
+    public AuditSink fileAuditSink(ObjectMapper objectMapper,
+                                   @Value("${app.audit.file.path:logs/audit.log}") Path path,
+                                   @Value("${app.audit.file.max-size:10MB}") DataSize maxSize,
+                                   @Value("${app.audit.file.max-files:5}") int maxFiles) {
+        return new RotatingFileAuditSink(objectMapper, path, maxSize.toBytes(), maxFiles);
+    }
+
+    @Bean(destroyMethod = "close")
+    public AuditLog auditLog(AuditSink sink, MeterRegistry meterRegistry,
+                             @Value("${app.audit.buffer-capacity:8192}") int capacity,
+                             @Value("${app.audit.overflow-policy:DROP}") AuditOverflowPolicy overflowPolicy,
+                             @Value("${app.audit.block-timeout:50ms}") Duration blockTimeout,
+                             @Value("${app.audit.batch-size:256}") int batchSize,
+                             @Value("${app.audit.flush-interval:1s}") Duration flushInterval,
+                             @Value("${app.audit.retry-delay:1s}") Duration retryDelay,
+                             @Value("${app.audit.max-retries:5}") int maxRetries,
+                             @Value("${app.audit.shutdown-timeout:10s}") Duration shutdownTimeout) {
+        return new AuditLog(sink, capacity, overflowPolicy, blockTimeout, batchSize, flushInterval, retryDelay,
+                maxRetries, shutdownTimeout, meterRegistry);
+    }
+}
@@ -0,0 +1,48 @@
+package net.miPrimerCRUD.app.CRUD.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.miPrimerCRUD.app.CRUD.concurrency.DatabaseBulkheadFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Modo de ejecución con hilos virtuales: spring.threads.virtual.enabled=true en Java 21 o superior.
+ * Spring Boot atiende entonces cada petición de Tomcat en un hilo virtual; aquí se añade el bulkhead
+ * que iguala la concurrencia contra la base de datos al tamaño del pool de conexiones.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class ExecutionModeConfig {
+
+    @Bean
+    public DatabaseBulkheadFilter databaseBulkheadFilter(
+            @Value("${app.bulkhead.max-concurrent}") int maxConcurrent,
+            @Value("${app.bulkhead.timeout}") Duration timeout,
+            MeterRegistry meterRegistry) {
+        DatabaseBulkheadFilter filter = new DatabaseBulkheadFilter(maxConcurrent, timeout);
+        Gauge.builder("app.bulkhead.available", filter, DatabaseBulkheadFilter::getAvailablePermits)
+                .description("Permisos libres del bulkhead de base de datos")
+                .register(meterRegistry);
+        Gauge.builder("app.bulkhead.waiting", filter, DatabaseBulkheadFilter::getQueueLength)
+                .description("Peticiones esperando turno en el bulkhead")
+                .register(meterRegistry);
+        return filter;
+    }
+
+    // Antes de Spring Security: la autenticación HTTP Basic también consulta la base de datos
+    @Bean
+    public FilterRegistrationBean<DatabaseBulkheadFilter> databaseBulkheadFilterRegistration(DatabaseBulkheadFilter filter) {
+        FilterRegistrationBean<DatabaseBulkheadFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
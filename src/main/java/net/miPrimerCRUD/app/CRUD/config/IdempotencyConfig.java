@@ -0,0 +1,87 @@
+package net.miPrimerCRUD.app.CRUD.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.miPrimerCRUD.app.CRUD.idempotency.IdempotencyFilter;
+import net.miPrimerCRUD.app.CRUD.idempotency.IdempotencyStore;
+import net.miPrimerCRUD.app.CRUD.idempotency.InMemoryIdempotencyStore;
+import net.miPrimerCRUD.app.CRUD.idempotency.JdbcIdempotencyStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Idempotency-Key en POST /api/products y POST /api/users. app.idempotency.store elige dónde se guardan las
+ * respuestas: "memory" (por defecto, una sola instancia) o "jdbc" (tabla idempotency_keys, compartida).
+ */
+@Configuration
+public class IdempotencyConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyConfig.class);
+
+    @Bean
+    @ConditionalOnProperty(name = "app.idempotency.store", havingValue = "memory", matchIfMissing = true)
+    public IdempotencyStore inMemoryIdempotencyStore(@Value("${app.idempotency.max-entries:10000}") long maxEntries,
+                                                     @Value("${app.idempotency.ttl:24h}") Duration ttl,
+                                                     MeterRegistry meterRegistry) {
+        return new InMemoryIdempotencyStore(maxEntries, ttl, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.idempotency.store", havingValue = "jdbc")
+    public IdempotencyStore jdbcIdempotencyStore(JdbcTemplate jdbcTemplate,
+                                                 @Value("${app.idempotency.ttl:24h}") Duration ttl) {
+        return new JdbcIdempotencyStore(jdbcTemplate, ttl, Clock.systemUTC());
+    }
+
+    // Borra las filas caducadas de idempotency_keys en segundo plano
+    @Bean(destroyMethod = "shutdownNow")
+    @ConditionalOnProperty(name = "app.idempotency.store", havingValue = "jdbc")
+    public ScheduledExecutorService idempotencyPurger(IdempotencyStore store,
+                                                      @Value("${app.idempotency.purge-interval:10m}") Duration interval) {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "idempotency-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                ((JdbcIdempotencyStore) store).purgeExpired();
+            } catch (RuntimeException ex) {
+                log.warn("No se pudieron borrar las claves de idempotencia caducadas: {}", ex.toString());
+            }
+        }, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        return executor;
+    }
+
+    @Bean
+    public IdempotencyFilter idempotencyFilter(IdempotencyStore store, MeterRegistry meterRegistry,
+                                               @Value("${app.idempotency.in-flight-timeout:10s}") Duration inFlightTimeout,
+                                               @Value("${app.idempotency.max-request-size:64KB}") DataSize maxRequestSize,
+                                               @Value("${app.idempotency.max-response-size:64KB}") DataSize maxResponseSize) {
+        return new IdempotencyFilter(store, Set.of("/api/products", "/api/users"), inFlightTimeout,
+                (int) maxRequestSize.toBytes(), (int) maxResponseSize.toBytes(), meterRegistry);
+    }
+
+    // Después de Spring Security (la clave se asocia al usuario autenticado) y del límite de peticiones
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilterRegistration(IdempotencyFilter filter) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/products", "/api/users");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 2);
+        return registration;
+    }
+}
@@ -0,0 +1,27 @@
+package net.miPrimerCRUD.app.CRUD.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.miPrimerCRUD.app.CRUD.jobs.JobService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+
+/**
+ * Trabajos en segundo plano de las escrituras con "Prefer: respond-async" (baja de usuarios y lotes de productos).
+ * Pocos hilos a propósito: cada trabajo ocupa una conexión del pool mientras se ejecuta.
+ */
+@Configuration
+public class JobsConfig {
+
+    @Bean(destroyMethod = "close")
+    public JobService jobService(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                 @Value("${app.jobs.threads:2}") int threads,
+                                 @Value("${app.jobs.queue-capacity:100}") int queueCapacity,
+                                 @Value("${app.jobs.retention:1h}") Duration retention,
+                                 @Value("${app.jobs.max-retained:10000}") long maxRetained) {
+        return new JobService(transactionManager, threads, queueCapacity, retention, maxRetained, meterRegistry);
+    }
+}
@@ -0,0 +1,27 @@
+package net.miPrimerCRUD.app.CRUD.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.miPrimerCRUD.app.CRUD.events.ProductEventBus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// Flujo de cambios de productos por Server-Sent Events (GET /api/products/events)
+@Configuration
+public class ProductEventsConfig {
+
+    @Bean(destroyMethod = "close")
+    public ProductEventBus productEventBus(MeterRegistry meterRegistry,
+                                           @Value("${app.products.events.max-subscribers:10000}") int maxSubscribers,
+                                           @Value("${app.products.events.max-per-user:5}") int maxPerUser,
+                                           @Value("${app.products.events.max-pending:256}") int maxPending,
+                                           @Value("${app.products.events.timeout:30m}") Duration timeout,
+                                           @Value("${app.products.events.reconnect-delay:5s}") Duration reconnectDelay,
+                                           @Value("${app.products.events.heartbeat-interval:25s}") Duration heartbeatInterval,
+                                           @Value("${app.products.events.dispatch-threads:2}") int dispatchThreads) {
+        return new ProductEventBus(maxSubscribers, maxPerUser, maxPending, timeout, reconnectDelay, heartbeatInterval,
+                dispatchThreads, meterRegistry);
+    }
+}
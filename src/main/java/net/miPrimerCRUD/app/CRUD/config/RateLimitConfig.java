@@ -0,0 +1,68 @@
+package net.miPrimerCRUD.app.CRUD.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.miPrimerCRUD.app.CRUD.ratelimit.AuthenticationFailureRateLimitFilter;
+import net.miPrimerCRUD.app.CRUD.ratelimit.RateLimitFilter;
+import net.miPrimerCRUD.app.CRUD.ratelimit.RateLimitRule;
+import net.miPrimerCRUD.app.CRUD.ratelimit.RateLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Límite de peticiones por cliente (app.ratelimit.rules, la primera regla que encaja gana) y de autenticaciones
+ * fallidas por IP (app.ratelimit.auth-failures). Con app.ratelimit.enabled=false no se registra ninguno.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.ratelimit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimiter rateLimiter(@Value("${app.ratelimit.rules}") List<String> rules,
+                                   @Value("${app.ratelimit.max-keys:100000}") long maxKeys,
+                                   MeterRegistry meterRegistry) {
+        RateLimiter rateLimiter = new RateLimiter(rules.stream().map(RateLimitRule::parse).toList(), maxKeys);
+        Gauge.builder("app.ratelimit.keys", rateLimiter, RateLimiter::trackedKeys)
+                .description("Clientes con un bucket en memoria")
+                .register(meterRegistry);
+        return rateLimiter;
+    }
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(RateLimiter rateLimiter, MeterRegistry meterRegistry) {
+        return new RateLimitFilter(rateLimiter, meterRegistry);
+    }
+
+    // Después de Spring Security, para contar por usuario; antes de Idempotency-Key, para que un reintento también cuente
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter filter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+
+    @Bean
+    public AuthenticationFailureRateLimitFilter authenticationFailureRateLimitFilter(
+            @Value("${app.ratelimit.auth-failures:/api/**=10/1m}") String rule,
+            @Value("${app.ratelimit.max-keys:100000}") long maxKeys,
+            MeterRegistry meterRegistry) {
+        return new AuthenticationFailureRateLimitFilter(RateLimitRule.parse(rule), maxKeys, meterRegistry);
+    }
+
+    // Antes de Spring Security (y del resto de filtros): un cliente bloqueado no llega a calcular ningún hash
+    @Bean
+    public FilterRegistrationBean<AuthenticationFailureRateLimitFilter> authenticationFailureRateLimitFilterRegistration(
+            AuthenticationFailureRateLimitFilter filter) {
+        FilterRegistrationBean<AuthenticationFailureRateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 3);
+        return registration;
+    }
+}
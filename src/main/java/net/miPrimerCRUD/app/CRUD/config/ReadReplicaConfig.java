@@ -0,0 +1,69 @@
+package net.miPrimerCRUD.app.CRUD.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import net.miPrimerCRUD.app.CRUD.replication.ReadOnlyRoutingDataSource;
+import net.miPrimerCRUD.app.CRUD.replication.ReplicaPool;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Réplicas de lectura: con app.datasource.replicas.urls configurado, las transacciones @Transactional(readOnly = true)
+ * se atienden desde las réplicas y las de escritura desde la base de datos principal (spring.datasource.*).
+ * LazyConnectionDataSourceProxy no pide la conexión real hasta la primera sentencia, cuando ya sabe si la
+ * transacción es de solo lectura.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replicas", name = "urls")
+public class ReadReplicaConfig {
+
+    @Bean
+    public ReplicaPool replicaPool(@Value("${app.datasource.replicas.urls}") List<String> urls,
+                                   @Value("${app.datasource.replicas.username:${spring.datasource.username}}") String username,
+                                   @Value("${app.datasource.replicas.password:${spring.datasource.password}}") String password,
+                                   @Value("${app.datasource.replicas.maximum-pool-size:${spring.datasource.hikari.maximum-pool-size:10}}") int maxPoolSize,
+                                   @Value("${app.datasource.replicas.connection-timeout:2s}") Duration connectionTimeout,
+                                   @Value("${app.datasource.replicas.strategy:ROUND_ROBIN}") ReplicaPool.Strategy strategy,
+                                   @Value("${app.datasource.replicas.health-check-interval:5s}") Duration healthCheckInterval) {
+        return new ReplicaPool(urls, username, password, maxPoolSize, connectionTimeout, strategy, healthCheckInterval);
+    }
+
+    // static: los BeanPostProcessor se crean antes que el resto; el pool de réplicas se resuelve al envolver el DataSource
+    @Bean
+    public static BeanPostProcessor readReplicaDataSourceRouting(ObjectProvider<ReplicaPool> replicaPool) {
+        return new RoutingPostProcessor(replicaPool);
+    }
+
+    // Antes que el de las estadísticas SQL, para que este cuente las sentencias de la principal y de las réplicas
+    static class RoutingPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<ReplicaPool> replicaPool;
+
+        RoutingPostProcessor(ObjectProvider<ReplicaPool> replicaPool) {
+            this.replicaPool = replicaPool;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof HikariDataSource primary) {
+                LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primary);
+                routing.setReadOnlyDataSource(new ReadOnlyRoutingDataSource(replicaPool.getObject(), primary));
+                return routing;
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
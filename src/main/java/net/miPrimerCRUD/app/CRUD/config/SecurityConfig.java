@@ -1,18 +1,36 @@
 package net.miPrimerCRUD.app.CRUD.config;
 
+import net.miPrimerCRUD.app.CRUD.security.CachingAuthenticationProvider;
+import net.miPrimerCRUD.app.CRUD.security.CredentialCache;
+import net.miPrimerCRUD.app.CRUD.security.OffloadingPasswordEncoder;
+import net.miPrimerCRUD.app.CRUD.security.PasswordHashing;
+import net.miPrimerCRUD.app.CRUD.security.PasswordHashingAlgorithm;
+import net.miPrimerCRUD.app.CRUD.security.PasswordHashingBusyEntryPoint;
+import net.miPrimerCRUD.app.CRUD.security.TimedPasswordEncoder;
+import net.miPrimerCRUD.app.CRUD.security.TokenAuthenticationFilter;
+import net.miPrimerCRUD.app.CRUD.security.TokenService;
 import net.miPrimerCRUD.app.CRUD.services.CustomUserDetailsService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AuthenticationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.config.Customizer;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.www.BasicAuthenticationEntryPoint;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+
+import java.time.Duration;
 
 @Configuration
 @EnableWebSecurity
@@ -21,40 +39,103 @@ public class SecurityConfig {
     @Autowired
     private CustomUserDetailsService userDetailsService;
 
+    @Autowired
+    private TokenService tokenService;
+
+    // HTTP Basic se mantiene como alternativa a los tokens Bearer
+    @Value("${app.security.basic-enabled:true}")
+    private boolean basicEnabled;
+
+    // Hash de contraseñas: algoritmo, coste (0 = calibrar al arrancar para tardar target-latency) y pool acotado
+    @Value("${app.security.hashing.algorithm:bcrypt}")
+    private PasswordHashingAlgorithm hashingAlgorithm;
+
+    @Value("${app.security.hashing.cost:0}")
+    private int hashingCost;
+
+    @Value("${app.security.hashing.target-latency:100ms}")
+    private Duration hashingTargetLatency;
+
+    // Hilos del pool de hash (0 = uno por núcleo) y hashes que pueden esperar turno
+    @Value("${app.security.hashing.threads:0}")
+    private int hashingThreads;
+
+    @Value("${app.security.hashing.queue-capacity:100}")
+    private int hashingQueueCapacity;
+
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, AuthenticationManager authenticationManager) throws Exception {
         http
+                .authenticationManager(authenticationManager)
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
+                        // Actuator: health es público, el resto solo ADMIN
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+                        // Login con email y contraseña para obtener un token
+                        .requestMatchers(HttpMethod.POST, "/api/auth/login").permitAll()
                         // Registro
                         .requestMatchers(HttpMethod.POST, "/api/users").permitAll()
                         //USUARIOS: Solo ADMIN puede ver la lista de todos los usuarios
                         .requestMatchers(HttpMethod.GET, "/api/users").hasRole("ADMIN")
+                        // Exportación NDJSON completa: solo ADMIN
+                        .requestMatchers(HttpMethod.GET, "/api/users/export").hasRole("ADMIN")
                         //USER puede ver su propio perfil, ADMIN puede ver cualquiera
                         .requestMatchers(HttpMethod.GET, "/api/users/**").authenticated()
                         .requestMatchers(HttpMethod.PUT, "/api/users/**").authenticated()
                         .requestMatchers(HttpMethod.DELETE, "/api/users/**").hasRole("ADMIN")
                         //PRODUCTOS: Solo ADMIN puede ver la lista de todos los productos
                         .requestMatchers(HttpMethod.GET, "/api/products").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/products/export").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.POST, "/api/products").authenticated()
+                        .requestMatchers(HttpMethod.POST, "/api/products/batch").authenticated()
                         .requestMatchers(HttpMethod.GET, "/api/products/**").authenticated()
                         .requestMatchers(HttpMethod.PUT, "/api/products/**").authenticated()
                         .requestMatchers(HttpMethod.DELETE, "/api/products/**").authenticated()
                         // lo demas requiere auth
                         .anyRequest().authenticated()
                 )
-                .httpBasic(Customizer.withDefaults());
+                // Tokens Bearer: se validan con la firma, sin consulta ni BCrypt
+                .addFilterBefore(new TokenAuthenticationFilter(tokenService), BasicAuthenticationFilter.class);
+
+        if (basicEnabled) {
+            // Mismo 401 con WWW-Authenticate que por defecto; 503 si el pool de hash está saturado
+            BasicAuthenticationEntryPoint basicEntryPoint = new BasicAuthenticationEntryPoint();
+            basicEntryPoint.setRealmName("Realm");
+            http.httpBasic(basic -> basic.authenticationEntryPoint(new PasswordHashingBusyEntryPoint(basicEntryPoint)));
+        } else {
+            // Sin Basic, las peticiones sin token siguen recibiendo 401 (y no 403)
+            http.exceptionHandling(ex -> ex.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)));
+        }
 
         return http.build();
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        int cost = hashingCost > 0 ? hashingCost : PasswordHashing.calibrate(hashingAlgorithm, hashingTargetLatency);
+        // Siempre en un pool propio: limita los hashes simultáneos y no bloquea los hilos portadores con hilos virtuales
+        OffloadingPasswordEncoder offloading = new OffloadingPasswordEncoder(PasswordHashing.delegating(hashingAlgorithm, cost),
+                hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors(), hashingQueueCapacity);
+        Gauge.builder("app.password.encoder.queued", offloading, OffloadingPasswordEncoder::getQueued)
+                .description("Hashes de contraseñas esperando un hilo del pool")
+                .register(meterRegistry);
+        // Tiempo de cada hash (incluida la espera en el pool) en /actuator/prometheus
+        return new TimedPasswordEncoder(offloading, meterRegistry);
     }
 
+    // Lo usan HTTP Basic (la cadena de filtros) y POST /api/auth/login. DaoAuthenticationProvider (consulta + hash)
+    // detrás de la caché de credenciales verificadas; tras un login correcto con un hash antiguo (otro algoritmo o
+    // menos coste), lo recalcula y lo guarda. El proveedor no es un bean: Spring Security no monta otro
+    // AuthenticationManager global a partir de él
     @Bean
-    public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
-        return config.getAuthenticationManager();
+    public AuthenticationManager authenticationManager(PasswordEncoder passwordEncoder, CredentialCache credentialCache,
+                                                       AuthenticationEventPublisher eventPublisher) {
+        DaoAuthenticationProvider daoProvider = new DaoAuthenticationProvider(userDetailsService);
+        daoProvider.setPasswordEncoder(passwordEncoder);
+        daoProvider.setUserDetailsPasswordService(userDetailsService);
+        ProviderManager manager = new ProviderManager(new CachingAuthenticationProvider(daoProvider, credentialCache));
+        manager.setAuthenticationEventPublisher(eventPublisher);
+        return manager;
     }
 }
\ No newline at end of file
@@ -0,0 +1,80 @@
+package net.miPrimerCRUD.app.CRUD.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.miPrimerCRUD.app.CRUD.sql.AsyncSqlLogger;
+import net.miPrimerCRUD.app.CRUD.sql.QueryBudgetInterceptor;
+import net.miPrimerCRUD.app.CRUD.sql.SqlStatisticsFilter;
+import net.miPrimerCRUD.app.CRUD.sql.SqlStatisticsListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Estadísticas SQL por petición en lugar de spring.jpa.show-sql: el DataSource se envuelve con
+ * datasource-proxy y cada sentencia se cuenta y se mide sin escribirla en stdout.
+ */
+@Configuration
+public class SqlStatisticsConfig implements WebMvcConfigurer {
+
+    @Bean
+    public AsyncSqlLogger asyncSqlLogger(@Value("${app.sql.log-queue-capacity:1000}") int queueCapacity,
+                                         MeterRegistry meterRegistry) {
+        return new AsyncSqlLogger(queueCapacity, meterRegistry);
+    }
+
+    @Bean
+    public SqlStatisticsListener sqlStatisticsListener(@Value("${app.sql.slow-query-threshold:500ms}") Duration slowQueryThreshold,
+                                                       AsyncSqlLogger asyncSqlLogger, MeterRegistry meterRegistry) {
+        return new SqlStatisticsListener(slowQueryThreshold, asyncSqlLogger, meterRegistry);
+    }
+
+    // static: los BeanPostProcessor se crean antes que el resto; el listener se resuelve al envolver el DataSource
+    @Bean
+    public static BeanPostProcessor sqlStatisticsDataSourceProxy(ObjectProvider<SqlStatisticsListener> listener) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(listener.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public SqlStatisticsFilter sqlStatisticsFilter(AsyncSqlLogger asyncSqlLogger, MeterRegistry meterRegistry,
+                                                   @Value("${app.sql.n-plus-one-threshold:5}") int nPlusOneThreshold,
+                                                   @Value("${app.sql.sample-rate:0.01}") double sampleRate,
+                                                   @Value("${app.sql.fail-on-budget-exceeded:false}") boolean failOnBudgetExceeded) {
+        return new SqlStatisticsFilter(asyncSqlLogger, meterRegistry, nPlusOneThreshold, sampleRate, failOnBudgetExceeded);
+    }
+
+    // Antes de Spring Security (y del bulkhead): las consultas de la autenticación también cuentan
+    @Bean
+    public FilterRegistrationBean<SqlStatisticsFilter> sqlStatisticsFilterRegistration(SqlStatisticsFilter filter) {
+        FilterRegistrationBean<SqlStatisticsFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 2);
+        return registration;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new QueryBudgetInterceptor()).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,36 @@
+package net.miPrimerCRUD.app.CRUD.controllers;
+
+import jakarta.validation.Valid;
+import net.miPrimerCRUD.app.CRUD.DTO.LoginRequestDTO;
+import net.miPrimerCRUD.app.CRUD.DTO.TokenDTO;
+import net.miPrimerCRUD.app.CRUD.security.AuthenticatedUser;
+import net.miPrimerCRUD.app.CRUD.security.TokenService;
+import net.miPrimerCRUD.app.CRUD.sql.QueryBudget;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/auth")
+public class AuthController {
+
+    @Autowired
+    private AuthenticationManager authenticationManager;
+
+    @Autowired
+    private TokenService tokenService;
+
+    // Verifica email y contraseña una sola vez y devuelve un token de corta duración.
+    // La segunda sentencia solo aparece en el primer login tras cambiar el algoritmo o el coste del hash
+    @PostMapping("/login")
+    @QueryBudget(2)
+    public TokenDTO login(@Valid @RequestBody LoginRequestDTO login) {
+        Authentication authentication = authenticationManager.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated(login.getEmail(), login.getPassword()));
+
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        return new TokenDTO(tokenService.issue(user), "Bearer", tokenService.getTtl().toSeconds());
+    }
+}
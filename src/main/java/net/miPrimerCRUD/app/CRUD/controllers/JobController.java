@@ -0,0 +1,39 @@
+package net.miPrimerCRUD.app.CRUD.controllers;
+
+import jakarta.persistence.EntityNotFoundException;
+import net.miPrimerCRUD.app.CRUD.DTO.JobDTO;
+import net.miPrimerCRUD.app.CRUD.jobs.Job;
+import net.miPrimerCRUD.app.CRUD.jobs.JobService;
+import net.miPrimerCRUD.app.CRUD.repositories.UserRepository;
+import net.miPrimerCRUD.app.CRUD.security.AuthenticatedUser;
+import net.miPrimerCRUD.app.CRUD.security.CurrentUser;
+import net.miPrimerCRUD.app.CRUD.sql.QueryBudget;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/jobs")
+public class JobController {
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // Estado de un trabajo asíncrono (202 de las escrituras con "Prefer: respond-async"). Se lee de memoria:
+    // solo la autenticación puede tocar la base de datos. Los trabajos de otro usuario se ven como inexistentes
+    @GetMapping("/{id}")
+    @QueryBudget(1)
+    public JobDTO findById(@PathVariable String id) {
+        Job job = this.jobService.find(id);
+        AuthenticatedUser currentUser = CurrentUser.get(userRepository);
+        if (job == null || !(currentUser.isAdmin() || currentUser.getId().equals(job.getOwnerId()))) {
+            throw new EntityNotFoundException("Trabajo con ID " + id + " no encontrado");
+        }
+        return JobDTO.from(job);
+    }
+}
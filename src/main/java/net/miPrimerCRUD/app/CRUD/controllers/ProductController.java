@@ -1,68 +1,209 @@
 package net.miPrimerCRUD.app.CRUD.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import net.miPrimerCRUD.app.CRUD.DTO.BatchResultDTO;
 import net.miPrimerCRUD.app.CRUD.DTO.ProductDTO;
 import net.miPrimerCRUD.app.CRUD.entities.Product;
+import net.miPrimerCRUD.app.CRUD.etag.ETags;
+import net.miPrimerCRUD.app.CRUD.events.ProductEventBus;
+import net.miPrimerCRUD.app.CRUD.events.ProductEventSubscription;
+import net.miPrimerCRUD.app.CRUD.export.NdjsonWriter;
+import net.miPrimerCRUD.app.CRUD.jobs.AsyncRequests;
+import net.miPrimerCRUD.app.CRUD.jobs.JobService;
 import net.miPrimerCRUD.app.CRUD.mapper.ProductMapper;
+import net.miPrimerCRUD.app.CRUD.pagination.KeysetCursor;
+import net.miPrimerCRUD.app.CRUD.pagination.KeysetLinks;
+import net.miPrimerCRUD.app.CRUD.pagination.KeysetPage;
+import net.miPrimerCRUD.app.CRUD.search.ProductSearchCriteria;
+import net.miPrimerCRUD.app.CRUD.search.ProductSearchCursor;
 import net.miPrimerCRUD.app.CRUD.services.ProductServiceManager;
+import net.miPrimerCRUD.app.CRUD.sql.QueryBudget;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/products")
 public class ProductController {
 
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
     @Autowired
     private ProductServiceManager serviceManager;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private ProductEventBus eventBus;
+
     @GetMapping()
+    @QueryBudget(2)
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<ProductDTO>> findAllProducts(@RequestParam(required = false) String after,
+                                                            @RequestParam(defaultValue = "50") int limit) {
+        KeysetPage<ProductDTO> page = this.serviceManager.findPage(KeysetCursor.decode(after), limit);
+        return ResponseEntity.ok()
+                .headers(KeysetLinks.headers(page, limit))
+                .body(page.items());
+    }
+
+    // Búsqueda con filtros opcionales, orden (id, name o price; asc o desc) y paginación por clave (Link / X-Next-Cursor)
+    @GetMapping("/search")
+    @QueryBudget(2)
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<ProductDTO>> search(@RequestParam(required = false) String name,
+                                                   @RequestParam(required = false) String match,
+                                                   @RequestParam(required = false) Double minPrice,
+                                                   @RequestParam(required = false) Double maxPrice,
+                                                   @RequestParam(required = false) Long userId,
+                                                   @RequestParam(required = false) String sort,
+                                                   @RequestParam(required = false) String direction,
+                                                   @RequestParam(required = false) String after,
+                                                   @RequestParam(defaultValue = "50") int limit) {
+        ProductSearchCriteria criteria = ProductSearchCriteria.of(name, match, minPrice, maxPrice, userId, sort, direction);
+        KeysetPage<ProductDTO> page = this.serviceManager.search(criteria, after, limit);
+        return ResponseEntity.ok()
+                .headers(KeysetLinks.headers(ProductSearchCursor.next(page, criteria.sort()), limit))
+                .body(page.items());
+    }
+
+    // Búsqueda por palabras del nombre, de más a menos relevante. X-Total-Count: coincidencias en total
+    @GetMapping("/search/text")
+    @QueryBudget(2)
     @Transactional(readOnly = true)
-    public List<ProductDTO> findAllProducts() {
-        return this.serviceManager.findAll()
-                .stream()
-                .map(ProductMapper::toDTO)
-                .collect(Collectors.toList());
+    public ResponseEntity<List<ProductDTO>> searchText(@RequestParam(required = false) String q,
+                                                       @RequestParam(defaultValue = "0") int page,
+                                                       @RequestParam(defaultValue = "20") int size) {
+        Page<ProductDTO> result = this.serviceManager.searchText(q, page, size);
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(result.getTotalElements()))
+                .body(result.getContent());
+    }
+
+    // Cambios de tus productos en tiempo real (Server-Sent Events), en lugar de consultar my-products cada pocos segundos.
+    // Solo la autenticación toca la base de datos; la conexión queda abierta sin ocupar un hilo
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @QueryBudget(1)
+    public SseEmitter events() {
+        ProductEventSubscription subscription = this.serviceManager.subscribeToChanges();
+        SseEmitter emitter = new SseEmitter(eventBus.timeout().toMillis());
+        eventBus.connect(subscription, emitter);
+        return emitter;
+    }
+
+    // Exportación completa en NDJSON: una línea por registro, sin cargar la tabla en memoria
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @QueryBudget(2)
+    @Transactional(readOnly = true)
+    public void exportProducts(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        try (NdjsonWriter writer = new NdjsonWriter(objectMapper, response.getOutputStream())) {
+            this.serviceManager.exportAll(writer::write);
+        }
     }
 
     @PostMapping()
+    @QueryBudget(4)
     @Transactional
     public ProductDTO save(@Valid @RequestBody Product product) {
         Product savedProduct = this.serviceManager.save(product);
         return ProductMapper.toDTO(savedProduct);
     }
 
+    // Operaciones por lotes: 200 si todos los elementos se procesan, 207 si alguno falla (ver "results").
+    // Con "Prefer: respond-async", 202 y el mismo resultado en GET /api/jobs/{id} cuando el trabajo termine.
+    // Presupuestos para MAX_BATCH_SIZE (1000): cada 50 elementos, un bloque de IDs y/o un lote JDBC
+    @PostMapping("/batch")
+    @QueryBudget(45)
+    @Transactional
+    public ResponseEntity<?> saveBatch(@RequestBody List<ProductDTO> products,
+                                       @RequestHeader(value = AsyncRequests.PREFER_HEADER, required = false) String prefer) {
+        return batch("product-batch-create", products, prefer, () -> this.serviceManager.saveAll(products));
+    }
+
+    @PutMapping("/batch")
+    @QueryBudget(25)
+    @Transactional
+    public ResponseEntity<?> updateBatch(@RequestBody List<ProductDTO> products,
+                                         @RequestHeader(value = AsyncRequests.PREFER_HEADER, required = false) String prefer) {
+        return batch("product-batch-update", products, prefer, () -> this.serviceManager.updateAll(products));
+    }
+
+    @DeleteMapping("/batch")
+    @QueryBudget(25)
+    @Transactional
+    public ResponseEntity<?> deleteBatch(@RequestBody List<Long> ids,
+                                         @RequestHeader(value = AsyncRequests.PREFER_HEADER, required = false) String prefer) {
+        return batch("product-batch-delete", ids, prefer, () -> this.serviceManager.deleteAll(ids));
+    }
+
+    // ETag con la versión: si el cliente ya tiene la actual (If-None-Match) recibe 304 sin cuerpo
     @GetMapping("/{id}")
+    @QueryBudget(2)
     @Transactional(readOnly = true)
-    public ProductDTO getByIdProduct(@PathVariable Long id) {
+    public ResponseEntity<ProductDTO> getByIdProduct(@PathVariable Long id, WebRequest request) {
         Product product = this.serviceManager.findById(id);
-        return ProductMapper.toDTO(product);
+        String etag = ETags.of(product);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(ProductMapper.toDTO(product));
     }
 
     @GetMapping("/my-products")
+    @QueryBudget(2)
     @Transactional(readOnly = true)
-    public List<ProductDTO> findMyProducts() {
-        return this.serviceManager.findMyProducts()
-                .stream()
-                .map(ProductMapper::toDTO)
-                .collect(Collectors.toList());
+    public List<ProductDTO> findMyProducts(@RequestParam(defaultValue = "0") int page,
+                                           @RequestParam(defaultValue = "20") int size) {
+        return this.serviceManager.findMyProducts(page, size);
     }
 
+    // Con If-Match solo se modifica si el cliente tiene la versión actual (412 si no)
     @PutMapping("/{id}")
+    @QueryBudget(4)
     @Transactional
-    public ResponseEntity<ProductDTO> update(@PathVariable Long id, @Valid @RequestBody Product product) {
-        Product updated = this.serviceManager.update(id, product);
-        return ResponseEntity.ok(ProductMapper.toDTO(updated));
+    public ResponseEntity<ProductDTO> update(@PathVariable Long id, @Valid @RequestBody Product product,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Product updated = this.serviceManager.update(id, product, ifMatch);
+        return ResponseEntity.ok().eTag(ETags.of(updated)).body(ProductMapper.toDTO(updated));
     }
 
     @DeleteMapping("/{id}")
+    @QueryBudget(3)
     @Transactional
     public ResponseEntity<?> delete(@PathVariable Long id) {
         this.serviceManager.deleteById(id);
         return ResponseEntity.noContent().build();
     }
+
+    // En modo asíncrono el lote se valida aquí (400 inmediato) y se ejecuta en su propia transacción dentro del trabajo
+    private ResponseEntity<?> batch(String type, List<?> items, String prefer, Supplier<BatchResultDTO> operation) {
+        if (!AsyncRequests.isRequested(prefer)) {
+            return batchResponse(operation.get());
+        }
+        this.serviceManager.checkBatchSize(items);
+        return AsyncRequests.accepted(this.jobService.submitInTransaction(type, operation));
+    }
+
+    private ResponseEntity<BatchResultDTO> batchResponse(BatchResultDTO result) {
+        HttpStatus status = result.getFailed() == 0 ? HttpStatus.OK : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(result);
+    }
 }
\ No newline at end of file
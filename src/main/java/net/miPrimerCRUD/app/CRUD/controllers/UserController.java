@@ -1,17 +1,30 @@
 package net.miPrimerCRUD.app.CRUD.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import net.miPrimerCRUD.app.CRUD.DTO.UserDTO;
 import net.miPrimerCRUD.app.CRUD.entities.User;
+import net.miPrimerCRUD.app.CRUD.etag.ETags;
+import net.miPrimerCRUD.app.CRUD.export.NdjsonWriter;
+import net.miPrimerCRUD.app.CRUD.jobs.AsyncRequests;
+import net.miPrimerCRUD.app.CRUD.jobs.JobService;
 import net.miPrimerCRUD.app.CRUD.mapper.UserMapper;
+import net.miPrimerCRUD.app.CRUD.pagination.KeysetCursor;
+import net.miPrimerCRUD.app.CRUD.pagination.KeysetLinks;
+import net.miPrimerCRUD.app.CRUD.pagination.KeysetPage;
 import net.miPrimerCRUD.app.CRUD.services.UserServiceManager;
+import net.miPrimerCRUD.app.CRUD.sql.QueryBudget;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/users")
@@ -20,47 +33,93 @@ public class UserController {
     @Autowired
     private UserServiceManager serviceManager;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JobService jobService;
+
     @GetMapping
+    @QueryBudget(2)
     @Transactional(readOnly = true)
-    public List<UserDTO> findAllUsers() {
-        return this.serviceManager.findAll()
-                .stream()
-                .map(UserMapper::toDTO)
-                .collect(Collectors.toList());
+    public ResponseEntity<List<UserDTO>> findAllUsers(@RequestParam(required = false) String after,
+                                                      @RequestParam(defaultValue = "50") int limit) {
+        KeysetPage<UserDTO> page = this.serviceManager.findPage(KeysetCursor.decode(after), limit);
+        return ResponseEntity.ok()
+                .headers(KeysetLinks.headers(page, limit))
+                .body(page.items());
     }
 
+    // Exportación completa en NDJSON: una línea por registro, sin cargar la tabla en memoria
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @QueryBudget(2)
+    @Transactional(readOnly = true)
+    public void exportUsers(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        try (NdjsonWriter writer = new NdjsonWriter(objectMapper, response.getOutputStream())) {
+            this.serviceManager.exportAll(writer::write);
+        }
+    }
+
+    // ETag con la versión: si el cliente ya tiene la actual (If-None-Match) recibe 304 sin cuerpo
     @GetMapping("/{id}")
+    @QueryBudget(2)
     @Transactional(readOnly = true)
-    public UserDTO findByIdUser(@PathVariable Long id) {
-        User user = this.serviceManager.findByIdWithValidation(id);;
-        return UserMapper.toDTO(user);
+    public ResponseEntity<UserDTO> findByIdUser(@PathVariable Long id, WebRequest request) {
+        User user = this.serviceManager.findByIdWithValidation(id);
+        return conditionalResponse(user, request);
     }
 
     @GetMapping("/me")
+    @QueryBudget(2)
     @Transactional(readOnly = true)
-    public UserDTO getCurrentUser() {
+    public ResponseEntity<UserDTO> getCurrentUser(WebRequest request) {
         User user = this.serviceManager.getCurrentUser();
-        return UserMapper.toDTO(user);
+        return conditionalResponse(user, request);
     }
 
     @PostMapping
+    @QueryBudget(2)
     @Transactional
     public UserDTO save(@Valid @RequestBody User user) {
         User savedUser = this.serviceManager.save(user);
         return UserMapper.toDTO(savedUser);
     }
 
+    // Con If-Match solo se modifica si el cliente tiene la versión actual (412 si no)
     @PutMapping("/{id}")
+    @QueryBudget(4)
     @Transactional
-    public ResponseEntity<UserDTO> update(@PathVariable Long id, @Valid @RequestBody User user) {
-        User updated = this.serviceManager.update(id, user);
-        return ResponseEntity.ok(UserMapper.toDTO(updated));
+    public ResponseEntity<UserDTO> update(@PathVariable Long id, @Valid @RequestBody User user,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        User updated = this.serviceManager.update(id, user, ifMatch);
+        return ResponseEntity.ok().eTag(ETags.of(updated)).body(UserMapper.toDTO(updated));
     }
 
+    // Borra los productos del usuario por bloques. Con "Prefer: respond-async" (usuarios con muchos productos)
+    // solo comprueba el acceso, responde 202 y la baja sigue en segundo plano: GET /api/jobs/{id}. Sin la cabecera
+    // siempre es síncrona (204); el presupuesto cubre un bloque y deleteById lo amplía por cada bloque más
     @DeleteMapping("/{id}")
+    @QueryBudget(6)
     @Transactional
-    public ResponseEntity<?> delete(@PathVariable Long id) {
+    public ResponseEntity<?> delete(@PathVariable Long id,
+                                    @RequestHeader(value = AsyncRequests.PREFER_HEADER, required = false) String prefer) {
+        if (AsyncRequests.isRequested(prefer)) {
+            this.serviceManager.findDeletable(id);
+            return AsyncRequests.accepted(this.jobService.submit("user-delete", job -> {
+                this.serviceManager.deleteInChunks(id, job::addProcessed);
+                return null;
+            }));
+        }
         this.serviceManager.deleteById(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    private ResponseEntity<UserDTO> conditionalResponse(User user, WebRequest request) {
+        String etag = ETags.of(user);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(UserMapper.toDTO(user));
+    }
+}
@@ -0,0 +1,45 @@
+package net.miPrimerCRUD.app.CRUD.entities;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+
+// Tabla audit_log: la escribe JdbcAuditSink por lotes, no Hibernate. El mapeo solo define el esquema y permite leerla
+@Entity
+@Immutable
+@Table(name = "audit_log", indexes = {
+        @Index(name = "idx_audit_log_entity", columnList = "entity, entity_id"),
+        @Index(name = "idx_audit_log_created_at", columnList = "created_at")
+})
+public class AuditRecord {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false, length = 100)
+    private String actor;
+
+    @Column(nullable = false, length = 20)
+    private String entity;
+
+    @Column(name = "entity_id")
+    private Long entityId;
+
+    @Column(nullable = false, length = 20)
+    private String action;
+
+    @Column(length = 500)
+    private String details;
+
+    public Long getId() {return id;}
+    public Instant getCreatedAt() {return createdAt;}
+    public String getActor() {return actor;}
+    public String getEntity() {return entity;}
+    public Long getEntityId() {return entityId;}
+    public String getAction() {return action;}
+    public String getDetails() {return details;}
+}
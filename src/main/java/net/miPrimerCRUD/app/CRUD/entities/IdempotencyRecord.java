@@ -0,0 +1,39 @@
+package net.miPrimerCRUD.app.CRUD.entities;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+
+// Tabla idempotency_keys (app.idempotency.store=jdbc): la usa JdbcIdempotencyStore. El mapeo solo define el esquema
+@Entity
+@Immutable
+@Table(name = "idempotency_keys", indexes = @Index(name = "idx_idempotency_keys_created_at", columnList = "created_at"))
+public class IdempotencyRecord {
+    // SHA-256 (hex) de usuario + método + ruta + Idempotency-Key
+    @Id
+    @Column(name = "id_key", length = 64)
+    private String key;
+
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    @Column(nullable = false)
+    private int status;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    @Lob
+    private byte[] body;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    public String getKey() {return key;}
+    public String getFingerprint() {return fingerprint;}
+    public int getStatus() {return status;}
+    public String getContentType() {return contentType;}
+    public byte[] getBody() {return body;}
+    public Instant getCreatedAt() {return createdAt;}
+}
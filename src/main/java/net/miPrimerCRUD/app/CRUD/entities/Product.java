@@ -2,13 +2,24 @@ package net.miPrimerCRUD.app.CRUD.entities;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
-@Table(name = "products")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "products")
+// Índices de la búsqueda: prefijo de nombre, rango de precio y productos de un dueño en orden de id
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_user_id_id", columnList = "user_id, id"),
+        @Index(name = "idx_products_name", columnList = "name"),
+        @Index(name = "idx_products_price", columnList = "price")
+})
 public class Product {
     // ==================== Variables ====================
+    // Secuencia con bloques de 50 IDs: con IDENTITY Hibernate no puede agrupar los INSERT en lotes JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+    @SequenceGenerator(name = "products_seq", sequenceName = "products_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "El nombre del producto es obligatorio")
@@ -19,11 +30,21 @@ public class Product {
     @PositiveOrZero(message = "El precio no puede ser negativo")
     private Double price;
 
+    // Bloqueo optimista: cada UPDATE comprueba y aumenta la versión. Se expone como ETag
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     @JsonBackReference
     private User user;
 
+    // Solo para consultas: filtrar por p.ownerId usa products.user_id (idx_products_user_id_id). Con p.user.id y el
+    // join de SELECT_DTO, Hibernate filtraría por users.id. No se actualiza en memoria al cambiar user
+    @Column(name = "user_id", insertable = false, updatable = false)
+    private Long ownerId;
+
     // ==================== GETTERS Y SETTERS ====================
     public Long getId() {return id;}
     public void setId(long id) {this.id = id;}
@@ -31,6 +52,8 @@ public class Product {
     public void setName(String name) {this.name = name;}
     public Double getPrice() {return price;}
     public void setPrice(Double price) {this.price = price;}
+    public Long getVersion() {return version;}
+    public void setVersion(Long version) {this.version = version;}
     public User getUser() {return user;}
     public void setUser(User user) {this.user = user;}
 
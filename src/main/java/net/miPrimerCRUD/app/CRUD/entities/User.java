@@ -3,11 +3,15 @@ package net.miPrimerCRUD.app.CRUD.entities;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 @Table(name="users")
 public class User {
     @Id
@@ -30,6 +34,11 @@ public class User {
     @Column(nullable = false, columnDefinition = "VARCHAR(50) DEFAULT 'USER'")
     private String role = "USER";
 
+    // Bloqueo optimista: cada UPDATE comprueba y aumenta la versión. Se expone como ETag
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long version;
+
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @JsonManagedReference
     private List<Product> products = new ArrayList<>();
@@ -47,6 +56,8 @@ public class User {
     public void setProducts(List<Product> products) { this.products = products; }
     public String getRole() {return role;}
     public void setRole(String role) {this.role = role;}
+    public Long getVersion() {return version;}
+    public void setVersion(Long version) {this.version = version;}
     //constructores
     public User() {}
     public User(Long id, String name, String email, String password, String role, List<Product> products) {
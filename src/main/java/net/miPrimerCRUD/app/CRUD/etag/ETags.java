@@ -0,0 +1,41 @@
+package net.miPrimerCRUD.app.CRUD.etag;
+
+import net.miPrimerCRUD.app.CRUD.entities.Product;
+import net.miPrimerCRUD.app.CRUD.entities.User;
+import net.miPrimerCRUD.app.CRUD.exception.PreconditionFailedException;
+
+// ETags fuertes a partir de la columna @Version: cambian siempre que cambia la representación
+public class ETags {
+
+    // ProductDTO incluye el nombre del dueño: su versión también forma parte del ETag
+    public static String of(Product product) {
+        Long userVersion = product.getUser() != null ? product.getUser().getVersion() : null;
+        return "\"" + version(product.getVersion()) + "-" + version(userVersion) + "\"";
+    }
+
+    public static String of(User user) {
+        return "\"" + version(user.getVersion()) + "\"";
+    }
+
+    // If-Match usa comparación fuerte: "*" acepta cualquier versión y los ETags débiles (W/) nunca coinciden
+    public static boolean matches(String ifMatch, String currentETag) {
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(currentETag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Sin cabecera If-Match la petición no es condicional
+    public static void checkIfMatch(String ifMatch, String currentETag) {
+        if (ifMatch != null && !matches(ifMatch, currentETag)) {
+            throw new PreconditionFailedException("El recurso ha cambiado desde que se leyó (ETag actual " + currentETag + ")");
+        }
+    }
+
+    private static long version(Long version) {
+        return version != null ? version : 0L;
+    }
+}
@@ -0,0 +1,46 @@
+package net.miPrimerCRUD.app.CRUD.events;
+
+import net.miPrimerCRUD.app.CRUD.entities.Product;
+
+/**
+ * Alta, modificación o baja de un producto. ProductServiceManager lo publica dentro de la transacción;
+ * los oyentes con @TransactionalEventListener(phase = AFTER_COMMIT) solo lo reciben si la transacción confirma.
+ * Lleva los datos del producto tal como quedaron (en DELETED, los que tenía al borrarse). previousOwnerId es el
+ * dueño antes del cambio: solo difiere de ownerId en un UPDATED que reasigna el producto a otro usuario.
+ */
+public record ProductChangedEvent(Type type, Long productId, String name, Double price, Long ownerId,
+                                  Long previousOwnerId) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    // Cambio sin reasignación: el dueño es el mismo antes y después
+    public ProductChangedEvent(Type type, Long productId, String name, Double price, Long ownerId) {
+        this(type, productId, name, price, ownerId, ownerId);
+    }
+
+    public static ProductChangedEvent of(Type type, Product product) {
+        return of(type, product, ownerId(product));
+    }
+
+    public static ProductChangedEvent of(Type type, Product product, Long previousOwnerId) {
+        return new ProductChangedEvent(type, product.getId(), product.getName(), product.getPrice(), ownerId(product),
+                previousOwnerId);
+    }
+
+    public static Long ownerId(Product product) {
+        return product.getUser() != null ? product.getUser().getId() : null;
+    }
+
+    public boolean ownerChanged() {
+        return previousOwnerId != null && !previousOwnerId.equals(ownerId);
+    }
+
+    // Lo que ve el dueño anterior: el producto ya no es suyo
+    public ProductChangedEvent asDeletedForPreviousOwner() {
+        return new ProductChangedEvent(Type.DELETED, productId, name, price, previousOwnerId, previousOwnerId);
+    }
+}
@@ -0,0 +1,271 @@
+package net.miPrimerCRUD.app.CRUD.events;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.miPrimerCRUD.app.CRUD.exception.TooManySubscriptionsException;
+import net.miPrimerCRUD.app.CRUD.security.AuthenticatedUser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reparte los cambios confirmados de productos entre las conexiones abiertas a /api/products/events: cada USER
+ * recibe solo los de sus productos y cada ADMIN todos. Publicar nunca espera por un cliente: el evento se deja en la
+ * cola acotada de cada suscriptor y un pool pequeño de hilos (dispatchThreads) lo escribe en la conexión.
+ *
+ * Una conexión inactiva no ocupa ningún hilo (SseEmitter sobre una petición asíncrona), solo su entrada en el mapa.
+ * Cada heartbeatInterval se envía un comentario a todas para detectar las que se cerraron sin avisar. Un suscriptor
+ * que acumula maxPending productos distintos sin enviar se desconecta; al reconectar, el cliente debe volver a
+ * leer /api/products/my-products.
+ */
+public class ProductEventBus implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductEventBus.class);
+
+    private final Map<Long, Set<ProductEventSubscription>> byOwner = new ConcurrentHashMap<>();
+    private final Set<ProductEventSubscription> admins = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final int maxSubscribers;
+    private final int maxPerUser;
+    private final int maxPending;
+    private final Duration timeout;
+    private final Duration reconnectDelay;
+
+    private final ThreadPoolExecutor dispatcher;
+    private final ScheduledExecutorService heartbeat;
+
+    private final Counter sent;
+    private final Counter coalesced;
+    private final Counter droppedSlow;
+    private final Counter rejected;
+
+    public ProductEventBus(int maxSubscribers, int maxPerUser, int maxPending, Duration timeout, Duration reconnectDelay,
+                           Duration heartbeatInterval, int dispatchThreads, MeterRegistry meterRegistry) {
+        this.maxSubscribers = maxSubscribers;
+        this.maxPerUser = maxPerUser;
+        this.maxPending = maxPending;
+        this.timeout = timeout;
+        this.reconnectDelay = reconnectDelay;
+
+        // Cola sin límite, pero cada suscriptor tiene como mucho un envío programado a la vez
+        this.dispatcher = new ThreadPoolExecutor(dispatchThreads, dispatchThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), daemon("product-events"));
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(daemon("product-events-heartbeat"));
+        long intervalMillis = heartbeatInterval.toMillis();
+        this.heartbeat.scheduleAtFixedRate(this::heartbeatAll, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("app.products.events.subscribers", subscribers, AtomicInteger::get)
+                .description("Conexiones abiertas a /api/products/events")
+                .register(meterRegistry);
+        this.sent = Counter.builder("app.products.events.sent")
+                .description("Eventos de producto enviados a los suscriptores")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("app.products.events.coalesced")
+                .description("Eventos sustituidos por un cambio posterior del mismo producto antes de enviarse")
+                .register(meterRegistry);
+        this.droppedSlow = Counter.builder("app.products.events.dropped")
+                .tag("reason", "slow")
+                .description("Suscriptores desconectados por no leer a tiempo")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("app.products.events.dropped")
+                .tag("reason", "limit")
+                .description("Suscripciones rechazadas por el límite de conexiones")
+                .register(meterRegistry);
+    }
+
+    private static ThreadFactory daemon(String prefix) {
+        AtomicInteger threads = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, prefix + "-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // Registra la suscripción respetando los límites; la conexión se le asocia después con connect
+    public ProductEventSubscription subscribe(AuthenticatedUser user) {
+        if (subscribers.incrementAndGet() > maxSubscribers) {
+            subscribers.decrementAndGet();
+            rejected.increment();
+            throw new TooManySubscriptionsException("Demasiadas conexiones abiertas al flujo de eventos");
+        }
+
+        ProductEventSubscription subscription = new ProductEventSubscription(user.getId(), user.isAdmin(), maxPending);
+        if (user.isAdmin()) {
+            admins.add(subscription);
+        } else {
+            boolean[] full = {false};
+            byOwner.compute(user.getId(), (owner, current) -> {
+                Set<ProductEventSubscription> set = current != null ? current : ConcurrentHashMap.newKeySet();
+                if (set.size() >= maxPerUser) {
+                    full[0] = true;
+                } else {
+                    set.add(subscription);
+                }
+                return set.isEmpty() ? null : set;
+            });
+            if (full[0]) {
+                subscribers.decrementAndGet();
+                rejected.increment();
+                throw new TooManySubscriptionsException("Máximo de " + maxPerUser + " conexiones al flujo de eventos por usuario");
+            }
+        }
+        return subscription;
+    }
+
+    // Asocia la conexión SSE: el primer evento es "ready" y después sale lo que llegara desde subscribe
+    public void connect(ProductEventSubscription subscription, SseEmitter emitter) {
+        emitter.onCompletion(() -> unsubscribe(subscription));
+        emitter.onTimeout(() -> unsubscribe(subscription));
+        emitter.onError(error -> unsubscribe(subscription));
+        try {
+            // Primer evento: confirma la suscripción y fija el tiempo de reconexión del EventSource
+            emitter.send(SseEmitter.event().name("ready").reconnectTime(reconnectDelay.toMillis()).data("ok"));
+        } catch (IOException ex) {
+            unsubscribe(subscription);
+            emitter.completeWithError(ex);
+            return;
+        }
+        if (!subscription.attach(emitter)) {
+            emitter.complete();
+            return;
+        }
+        if (subscription.resume() == ProductEventSubscription.Offer.SCHEDULE) {
+            dispatcher.execute(() -> deliver(subscription));
+        }
+    }
+
+    public Duration timeout() {
+        return timeout;
+    }
+
+    private void unsubscribe(ProductEventSubscription subscription) {
+        boolean removed;
+        if (subscription.admin()) {
+            removed = admins.remove(subscription);
+        } else {
+            boolean[] found = {false};
+            byOwner.computeIfPresent(subscription.userId(), (owner, set) -> {
+                found[0] = set.remove(subscription);
+                return set.isEmpty() ? null : set;
+            });
+            removed = found[0];
+        }
+        if (removed) {
+            subscribers.decrementAndGet();
+        }
+    }
+
+    // Tras el commit: un rollback no llega a los clientes
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        // Reasignado a otro usuario: para el dueño anterior es una baja y para el nuevo, el estado actual
+        if (event.ownerChanged()) {
+            offerToOwner(event.previousOwnerId(), event.asDeletedForPreviousOwner());
+        }
+        offerToOwner(event.ownerId(), event);
+        admins.forEach(subscription -> offer(subscription, event));
+    }
+
+    private void offerToOwner(Long ownerId, ProductChangedEvent event) {
+        if (ownerId != null) {
+            Set<ProductEventSubscription> owners = byOwner.get(ownerId);
+            if (owners != null) {
+                owners.forEach(subscription -> offer(subscription, event));
+            }
+        }
+    }
+
+    private void offer(ProductEventSubscription subscription, ProductChangedEvent event) {
+        switch (subscription.offer(event)) {
+            case SCHEDULE -> dispatcher.execute(() -> deliver(subscription));
+            case COALESCED -> coalesced.increment();
+            case OVERFLOW -> {
+                droppedSlow.increment();
+                log.info("Suscriptor de eventos del usuario {} desconectado: {} productos pendientes sin leer",
+                        subscription.userId(), subscription.pendingCount());
+                unsubscribe(subscription);
+                subscription.close();
+            }
+            case QUEUED -> {
+            }
+        }
+    }
+
+    // Escribe lo pendiente hasta vaciar la cola; si la conexión falla, el suscriptor se da de baja
+    private void deliver(ProductEventSubscription subscription) {
+        SseEmitter emitter = subscription.emitterOrRelease();
+        if (emitter == null) {
+            return;
+        }
+        try {
+            while (true) {
+                List<ProductChangedEvent> events = subscription.takePending();
+                if (events.isEmpty()) {
+                    if (!subscription.takeHeartbeat()) {
+                        return;
+                    }
+                    emitter.send(SseEmitter.event().comment("keepalive"));
+                    continue;
+                }
+                for (ProductChangedEvent event : events) {
+                    emitter.send(SseEmitter.event()
+                            .id(Long.toString(sequence.incrementAndGet()))
+                            .name("product")
+                            .data(event, MediaType.APPLICATION_JSON));
+                }
+                sent.increment(events.size());
+            }
+        } catch (IOException | IllegalStateException ex) {
+            // Cliente desconectado o emitter ya completado
+            unsubscribe(subscription);
+            subscription.takePending();
+        }
+    }
+
+    private void heartbeatAll() {
+        List<ProductEventSubscription> all = new ArrayList<>(admins);
+        byOwner.values().forEach(all::addAll);
+        for (ProductEventSubscription subscription : all) {
+            if (subscription.requestHeartbeat() == ProductEventSubscription.Offer.SCHEDULE) {
+                dispatcher.execute(() -> deliver(subscription));
+            }
+        }
+    }
+
+    public int subscribers() {
+        return subscribers.get();
+    }
+
+    // Cierra todas las conexiones: los clientes reconectan contra otra instancia o tras el reinicio
+    @Override
+    public void close() {
+        heartbeat.shutdownNow();
+        dispatcher.shutdownNow();
+        List<ProductEventSubscription> all = new ArrayList<>(admins);
+        byOwner.values().forEach(all::addAll);
+        all.forEach(ProductEventSubscription::close);
+    }
+}
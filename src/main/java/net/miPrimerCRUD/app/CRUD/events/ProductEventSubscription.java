@@ -0,0 +1,134 @@
+package net.miPrimerCRUD.app.CRUD.events;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Una conexión abierta a /api/products/events y sus eventos pendientes de enviar. La cola guarda como mucho un
+ * evento por producto: si llega otro cambio del mismo producto antes de enviarse, sustituye al anterior (el
+ * cliente solo necesita el último estado). Con maxPending productos distintos pendientes, el suscriptor va
+ * demasiado lento y ProductEventBus lo desconecta.
+ *
+ * ProductEventBus.subscribe la registra sin conexión y el controlador le asocia su SseEmitter con
+ * ProductEventBus.connect; lo que llegue entre medias espera en la cola hasta entonces.
+ */
+public class ProductEventSubscription {
+
+    enum Offer {
+        // Primer evento pendiente: hay que programar el envío
+        SCHEDULE,
+        // Ya había un envío programado
+        QUEUED,
+        // Sustituyó a un evento pendiente del mismo producto
+        COALESCED,
+        // Cola llena: el suscriptor debe desconectarse
+        OVERFLOW
+    }
+
+    private final Long userId;
+    private final boolean admin;
+    private final int maxPending;
+
+    // Protegidos por this: los comparten el hilo que publica y el que envía
+    private final LinkedHashMap<Long, ProductChangedEvent> pending = new LinkedHashMap<>();
+    private boolean scheduled;
+    private boolean heartbeatDue;
+    private SseEmitter emitter;
+    private boolean closed;
+
+    ProductEventSubscription(Long userId, boolean admin, int maxPending) {
+        this.userId = userId;
+        this.admin = admin;
+        this.maxPending = maxPending;
+    }
+
+    synchronized Offer offer(ProductChangedEvent event) {
+        if (pending.containsKey(event.productId())) {
+            // Se mueve al final: el orden de envío sigue el del último cambio
+            pending.remove(event.productId());
+            pending.put(event.productId(), event);
+            return Offer.COALESCED;
+        }
+        if (pending.size() >= maxPending) {
+            return Offer.OVERFLOW;
+        }
+        pending.put(event.productId(), event);
+        return schedule();
+    }
+
+    synchronized Offer requestHeartbeat() {
+        heartbeatDue = true;
+        return schedule();
+    }
+
+    private Offer schedule() {
+        if (scheduled) {
+            return Offer.QUEUED;
+        }
+        scheduled = true;
+        return Offer.SCHEDULE;
+    }
+
+    // Lo pendiente, en orden; con la cola vacía (y sin latido pendiente) el siguiente evento vuelve a programar el envío
+    synchronized List<ProductChangedEvent> takePending() {
+        List<ProductChangedEvent> events = new ArrayList<>(pending.values());
+        pending.clear();
+        if (events.isEmpty() && !heartbeatDue) {
+            scheduled = false;
+        }
+        return events;
+    }
+
+    synchronized boolean takeHeartbeat() {
+        boolean due = heartbeatDue;
+        heartbeatDue = false;
+        return due;
+    }
+
+    // false si ya se cerró (por lenta o por el apagado) antes de conectarse
+    synchronized boolean attach(SseEmitter emitter) {
+        if (closed) {
+            return false;
+        }
+        this.emitter = emitter;
+        return true;
+    }
+
+    // Sin conexión todavía, el envío se suelta y lo pendiente espera a resume()
+    synchronized SseEmitter emitterOrRelease() {
+        if (emitter == null) {
+            scheduled = false;
+        }
+        return emitter;
+    }
+
+    // Tras conectarse: programa el envío de lo que llegó antes
+    synchronized Offer resume() {
+        if (pending.isEmpty() && !heartbeatDue) {
+            return Offer.QUEUED;
+        }
+        return schedule();
+    }
+
+    synchronized void close() {
+        closed = true;
+        if (emitter != null) {
+            emitter.complete();
+        }
+    }
+
+    synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    Long userId() {
+        return userId;
+    }
+
+    boolean admin() {
+        return admin;
+    }
+}
@@ -0,0 +1,22 @@
+package net.miPrimerCRUD.app.CRUD.events;
+
+import net.miPrimerCRUD.app.CRUD.entities.User;
+
+/**
+ * Alta, modificación o baja de un usuario. UserServiceManager lo publica dentro de la transacción, igual que
+ * ProductChangedEvent. Nunca lleva la contraseña. Al borrar un usuario, sus productos se eliminan antes por
+ * bloques (app.users.delete-chunk-size) y cada uno publica su ProductChangedEvent DELETED; el DELETED del usuario
+ * llega después del de sus productos.
+ */
+public record UserChangedEvent(Type type, Long userId, String email, String role) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static UserChangedEvent of(Type type, User user) {
+        return new UserChangedEvent(type, user.getId(), user.getEmail(), user.getRole());
+    }
+}
@@ -0,0 +1,14 @@
+package net.miPrimerCRUD.app.CRUD.exception;
+
+// 400 - Parámetro de la petición inválido (cursor mal formado, orden desconocido...). El mensaje llega al cliente:
+// solo debe describir el parámetro, nunca detalles internos
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+
+    public BadRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,9 @@
+package net.miPrimerCRUD.app.CRUD.exception;
+
+// 503 - La cola de trabajos en segundo plano está llena; el cliente puede reintentar en un momento
+public class JobQueueFullException extends RuntimeException {
+
+    public JobQueueFullException(String message) {
+        super(message);
+    }
+}
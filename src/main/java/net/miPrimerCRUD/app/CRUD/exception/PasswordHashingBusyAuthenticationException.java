@@ -0,0 +1,13 @@
+package net.miPrimerCRUD.app.CRUD.exception;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+// 503 - PasswordHashingBusyException durante una autenticación. Como AuthenticationException la trata la cadena de
+// Spring Security (HTTP Basic), que de otro modo la dejaría escapar como un 500; no es un 401: las credenciales no
+// llegaron a comprobarse
+public class PasswordHashingBusyAuthenticationException extends AuthenticationServiceException {
+
+    public PasswordHashingBusyAuthenticationException(PasswordHashingBusyException cause) {
+        super(cause.getMessage(), cause);
+    }
+}
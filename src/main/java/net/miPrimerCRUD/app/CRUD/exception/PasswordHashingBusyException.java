@@ -0,0 +1,9 @@
+package net.miPrimerCRUD.app.CRUD.exception;
+
+// 503 - La cola del pool de hash de contraseñas está llena; el cliente puede reintentar en un momento
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package net.miPrimerCRUD.app.CRUD.exception;
+
+// 412 - La cabecera If-Match no coincide con la versión actual del recurso
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package net.miPrimerCRUD.app.CRUD.exception;
+
+// 429 - Se alcanzó el máximo de conexiones abiertas a /api/products/events (por usuario o en total)
+public class TooManySubscriptionsException extends RuntimeException {
+
+    public TooManySubscriptionsException(String message) {
+        super(message);
+    }
+}
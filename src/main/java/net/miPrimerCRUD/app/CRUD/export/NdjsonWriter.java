@@ -0,0 +1,49 @@
+package net.miPrimerCRUD.app.CRUD.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+// Escribe un objeto JSON por línea (application/x-ndjson) directamente en la respuesta
+public class NdjsonWriter implements AutoCloseable {
+
+    public static final int FLUSH_INTERVAL = 500;
+
+    private final JsonGenerator generator;
+    private final ObjectWriter writer;
+    private long written = 0;
+
+    public NdjsonWriter(ObjectMapper objectMapper, OutputStream out) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(out);
+        // Sin separador entre valores raíz: el salto de línea lo escribimos nosotros
+        this.generator.setRootValueSeparator(null);
+        // El flush lo controlamos cada FLUSH_INTERVAL líneas, no en cada valor
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public void write(Object value) {
+        try {
+            writer.writeValue(generator, value);
+            generator.writeRaw('\n');
+            if (++written % FLUSH_INTERVAL == 0) {
+                generator.flush();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public long getWritten() {
+        return written;
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.flush();
+    }
+}
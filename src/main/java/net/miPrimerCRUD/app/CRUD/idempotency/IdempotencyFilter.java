@@ -0,0 +1,287 @@
+package net.miPrimerCRUD.app.CRUD.idempotency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Cabecera Idempotency-Key en los POST de creación: un cliente que reintenta con la misma clave recibe la respuesta
+ * de la primera petición (con Idempotent-Replayed: true) sin que se vuelva a ejecutar el controlador ni el servicio.
+ *
+ * - La clave se combina con el usuario autenticado, el método y la ruta: dos usuarios pueden usar la misma clave.
+ * - Solo se guardan las respuestas 2xx de hasta maxResponseBytes; tras un error el cliente puede reintentar.
+ * - La misma clave con otro cuerpo responde 422.
+ * - El cuerpo se lee entero en memoria para calcular su huella, así que no puede pasar de maxRequestBytes (413).
+ * - Si llega un duplicado mientras la original sigue en curso, espera su resultado (hasta inFlightTimeout, luego 409)
+ *   en lugar de ejecutarse en paralelo. Esta coordinación es por instancia; el almacén jdbc comparte las ya terminadas.
+ *
+ * Va después de Spring Security: el usuario ya está resuelto y las peticiones sin autenticar no llegan aquí.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    static final int MAX_KEY_LENGTH = 255;
+    static final String ANONYMOUS = "anónimo";
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyFilter.class);
+
+    private final IdempotencyStore store;
+    private final Set<String> paths;
+    private final long inFlightTimeoutNanos;
+    private final int maxRequestBytes;
+    private final int maxResponseBytes;
+    private final Map<String, CompletableFuture<IdempotentResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter coalesced;
+    private final Counter conflicts;
+    private final Counter mismatches;
+    private final Counter tooLarge;
+
+    public IdempotencyFilter(IdempotencyStore store, Set<String> paths, Duration inFlightTimeout, int maxRequestBytes,
+                             int maxResponseBytes, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.paths = paths;
+        this.inFlightTimeoutNanos = inFlightTimeout.toNanos();
+        this.maxRequestBytes = maxRequestBytes;
+        this.maxResponseBytes = maxResponseBytes;
+        this.executed = counter(meterRegistry, "executed");
+        this.replayed = counter(meterRegistry, "replayed");
+        this.coalesced = counter(meterRegistry, "coalesced");
+        this.conflicts = counter(meterRegistry, "conflict");
+        this.mismatches = counter(meterRegistry, "mismatch");
+        this.tooLarge = counter(meterRegistry, "too_large");
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("app.idempotency.requests")
+                .tag("result", result)
+                .description("Peticiones con Idempotency-Key según su resultado")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || request.getHeader(HEADER) == null
+                || !paths.contains(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getHeader(HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST,
+                    "La cabecera " + HEADER + " debe tener entre 1 y " + MAX_KEY_LENGTH + " caracteres");
+            return;
+        }
+
+        // Content-Length rechaza antes de leer; sin él (chunked) se lee como mucho un byte más del máximo
+        byte[] body = request.getContentLengthLong() > maxRequestBytes
+                ? null
+                : request.getInputStream().readNBytes(maxRequestBytes + 1);
+        if (body == null || body.length > maxRequestBytes) {
+            tooLarge.increment();
+            response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE,
+                    "Con " + HEADER + " el cuerpo no puede superar " + maxRequestBytes + " bytes");
+            return;
+        }
+        String fingerprint = sha256(body);
+        String scope = sha256((currentPrincipal(request) + "\n" + request.getMethod() + " " + request.getRequestURI() + "\n" + key)
+                .getBytes(StandardCharsets.UTF_8));
+        HttpServletRequest cachedRequest = new CachedBodyRequest(request, body);
+
+        while (true) {
+            IdempotentResponse stored = store.find(scope);
+            if (stored != null) {
+                replay(stored, fingerprint, response, replayed);
+                return;
+            }
+
+            CompletableFuture<IdempotentResponse> mine = new CompletableFuture<>();
+            CompletableFuture<IdempotentResponse> running = inFlight.putIfAbsent(scope, mine);
+            if (running == null) {
+                execute(cachedRequest, response, chain, scope, fingerprint, mine);
+                return;
+            }
+
+            try {
+                replay(running.get(inFlightTimeoutNanos, TimeUnit.NANOSECONDS), fingerprint, response, coalesced);
+                return;
+            } catch (TimeoutException ex) {
+                conflicts.increment();
+                response.sendError(HttpServletResponse.SC_CONFLICT, "Ya hay una petición en curso con esta " + HEADER);
+                return;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                conflicts.increment();
+                response.sendError(HttpServletResponse.SC_CONFLICT, "Ya hay una petición en curso con esta " + HEADER);
+                return;
+            } catch (ExecutionException ex) {
+                // La original terminó con una excepción sin respuesta: esta petición lo intenta por su cuenta
+            }
+        }
+    }
+
+    private void execute(HttpServletRequest request, HttpServletResponse response, FilterChain chain, String scope,
+                         String fingerprint, CompletableFuture<IdempotentResponse> mine) throws ServletException, IOException {
+        ContentCachingResponseWrapper capture = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(request, capture);
+            IdempotentResponse result = new IdempotentResponse(fingerprint, capture.getStatus(), capture.getContentType(),
+                    capture.getContentAsByteArray(), Instant.now());
+            if (isSuccessful(result.status()) && result.body().length <= maxResponseBytes) {
+                save(scope, result);
+            }
+            executed.increment();
+            // Los duplicados que esperaban reciben también las respuestas de error, pero estas no se guardan
+            mine.complete(result);
+        } catch (ServletException | IOException | RuntimeException | Error ex) {
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(scope, mine);
+            capture.copyBodyToResponse();
+        }
+    }
+
+    private void save(String scope, IdempotentResponse result) {
+        try {
+            store.save(scope, result);
+        } catch (RuntimeException ex) {
+            // La creación ya se hizo: un fallo del almacén no debe convertirla en un error para el cliente
+            log.warn("No se pudo guardar la respuesta idempotente: {}", ex.toString());
+        }
+    }
+
+    private void replay(IdempotentResponse stored, String fingerprint, HttpServletResponse response, Counter counter)
+            throws IOException {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            mismatches.increment();
+            response.sendError(422, "La " + HEADER + " ya se usó con otro cuerpo de petición");
+            return;
+        }
+        counter.increment();
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private static boolean isSuccessful(int status) {
+        return status >= 200 && status < 300;
+    }
+
+    // El registro público (POST /api/users) no tiene usuario: se distingue por IP, como en RateLimitFilter, para que
+    // dos clientes con la misma clave no compartan la respuesta guardada
+    private static String currentPrincipal(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return ANONYMOUS + ":ip:" + request.getRemoteAddr();
+        }
+        return authentication.getName();
+    }
+
+    static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    // El cuerpo se lee una vez para calcular la huella; el controlador lo vuelve a leer desde aquí
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return in.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding() != null ? getCharacterEncoding() : StandardCharsets.UTF_8.name();
+            return new BufferedReader(new InputStreamReader(getInputStream(), encoding));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package net.miPrimerCRUD.app.CRUD.idempotency;
+
+// Respuestas guardadas por clave (ya acotada y con el usuario incluido, ver IdempotencyFilter). Caducan tras el TTL
+public interface IdempotencyStore {
+
+    // null si no existe o ya caducó
+    IdempotentResponse find(String key);
+
+    void save(String key, IdempotentResponse response);
+}
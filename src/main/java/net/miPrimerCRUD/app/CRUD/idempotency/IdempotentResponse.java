@@ -0,0 +1,9 @@
+package net.miPrimerCRUD.app.CRUD.idempotency;
+
+import java.time.Instant;
+
+/**
+ * Respuesta guardada para una Idempotency-Key. fingerprint es el SHA-256 del cuerpo de la petición original: una
+ * repetición con otro cuerpo no es un reintento sino un uso incorrecto de la clave (422).
+ */
+public record IdempotentResponse(String fingerprint, int status, String contentType, byte[] body, Instant createdAt) {}
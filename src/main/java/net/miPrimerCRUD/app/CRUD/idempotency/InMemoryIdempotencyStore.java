@@ -0,0 +1,33 @@
+package net.miPrimerCRUD.app.CRUD.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+
+// Almacén por defecto: caché acotada en número de entradas y con caducidad desde la escritura. Solo vale para una instancia
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Cache<String, IdempotentResponse> cache;
+
+    public InMemoryIdempotencyStore(long maxEntries, Duration ttl, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "idempotency");
+    }
+
+    @Override
+    public IdempotentResponse find(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    @Override
+    public void save(String key, IdempotentResponse response) {
+        cache.put(key, response);
+    }
+}
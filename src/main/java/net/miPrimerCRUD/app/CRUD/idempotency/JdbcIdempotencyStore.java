@@ -0,0 +1,60 @@
+package net.miPrimerCRUD.app.CRUD.idempotency;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Almacén en la tabla idempotency_keys, compartido por todas las instancias. Las filas caducadas se ignoran al leer
+ * y se borran con purgeExpired(), que IdempotencyConfig programa periódicamente.
+ */
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration ttl;
+    private final Clock clock;
+
+    public JdbcIdempotencyStore(JdbcTemplate jdbcTemplate, Duration ttl, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    @Override
+    public IdempotentResponse find(String key) {
+        List<IdempotentResponse> rows = jdbcTemplate.query(
+                "select fingerprint, status, content_type, body, created_at from idempotency_keys "
+                        + "where id_key = ? and created_at > ?",
+                (rs, rowNum) -> new IdempotentResponse(rs.getString("fingerprint"), rs.getInt("status"),
+                        rs.getString("content_type"), rs.getBytes("body"), rs.getTimestamp("created_at").toInstant()),
+                key, Timestamp.from(expiredBefore()));
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    @Override
+    public void save(String key, IdempotentResponse response) {
+        // Una fila caducada aún sin purgar no debe impedir guardar la nueva
+        jdbcTemplate.update("delete from idempotency_keys where id_key = ? and created_at <= ?", key, Timestamp.from(expiredBefore()));
+        try {
+            jdbcTemplate.update("insert into idempotency_keys (id_key, fingerprint, status, content_type, body, created_at) "
+                            + "values (?, ?, ?, ?, ?, ?)",
+                    key, response.fingerprint(), response.status(), response.contentType(), response.body(),
+                    Timestamp.from(response.createdAt()));
+        } catch (DuplicateKeyException ex) {
+            // Otra instancia guardó la misma clave a la vez: vale la primera
+        }
+    }
+
+    public int purgeExpired() {
+        return jdbcTemplate.update("delete from idempotency_keys where created_at <= ?", Timestamp.from(expiredBefore()));
+    }
+
+    private Instant expiredBefore() {
+        return clock.instant().minus(ttl);
+    }
+}
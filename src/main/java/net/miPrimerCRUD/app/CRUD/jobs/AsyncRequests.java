@@ -0,0 +1,41 @@
+package net.miPrimerCRUD.app.CRUD.jobs;
+
+import net.miPrimerCRUD.app.CRUD.DTO.JobDTO;
+import org.springframework.http.ResponseEntity;
+
+import java.net.URI;
+
+/**
+ * Modo asíncrono de las escrituras largas (RFC 7240): con "Prefer: respond-async" la petición se encola en
+ * JobService y se responde 202 Accepted con el trabajo y Location: /api/jobs/{id} para consultar su estado.
+ * Sin la cabecera, el endpoint responde como siempre.
+ */
+public final class AsyncRequests {
+
+    public static final String PREFER_HEADER = "Prefer";
+    public static final String PREFERENCE_APPLIED_HEADER = "Preference-Applied";
+    public static final String RESPOND_ASYNC = "respond-async";
+
+    private AsyncRequests() {}
+
+    // Prefer admite varias preferencias separadas por comas, con parámetros tras ";" (p. ej. "respond-async, wait=5")
+    public static boolean isRequested(String prefer) {
+        if (prefer == null) {
+            return false;
+        }
+        for (String preference : prefer.split(",")) {
+            String token = preference.split(";", 2)[0].trim();
+            if (token.equalsIgnoreCase(RESPOND_ASYNC)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static ResponseEntity<JobDTO> accepted(Job job) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/jobs/" + job.getId()))
+                .header(PREFERENCE_APPLIED_HEADER, RESPOND_ASYNC)
+                .body(JobDTO.from(job));
+    }
+}
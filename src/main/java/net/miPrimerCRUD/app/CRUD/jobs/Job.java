@@ -0,0 +1,64 @@
+package net.miPrimerCRUD.app.CRUD.jobs;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Trabajo en segundo plano. Lo escribe solo el hilo que lo ejecuta y lo leen las consultas de estado,
+ * por eso los campos que cambian son volatile.
+ */
+public class Job {
+
+    private final String id;
+    private final String type;
+    // Id del usuario que lo pidió (no el email, que puede cambiar mientras tanto): solo él o un ADMIN pueden
+    // consultarlo. null si no había un AuthenticatedUser
+    private final Long ownerId;
+    private final Instant createdAt;
+    private final AtomicLong processed = new AtomicLong();
+    private volatile JobStatus status = JobStatus.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile Object result;
+    private volatile String error;
+
+    Job(String id, String type, Long ownerId, Instant createdAt) {
+        this.id = id;
+        this.type = type;
+        this.ownerId = ownerId;
+        this.createdAt = createdAt;
+    }
+
+    void start(Instant now) {
+        startedAt = now;
+        status = JobStatus.RUNNING;
+    }
+
+    void succeed(Object result, Instant now) {
+        this.result = result;
+        finishedAt = now;
+        status = JobStatus.SUCCEEDED;
+    }
+
+    void fail(String error, Instant now) {
+        this.error = error;
+        finishedAt = now;
+        status = JobStatus.FAILED;
+    }
+
+    // Avance del trabajo (por ejemplo, productos eliminados hasta ahora)
+    public void addProcessed(long count) {
+        processed.addAndGet(count);
+    }
+
+    public String getId() { return id; }
+    public String getType() { return type; }
+    public Long getOwnerId() { return ownerId; }
+    public Instant getCreatedAt() { return createdAt; }
+    public long getProcessed() { return processed.get(); }
+    public JobStatus getStatus() { return status; }
+    public Instant getStartedAt() { return startedAt; }
+    public Instant getFinishedAt() { return finishedAt; }
+    public Object getResult() { return result; }
+    public String getError() { return error; }
+}
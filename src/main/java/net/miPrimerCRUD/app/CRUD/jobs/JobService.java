@@ -0,0 +1,127 @@
+package net.miPrimerCRUD.app.CRUD.jobs;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.miPrimerCRUD.app.CRUD.exception.JobQueueFullException;
+import net.miPrimerCRUD.app.CRUD.security.AuthenticatedUser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Ejecuta operaciones largas (bajas de usuarios con muchos productos, lotes) fuera del hilo de la petición:
+ * - Pool de threads hilos con una cola de hasta queueCapacity trabajos; con la cola llena, JobQueueFullException (503).
+ * - El trabajo se ejecuta con el SecurityContext de quien lo pidió, así que los servicios comprueban los permisos
+ *   igual que en la petición.
+ * - El estado de cada trabajo se conserva retention tras crearse (como mucho maxRetained trabajos) para consultarlo
+ *   en GET /api/jobs/{id}. Solo vive en memoria: un reinicio pierde los trabajos pendientes y su estado.
+ */
+public class JobService implements AutoCloseable {
+
+    @FunctionalInterface
+    public interface JobTask {
+        Object run(Job job) throws Exception;
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(JobService.class);
+
+    private final PlatformTransactionManager transactionManager;
+    private final ThreadPoolExecutor executor;
+    private final Cache<String, Job> jobs;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+
+    public JobService(PlatformTransactionManager transactionManager, int threads, int queueCapacity, Duration retention,
+                      long maxRetained, MeterRegistry meterRegistry) {
+        this.transactionManager = transactionManager;
+        this.clock = Clock.systemUTC();
+        this.meterRegistry = meterRegistry;
+        AtomicInteger count = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "job-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.jobs = Caffeine.newBuilder()
+                .maximumSize(maxRetained)
+                .expireAfterWrite(retention)
+                .build();
+
+        Gauge.builder("app.jobs.queued", executor, e -> e.getQueue().size())
+                .description("Trabajos esperando un hilo libre")
+                .register(meterRegistry);
+        Gauge.builder("app.jobs.running", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Trabajos en ejecución")
+                .register(meterRegistry);
+    }
+
+    public Job submit(String type, JobTask task) {
+        // Copia del contexto: el de la petición se limpia al terminar esta, antes de que el trabajo se ejecute
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        Long ownerId = authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user
+                ? user.getId() : null;
+        Job job = new Job(UUID.randomUUID().toString(), type, ownerId, clock.instant());
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(new DelegatingSecurityContextRunnable(() -> run(job, task), context));
+        } catch (RejectedExecutionException ex) {
+            jobs.invalidate(job.getId());
+            throw new JobQueueFullException("Hay demasiados trabajos en cola, inténtalo de nuevo");
+        }
+        return job;
+    }
+
+    // El trabajo completo en una sola transacción (como el endpoint síncrono, pero sin ocupar la petición)
+    public Job submitInTransaction(String type, Supplier<?> work) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        return submit(type, job -> transaction.execute(status -> work.get()));
+    }
+
+    // null si no existe o ya caducó
+    public Job find(String id) {
+        return jobs.getIfPresent(id);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private void run(Job job, JobTask task) {
+        job.start(clock.instant());
+        try {
+            job.succeed(task.run(job), clock.instant());
+        } catch (Exception ex) {
+            // El mensaje de las excepciones de la aplicación está pensado para el cliente (no encontrado, sin permiso...)
+            log.warn("El trabajo {} ({}) ha fallado: {}", job.getId(), job.getType(), ex.toString());
+            job.fail(ex.getMessage() != null ? ex.getMessage() : ex.getClass().getSimpleName(), clock.instant());
+        }
+        Counter.builder("app.jobs.completed")
+                .description("Trabajos terminados por tipo y resultado")
+                .tag("type", job.getType())
+                .tag("status", job.getStatus().name())
+                .register(meterRegistry)
+                .increment();
+    }
+}
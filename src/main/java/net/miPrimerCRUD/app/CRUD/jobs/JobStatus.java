@@ -0,0 +1,8 @@
+package net.miPrimerCRUD.app.CRUD.jobs;
+
+public enum JobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
@@ -0,0 +1,65 @@
+package net.miPrimerCRUD.app.CRUD.monitoring;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// GET /actuator/cachestats: aciertos, fallos y ratio por región de la caché de segundo nivel
+@Component
+@Endpoint(id = "cachestats")
+public class CacheStatsEndpoint {
+
+    private final Statistics statistics;
+
+    public CacheStatsEndpoint(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ReadOperation
+    public Map<String, Object> cacheStats() {
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStats = statistics.getCacheRegionStatistics(region);
+            if (regionStats != null) {
+                regions.put(region, describe(regionStats));
+            }
+        }
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        body.put("secondLevel", Map.of(
+                "hits", statistics.getSecondLevelCacheHitCount(),
+                "misses", statistics.getSecondLevelCacheMissCount(),
+                "puts", statistics.getSecondLevelCachePutCount(),
+                "hitRatio", ratio(statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount())));
+        body.put("queryCache", Map.of(
+                "hits", statistics.getQueryCacheHitCount(),
+                "misses", statistics.getQueryCacheMissCount(),
+                "puts", statistics.getQueryCachePutCount(),
+                "hitRatio", ratio(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount())));
+        body.put("regions", regions);
+        return body;
+    }
+
+    private Map<String, Object> describe(CacheRegionStatistics regionStats) {
+        Map<String, Object> region = new LinkedHashMap<>();
+        region.put("hits", regionStats.getHitCount());
+        region.put("misses", regionStats.getMissCount());
+        region.put("puts", regionStats.getPutCount());
+        region.put("hitRatio", ratio(regionStats.getHitCount(), regionStats.getMissCount()));
+        region.put("elementsInMemory", regionStats.getElementCountInMemory());
+        return region;
+    }
+
+    private static double ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
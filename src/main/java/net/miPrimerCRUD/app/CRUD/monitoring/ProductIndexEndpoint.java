@@ -0,0 +1,38 @@
+package net.miPrimerCRUD.app.CRUD.monitoring;
+
+import net.miPrimerCRUD.app.CRUD.search.ProductTextIndexer;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// GET /actuator/productindex: tamaño del índice de texto; POST /actuator/productindex: reconstruirlo desde la tabla
+@Component
+@Endpoint(id = "productindex")
+public class ProductIndexEndpoint {
+
+    private final ProductTextIndexer indexer;
+
+    public ProductIndexEndpoint(ProductTextIndexer indexer) {
+        this.indexer = indexer;
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("products", indexer.index().size());
+        body.put("terms", indexer.index().terms());
+        body.put("lastRebuild", indexer.getLastRebuild());
+        body.put("lastRebuildMillis", indexer.getLastRebuildDuration() != null ? indexer.getLastRebuildDuration().toMillis() : null);
+        return body;
+    }
+
+    @WriteOperation
+    public Map<String, Object> rebuild() {
+        indexer.rebuild();
+        return status();
+    }
+}
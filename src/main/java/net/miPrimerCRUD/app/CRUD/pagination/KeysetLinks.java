@@ -0,0 +1,40 @@
+package net.miPrimerCRUD.app.CRUD.pagination;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
+
+// Cabeceras de navegación: Link rel="next" (RFC 8288) y el cursor en X-Next-Cursor
+public class KeysetLinks {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    public static HttpHeaders headers(KeysetPage<?> page, int limit) {
+        if (!page.hasNext()) return new HttpHeaders();
+        return headers(page, limit, ServletUriComponentsBuilder.fromCurrentRequest());
+    }
+
+    // currentRequest: URI de la petición actual (en WebFlux, UriComponentsBuilder.fromUri(request.getURI()))
+    public static HttpHeaders headers(KeysetPage<?> page, int limit, UriComponentsBuilder currentRequest) {
+        if (!page.hasNext()) return new HttpHeaders();
+        return headers(KeysetCursor.encode(page.nextAfterId()), limit, currentRequest);
+    }
+
+    // Para cursores que no son solo un id (p. ej. la búsqueda ordenada por nombre o precio); null si no hay más
+    public static HttpHeaders headers(String cursor, int limit) {
+        if (cursor == null) return new HttpHeaders();
+        return headers(cursor, limit, ServletUriComponentsBuilder.fromCurrentRequest());
+    }
+
+    private static HttpHeaders headers(String cursor, int limit, UriComponentsBuilder currentRequest) {
+        HttpHeaders headers = new HttpHeaders();
+        String next = currentRequest
+                .replaceQueryParam("after", cursor)
+                .replaceQueryParam("limit", KeysetCursor.clampLimit(limit))
+                .build()
+                .toUriString();
+        headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        headers.add(NEXT_CURSOR_HEADER, cursor);
+        return headers;
+    }
+}
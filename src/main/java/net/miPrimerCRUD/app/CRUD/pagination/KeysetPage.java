@@ -0,0 +1,25 @@
+package net.miPrimerCRUD.app.CRUD.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+// Una página de resultados y el id desde el que empieza la siguiente (null si no hay más)
+public record KeysetPage<T>(List<T> items, Long nextAfterId) {
+
+    public boolean hasNext() {
+        return nextAfterId != null;
+    }
+
+    public <R> KeysetPage<R> map(Function<T, R> mapper) {
+        return new KeysetPage<>(items.stream().map(mapper).toList(), nextAfterId);
+    }
+
+    // Recibe limit + 1 filas: si llega la fila extra, hay página siguiente
+    public static <T> KeysetPage<T> of(List<T> rows, int limit, Function<T, Long> idExtractor) {
+        if (rows.size() <= limit) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new KeysetPage<>(items, idExtractor.apply(items.get(limit - 1)));
+    }
+}
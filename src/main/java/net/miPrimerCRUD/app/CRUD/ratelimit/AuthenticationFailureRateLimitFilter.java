@@ -0,0 +1,85 @@
+package net.miPrimerCRUD.app.CRUD.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Límite de intentos de autenticación fallidos por IP, antes de Spring Security. RateLimitFilter va después de la
+ * cadena de seguridad, así que un HTTP Basic con una contraseña incorrecta recibe su 401 (tras calcular el hash)
+ * sin llegar a él. Aquí, cada petición con credenciales (Authorization: Basic o POST /api/auth/login) que termina
+ * en 401 gasta un token de la IP; sin tokens, las siguientes peticiones con credenciales de esa IP reciben 429 sin
+ * calcular ningún hash. Los aciertos no gastan nada.
+ * Las peticiones que ya estaban en curso cuando se agota el cupo terminan igualmente: el exceso está acotado por
+ * la concurrencia del cliente (y el hash, por la cola de OffloadingPasswordEncoder).
+ */
+public class AuthenticationFailureRateLimitFilter extends OncePerRequestFilter {
+
+    private static final String LOGIN_PATH = "/api/auth/login";
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitRule rule;
+    private final Counter failed;
+    private final Counter rejected;
+
+    public AuthenticationFailureRateLimitFilter(RateLimitRule rule, long maxKeys, MeterRegistry meterRegistry) {
+        this.rule = rule;
+        this.rateLimiter = new RateLimiter(List.of(rule), maxKeys);
+        this.failed = counter(meterRegistry, "failed");
+        this.rejected = counter(meterRegistry, "rejected");
+    }
+
+    private Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("app.ratelimit.auth-failures")
+                .tag("result", result)
+                .description("Autenticaciones fallidas contadas por IP y peticiones rechazadas por superar el límite")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!rule.matches(request.getMethod(), path) || !carriesCredentials(request, path)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        // Detrás de un proxy, getRemoteAddr() es la IP del cliente solo con server.forward-headers-strategy configurado
+        String client = "ip:" + request.getRemoteAddr();
+        TokenBucket.Decision decision = rateLimiter.peek(rule, client);
+        if (!decision.allowed()) {
+            rejected.increment();
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(decision.retryAfterNanos() + 999_999_999));
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.sendError(429, "Demasiados intentos de autenticación fallidos, inténtalo de nuevo en "
+                    + retryAfterSeconds + " s");
+            return;
+        }
+
+        chain.doFilter(request, response);
+        if (response.getStatus() == HttpServletResponse.SC_UNAUTHORIZED) {
+            failed.increment();
+            rateLimiter.tryAcquire(rule, client);
+        }
+    }
+
+    // Los tokens Bearer se validan solo con la firma (sin hash): no hace falta limitarlos aquí
+    private static boolean carriesCredentials(HttpServletRequest request, String path) {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization != null && authorization.regionMatches(true, 0, "Basic ", 0, 6)) {
+            return true;
+        }
+        return HttpMethod.POST.matches(request.getMethod()) && LOGIN_PATH.equals(path);
+    }
+}
@@ -0,0 +1,82 @@
+package net.miPrimerCRUD.app.CRUD.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Límite de peticiones por cliente según la primera regla de RateLimiter que encaja con la ruta. Va después de
+ * Spring Security: las peticiones autenticadas cuentan por usuario y las anónimas (registro, login) por IP.
+ * Por encima del límite se responde 429 con Retry-After; las permitidas llevan X-RateLimit-Limit y X-RateLimit-Remaining.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    private final RateLimiter rateLimiter;
+    private final Map<RateLimitRule, Counter> allowed = new HashMap<>();
+    private final Map<RateLimitRule, Counter> rejected = new HashMap<>();
+
+    public RateLimitFilter(RateLimiter rateLimiter, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        for (RateLimitRule rule : rateLimiter.rules()) {
+            allowed.put(rule, counter(meterRegistry, rule, "allowed"));
+            rejected.put(rule, counter(meterRegistry, rule, "rejected"));
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, RateLimitRule rule, String result) {
+        return Counter.builder("app.ratelimit.requests")
+                .tag("rule", rule.toString())
+                .tag("result", result)
+                .description("Peticiones sujetas a un límite, permitidas o rechazadas")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        RateLimitRule rule = rateLimiter.match(request.getMethod(), path);
+        if (rule == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        TokenBucket.Decision decision = rateLimiter.tryAcquire(rule, client(request));
+        response.setHeader(LIMIT_HEADER, String.valueOf(rule.capacity()));
+        response.setHeader(REMAINING_HEADER, String.valueOf(decision.remaining()));
+        if (!decision.allowed()) {
+            rejected.get(rule).increment();
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(decision.retryAfterNanos() + 999_999_999));
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.sendError(429, "Demasiadas peticiones, inténtalo de nuevo en " + retryAfterSeconds + " s");
+            return;
+        }
+        allowed.get(rule).increment();
+        chain.doFilter(request, response);
+    }
+
+    // Detrás de un proxy, getRemoteAddr() es la IP del cliente solo con server.forward-headers-strategy configurado
+    private static String client(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken || !authentication.isAuthenticated()) {
+            return "ip:" + request.getRemoteAddr();
+        }
+        return "user:" + authentication.getName();
+    }
+}
@@ -0,0 +1,50 @@
+package net.miPrimerCRUD.app.CRUD.ratelimit;
+
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.util.AntPathMatcher;
+
+import java.time.Duration;
+
+/**
+ * Límite de una ruta: capacity peticiones por period y cliente, con ráfagas de hasta capacity.
+ * En texto, "[MÉTODO] patrón=capacidad/periodo", por ejemplo "POST /api/users=5/1m" o "/api/**=100/1s".
+ * Sin método, vale para todos.
+ */
+public record RateLimitRule(String method, String pattern, int capacity, Duration period) {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    public RateLimitRule {
+        if (capacity < 1 || period.isZero() || period.isNegative()) {
+            throw new IllegalArgumentException("Límite inválido para " + pattern + ": " + capacity + "/" + period);
+        }
+    }
+
+    public static RateLimitRule parse(String text) {
+        int equals = text.lastIndexOf('=');
+        int slash = text.indexOf('/', equals);
+        if (equals < 0 || slash < 0) {
+            throw new IllegalArgumentException("Regla de límite inválida (\"[MÉTODO] patrón=capacidad/periodo\"): " + text);
+        }
+        String[] route = text.substring(0, equals).trim().split("\\s+");
+        String method = route.length == 2 ? route[0].toUpperCase() : null;
+        String pattern = route[route.length - 1];
+        int capacity = Integer.parseInt(text.substring(equals + 1, slash).trim());
+        Duration period = DurationStyle.detectAndParse(text.substring(slash + 1).trim());
+        return new RateLimitRule(method, pattern, capacity, period);
+    }
+
+    public boolean matches(String requestMethod, String path) {
+        return (method == null || method.equals(requestMethod)) && PATH_MATCHER.match(pattern, path);
+    }
+
+    // Intervalo entre dos peticiones a ritmo sostenido: el bucket recupera un token cada emissionInterval
+    long emissionIntervalNanos() {
+        return Math.max(1, period.toNanos() / capacity);
+    }
+
+    @Override
+    public String toString() {
+        return (method != null ? method + " " : "") + pattern + "=" + capacity + "/" + period;
+    }
+}
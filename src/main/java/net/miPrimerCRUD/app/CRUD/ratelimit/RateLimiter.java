@@ -0,0 +1,67 @@
+package net.miPrimerCRUD.app.CRUD.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Un TokenBucket por regla y cliente, en una caché Caffeine acotada. Las entradas sin uso durante el periodo más
+ * largo de las reglas se eliminan: para entonces su bucket ya estaría lleno, así que quitarlo no cambia nada.
+ * Con más de maxKeys clientes activos se descartan los menos usados (vuelven con el bucket lleno).
+ */
+public class RateLimiter {
+
+    private final List<RateLimitRule> rules;
+    private final Ticker ticker;
+    private final Cache<BucketKey, TokenBucket> buckets;
+
+    public RateLimiter(List<RateLimitRule> rules, long maxKeys) {
+        this(rules, maxKeys, Ticker.systemTicker());
+    }
+
+    RateLimiter(List<RateLimitRule> rules, long maxKeys, Ticker ticker) {
+        this.rules = List.copyOf(rules);
+        this.ticker = ticker;
+        Duration idle = rules.stream().map(RateLimitRule::period).max(Duration::compareTo).orElse(Duration.ofMinutes(1));
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idle)
+                .ticker(ticker)
+                .build();
+    }
+
+    private record BucketKey(RateLimitRule rule, String client) {
+    }
+
+    // Primera regla que encaja con la petición, o null si la ruta no tiene límite
+    RateLimitRule match(String method, String path) {
+        for (RateLimitRule rule : rules) {
+            if (rule.matches(method, path)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    TokenBucket.Decision tryAcquire(RateLimitRule rule, String client) {
+        long now = ticker.read();
+        return buckets.get(new BucketKey(rule, client), key -> new TokenBucket(rule, now)).tryConsume(now);
+    }
+
+    // Tokens disponibles sin consumir ninguno
+    TokenBucket.Decision peek(RateLimitRule rule, String client) {
+        long now = ticker.read();
+        return buckets.get(new BucketKey(rule, client), key -> new TokenBucket(rule, now)).peek(now);
+    }
+
+    public List<RateLimitRule> rules() {
+        return rules;
+    }
+
+    public long trackedKeys() {
+        return buckets.estimatedSize();
+    }
+}
@@ -0,0 +1,51 @@
+package net.miPrimerCRUD.app.CRUD.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket en un solo AtomicLong, sin bloqueos. En lugar de tokens y última recarga guarda el instante teórico
+ * (en nanos) en el que el bucket volvería a estar lleno; consumir un token lo adelanta un intervalo con un CAS.
+ * Es el algoritmo GCRA: equivale a un bucket de capacity tokens que recupera uno cada emissionInterval.
+ */
+final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    // Lo que puede adelantarse el instante teórico respecto a ahora: capacity - 1 peticiones de ráfaga
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(RateLimitRule rule, long nowNanos) {
+        this.emissionIntervalNanos = rule.emissionIntervalNanos();
+        this.burstToleranceNanos = emissionIntervalNanos * (rule.capacity() - 1);
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    // remaining: tokens que quedan tras consumir; retryAfterNanos: espera hasta el siguiente token si no queda ninguno
+    record Decision(boolean allowed, long remaining, long retryAfterNanos) {
+    }
+
+    // Como tryConsume, pero sin gastar el token: para límites que solo cuentan ciertos resultados (intentos fallidos)
+    Decision peek(long nowNanos) {
+        long current = theoreticalArrival.get();
+        long delay = Math.max(0, current - nowNanos);
+        if (delay > burstToleranceNanos) {
+            return new Decision(false, 0, delay - burstToleranceNanos);
+        }
+        return new Decision(true, (burstToleranceNanos - delay) / emissionIntervalNanos + 1, 0);
+    }
+
+    Decision tryConsume(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            // Un bucket sin uso no acumula más de capacity tokens
+            long start = current - nowNanos < 0 ? nowNanos : current;
+            long delay = start - nowNanos;
+            if (delay > burstToleranceNanos) {
+                return new Decision(false, 0, delay - burstToleranceNanos);
+            }
+            if (theoreticalArrival.compareAndSet(current, start + emissionIntervalNanos)) {
+                return new Decision(true, (burstToleranceNanos - delay) / emissionIntervalNanos, 0);
+            }
+        }
+    }
+}
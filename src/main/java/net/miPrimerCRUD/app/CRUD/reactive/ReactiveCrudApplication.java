@@ -0,0 +1,56 @@
+package net.miPrimerCRUD.app.CRUD.reactive;
+
+import net.miPrimerCRUD.app.CRUD.exception.GlobalExceptionHandler;
+import net.miPrimerCRUD.app.CRUD.security.TokenService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Profiles;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+/**
+ * Variante no bloqueante de /api/products y /api/users (WebFlux + R2DBC) sobre las mismas tablas.
+ * Solo escanea este paquete: del resto de la aplicación reutiliza los tokens y el manejo de errores.
+ * Se arranca con el perfil "reactive" (SPRING_PROFILES_ACTIVE=reactive o --spring.profiles.active=reactive).
+ */
+@Profile(ReactiveCrudApplication.PROFILE)
+@SpringBootApplication(exclude = {
+        DataSourceAutoConfiguration.class,
+        DataSourceTransactionManagerAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class,
+        JpaRepositoriesAutoConfiguration.class
+})
+@Import({TokenService.class, GlobalExceptionHandler.class})
+public class ReactiveCrudApplication {
+
+    public static final String PROFILE = "reactive";
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveCrudApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles(PROFILE)
+                .run(args);
+    }
+
+    // Netty (pocos hilos de event loop para muchas conexiones) en lugar del Tomcat que también está en el classpath
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    // Lee spring.profiles.active de los argumentos, las propiedades del sistema y las variables de entorno
+    public static boolean isSelected(String[] args) {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new SimpleCommandLinePropertySource(args));
+        return environment.acceptsProfiles(Profiles.of(PROFILE));
+    }
+}
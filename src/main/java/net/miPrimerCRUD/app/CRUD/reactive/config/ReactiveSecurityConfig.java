@@ -0,0 +1,105 @@
+package net.miPrimerCRUD.app.CRUD.reactive.config;
+
+import net.miPrimerCRUD.app.CRUD.reactive.ReactiveCrudApplication;
+import net.miPrimerCRUD.app.CRUD.reactive.repositories.ReactiveUserRepository;
+import net.miPrimerCRUD.app.CRUD.reactive.security.BearerTokenAuthenticationManager;
+import net.miPrimerCRUD.app.CRUD.security.PasswordHashing;
+import net.miPrimerCRUD.app.CRUD.security.PasswordHashingAlgorithm;
+import net.miPrimerCRUD.app.CRUD.security.TimedPasswordEncoder;
+import net.miPrimerCRUD.app.CRUD.security.TokenService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+
+// Mismas reglas de acceso que SecurityConfig, en WebFlux
+@Configuration
+@EnableWebFluxSecurity
+@Profile(ReactiveCrudApplication.PROFILE)
+public class ReactiveSecurityConfig {
+
+    // HTTP Basic se mantiene como alternativa a los tokens Bearer
+    @Value("${app.security.basic-enabled:true}")
+    private boolean basicEnabled;
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, TokenService tokenService,
+                                                         ReactiveAuthenticationManager authenticationManager) {
+        AuthenticationWebFilter bearerFilter = new AuthenticationWebFilter(new BearerTokenAuthenticationManager(tokenService));
+        bearerFilter.setServerAuthenticationConverter(BearerTokenAuthenticationManager.converter());
+        bearerFilter.setAuthenticationFailureHandler((webFilterExchange, ex) ->
+                new HttpStatusServerEntryPoint(HttpStatus.UNAUTHORIZED).commence(webFilterExchange.getExchange(), ex));
+
+        http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                // Sin sesión: cada petición trae sus credenciales
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .authenticationManager(authenticationManager)
+                .authorizeExchange(auth -> auth
+                        .pathMatchers("/actuator/health").permitAll()
+                        .pathMatchers("/actuator/**").hasRole("ADMIN")
+                        .pathMatchers(HttpMethod.POST, "/api/auth/login").permitAll()
+                        .pathMatchers(HttpMethod.POST, "/api/users").permitAll()
+                        .pathMatchers(HttpMethod.GET, "/api/users").hasRole("ADMIN")
+                        .pathMatchers(HttpMethod.GET, "/api/users/export").hasRole("ADMIN")
+                        .pathMatchers(HttpMethod.DELETE, "/api/users/**").hasRole("ADMIN")
+                        .pathMatchers(HttpMethod.GET, "/api/products").hasRole("ADMIN")
+                        .pathMatchers(HttpMethod.GET, "/api/products/export").hasRole("ADMIN")
+                        .anyExchange().authenticated()
+                )
+                .addFilterAt(bearerFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+                .exceptionHandling(ex -> ex.authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.UNAUTHORIZED)));
+
+        if (basicEnabled) {
+            http.httpBasic(basic -> basic.authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.UNAUTHORIZED)));
+        } else {
+            http.httpBasic(ServerHttpSecurity.HttpBasicSpec::disable);
+        }
+
+        return http.build();
+    }
+
+    // Mismos hashes y timer app.password.encoder que la versión servlet (comparten la tabla users)
+    @Bean
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${app.security.hashing.algorithm:bcrypt}") PasswordHashingAlgorithm algorithm,
+                                           @Value("${app.security.hashing.cost:0}") int cost,
+                                           @Value("${app.security.hashing.target-latency:100ms}") Duration targetLatency) {
+        PasswordEncoder encoder = PasswordHashing.delegating(algorithm, cost > 0 ? cost : PasswordHashing.calibrate(algorithm, targetLatency));
+        return new TimedPasswordEncoder(encoder, meterRegistry);
+    }
+
+    // El principal lleva el id y el rol, igual que CustomUserDetailsService
+    @Bean
+    public ReactiveUserDetailsService reactiveUserDetailsService(ReactiveUserRepository userRepository) {
+        return email -> userRepository.findCredentialsByEmail(email).cast(UserDetails.class);
+    }
+
+    // BCrypt se calcula en boundedElastic, nunca en los hilos del event loop
+    @Bean
+    public ReactiveAuthenticationManager reactiveAuthenticationManager(ReactiveUserDetailsService userDetailsService,
+                                                                       PasswordEncoder passwordEncoder) {
+        UserDetailsRepositoryReactiveAuthenticationManager manager = new UserDetailsRepositoryReactiveAuthenticationManager(userDetailsService);
+        manager.setPasswordEncoder(passwordEncoder);
+        manager.setScheduler(Schedulers.boundedElastic());
+        return manager;
+    }
+}
@@ -0,0 +1,37 @@
+package net.miPrimerCRUD.app.CRUD.reactive.controllers;
+
+import jakarta.validation.Valid;
+import net.miPrimerCRUD.app.CRUD.DTO.LoginRequestDTO;
+import net.miPrimerCRUD.app.CRUD.DTO.TokenDTO;
+import net.miPrimerCRUD.app.CRUD.reactive.ReactiveCrudApplication;
+import net.miPrimerCRUD.app.CRUD.security.AuthenticatedUser;
+import net.miPrimerCRUD.app.CRUD.security.TokenService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/auth")
+@Profile(ReactiveCrudApplication.PROFILE)
+public class ReactiveAuthController {
+
+    @Autowired
+    private ReactiveAuthenticationManager authenticationManager;
+
+    @Autowired
+    private TokenService tokenService;
+
+    // Verifica email y contraseña una sola vez y devuelve un token de corta duración
+    @PostMapping("/login")
+    public Mono<TokenDTO> login(@Valid @RequestBody LoginRequestDTO login) {
+        return authenticationManager.authenticate(
+                        UsernamePasswordAuthenticationToken.unauthenticated(login.getEmail(), login.getPassword()))
+                .map(authentication -> {
+                    AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+                    return new TokenDTO(tokenService.issue(user), "Bearer", tokenService.getTtl().toSeconds());
+                });
+    }
+}
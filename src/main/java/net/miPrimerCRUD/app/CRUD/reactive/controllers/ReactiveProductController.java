@@ -0,0 +1,71 @@
+package net.miPrimerCRUD.app.CRUD.reactive.controllers;
+
+import jakarta.validation.Valid;
+import net.miPrimerCRUD.app.CRUD.DTO.ProductDTO;
+import net.miPrimerCRUD.app.CRUD.pagination.KeysetCursor;
+import net.miPrimerCRUD.app.CRUD.pagination.KeysetLinks;
+import net.miPrimerCRUD.app.CRUD.reactive.ReactiveCrudApplication;
+import net.miPrimerCRUD.app.CRUD.reactive.services.ReactiveProductServiceManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/products")
+@Profile(ReactiveCrudApplication.PROFILE)
+public class ReactiveProductController {
+
+    @Autowired
+    private ReactiveProductServiceManager serviceManager;
+
+    @GetMapping()
+    public Mono<ResponseEntity<List<ProductDTO>>> findAllProducts(@RequestParam(required = false) String after,
+                                                                  @RequestParam(defaultValue = "50") int limit,
+                                                                  ServerHttpRequest request) {
+        return this.serviceManager.findPage(KeysetCursor.decode(after), limit)
+                .map(page -> ResponseEntity.ok()
+                        .headers(KeysetLinks.headers(page, limit, UriComponentsBuilder.fromUri(request.getURI())))
+                        .body(page.items()));
+    }
+
+    // Exportación completa en NDJSON: cada fila se escribe en cuanto llega y la lectura sigue el ritmo del cliente
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ProductDTO> exportProducts() {
+        return this.serviceManager.findAll();
+    }
+
+    @PostMapping()
+    public Mono<ProductDTO> save(@Valid @RequestBody ProductDTO product) {
+        return this.serviceManager.save(product);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ProductDTO> getByIdProduct(@PathVariable Long id) {
+        return this.serviceManager.findById(id);
+    }
+
+    @GetMapping("/my-products")
+    public Flux<ProductDTO> findMyProducts(@RequestParam(defaultValue = "0") int page,
+                                           @RequestParam(defaultValue = "20") int size) {
+        return this.serviceManager.findMyProducts(page, size);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ProductDTO> update(@PathVariable Long id, @Valid @RequestBody ProductDTO product) {
+        return this.serviceManager.update(id, product);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> delete(@PathVariable Long id) {
+        return this.serviceManager.deleteById(id)
+                .then(Mono.just(ResponseEntity.noContent().<Void>build()));
+    }
+}
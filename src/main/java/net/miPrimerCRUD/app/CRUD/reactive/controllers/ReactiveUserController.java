@@ -0,0 +1,71 @@
+package net.miPrimerCRUD.app.CRUD.reactive.controllers;
+
+import jakarta.validation.Valid;
+import net.miPrimerCRUD.app.CRUD.DTO.UserDTO;
+import net.miPrimerCRUD.app.CRUD.entities.User;
+import net.miPrimerCRUD.app.CRUD.pagination.KeysetCursor;
+import net.miPrimerCRUD.app.CRUD.pagination.KeysetLinks;
+import net.miPrimerCRUD.app.CRUD.reactive.ReactiveCrudApplication;
+import net.miPrimerCRUD.app.CRUD.reactive.services.ReactiveUserServiceManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/users")
+@Profile(ReactiveCrudApplication.PROFILE)
+public class ReactiveUserController {
+
+    @Autowired
+    private ReactiveUserServiceManager serviceManager;
+
+    @GetMapping
+    public Mono<ResponseEntity<List<UserDTO>>> findAllUsers(@RequestParam(required = false) String after,
+                                                            @RequestParam(defaultValue = "50") int limit,
+                                                            ServerHttpRequest request) {
+        return this.serviceManager.findPage(KeysetCursor.decode(after), limit)
+                .map(page -> ResponseEntity.ok()
+                        .headers(KeysetLinks.headers(page, limit, UriComponentsBuilder.fromUri(request.getURI())))
+                        .body(page.items()));
+    }
+
+    // Exportación completa en NDJSON: cada fila se escribe en cuanto llega y la lectura sigue el ritmo del cliente
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<UserDTO> exportUsers() {
+        return this.serviceManager.findAll();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<UserDTO> findByIdUser(@PathVariable Long id) {
+        return this.serviceManager.findById(id);
+    }
+
+    @GetMapping("/me")
+    public Mono<UserDTO> getCurrentUser() {
+        return this.serviceManager.getCurrentUser();
+    }
+
+    @PostMapping
+    public Mono<UserDTO> save(@Valid @RequestBody User user) {
+        return this.serviceManager.save(user);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<UserDTO> update(@PathVariable Long id, @Valid @RequestBody User user) {
+        return this.serviceManager.update(id, user);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> delete(@PathVariable Long id) {
+        return this.serviceManager.deleteById(id)
+                .then(Mono.just(ResponseEntity.noContent().<Void>build()));
+    }
+}
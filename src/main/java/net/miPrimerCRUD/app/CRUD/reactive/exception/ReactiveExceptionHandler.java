@@ -0,0 +1,53 @@
+package net.miPrimerCRUD.app.CRUD.reactive.exception;
+
+import net.miPrimerCRUD.app.CRUD.reactive.ReactiveCrudApplication;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+// Errores propios de WebFlux; el resto los resuelve GlobalExceptionHandler con el mismo formato
+@RestControllerAdvice
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Profile(ReactiveCrudApplication.PROFILE)
+public class ReactiveExceptionHandler {
+
+    // 400 - Validaciones fallidas (equivale a MethodArgumentNotValidException)
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Object> handleValidationExceptions(WebExchangeBindException ex) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getBindingResult().getFieldErrors().forEach(error ->
+                errors.put(error.getField(), error.getDefaultMessage())
+        );
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.BAD_REQUEST.value());
+        body.put("error", "Bad Request");
+        body.put("message", "Validation failed");
+        body.put("errors", errors);
+
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
+
+    // 400 - Cuerpo o parámetros ilegibles (JSON mal formado, tipos incorrectos)
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<Object> handleInput(ServerWebInputException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.BAD_REQUEST.value());
+        body.put("error", "Bad Request");
+        body.put("message", ex.getReason());
+
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
+}
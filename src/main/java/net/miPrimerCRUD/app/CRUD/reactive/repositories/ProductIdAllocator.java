@@ -0,0 +1,70 @@
+package net.miPrimerCRUD.app.CRUD.reactive.repositories;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import net.miPrimerCRUD.app.CRUD.reactive.ReactiveCrudApplication;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * IDs de productos compatibles con la aplicación JPA (secuencia products_seq con bloques de 50, optimizador
+ * "pooled" de Hibernate): cada valor hi reservado en la base de datos da el bloque [hi - 49, hi].
+ * Las sentencias dependen de la base de datos; la última devuelve el hi. Como en Hibernate, se ejecutan en una
+ * conexión propia en autocommit: la reserva no espera al commit de la transacción que inserta.
+ */
+@Component
+@Profile(ReactiveCrudApplication.PROFILE)
+public class ProductIdAllocator {
+
+    public static final int BLOCK_SIZE = 50;
+
+    private final ConnectionFactory connectionFactory;
+    private final List<String> statements;
+
+    private long next;
+    private long hi = -1;
+
+    public ProductIdAllocator(ConnectionFactory connectionFactory,
+                              @Value("${app.reactive.product-id-statements}") String statements) {
+        this.connectionFactory = connectionFactory;
+        this.statements = Arrays.stream(statements.split(";")).map(String::trim).filter(s -> !s.isEmpty()).toList();
+    }
+
+    public Mono<Long> nextId() {
+        synchronized (this) {
+            if (next <= hi) {
+                return Mono.just(next++);
+            }
+        }
+        // Igual que Hibernate: el valor inicial de la secuencia no es un bloque completo y se pide otro
+        return reserveHi()
+                .flatMap(reserved -> reserved < BLOCK_SIZE ? reserveHi() : Mono.just(reserved))
+                .map(this::startBlock);
+    }
+
+    private synchronized long startBlock(long reservedHi) {
+        hi = reservedHi;
+        next = reservedHi - BLOCK_SIZE + 1;
+        return next++;
+    }
+
+    private Mono<Long> reserveHi() {
+        return Mono.usingWhen(Mono.from(connectionFactory.create()), connection -> {
+            Mono<Long> result = Mono.empty();
+            for (int i = 0; i < statements.size(); i++) {
+                String sql = statements.get(i);
+                result = i < statements.size() - 1
+                        ? result.then(Mono.from(connection.createStatement(sql).execute())
+                                .flatMap(r -> Mono.from(r.getRowsUpdated())).then(Mono.<Long>empty()))
+                        : result.then(Mono.from(connection.createStatement(sql).execute())
+                                .flatMap(r -> Mono.from(r.map((row, metadata) -> ((Number) row.get(0)).longValue()))));
+            }
+            return result;
+        }, Connection::close);
+    }
+}
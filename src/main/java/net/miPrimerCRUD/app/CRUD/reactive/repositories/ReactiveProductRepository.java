@@ -0,0 +1,104 @@
+package net.miPrimerCRUD.app.CRUD.reactive.repositories;
+
+import io.r2dbc.spi.Readable;
+import net.miPrimerCRUD.app.CRUD.DTO.ProductDTO;
+import net.miPrimerCRUD.app.CRUD.reactive.ReactiveCrudApplication;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.Parameter;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Mismas consultas que ProductRepository (proyección a ProductDTO con el nombre del dueño), con DatabaseClient
+@Repository
+@Profile(ReactiveCrudApplication.PROFILE)
+public class ReactiveProductRepository {
+
+    private static final String SELECT_DTO = "SELECT p.id, p.name, p.price, u.id AS user_id, u.name AS user_name "
+            + "FROM products p LEFT JOIN users u ON u.id = p.user_id ";
+
+    private final DatabaseClient databaseClient;
+    private final ProductIdAllocator idAllocator;
+
+    public ReactiveProductRepository(DatabaseClient databaseClient, ProductIdAllocator idAllocator) {
+        this.databaseClient = databaseClient;
+        this.idAllocator = idAllocator;
+    }
+
+    public Mono<ProductDTO> findById(Long id) {
+        return databaseClient.sql(SELECT_DTO + "WHERE p.id = :id")
+                .bind("id", id)
+                .map(ReactiveProductRepository::toDTO)
+                .one();
+    }
+
+    public Flux<ProductDTO> findPageAfter(Long afterId, int limit) {
+        return databaseClient.sql(SELECT_DTO + "WHERE p.id > :afterId ORDER BY p.id LIMIT :limit")
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(ReactiveProductRepository::toDTO)
+                .all();
+    }
+
+    public Flux<ProductDTO> findByUserId(Long userId, int offset, int limit) {
+        return databaseClient.sql(SELECT_DTO + "WHERE p.user_id = :userId ORDER BY p.id LIMIT :limit OFFSET :offset")
+                .bind("userId", userId)
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(ReactiveProductRepository::toDTO)
+                .all();
+    }
+
+    // Recorre toda la tabla: el driver entrega las filas según la demanda del suscriptor
+    public Flux<ProductDTO> streamAll() {
+        return databaseClient.sql(SELECT_DTO + "ORDER BY p.id")
+                .map(ReactiveProductRepository::toDTO)
+                .all();
+    }
+
+    public Mono<Long> insert(String name, Double price, Long userId) {
+        return idAllocator.nextId().flatMap(id -> databaseClient
+                .sql("INSERT INTO products (id, name, price, user_id) VALUES (:id, :name, :price, :userId)")
+                .bind("id", id)
+                .bind("name", name)
+                .bind("price", price)
+                .bind("userId", Parameter.fromOrEmpty(userId, Long.class))
+                .fetch()
+                .rowsUpdated()
+                .thenReturn(id));
+    }
+
+    public Mono<Long> update(Long id, String name, Double price, Long userId) {
+        return databaseClient.sql("UPDATE products SET name = :name, price = :price, user_id = :userId, version = version + 1 WHERE id = :id")
+                .bind("id", id)
+                .bind("name", name)
+                .bind("price", price)
+                .bind("userId", Parameter.fromOrEmpty(userId, Long.class))
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> deleteById(Long id) {
+        return databaseClient.sql("DELETE FROM products WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> deleteByUserId(Long userId) {
+        return databaseClient.sql("DELETE FROM products WHERE user_id = :userId")
+                .bind("userId", Parameter.fromOrEmpty(userId, Long.class))
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static ProductDTO toDTO(Readable row) {
+        return new ProductDTO(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("price", Double.class),
+                row.get("user_id", Long.class),
+                row.get("user_name", String.class));
+    }
+}
@@ -0,0 +1,106 @@
+package net.miPrimerCRUD.app.CRUD.reactive.repositories;
+
+import io.r2dbc.spi.Readable;
+import net.miPrimerCRUD.app.CRUD.DTO.UserDTO;
+import net.miPrimerCRUD.app.CRUD.reactive.ReactiveCrudApplication;
+import net.miPrimerCRUD.app.CRUD.security.AuthenticatedUser;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Mismas consultas que UserRepository; la contraseña solo se lee para autenticar
+@Repository
+@Profile(ReactiveCrudApplication.PROFILE)
+public class ReactiveUserRepository {
+
+    private static final String SELECT_DTO = "SELECT id, name, email, role FROM users ";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveUserRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<UserDTO> findById(Long id) {
+        return databaseClient.sql(SELECT_DTO + "WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveUserRepository::toDTO)
+                .one();
+    }
+
+    public Mono<AuthenticatedUser> findCredentialsByEmail(String email) {
+        return databaseClient.sql("SELECT id, email, password, role FROM users WHERE email = :email")
+                .bind("email", email)
+                .map(row -> new AuthenticatedUser(
+                        row.get("id", Long.class),
+                        row.get("email", String.class),
+                        row.get("password", String.class),
+                        row.get("role", String.class)))
+                .one();
+    }
+
+    public Mono<Boolean> existsById(Long id) {
+        return databaseClient.sql("SELECT 1 FROM users WHERE id = :id")
+                .bind("id", id)
+                .map(row -> Boolean.TRUE)
+                .one()
+                .defaultIfEmpty(Boolean.FALSE);
+    }
+
+    public Flux<UserDTO> findPageAfter(Long afterId, int limit) {
+        return databaseClient.sql(SELECT_DTO + "WHERE id > :afterId ORDER BY id LIMIT :limit")
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(ReactiveUserRepository::toDTO)
+                .all();
+    }
+
+    public Flux<UserDTO> streamAll() {
+        return databaseClient.sql(SELECT_DTO + "ORDER BY id")
+                .map(ReactiveUserRepository::toDTO)
+                .all();
+    }
+
+    public Mono<Long> insert(String name, String email, String passwordHash, String role) {
+        return databaseClient.sql("INSERT INTO users (name, email, password, role) VALUES (:name, :email, :password, :role)")
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .bind("name", name)
+                .bind("email", email)
+                .bind("password", passwordHash)
+                .bind("role", role)
+                .map(row -> row.get("id", Long.class))
+                .one();
+    }
+
+    public Mono<Long> update(Long id, String name, String email, String passwordHash) {
+        // Sin contraseña nueva se conserva la actual
+        String sql = passwordHash == null
+                ? "UPDATE users SET name = :name, email = :email, version = version + 1 WHERE id = :id"
+                : "UPDATE users SET name = :name, email = :email, password = :password, version = version + 1 WHERE id = :id";
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql)
+                .bind("id", id)
+                .bind("name", name)
+                .bind("email", email);
+        if (passwordHash != null) {
+            spec = spec.bind("password", passwordHash);
+        }
+        return spec.fetch().rowsUpdated();
+    }
+
+    public Mono<Long> deleteById(Long id) {
+        return databaseClient.sql("DELETE FROM users WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static UserDTO toDTO(Readable row) {
+        return new UserDTO(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("email", String.class),
+                row.get("role", String.class));
+    }
+}
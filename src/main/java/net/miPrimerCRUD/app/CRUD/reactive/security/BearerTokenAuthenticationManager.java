@@ -0,0 +1,42 @@
+package net.miPrimerCRUD.app.CRUD.reactive.security;
+
+import net.miPrimerCRUD.app.CRUD.security.AuthenticatedUser;
+import net.miPrimerCRUD.app.CRUD.security.TokenService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.server.authentication.ServerAuthenticationConverter;
+import reactor.core.publisher.Mono;
+
+// "Authorization: Bearer <token>" en WebFlux: se valida solo con la firma y los claims, como TokenAuthenticationFilter
+public class BearerTokenAuthenticationManager implements ReactiveAuthenticationManager {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final TokenService tokenService;
+
+    public BearerTokenAuthenticationManager(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    // El token viaja como credencial de un Authentication sin autenticar; sin cabecera Bearer no se intenta
+    public static ServerAuthenticationConverter converter() {
+        return exchange -> {
+            String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+            if (header == null || !header.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+                return Mono.empty();
+            }
+            String token = header.substring(BEARER_PREFIX.length()).trim();
+            return Mono.just(UsernamePasswordAuthenticationToken.unauthenticated(token, token));
+        };
+    }
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        return Mono.fromCallable(() -> {
+            AuthenticatedUser principal = tokenService.verify((String) authentication.getCredentials());
+            return UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities());
+        });
+    }
+}
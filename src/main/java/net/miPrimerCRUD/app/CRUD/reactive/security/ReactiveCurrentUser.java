@@ -0,0 +1,30 @@
+package net.miPrimerCRUD.app.CRUD.reactive.security;
+
+import jakarta.persistence.EntityNotFoundException;
+import net.miPrimerCRUD.app.CRUD.reactive.repositories.ReactiveUserRepository;
+import net.miPrimerCRUD.app.CRUD.security.AuthenticatedUser;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import reactor.core.publisher.Mono;
+
+// Acceso al usuario autenticado desde los servicios reactivos (el contexto viaja en el Context de Reactor)
+public class ReactiveCurrentUser {
+
+    public static Mono<AuthenticatedUser> get(ReactiveUserRepository userRepository) {
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .flatMap(auth -> resolve(auth, userRepository))
+                .switchIfEmpty(Mono.error(() -> new EntityNotFoundException("Usuario actual no encontrado")));
+    }
+
+    private static Mono<AuthenticatedUser> resolve(Authentication auth, ReactiveUserRepository userRepository) {
+        if (auth.getPrincipal() instanceof AuthenticatedUser principal) {
+            // Resuelto durante la autenticación: no hace falta otra consulta
+            return Mono.just(principal);
+        }
+
+        // Otros tipos de principal (p. ej. @WithMockUser en tests): se busca por email
+        return userRepository.findCredentialsByEmail(auth.getName());
+    }
+}
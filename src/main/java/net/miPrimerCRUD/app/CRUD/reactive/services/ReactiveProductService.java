@@ -0,0 +1,13 @@
+package net.miPrimerCRUD.app.CRUD.reactive.services;
+
+import net.miPrimerCRUD.app.CRUD.DTO.ProductDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveProductService {
+    Flux<ProductDTO> findAll();
+    Mono<ProductDTO> findById(Long id);
+    Mono<ProductDTO> save(ProductDTO product);
+    Mono<ProductDTO> update(Long id, ProductDTO product);
+    Mono<Void> deleteById(Long id);
+}
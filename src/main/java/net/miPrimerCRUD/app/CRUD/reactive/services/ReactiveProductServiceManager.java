@@ -0,0 +1,119 @@
+package net.miPrimerCRUD.app.CRUD.reactive.services;
+
+import jakarta.persistence.EntityNotFoundException;
+import net.miPrimerCRUD.app.CRUD.DTO.ProductDTO;
+import net.miPrimerCRUD.app.CRUD.pagination.KeysetCursor;
+import net.miPrimerCRUD.app.CRUD.pagination.KeysetPage;
+import net.miPrimerCRUD.app.CRUD.reactive.ReactiveCrudApplication;
+import net.miPrimerCRUD.app.CRUD.reactive.repositories.ReactiveProductRepository;
+import net.miPrimerCRUD.app.CRUD.reactive.repositories.ReactiveUserRepository;
+import net.miPrimerCRUD.app.CRUD.reactive.security.ReactiveCurrentUser;
+import net.miPrimerCRUD.app.CRUD.security.AuthenticatedUser;
+import net.miPrimerCRUD.app.CRUD.services.ProductServiceManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Mismas reglas que ProductServiceManager: un USER solo ve y modifica sus productos; ADMIN, todos
+@Service
+@Profile(ReactiveCrudApplication.PROFILE)
+public class ReactiveProductServiceManager implements ReactiveProductService {
+
+    @Autowired
+    private ReactiveProductRepository repository;
+
+    @Autowired
+    private ReactiveUserRepository userRepository;
+
+    // Exportación completa: las filas llegan según la demanda del cliente (backpressure)
+    @Override
+    public Flux<ProductDTO> findAll() {
+        return this.repository.streamAll();
+    }
+
+    public Mono<KeysetPage<ProductDTO>> findPage(Long afterId, int limit) {
+        int pageSize = KeysetCursor.clampLimit(limit);
+        return this.repository.findPageAfter(afterId, pageSize + 1)
+                .collectList()
+                .map(rows -> KeysetPage.of(rows, pageSize, ProductDTO::getId));
+    }
+
+    public Flux<ProductDTO> findMyProducts(int page, int size) {
+        int pageSize = Math.min(Math.max(size, 1), ProductServiceManager.MAX_PAGE_SIZE);
+        int offset = Math.max(page, 0) * pageSize;
+        return ReactiveCurrentUser.get(userRepository)
+                .flatMapMany(currentUser -> repository.findByUserId(currentUser.getId(), offset, pageSize));
+    }
+
+    @Override
+    public Mono<ProductDTO> findById(Long id) {
+        return findExisting(id).flatMap(this::validateOwnership);
+    }
+
+    // Sin userId el producto es del usuario autenticado; solo ADMIN puede asignar otro dueño
+    @Override
+    @Transactional
+    public Mono<ProductDTO> save(ProductDTO product) {
+        return ReactiveCurrentUser.get(userRepository).flatMap(currentUser -> {
+            Long ownerId = product.getUserId() != null ? product.getUserId() : currentUser.getId();
+            return checkOwner(currentUser, ownerId)
+                    .then(repository.insert(product.getName(), product.getPrice(), ownerId))
+                    .flatMap(repository::findById);
+        });
+    }
+
+    @Override
+    @Transactional
+    public Mono<ProductDTO> update(Long id, ProductDTO product) {
+        return ReactiveCurrentUser.get(userRepository).flatMap(currentUser -> findExisting(id)
+                .flatMap(existing -> {
+                    if (!isOwnerOrAdmin(currentUser, existing)) {
+                        return Mono.error(new AccessDeniedException("No tienes permiso para acceder a este producto"));
+                    }
+                    Long ownerId = product.getUserId() != null ? product.getUserId() : existing.getUserId();
+                    Mono<Void> ownerCheck = product.getUserId() != null ? checkOwner(currentUser, ownerId) : Mono.empty();
+                    return ownerCheck
+                            .then(repository.update(id, product.getName(), product.getPrice(), ownerId))
+                            .then(repository.findById(id));
+                }));
+    }
+
+    @Override
+    @Transactional
+    public Mono<Void> deleteById(Long id) {
+        return findById(id).flatMap(product -> repository.deleteById(id)).then();
+    }
+
+    private Mono<ProductDTO> findExisting(Long id) {
+        return this.repository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new EntityNotFoundException("Producto con ID " + id + " no encontrado")));
+    }
+
+    private Mono<Void> checkOwner(AuthenticatedUser currentUser, Long ownerId) {
+        if (!canAssign(currentUser, ownerId)) {
+            return Mono.error(new AccessDeniedException("No tienes permiso para asignar productos a otro usuario"));
+        }
+        return userRepository.existsById(ownerId)
+                .flatMap(exists -> exists
+                        ? Mono.<Void>empty()
+                        : Mono.error(new EntityNotFoundException("Usuario con ID " + ownerId + " no encontrado")));
+    }
+
+    private boolean canAssign(AuthenticatedUser currentUser, Long ownerId) {
+        return currentUser.isAdmin() || currentUser.getId().equals(ownerId);
+    }
+
+    private boolean isOwnerOrAdmin(AuthenticatedUser currentUser, ProductDTO product) {
+        return currentUser.isAdmin() || currentUser.getId().equals(product.getUserId());
+    }
+
+    private Mono<ProductDTO> validateOwnership(ProductDTO product) {
+        return ReactiveCurrentUser.get(userRepository).flatMap(currentUser -> isOwnerOrAdmin(currentUser, product)
+                ? Mono.just(product)
+                : Mono.error(new AccessDeniedException("No tienes permiso para acceder a este producto")));
+    }
+}
@@ -0,0 +1,14 @@
+package net.miPrimerCRUD.app.CRUD.reactive.services;
+
+import net.miPrimerCRUD.app.CRUD.DTO.UserDTO;
+import net.miPrimerCRUD.app.CRUD.entities.User;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveUserService {
+    Flux<UserDTO> findAll();
+    Mono<UserDTO> findById(Long id);
+    Mono<UserDTO> save(User user);
+    Mono<UserDTO> update(Long id, User user);
+    Mono<Void> deleteById(Long id);
+}
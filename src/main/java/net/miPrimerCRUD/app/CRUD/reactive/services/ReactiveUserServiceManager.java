@@ -0,0 +1,108 @@
+package net.miPrimerCRUD.app.CRUD.reactive.services;
+
+import jakarta.persistence.EntityNotFoundException;
+import net.miPrimerCRUD.app.CRUD.DTO.UserDTO;
+import net.miPrimerCRUD.app.CRUD.entities.User;
+import net.miPrimerCRUD.app.CRUD.pagination.KeysetCursor;
+import net.miPrimerCRUD.app.CRUD.pagination.KeysetPage;
+import net.miPrimerCRUD.app.CRUD.reactive.ReactiveCrudApplication;
+import net.miPrimerCRUD.app.CRUD.reactive.repositories.ReactiveProductRepository;
+import net.miPrimerCRUD.app.CRUD.reactive.repositories.ReactiveUserRepository;
+import net.miPrimerCRUD.app.CRUD.reactive.security.ReactiveCurrentUser;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+// Mismas reglas que UserServiceManager: cada USER accede solo a su perfil; ADMIN, a todos
+@Service
+@Profile(ReactiveCrudApplication.PROFILE)
+public class ReactiveUserServiceManager implements ReactiveUserService {
+
+    @Autowired
+    private ReactiveUserRepository repository;
+
+    @Autowired
+    private ReactiveProductRepository productRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Override
+    public Flux<UserDTO> findAll() {
+        return this.repository.streamAll();
+    }
+
+    public Mono<KeysetPage<UserDTO>> findPage(Long afterId, int limit) {
+        int pageSize = KeysetCursor.clampLimit(limit);
+        return this.repository.findPageAfter(afterId, pageSize + 1)
+                .collectList()
+                .map(rows -> KeysetPage.of(rows, pageSize, UserDTO::getId));
+    }
+
+    @Override
+    public Mono<UserDTO> findById(Long id) {
+        return findExisting(id).flatMap(user -> validateUserAccess(user).thenReturn(user));
+    }
+
+    public Mono<UserDTO> getCurrentUser() {
+        return ReactiveCurrentUser.get(repository)
+                .flatMap(principal -> repository.findById(principal.getId()))
+                .switchIfEmpty(Mono.error(() -> new EntityNotFoundException("Usuario actual no encontrado")));
+    }
+
+    @Override
+    @Transactional
+    public Mono<UserDTO> save(User user) {
+        return encode(user.getPassword())
+                .flatMap(hash -> repository.insert(user.getName(), user.getEmail(), hash, user.getRole() != null ? user.getRole() : "USER"))
+                .flatMap(repository::findById);
+    }
+
+    @Override
+    @Transactional
+    public Mono<UserDTO> update(Long id, User user) {
+        boolean passwordChanged = user.getPassword() != null && !user.getPassword().isEmpty();
+        return findExisting(id)
+                .flatMap(existing -> validateUserAccess(existing))
+                .then(passwordChanged ? encode(user.getPassword()) : Mono.just(""))
+                .flatMap(hash -> repository.update(id, user.getName(), user.getEmail(), hash.isEmpty() ? null : hash))
+                .then(repository.findById(id));
+    }
+
+    // Los productos del usuario se borran con él (en JPA, cascade + orphanRemoval)
+    @Override
+    @Transactional
+    public Mono<Void> deleteById(Long id) {
+        return findExisting(id)
+                .flatMap(this::validateUserAccess)
+                .then(productRepository.deleteByUserId(id))
+                .then(repository.deleteById(id))
+                .then();
+    }
+
+    // BCrypt es CPU pura (~100 ms): se calcula en boundedElastic para no bloquear el event loop
+    private Mono<String> encode(String rawPassword) {
+        return Mono.fromCallable(() -> passwordEncoder.encode(rawPassword))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Mono<UserDTO> findExisting(Long id) {
+        return this.repository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new EntityNotFoundException("Usuario con ID " + id + " no encontrado")));
+    }
+
+    private Mono<Void> validateUserAccess(UserDTO targetUser) {
+        return ReactiveCurrentUser.get(repository).flatMap(currentUser -> {
+            if (currentUser.isAdmin() || targetUser.getId().equals(currentUser.getId())) {
+                return Mono.<Void>empty();
+            }
+            return Mono.error(new AccessDeniedException("No tienes permiso para acceder a este usuario"));
+        });
+    }
+}
@@ -0,0 +1,44 @@
+package net.miPrimerCRUD.app.CRUD.replication;
+
+import java.util.function.Supplier;
+
+/**
+ * Fija las lecturas del hilo actual a la base de datos principal mientras dura la llamada.
+ * Para cuando importa leer lo que se acaba de escribir (las réplicas pueden ir con retraso):
+ *
+ *     User user = PrimaryPin.call(() -> userRepository.findByEmail(email));
+ *
+ * Las transacciones de escritura siempre van a la principal, no hace falta fijarlas.
+ */
+public final class PrimaryPin {
+
+    private static final ThreadLocal<Integer> DEPTH = ThreadLocal.withInitial(() -> 0);
+
+    private PrimaryPin() {
+    }
+
+    public static <T> T call(Supplier<T> action) {
+        DEPTH.set(DEPTH.get() + 1);
+        try {
+            return action.get();
+        } finally {
+            int depth = DEPTH.get() - 1;
+            if (depth == 0) {
+                DEPTH.remove();
+            } else {
+                DEPTH.set(depth);
+            }
+        }
+    }
+
+    public static void run(Runnable action) {
+        call(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public static boolean isActive() {
+        return DEPTH.get() > 0;
+    }
+}
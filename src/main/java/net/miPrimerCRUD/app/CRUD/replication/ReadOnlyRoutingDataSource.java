@@ -0,0 +1,51 @@
+package net.miPrimerCRUD.app.CRUD.replication;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * DataSource de las transacciones de solo lectura (LazyConnectionDataSourceProxy lo usa cuando la conexión
+ * se marca readOnly). Da una conexión de una réplica sana, o de la principal si la lectura está fijada
+ * con PrimaryPin o no queda ninguna réplica disponible.
+ */
+public class ReadOnlyRoutingDataSource extends AbstractDataSource {
+
+    private final ReplicaPool replicaPool;
+    private final DataSource primary;
+
+    public ReadOnlyRoutingDataSource(ReplicaPool replicaPool, DataSource primary) {
+        this.replicaPool = replicaPool;
+        this.primary = primary;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (PrimaryPin.isActive()) {
+            return primary.getConnection();
+        }
+        // Cada réplica que falla sale de la rotación y se prueba la siguiente. Una con el pool agotado sigue en la
+        // rotación: esta lectura prueba otra (o la principal), pero sacarla cargaría aún más a las demás
+        for (int attempt = 0; attempt < replicaPool.size(); attempt++) {
+            ReplicaPool.Replica replica = replicaPool.select();
+            if (replica == null) {
+                break;
+            }
+            try {
+                return replica.dataSource().getConnection();
+            } catch (SQLException ex) {
+                if (!ReplicaPool.isBusy(replica, ex)) {
+                    replicaPool.markDown(replica);
+                }
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection();
+    }
+}
@@ -0,0 +1,150 @@
+package net.miPrimerCRUD.app.CRUD.replication;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pools de conexiones (HikariCP) de las réplicas de lectura. select() elige una réplica sana por turnos
+ * (ROUND_ROBIN) o la que tiene menos conexiones en uso (LEAST_CONNECTIONS). Una réplica que no consigue abrir
+ * conexiones o falla la comprobación periódica sale de la rotación hasta que vuelve a responder. Un pool sin
+ * conexiones libres no cuenta como caída: la réplica está ocupada, no inaccesible.
+ */
+public class ReplicaPool implements AutoCloseable {
+
+    public enum Strategy { ROUND_ROBIN, LEAST_CONNECTIONS }
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Strategy strategy;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService healthChecker;
+    // Réplicas sanas; se sustituye entera al cambiar el estado de alguna, las lecturas no se bloquean
+    private volatile List<Replica> healthy;
+
+    public ReplicaPool(List<String> urls, String username, String password, int maxPoolSize,
+                       Duration connectionTimeout, Strategy strategy, Duration healthCheckInterval) {
+        this.strategy = strategy;
+        for (int i = 0; i < urls.size(); i++) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("replica-" + (i + 1));
+            config.setJdbcUrl(urls.get(i).trim());
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setMaximumPoolSize(maxPoolSize);
+            config.setConnectionTimeout(connectionTimeout.toMillis());
+            config.setReadOnly(true);
+            // Una réplica caída al arrancar no impide levantar la aplicación: queda fuera hasta que responda
+            config.setInitializationFailTimeout(-1);
+            replicas.add(new Replica(config.getPoolName(), new HikariDataSource(config)));
+        }
+        this.healthy = List.copyOf(replicas);
+
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = healthCheckInterval.toMillis();
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    // null si no queda ninguna réplica sana
+    public Replica select() {
+        List<Replica> candidates = healthy;
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        if (strategy == Strategy.LEAST_CONNECTIONS) {
+            Replica best = candidates.get(0);
+            for (Replica replica : candidates) {
+                if (replica.activeConnections() < best.activeConnections()) {
+                    best = replica;
+                }
+            }
+            return best;
+        }
+        return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+    }
+
+    // La réplica no dio conexión: fuera de la rotación hasta la próxima comprobación que la encuentre sana
+    public void markDown(Replica replica) {
+        replica.healthy = false;
+        refreshHealthy();
+    }
+
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource().getConnection()) {
+                replica.healthy = connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } catch (SQLException ex) {
+                // Ocupada: se deja como estaba (si estaba caída, su pool no tendría conexiones en uso)
+                if (!isBusy(replica, ex)) {
+                    replica.healthy = false;
+                }
+            }
+        }
+        refreshHealthy();
+    }
+
+    // Hikari agota connectionTimeout tanto si la réplica no responde como si todas sus conexiones están en uso.
+    // Con conexiones en uso la réplica está respondiendo: está ocupada, no caída
+    static boolean isBusy(Replica replica, SQLException ex) {
+        return ex instanceof SQLTransientConnectionException && replica.activeConnections() > 0;
+    }
+
+    public List<String> getHealthyReplicas() {
+        return healthy.stream().map(Replica::name).toList();
+    }
+
+    public int size() {
+        return replicas.size();
+    }
+
+    private synchronized void refreshHealthy() {
+        healthy = replicas.stream().filter(replica -> replica.healthy).toList();
+    }
+
+    @Override
+    public void close() {
+        healthChecker.shutdownNow();
+        replicas.forEach(replica -> replica.dataSource().close());
+    }
+
+    public static final class Replica {
+
+        private final String name;
+        private final HikariDataSource dataSource;
+        private volatile boolean healthy = true;
+
+        Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public HikariDataSource dataSource() {
+            return dataSource;
+        }
+
+        int activeConnections() {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            return pool != null ? pool.getActiveConnections() : 0;
+        }
+    }
+}
@@ -1,8 +1,63 @@
 package net.miPrimerCRUD.app.CRUD.repositories;
 
+import jakarta.persistence.QueryHint;
+import net.miPrimerCRUD.app.CRUD.DTO.ProductDTO;
 import net.miPrimerCRUD.app.CRUD.entities.Product;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
 
-public interface ProductRepository extends CrudRepository<Product, Long> {
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+public interface ProductRepository extends CrudRepository<Product, Long>, PagingAndSortingRepository<Product, Long>,
+        ProductSearchRepository {
+
+    // Carga el dueño en la misma consulta: el mapper y la validación de propiedad lo necesitan
+    @Override
+    @EntityGraph(attributePaths = "user")
+    Optional<Product> findById(Long id);
+
+    // Escribe el UPDATE en el momento: la versión nueva ya está disponible para el ETag de la respuesta
+    <S extends Product> S saveAndFlush(S product);
+
+    // Operaciones por lotes: todos los productos pedidos (con su dueño) en una sola consulta
+    @EntityGraph(attributePaths = "user")
+    List<Product> findByIdIn(Collection<Long> ids);
+
+    // Borrado en bloque con una sola sentencia: sin cargar las entidades ni comprobar versiones (baja de un usuario)
+    @Modifying
+    @Query("delete from Product p where p.id in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Las lecturas de listas se proyectan directamente a ProductDTO: una sola consulta con el nombre del dueño,
+    // sin entidades gestionadas, dirty checking ni cargas perezosas por fila
+    String SELECT_DTO = "select new net.miPrimerCRUD.app.CRUD.DTO.ProductDTO(p.id, p.name, p.price, u.id, u.name) "
+            + "from Product p left join p.user u ";
+
+    // Productos de un usuario, paginados en la base de datos (usa idx_products_user_id_id)
+    @Query(SELECT_DTO + "where p.ownerId = :userId order by p.id")
+    List<ProductDTO> findDTOsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // Página de la búsqueda de texto: los ids ya vienen ordenados por relevancia desde el índice
+    @Query(SELECT_DTO + "where p.id in :ids")
+    List<ProductDTO> findDTOsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Paginación por clave: WHERE id > ? ORDER BY id LIMIT ? (mismo coste en cualquier página)
+    @Query(SELECT_DTO + "where p.id > :afterId order by p.id")
+    List<ProductDTO> findPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // Exportación: lee con cursor de servidor (en MySQL requiere useCursorFetch=true en la URL)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(SELECT_DTO + "order by p.id")
+    Stream<ProductDTO> streamAllDTOs();
 }
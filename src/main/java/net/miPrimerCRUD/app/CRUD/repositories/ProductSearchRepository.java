@@ -0,0 +1,14 @@
+package net.miPrimerCRUD.app.CRUD.repositories;
+
+import net.miPrimerCRUD.app.CRUD.DTO.ProductDTO;
+import net.miPrimerCRUD.app.CRUD.search.ProductSearchCriteria;
+import net.miPrimerCRUD.app.CRUD.search.ProductSearchCursor;
+
+import java.util.List;
+
+// Fragmento de ProductRepository: la consulta depende de los filtros presentes
+public interface ProductSearchRepository {
+
+    // Hasta limit filas posteriores a after (null: desde el principio) en el orden de criteria
+    List<ProductDTO> search(ProductSearchCriteria criteria, ProductSearchCursor.Position after, int limit);
+}
@@ -0,0 +1,89 @@
+package net.miPrimerCRUD.app.CRUD.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import net.miPrimerCRUD.app.CRUD.DTO.ProductDTO;
+import net.miPrimerCRUD.app.CRUD.search.ProductSearchCriteria;
+import net.miPrimerCRUD.app.CRUD.search.ProductSearchCursor;
+import net.miPrimerCRUD.app.CRUD.search.ProductSort;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Búsqueda proyectada a ProductDTO con la misma consulta base que SELECT_DTO.
+ * El JPQL se arma solo con los filtros presentes y los valores van siempre como parámetros: hay pocas combinaciones
+ * posibles y Hibernate reutiliza la consulta ya interpretada de cada una (con Criteria API se interpreta en cada llamada).
+ * Cada filtro y cada orden tiene su índice en Product: name (prefijo), price (rango) y user_id + id (dueño).
+ */
+class ProductSearchRepositoryImpl implements ProductSearchRepository {
+
+    // '!' y no la barra invertida, que MySQL y H2 escapan de forma distinta dentro de los literales SQL
+    private static final char LIKE_ESCAPE = '!';
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ProductDTO> search(ProductSearchCriteria criteria, ProductSearchCursor.Position after, int limit) {
+        List<String> where = new ArrayList<>();
+        Map<String, Object> parameters = new HashMap<>();
+
+        if (criteria.name() != null) {
+            String pattern = escapeLike(criteria.name()) + "%";
+            if (criteria.match() == ProductSearchCriteria.MatchMode.CONTAINS) {
+                pattern = "%" + pattern;
+            }
+            where.add("p.name like :name escape '" + LIKE_ESCAPE + "'");
+            parameters.put("name", pattern);
+        }
+        if (criteria.minPrice() != null) {
+            where.add("p.price >= :minPrice");
+            parameters.put("minPrice", criteria.minPrice());
+        }
+        if (criteria.maxPrice() != null) {
+            where.add("p.price <= :maxPrice");
+            parameters.put("maxPrice", criteria.maxPrice());
+        }
+        if (criteria.userId() != null) {
+            where.add("p.ownerId = :userId");
+            parameters.put("userId", criteria.userId());
+        }
+
+        String direction = criteria.descending() ? "desc" : "asc";
+        String column = "p." + criteria.sort().attribute();
+        if (after != null) {
+            // (columna, id) estrictamente después de la última fila: col > v OR (col = v AND id > último id); al revés en DESC
+            String operator = criteria.descending() ? "<" : ">";
+            if (criteria.sort() == ProductSort.ID) {
+                where.add("p.id " + operator + " :afterId");
+            } else {
+                where.add("(" + column + " " + operator + " :afterValue or (" + column + " = :afterValue and p.id "
+                        + operator + " :afterId))");
+                parameters.put("afterValue", after.value());
+            }
+            parameters.put("afterId", after.id());
+        }
+
+        StringBuilder jpql = new StringBuilder(ProductRepository.SELECT_DTO);
+        if (!where.isEmpty()) {
+            jpql.append("where ").append(String.join(" and ", where));
+        }
+        jpql.append(" order by ").append(column).append(' ').append(direction);
+        if (criteria.sort() != ProductSort.ID) {
+            // El id desempata: el orden es total y el cursor no salta ni repite filas
+            jpql.append(", p.id ").append(direction);
+        }
+
+        TypedQuery<ProductDTO> query = entityManager.createQuery(jpql.toString(), ProductDTO.class);
+        parameters.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
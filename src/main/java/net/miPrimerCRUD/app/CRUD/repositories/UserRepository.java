@@ -1,10 +1,52 @@
 package net.miPrimerCRUD.app.CRUD.repositories;
 
+import jakarta.persistence.QueryHint;
+import net.miPrimerCRUD.app.CRUD.DTO.UserDTO;
 import net.miPrimerCRUD.app.CRUD.entities.User;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface UserRepository extends CrudRepository<User, Long> {
+public interface UserRepository extends CrudRepository<User, Long>, PagingAndSortingRepository<User, Long> {
+    // Consulta en caché (región users-by-email): la usan la autenticación y los servicios
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "users-by-email")
+    })
     Optional<User> findByEmail(String email);
+
+    // Escribe el UPDATE en el momento: la versión nueva ya está disponible para el ETag de la respuesta
+    <S extends User> S saveAndFlush(S user);
+
+    // Las lecturas de listas se proyectan directamente a UserDTO (sin la contraseña ni entidades gestionadas)
+    String SELECT_DTO = "select new net.miPrimerCRUD.app.CRUD.DTO.UserDTO(u.id, u.name, u.email, u.role) from User u ";
+
+    // Paginación por clave: WHERE id > ? ORDER BY id LIMIT ?
+    @Query(SELECT_DTO + "where u.id > :afterId order by u.id")
+    List<UserDTO> findPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // Exportación: lee con cursor de servidor (en MySQL requiere useCursorFetch=true en la URL)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(SELECT_DTO + "order by u.id")
+    Stream<UserDTO> streamAllDTOs();
+
+    // Rehash tras el login: solo si el hash sigue siendo el que se comprobó (no hubo un cambio de contraseña entre medias).
+    // Sin version + 1: la representación del usuario no cambia, así que su ETag tampoco
+    @Modifying
+    @Query("update User u set u.password = :newHash where u.email = :email and u.password = :oldHash")
+    int updatePasswordHash(@Param("email") String email, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
+
+    // DELETE directo, sin cargar user.products: los productos ya se han borrado por bloques antes
+    @Modifying
+    @Query("delete from User u where u.id = :id")
+    int deleteByIdDirectly(@Param("id") Long id);
 }
@@ -0,0 +1,53 @@
+package net.miPrimerCRUD.app.CRUD.search;
+
+import net.miPrimerCRUD.app.CRUD.exception.BadRequestException;
+
+import java.util.Locale;
+
+/**
+ * Filtros y orden de GET /api/products/search. Los filtros nulos no se aplican.
+ * name con PREFIX se resuelve con idx_products_name; CONTAINS no puede usar el índice y recorre la tabla.
+ */
+public record ProductSearchCriteria(String name, MatchMode match, Double minPrice, Double maxPrice, Long userId,
+                                    ProductSort sort, boolean descending) {
+
+    public enum MatchMode {
+        PREFIX,
+        CONTAINS;
+
+        public static MatchMode from(String value) {
+            if (value == null || value.isBlank()) return PREFIX;
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new BadRequestException("Modo de búsqueda no válido: " + value + " (prefix o contains)");
+            }
+        }
+    }
+
+    public ProductSearchCriteria {
+        name = name == null || name.isBlank() ? null : name.trim();
+        match = match == null ? MatchMode.PREFIX : match;
+        sort = sort == null ? ProductSort.ID : sort;
+        if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+            throw new BadRequestException("minPrice no puede ser mayor que maxPrice");
+        }
+    }
+
+    // Parámetros tal como llegan en la petición
+    public static ProductSearchCriteria of(String name, String match, Double minPrice, Double maxPrice, Long userId,
+                                           String sort, String direction) {
+        return new ProductSearchCriteria(name, MatchMode.from(match), minPrice, maxPrice, userId,
+                ProductSort.from(sort), isDescending(direction));
+    }
+
+    public ProductSearchCriteria withUserId(Long userId) {
+        return new ProductSearchCriteria(name, match, minPrice, maxPrice, userId, sort, descending);
+    }
+
+    private static boolean isDescending(String direction) {
+        if (direction == null || direction.isBlank() || direction.equalsIgnoreCase("asc")) return false;
+        if (direction.equalsIgnoreCase("desc")) return true;
+        throw new BadRequestException("Dirección no válida: " + direction + " (asc o desc)");
+    }
+}
@@ -0,0 +1,46 @@
+package net.miPrimerCRUD.app.CRUD.search;
+
+import net.miPrimerCRUD.app.CRUD.DTO.ProductDTO;
+import net.miPrimerCRUD.app.CRUD.exception.BadRequestException;
+import net.miPrimerCRUD.app.CRUD.pagination.KeysetPage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Cursor opaco de la búsqueda: columna de orden, id y valor de la última fila devuelta.
+ * La página siguiente empieza en (valor, id) estrictamente posterior, con el mismo coste en cualquier página.
+ */
+public class ProductSearchCursor {
+
+    public record Position(Object value, long id) {}
+
+    public static String encode(ProductSort sort, ProductDTO last) {
+        String raw = sort.attribute() + ":" + last.getId() + ":" + sort.valueIn(last);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Cursor de la página siguiente, o null si es la última
+    public static String next(KeysetPage<ProductDTO> page, ProductSort sort) {
+        if (!page.hasNext()) return null;
+        List<ProductDTO> items = page.items();
+        return encode(sort, items.get(items.size() - 1));
+    }
+
+    // null si no hay cursor (primera página). Un cursor de otro orden no es válido
+    public static Position decode(String cursor, ProductSort sort) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            // El valor va al final: un nombre puede contener ':'
+            String[] parts = raw.split(":", 3);
+            if (parts.length != 3 || !parts[0].equals(sort.attribute())) {
+                throw new BadRequestException("Cursor inválido");
+            }
+            return new Position(sort.parse(parts[2]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Cursor inválido", ex);
+        }
+    }
+}
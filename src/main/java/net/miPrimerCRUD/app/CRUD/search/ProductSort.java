@@ -0,0 +1,49 @@
+package net.miPrimerCRUD.app.CRUD.search;
+
+import net.miPrimerCRUD.app.CRUD.DTO.ProductDTO;
+import net.miPrimerCRUD.app.CRUD.exception.BadRequestException;
+
+import java.util.Locale;
+
+// Columnas por las que se puede ordenar la búsqueda. El id desempata para que el orden (y el cursor) sea estable
+public enum ProductSort {
+    ID("id"),
+    NAME("name"),
+    PRICE("price");
+
+    private final String attribute;
+
+    ProductSort(String attribute) {
+        this.attribute = attribute;
+    }
+
+    public String attribute() {
+        return attribute;
+    }
+
+    // Valor de la columna de orden en una fila, para construir el cursor
+    Object valueIn(ProductDTO product) {
+        return switch (this) {
+            case ID -> product.getId();
+            case NAME -> product.getName();
+            case PRICE -> product.getPrice();
+        };
+    }
+
+    Object parse(String value) {
+        return switch (this) {
+            case ID -> Long.parseLong(value);
+            case NAME -> value;
+            case PRICE -> Double.parseDouble(value);
+        };
+    }
+
+    public static ProductSort from(String value) {
+        if (value == null || value.isBlank()) return ID;
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Orden no válido: " + value + " (id, name o price)");
+        }
+    }
+}
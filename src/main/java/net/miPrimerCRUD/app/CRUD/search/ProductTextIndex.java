@@ -0,0 +1,240 @@
+package net.miPrimerCRUD.app.CRUD.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido en memoria sobre los nombres de producto: término -> ids de los productos que lo contienen.
+ * Los términos son las palabras del nombre en minúsculas y sin tildes. Cada palabra de la consulta debe aparecer en el
+ * nombre, completa o como inicio de una palabra ("tecl" encuentra "Teclado"). No encuentra fragmentos del interior
+ * de una palabra, a diferencia de LIKE '%x%', pero no recorre la tabla: el coste depende de los términos, no del catálogo.
+ *
+ * Puntuación: suma por palabra de la consulta de idf = ln(1 + N / df) (las palabras raras pesan más), a mitad de peso
+ * si solo coincide como prefijo, dividida por la raíz del número de palabras del nombre (los nombres cortos ganan).
+ * Lecturas concurrentes; cada escritura bloquea el índice un momento.
+ */
+public class ProductTextIndex {
+
+    // Prefijos de una sola letra casarían con medio vocabulario: solo cuentan como palabra completa
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final double PREFIX_WEIGHT = 0.5;
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    public record Hits(List<Long> ids, int total) {}
+
+    // Recibe los productos durante rebuild()
+    @FunctionalInterface
+    public interface Loader {
+        void add(Long id, String name, Long ownerId);
+    }
+
+    private record Document(Long ownerId, Set<String> terms) {}
+
+    private record Scored(Long id, double score) {}
+
+    // Estructuras de un índice completo: se sustituyen enteras al reconstruir
+    private static final class Segment {
+        private final NavigableMap<String, Set<Long>> postings = new TreeMap<>();
+        private final Map<Long, Document> documents = new HashMap<>();
+
+        void put(Long id, String name, Long ownerId) {
+            remove(id);
+            Set<String> terms = new LinkedHashSet<>(tokenize(name));
+            documents.put(id, new Document(ownerId, terms));
+            for (String term : terms) {
+                postings.computeIfAbsent(term, key -> new HashSet<>()).add(id);
+            }
+        }
+
+        void remove(Long id) {
+            Document document = documents.remove(id);
+            if (document == null) return;
+            for (String term : document.terms()) {
+                Set<Long> ids = postings.get(term);
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Segment segment = new Segment();
+    // Cambios recibidos mientras se reconstruye: se aplican también al índice nuevo antes de publicarlo
+    private List<Consumer<Segment>> pendingDuringRebuild;
+
+    public void put(Long id, String name, Long ownerId) {
+        apply(segment -> segment.put(id, name, ownerId));
+    }
+
+    public void remove(Long id) {
+        apply(segment -> segment.remove(id));
+    }
+
+    private void apply(Consumer<Segment> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(segment);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Sustituye el contenido por el que entrega loader (p. ej. leyendo la tabla). Mientras carga, las búsquedas
+     * siguen usando el índice anterior y los cambios que lleguen se aplican a los dos.
+     */
+    public int rebuild(Consumer<Loader> loader) {
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Segment fresh = new Segment();
+        try {
+            loader.accept(fresh::put);
+        } catch (RuntimeException ex) {
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw ex;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild.forEach(change -> change.accept(fresh));
+            pendingDuringRebuild = null;
+            segment = fresh;
+            return fresh.documents.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ownerId: solo productos de ese dueño (null: todos). Devuelve los ids de la página y el total de coincidencias
+    public Hits search(String query, Long ownerId, int offset, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (terms.isEmpty()) {
+            return new Hits(List.of(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            // Empieza por el término con menos candidatos para que la intersección sea pequeña
+            Map<String, Map<Long, Double>> perTerm = new HashMap<>();
+            for (String term : terms) {
+                perTerm.put(term, termScores(term));
+            }
+            terms.sort(Comparator.comparingInt(term -> perTerm.get(term).size()));
+
+            Map<Long, Double> scores = null;
+            for (String term : terms) {
+                Map<Long, Double> termScores = perTerm.get(term);
+                if (scores == null) {
+                    scores = new HashMap<>(termScores);
+                } else {
+                    Map<Long, Double> previous = scores;
+                    scores = new HashMap<>();
+                    for (Map.Entry<Long, Double> entry : previous.entrySet()) {
+                        Double score = termScores.get(entry.getKey());
+                        if (score != null) {
+                            scores.put(entry.getKey(), entry.getValue() + score);
+                        }
+                    }
+                }
+                if (scores.isEmpty()) break;
+            }
+
+            List<Scored> ranked = new ArrayList<>(scores.size());
+            for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                Document document = segment.documents.get(entry.getKey());
+                if (ownerId != null && !ownerId.equals(document.ownerId())) continue;
+                ranked.add(new Scored(entry.getKey(), entry.getValue() / Math.sqrt(document.terms().size())));
+            }
+            ranked.sort(Comparator.comparingDouble(Scored::score).reversed().thenComparing(Scored::id));
+
+            int from = Math.min(Math.max(offset, 0), ranked.size());
+            int to = Math.min(from + Math.max(limit, 0), ranked.size());
+            List<Long> page = ranked.subList(from, to).stream().map(Scored::id).toList();
+            return new Hits(page, ranked.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Puntuación de cada producto para una palabra de la consulta: la mejor entre la palabra exacta y sus extensiones
+    private Map<Long, Double> termScores(String term) {
+        Map<Long, Double> scores = new HashMap<>();
+        Set<Long> exact = segment.postings.get(term);
+        if (exact != null) {
+            double idf = idf(exact.size());
+            exact.forEach(id -> scores.put(id, idf));
+        }
+        if (term.length() >= MIN_PREFIX_LENGTH) {
+            for (Map.Entry<String, Set<Long>> entry : segment.postings.subMap(term, false, term + Character.MAX_VALUE, false).entrySet()) {
+                double score = PREFIX_WEIGHT * idf(entry.getValue().size());
+                entry.getValue().forEach(id -> scores.merge(id, score, Math::max));
+            }
+        }
+        return scores;
+    }
+
+    private double idf(int documentFrequency) {
+        return Math.log(1 + (double) segment.documents.size() / documentFrequency);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return segment.documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int terms() {
+        lock.readLock().lock();
+        try {
+            return segment.postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null) return List.of();
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> terms = new ArrayList<>();
+        for (String term : SEPARATORS.split(normalized)) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+}
@@ -0,0 +1,89 @@
+package net.miPrimerCRUD.app.CRUD.search;
+
+import net.miPrimerCRUD.app.CRUD.DTO.ProductDTO;
+import net.miPrimerCRUD.app.CRUD.events.ProductChangedEvent;
+import net.miPrimerCRUD.app.CRUD.repositories.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+/**
+ * Mantiene ProductTextIndex al día: aplica cada ProductChangedEvent cuando su transacción confirma (un rollback no
+ * deja rastro en el índice) y lo reconstruye desde la tabla al arrancar y bajo demanda (POST /actuator/productindex).
+ */
+@Component
+public class ProductTextIndexer {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductTextIndexer.class);
+
+    private final ProductTextIndex index = new ProductTextIndex();
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.search.text-index.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    private volatile Instant lastRebuild;
+    private volatile Duration lastRebuildDuration;
+
+    public ProductTextIndex index() {
+        return index;
+    }
+
+    // fallbackExecution: los cambios hechos fuera de una transacción también se indexan
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.type() == ProductChangedEvent.Type.DELETED) {
+            index.remove(event.productId());
+        } else {
+            index.put(event.productId(), event.name(), event.ownerId());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            rebuild();
+        }
+    }
+
+    // Lee la tabla con el cursor de la exportación, dentro de una transacción de solo lectura
+    public int rebuild() {
+        long start = System.nanoTime();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        int documents = index.rebuild(loader -> readOnly.executeWithoutResult(status -> {
+            try (Stream<ProductDTO> products = productRepository.streamAllDTOs()) {
+                products.forEach(product -> loader.add(product.getId(), product.getName(), product.getUserId()));
+            }
+        }));
+        lastRebuild = Instant.now();
+        lastRebuildDuration = Duration.ofNanos(System.nanoTime() - start);
+        log.info("Índice de texto de productos reconstruido: {} productos en {} ms", documents, lastRebuildDuration.toMillis());
+        return documents;
+    }
+
+    public Instant getLastRebuild() {
+        return lastRebuild;
+    }
+
+    public Duration getLastRebuildDuration() {
+        return lastRebuildDuration;
+    }
+}
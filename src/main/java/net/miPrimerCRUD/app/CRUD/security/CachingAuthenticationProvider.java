@@ -0,0 +1,63 @@
+package net.miPrimerCRUD.app.CRUD.security;
+
+import net.miPrimerCRUD.app.CRUD.exception.PasswordHashingBusyAuthenticationException;
+import net.miPrimerCRUD.app.CRUD.exception.PasswordHashingBusyException;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+// Delante del DaoAuthenticationProvider: si las credenciales ya se verificaron hace poco,
+// se evita la consulta del usuario y la comprobación BCrypt. Con el pool de hash lleno el delegado lanza
+// PasswordHashingBusyException, que aquí se convierte en AuthenticationException para que la cadena de seguridad
+// la responda (503) en lugar de dejarla escapar
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    private final AuthenticationProvider delegate;
+    private final CredentialCache credentialCache;
+
+    public CachingAuthenticationProvider(AuthenticationProvider delegate, CredentialCache credentialCache) {
+        this.delegate = delegate;
+        this.credentialCache = credentialCache;
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        String email = authentication.getName();
+        Object credentials = authentication.getCredentials();
+        if (email == null || !(credentials instanceof String password)) {
+            return authenticateWithDelegate(authentication);
+        }
+
+        AuthenticatedUser cached = credentialCache.get(email, password);
+        if (cached != null) {
+            return authenticated(cached, authentication);
+        }
+
+        Authentication result = authenticateWithDelegate(authentication);
+        if (result != null && result.getPrincipal() instanceof AuthenticatedUser principal) {
+            credentialCache.put(email, password, principal);
+        }
+        return result;
+    }
+
+    private Authentication authenticateWithDelegate(Authentication authentication) {
+        try {
+            return delegate.authenticate(authentication);
+        } catch (PasswordHashingBusyException ex) {
+            throw new PasswordHashingBusyAuthenticationException(ex);
+        }
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+
+    private Authentication authenticated(AuthenticatedUser principal, Authentication request) {
+        UsernamePasswordAuthenticationToken result = UsernamePasswordAuthenticationToken.authenticated(
+                principal, null, principal.getAuthorities());
+        result.setDetails(request.getDetails());
+        return result;
+    }
+}
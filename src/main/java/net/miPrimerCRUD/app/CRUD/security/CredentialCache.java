@@ -0,0 +1,90 @@
+package net.miPrimerCRUD.app.CRUD.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.Base64;
+
+// Caché acotada (tamaño + TTL) de credenciales ya verificadas con BCrypt.
+// La clave es un HMAC-SHA256 de (email, contraseña) con una clave aleatoria generada al arrancar:
+// la contraseña nunca se guarda y el HMAC no sirve fuera de este proceso.
+@Component
+public class CredentialCache {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final Cache<CredentialKey, AuthenticatedUser> cache;
+    private final SecretKey hmacKey;
+
+    public CredentialCache(@Value("${app.security.credential-cache.max-size:10000}") long maxSize,
+                           @Value("${app.security.credential-cache.ttl:5m}") Duration ttl,
+                           MeterRegistry meterRegistry) throws GeneralSecurityException {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.hmacKey = KeyGenerator.getInstance(HMAC_ALGORITHM).generateKey();
+        // Expone cache.gets{result=hit|miss}, cache.evictions, cache.size... en /actuator/metrics
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "credentials");
+    }
+
+    public AuthenticatedUser get(String email, String password) {
+        return cache.getIfPresent(key(email, password));
+    }
+
+    public void put(String email, String password, AuthenticatedUser user) {
+        cache.put(key(email, password), user);
+    }
+
+    // Se llama al cambiar la contraseña o el email, o al borrar el usuario
+    public void invalidate(String email) {
+        evict(email);
+        // Y otra vez tras el commit, por si una autenticación concurrente leyó los datos antiguos
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(email);
+                }
+            });
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private void evict(String email) {
+        // Recorre como mucho max-size entradas; solo ocurre en escrituras de usuarios
+        cache.asMap().keySet().removeIf(key -> key.email().equalsIgnoreCase(email));
+    }
+
+    private CredentialKey key(String email, String password) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(hmacKey);
+            mac.update(email.toLowerCase().getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            mac.update(password.getBytes(StandardCharsets.UTF_8));
+            return new CredentialKey(email, Base64.getEncoder().encodeToString(mac.doFinal()));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("No se pudo calcular el HMAC de las credenciales", ex);
+        }
+    }
+
+    private record CredentialKey(String email, String digest) {
+    }
+}
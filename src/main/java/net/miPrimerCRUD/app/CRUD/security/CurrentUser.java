@@ -0,0 +1,23 @@
+package net.miPrimerCRUD.app.CRUD.security;
+
+import jakarta.persistence.EntityNotFoundException;
+import net.miPrimerCRUD.app.CRUD.repositories.UserRepository;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+// Acceso al usuario autenticado desde la capa de servicio
+public class CurrentUser {
+
+    public static AuthenticatedUser get(UserRepository userRepository) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth.getPrincipal() instanceof AuthenticatedUser principal) {
+            // Resuelto durante la autenticación: no hace falta otra consulta
+            return principal;
+        }
+
+        // Otros tipos de principal (p. ej. @WithMockUser en tests): se busca por email
+        return userRepository.findByEmail(auth.getName())
+                .map(AuthenticatedUser::from)
+                .orElseThrow(() -> new EntityNotFoundException("Usuario actual no encontrado"));
+    }
+}
@@ -0,0 +1,90 @@
+package net.miPrimerCRUD.app.CRUD.security;
+
+import net.miPrimerCRUD.app.CRUD.exception.PasswordHashingBusyException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Ejecuta el PasswordEncoder en un pool propio de hilos de plataforma (uno por núcleo por defecto).
+ * - El hash es CPU pura: como mucho se calculan tantos a la vez como hilos tiene el pool, por muchas peticiones
+ *   que lleguen, y el resto de la aplicación conserva CPU.
+ * - En un hilo virtual ocuparía su hilo portador ~100 ms sin ceder; así el hilo virtual solo espera el resultado.
+ * - La cola es acotada: con queueCapacity hashes esperando, los siguientes fallan en el acto con
+ *   PasswordHashingBusyException (503) en lugar de acumular latencia.
+ */
+public class OffloadingPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+
+    public OffloadingPasswordEncoder(PasswordEncoder delegate, int threads) {
+        this(delegate, threads, Integer.MAX_VALUE);
+    }
+
+    public OffloadingPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity) {
+        this.delegate = delegate;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), hashingThreadFactory());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return offload(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return offload(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // Sin hash: solo compara el prefijo y los parámetros guardados
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    // Hashes esperando un hilo libre
+    public int getQueued() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private <T> T offload(Supplier<T> task) {
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException ex) {
+            throw new PasswordHashingBusyException("Servidor saturado, inténtalo de nuevo");
+        }
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private static ThreadFactory hashingThreadFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "password-hashing-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
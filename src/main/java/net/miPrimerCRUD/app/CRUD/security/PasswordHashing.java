@@ -0,0 +1,76 @@
+package net.miPrimerCRUD.app.CRUD.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Construcción del PasswordEncoder de la aplicación (servlet y reactiva):
+ * - Los hashes nuevos llevan el prefijo del algoritmo configurado ({bcrypt}, {argon2}, {pbkdf2}).
+ * - Se comprueban los de cualquiera de los tres, y los antiguos sin prefijo como bcrypt.
+ * - upgradeEncoding() es true para los hashes de otro algoritmo, sin prefijo o (bcrypt y argon2) con un coste
+ *   menor que el actual: el login los vuelve a calcular con la contraseña recibida.
+ */
+public final class PasswordHashing {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashing.class);
+
+    private PasswordHashing() {
+    }
+
+    public static PasswordEncoder delegating(PasswordHashingAlgorithm algorithm, int cost) {
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        for (PasswordHashingAlgorithm candidate : PasswordHashingAlgorithm.values()) {
+            // Para comprobar, los parámetros salen del propio hash; el coste solo importa al codificar
+            encoders.put(candidate.id(), candidate.encoder(candidate == algorithm ? cost : candidate.minCost()));
+        }
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(algorithm.id(), encoders);
+        delegating.setDefaultPasswordEncoderForMatches(encoders.get(PasswordHashingAlgorithm.BCRYPT.id()));
+        return delegating;
+    }
+
+    // Mayor coste cuyo hash tarda como mucho target en esta máquina, sin bajar del mínimo del algoritmo
+    public static int calibrate(PasswordHashingAlgorithm algorithm, Duration target) {
+        PasswordEncoder warmUp = algorithm.encoder(algorithm.minCost());
+        warmUp.encode("calibración");
+        int cost = calibrate(algorithm, target, candidate -> measure(algorithm.encoder(candidate)));
+        log.info("Hash de contraseñas: {} con coste {} (objetivo {} ms)", algorithm.id(), cost, target.toMillis());
+        return cost;
+    }
+
+    // Solo se mide un coste si la previsión a partir del anterior cabe en el objetivo: la calibración no paga hashes lentos
+    static int calibrate(PasswordHashingAlgorithm algorithm, Duration target, IntToLongFunction measureNanos) {
+        long targetNanos = target.toNanos();
+        int cost = algorithm.minCost();
+        long elapsed = measureNanos.applyAsLong(cost);
+        while (true) {
+            int next = algorithm.nextCost(cost);
+            if (next > algorithm.maxCost() || elapsed * algorithm.costRatio(cost, next) > targetNanos) {
+                return cost;
+            }
+            long nextElapsed = measureNanos.applyAsLong(next);
+            if (nextElapsed > targetNanos) {
+                return cost;
+            }
+            cost = next;
+            elapsed = nextElapsed;
+        }
+    }
+
+    // El menor de dos intentos: descarta pausas del GC o de la JIT
+    private static long measure(PasswordEncoder encoder) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 2; i++) {
+            long start = System.nanoTime();
+            encoder.encode("calibración");
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
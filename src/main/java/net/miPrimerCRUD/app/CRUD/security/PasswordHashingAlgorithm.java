@@ -0,0 +1,86 @@
+package net.miPrimerCRUD.app.CRUD.security;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+/**
+ * Algoritmos de hash de contraseñas y qué significa su coste:
+ * - bcrypt: log2 de las rondas (cada punto duplica el tiempo)
+ * - argon2: iteraciones, con 16 MiB de memoria y un hilo
+ * - pbkdf2: iteraciones de HMAC-SHA256
+ * El coste mínimo es el que se usaba antes (bcrypt 10) o el recomendado: la calibración nunca baja de él.
+ */
+public enum PasswordHashingAlgorithm {
+
+    BCRYPT("bcrypt", 10, 16) {
+        @Override
+        public PasswordEncoder encoder(int cost) {
+            return new BCryptPasswordEncoder(cost);
+        }
+
+        @Override
+        int nextCost(int cost) {
+            return cost + 1;
+        }
+
+        @Override
+        double costRatio(int from, int to) {
+            return Math.pow(2, to - from);
+        }
+    },
+
+    ARGON2("argon2", 2, 20) {
+        @Override
+        public PasswordEncoder encoder(int cost) {
+            return new Argon2PasswordEncoder(16, 32, 1, 1 << 14, cost);
+        }
+    },
+
+    PBKDF2("pbkdf2", 310_000, 10_000_000) {
+        @Override
+        public PasswordEncoder encoder(int cost) {
+            return new Pbkdf2PasswordEncoder("", 16, cost, Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+        }
+
+        @Override
+        int nextCost(int cost) {
+            return cost * 2;
+        }
+    };
+
+    private final String id;
+    private final int minCost;
+    private final int maxCost;
+
+    PasswordHashingAlgorithm(String id, int minCost, int maxCost) {
+        this.id = id;
+        this.minCost = minCost;
+        this.maxCost = maxCost;
+    }
+
+    // Prefijo de los hashes en la base de datos: {bcrypt}, {argon2}, {pbkdf2}
+    public String id() {
+        return id;
+    }
+
+    public int minCost() {
+        return minCost;
+    }
+
+    public int maxCost() {
+        return maxCost;
+    }
+
+    public abstract PasswordEncoder encoder(int cost);
+
+    int nextCost(int cost) {
+        return cost + 1;
+    }
+
+    // Cuánto más tarda un hash con el coste to que con from (lineal en las iteraciones salvo bcrypt)
+    double costRatio(int from, int to) {
+        return (double) to / from;
+    }
+}
@@ -0,0 +1,33 @@
+package net.miPrimerCRUD.app.CRUD.security;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import net.miPrimerCRUD.app.CRUD.exception.PasswordHashingBusyAuthenticationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.AuthenticationEntryPoint;
+
+import java.io.IOException;
+
+// Entry point de HTTP Basic: con el pool de hash saturado responde 503 con Retry-After (como GlobalExceptionHandler
+// para el resto de la aplicación); cualquier otro fallo de autenticación sigue en el entry point original (401)
+public class PasswordHashingBusyEntryPoint implements AuthenticationEntryPoint {
+
+    private final AuthenticationEntryPoint delegate;
+
+    public PasswordHashingBusyEntryPoint(AuthenticationEntryPoint delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void commence(HttpServletRequest request, HttpServletResponse response, AuthenticationException authException)
+            throws IOException, ServletException {
+        if (authException instanceof PasswordHashingBusyAuthenticationException) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, authException.getMessage());
+            return;
+        }
+        delegate.commence(request, response, authException);
+    }
+}
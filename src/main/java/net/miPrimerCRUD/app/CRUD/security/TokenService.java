@@ -0,0 +1,121 @@
+package net.miPrimerCRUD.app.CRUD.security;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Tokens firmados con HMAC-SHA256 en formato JWT (header.payload.firma).
+// Los claims (id, email, rol) bastan para autenticar: sin consulta a la base de datos ni BCrypt.
+@Service
+public class TokenService {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String HEADER = base64Url("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    private final ObjectMapper objectMapper;
+    private final SecretKey key;
+    private final Duration ttl;
+    private final Clock clock;
+
+    @Autowired
+    public TokenService(ObjectMapper objectMapper,
+                        @Value("${app.security.token.secret:}") String secret,
+                        @Value("${app.security.token.ttl:15m}") Duration ttl) throws GeneralSecurityException {
+        this(objectMapper, secret, ttl, Clock.systemUTC());
+    }
+
+    TokenService(ObjectMapper objectMapper, String secret, Duration ttl, Clock clock) throws GeneralSecurityException {
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.clock = clock;
+        // Sin secreto configurado se genera una clave local al arrancar (los tokens no sobreviven a un reinicio)
+        this.key = secret == null || secret.isBlank()
+                ? KeyGenerator.getInstance(HMAC_ALGORITHM).generateKey()
+                : new SecretKeySpec(Base64.getDecoder().decode(secret), HMAC_ALGORITHM);
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public String issue(AuthenticatedUser user) {
+        long now = clock.instant().getEpochSecond();
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("sub", user.getId());
+        claims.put("email", user.getEmail());
+        claims.put("role", user.getRole());
+        claims.put("iat", now);
+        claims.put("exp", now + ttl.toSeconds());
+
+        try {
+            String payload = base64Url(objectMapper.writeValueAsBytes(claims));
+            String signingInput = HEADER + "." + payload;
+            return signingInput + "." + base64Url(sign(signingInput));
+        } catch (IOException ex) {
+            throw new IllegalStateException("No se pudo generar el token", ex);
+        }
+    }
+
+    public AuthenticatedUser verify(String token) {
+        String[] parts = token.split("\\.");
+        // Solo aceptamos la cabecera que emitimos nosotros (evita tokens con alg "none" u otros)
+        if (parts.length != 3 || !HEADER.equals(parts[0])) {
+            throw new BadCredentialsException("Token inválido");
+        }
+
+        byte[] expected = sign(parts[0] + "." + parts[1]);
+        byte[] actual;
+        Map<String, Object> claims;
+        try {
+            actual = Base64.getUrlDecoder().decode(parts[2]);
+            claims = objectMapper.readValue(Base64.getUrlDecoder().decode(parts[1]), new TypeReference<>() {});
+        } catch (IllegalArgumentException | IOException ex) {
+            throw new BadCredentialsException("Token inválido");
+        }
+        if (!MessageDigest.isEqual(expected, actual)) {
+            throw new BadCredentialsException("Token inválido");
+        }
+
+        Number exp = (Number) claims.get("exp");
+        if (exp == null || exp.longValue() <= clock.instant().getEpochSecond()) {
+            throw new BadCredentialsException("Token caducado");
+        }
+
+        return new AuthenticatedUser(
+                ((Number) claims.get("sub")).longValue(),
+                (String) claims.get("email"),
+                null,
+                (String) claims.get("role"));
+    }
+
+    private byte[] sign(String signingInput) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("No se pudo firmar el token", ex);
+        }
+    }
+
+    private static String base64Url(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
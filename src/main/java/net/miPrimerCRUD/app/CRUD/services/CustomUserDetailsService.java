@@ -1,29 +1,51 @@
 package net.miPrimerCRUD.app.CRUD.services;
 
 import net.miPrimerCRUD.app.CRUD.entities.User;
+import net.miPrimerCRUD.app.CRUD.replication.PrimaryPin;
 import net.miPrimerCRUD.app.CRUD.repositories.UserRepository;
+import net.miPrimerCRUD.app.CRUD.security.AuthenticatedUser;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository userRepository;
 
+    // Con réplicas de lectura, un usuario recién registrado o con la contraseña recién cambiada
+    // podría no haber llegado aún a la réplica: la autenticación lee de la principal
+    @Value("${app.datasource.replicas.pin-authentication:true}")
+    private boolean pinToPrimary;
+
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email)
+        Optional<User> found = pinToPrimary
+                ? PrimaryPin.call(() -> userRepository.findByEmail(email))
+                : userRepository.findByEmail(email);
+        User user = found
                 .orElseThrow(() -> new UsernameNotFoundException("Usuario con email " + email + " no encontrado"));
 
+        // El principal lleva el id y el rol para que los servicios no vuelvan a consultar al usuario
+        return AuthenticatedUser.from(user);
+    }
 
-        return org.springframework.security.core.userdetails.User
-                .withUsername(user.getEmail())
-                .password(user.getPassword())
-                .roles(user.getRole())
-                .build();
+    // DaoAuthenticationProvider lo llama tras un login correcto si el hash guardado usa otro algoritmo o menos coste
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        AuthenticatedUser authenticated = (AuthenticatedUser) user;
+        int updated = userRepository.updatePasswordHash(authenticated.getEmail(), authenticated.getPassword(), newPassword);
+        return updated == 1
+                ? new AuthenticatedUser(authenticated.getId(), authenticated.getEmail(), newPassword, authenticated.getRole())
+                : user;
     }
-}
\ No newline at end of file
+}
@@ -1,45 +1,153 @@
 package net.miPrimerCRUD.app.CRUD.services;
 
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import net.miPrimerCRUD.app.CRUD.DTO.BatchItemResultDTO;
+import net.miPrimerCRUD.app.CRUD.DTO.BatchResultDTO;
+import net.miPrimerCRUD.app.CRUD.DTO.ProductDTO;
 import net.miPrimerCRUD.app.CRUD.entities.Product;
 import net.miPrimerCRUD.app.CRUD.entities.User;
+import net.miPrimerCRUD.app.CRUD.etag.ETags;
+import net.miPrimerCRUD.app.CRUD.events.ProductChangedEvent;
+import net.miPrimerCRUD.app.CRUD.events.ProductEventBus;
+import net.miPrimerCRUD.app.CRUD.events.ProductEventSubscription;
+import net.miPrimerCRUD.app.CRUD.exception.BadRequestException;
+import net.miPrimerCRUD.app.CRUD.mapper.ProductMapper;
+import net.miPrimerCRUD.app.CRUD.pagination.KeysetCursor;
+import net.miPrimerCRUD.app.CRUD.pagination.KeysetPage;
 import net.miPrimerCRUD.app.CRUD.repositories.ProductRepository;
 import net.miPrimerCRUD.app.CRUD.repositories.UserRepository;
+import net.miPrimerCRUD.app.CRUD.search.ProductSearchCriteria;
+import net.miPrimerCRUD.app.CRUD.search.ProductSearchCursor;
+import net.miPrimerCRUD.app.CRUD.search.ProductTextIndex;
+import net.miPrimerCRUD.app.CRUD.search.ProductTextIndexer;
+import net.miPrimerCRUD.app.CRUD.security.AuthenticatedUser;
+import net.miPrimerCRUD.app.CRUD.security.CurrentUser;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class ProductServiceManager implements ProductService{
 
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_BATCH_SIZE = 1000;
+
     @Autowired
     private ProductRepository repository;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ProductTextIndexer textIndexer;
+
+    @Autowired
+    private ProductEventBus eventBus;
+
     @Override
     public List<Product> findAll() {
         return (List<Product>) this.repository.findAll();
     }
 
-    public List<Product> findMyProducts() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String currentUserEmail = auth.getName();
+    public KeysetPage<ProductDTO> findPage(Long afterId, int limit) {
+        int pageSize = KeysetCursor.clampLimit(limit);
+        List<ProductDTO> rows = this.repository.findPageAfter(afterId, Limit.of(pageSize + 1));
+        return KeysetPage.of(rows, pageSize, ProductDTO::getId);
+    }
+
+    // Un USER solo busca entre sus productos; ADMIN en todos o en los de un dueño (userId)
+    public KeysetPage<ProductDTO> search(ProductSearchCriteria criteria, String after, int limit) {
+        AuthenticatedUser currentUser = CurrentUser.get(userRepository);
+        if (!currentUser.isAdmin()) {
+            if (criteria.userId() != null && !criteria.userId().equals(currentUser.getId())) {
+                throw new AccessDeniedException("No tienes permiso para buscar productos de otro usuario");
+            }
+            criteria = criteria.withUserId(currentUser.getId());
+        }
 
-        User currentUser = userRepository.findByEmail(currentUserEmail)
-                .orElseThrow(() -> new EntityNotFoundException("Usuario actual no encontrado"));
+        int pageSize = KeysetCursor.clampLimit(limit);
+        ProductSearchCursor.Position position = ProductSearchCursor.decode(after, criteria.sort());
+        List<ProductDTO> rows = this.repository.search(criteria, position, pageSize + 1);
+        return KeysetPage.of(rows, pageSize, ProductDTO::getId);
+    }
 
-        return ((List<Product>) repository.findAll())
-                .stream()
-                .filter(product -> product.getUser() != null &&
-                        product.getUser().getId().equals(currentUser.getId()))
-                .collect(Collectors.toList());
+    // Búsqueda por palabras en el índice en memoria, por relevancia. Los datos de la página salen de una sola consulta
+    public Page<ProductDTO> searchText(String query, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("El texto de búsqueda es obligatorio");
+        }
+        AuthenticatedUser currentUser = CurrentUser.get(userRepository);
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), pageSize);
+
+        ProductTextIndex index = textIndexer.index();
+        ProductTextIndex.Hits hits = index.search(query, currentUser.isAdmin() ? null : currentUser.getId(),
+                (int) pageRequest.getOffset(), pageSize);
+        if (hits.ids().isEmpty()) {
+            return new PageImpl<>(List.of(), pageRequest, hits.total());
+        }
+
+        Map<Long, ProductDTO> rows = this.repository.findDTOsByIdIn(hits.ids()).stream()
+                .collect(Collectors.toMap(ProductDTO::getId, Function.identity()));
+        // Un id que la consulta no devuelve se omite de la página y del total, pero el índice no se toca: la lectura
+        // puede venir de una réplica con retraso que aún no tiene un producto recién creado. El índice solo cambia
+        // con los eventos confirmados (y con la reconstrucción)
+        List<ProductDTO> items = new ArrayList<>(hits.ids().size());
+        for (Long id : hits.ids()) {
+            ProductDTO product = rows.get(id);
+            if (product != null) {
+                items.add(product);
+            }
+        }
+        int missing = hits.ids().size() - items.size();
+        return new PageImpl<>(items, pageRequest, hits.total() - missing);
+    }
+
+    // Suscripción a los cambios de los productos del usuario actual (de todos, si es ADMIN); el controlador le asocia la conexión
+    public ProductEventSubscription subscribeToChanges() {
+        return eventBus.subscribe(CurrentUser.get(userRepository));
+    }
+
+    // Recorre toda la tabla sin materializarla; debe llamarse dentro de una transacción de solo lectura.
+    // Son DTOs, no entidades: el contexto de persistencia no crece y la memoria se mantiene constante
+    public void exportAll(Consumer<ProductDTO> consumer) {
+        try (Stream<ProductDTO> products = this.repository.streamAllDTOs()) {
+            products.forEach(consumer);
+        }
+    }
+
+    public List<ProductDTO> findMyProducts(int page, int size) {
+        AuthenticatedUser currentUser = CurrentUser.get(userRepository);
+
+        // El filtro por dueño se hace en la base de datos: solo se leen las filas de la página pedida
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), pageSize);
+        return repository.findDTOsByUserId(currentUser.getId(), pageRequest);
     }
 
     @Override
@@ -58,15 +166,24 @@ public class ProductServiceManager implements ProductService{
                     .orElseThrow(() -> new EntityNotFoundException("Usuario con ID " + product.getUser().getId() + " no encontrado"));
             product.setUser(user);
         }
-        return this.repository.save(product);
+        Product saved = this.repository.save(product);
+        publish(ProductChangedEvent.Type.CREATED, saved);
+        return saved;
     }
 
     @Override
     public Product update(Long id, Product product) {
+        return update(id, product, null);
+    }
+
+    // ifMatch: cabecera If-Match de la petición (null si no es condicional)
+    public Product update(Long id, Product product, String ifMatch) {
         Product prod = this.repository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Producto con ID " + id + " no encontrado"));
 
         validateOwnership(prod);
+        ETags.checkIfMatch(ifMatch, ETags.of(prod));
+        Long previousOwnerId = ProductChangedEvent.ownerId(prod);
 
         prod.setName(product.getName());
         prod.setPrice(product.getPrice());
@@ -77,7 +194,9 @@ public class ProductServiceManager implements ProductService{
             prod.setUser(user);
         }
 
-        return this.repository.save(prod);
+        Product updated = this.repository.saveAndFlush(prod);
+        publish(ProductChangedEvent.Type.UPDATED, updated, previousOwnerId);
+        return updated;
     }
 
     @Override
@@ -88,20 +207,227 @@ public class ProductServiceManager implements ProductService{
         validateOwnership(product);
 
         this.repository.deleteById(id);
+        publish(ProductChangedEvent.Type.DELETED, product);
     }
 
-    private void validateOwnership(Product product) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String currentUserEmail = auth.getName();
+    // Alta por lotes: los dueños se resuelven en una sola consulta y los INSERT salen en lotes JDBC.
+    // Los elementos inválidos se informan uno a uno y no impiden guardar el resto.
+    public BatchResultDTO saveAll(List<ProductDTO> items) {
+        checkBatchSize(items);
+        AuthenticatedUser currentUser = CurrentUser.get(userRepository);
+
+        // Sin userId el producto es del usuario autenticado
+        Set<Long> ownerIds = items.stream()
+                .map(item -> item == null || item.getUserId() == null ? currentUser.getId() : item.getUserId())
+                .collect(Collectors.toSet());
+        Map<Long, User> owners = findOwners(ownerIds);
+
+        BatchItemResultDTO[] results = new BatchItemResultDTO[items.size()];
+        List<Product> products = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            ProductDTO item = items.get(i);
+            String error = validate(item);
+            if (error != null) {
+                results[i] = failure(i, HttpStatus.BAD_REQUEST, null, error);
+                continue;
+            }
+
+            Long ownerId = item.getUserId() != null ? item.getUserId() : currentUser.getId();
+            if (!canAssign(currentUser, ownerId)) {
+                results[i] = failure(i, HttpStatus.FORBIDDEN, null, "No tienes permiso para asignar productos a otro usuario");
+                continue;
+            }
+            User owner = owners.get(ownerId);
+            if (owner == null) {
+                results[i] = failure(i, HttpStatus.NOT_FOUND, null, "Usuario con ID " + ownerId + " no encontrado");
+                continue;
+            }
+
+            Product product = new Product();
+            product.setName(item.getName());
+            product.setPrice(item.getPrice());
+            product.setUser(owner);
+            products.add(product);
+            positions.add(i);
+        }
+
+        // Con la secuencia los IDs se asignan sin ir a la base de datos; los INSERT se envían al hacer flush
+        this.repository.saveAll(products);
+        for (int j = 0; j < products.size(); j++) {
+            int i = positions.get(j);
+            results[i] = success(i, HttpStatus.CREATED, products.get(j));
+            publish(ProductChangedEvent.Type.CREATED, products.get(j));
+        }
+        return new BatchResultDTO(List.of(results));
+    }
+
+    // Modificación por lotes: productos y dueños se cargan con una consulta cada uno; los UPDATE salen en lotes JDBC
+    public BatchResultDTO updateAll(List<ProductDTO> items) {
+        checkBatchSize(items);
+        AuthenticatedUser currentUser = CurrentUser.get(userRepository);
 
-        User currentUser = userRepository.findByEmail(currentUserEmail)
-                .orElseThrow(() -> new EntityNotFoundException("Usuario actual no encontrado"));
+        Set<Long> ids = items.stream().filter(Objects::nonNull).map(ProductDTO::getId)
+                .filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<Long, Product> existing = this.repository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        Set<Long> ownerIds = items.stream().filter(Objects::nonNull).map(ProductDTO::getUserId)
+                .filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<Long, User> owners = findOwners(ownerIds);
 
-        if (currentUser.getRole().equals("ADMIN")) {
-            return;
+        BatchItemResultDTO[] results = new BatchItemResultDTO[items.size()];
+        List<Product> products = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        List<Long> previousOwnerIds = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            ProductDTO item = items.get(i);
+            if (item == null || item.getId() == null) {
+                results[i] = failure(i, HttpStatus.BAD_REQUEST, null, "El ID del producto es obligatorio");
+                continue;
+            }
+            String error = validate(item);
+            if (error != null) {
+                results[i] = failure(i, HttpStatus.BAD_REQUEST, item.getId(), error);
+                continue;
+            }
+
+            Product product = existing.get(item.getId());
+            if (product == null) {
+                results[i] = failure(i, HttpStatus.NOT_FOUND, item.getId(), "Producto con ID " + item.getId() + " no encontrado");
+                continue;
+            }
+            if (!isOwnerOrAdmin(currentUser, product)) {
+                results[i] = failure(i, HttpStatus.FORBIDDEN, item.getId(), "No tienes permiso para acceder a este producto");
+                continue;
+            }
+
+            User owner = product.getUser();
+            Long previousOwnerId = ProductChangedEvent.ownerId(product);
+            if (item.getUserId() != null) {
+                if (!canAssign(currentUser, item.getUserId())) {
+                    results[i] = failure(i, HttpStatus.FORBIDDEN, item.getId(), "No tienes permiso para asignar productos a otro usuario");
+                    continue;
+                }
+                owner = owners.get(item.getUserId());
+                if (owner == null) {
+                    results[i] = failure(i, HttpStatus.NOT_FOUND, item.getId(), "Usuario con ID " + item.getUserId() + " no encontrado");
+                    continue;
+                }
+            }
+
+            product.setName(item.getName());
+            product.setPrice(item.getPrice());
+            product.setUser(owner);
+            products.add(product);
+            positions.add(i);
+            previousOwnerIds.add(previousOwnerId);
+        }
+
+        this.repository.saveAll(products);
+        for (int j = 0; j < products.size(); j++) {
+            int i = positions.get(j);
+            results[i] = success(i, HttpStatus.OK, products.get(j));
+            publish(ProductChangedEvent.Type.UPDATED, products.get(j), previousOwnerIds.get(j));
+        }
+        return new BatchResultDTO(List.of(results));
+    }
+
+    // Baja por lotes: una consulta para cargar los productos y los DELETE en lotes JDBC
+    public BatchResultDTO deleteAll(List<Long> ids) {
+        checkBatchSize(ids);
+        AuthenticatedUser currentUser = CurrentUser.get(userRepository);
+
+        Map<Long, Product> existing = this.repository.findByIdIn(ids.stream().filter(Objects::nonNull).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        BatchItemResultDTO[] results = new BatchItemResultDTO[ids.size()];
+        Set<Product> products = new HashSet<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            if (id == null) {
+                results[i] = failure(i, HttpStatus.BAD_REQUEST, null, "El ID del producto es obligatorio");
+                continue;
+            }
+
+            Product product = existing.get(id);
+            if (product == null) {
+                results[i] = failure(i, HttpStatus.NOT_FOUND, id, "Producto con ID " + id + " no encontrado");
+            } else if (!isOwnerOrAdmin(currentUser, product)) {
+                results[i] = failure(i, HttpStatus.FORBIDDEN, id, "No tienes permiso para acceder a este producto");
+            } else {
+                products.add(product);
+                results[i] = new BatchItemResultDTO(i, HttpStatus.NO_CONTENT.value(), id, null, null);
+            }
+        }
+
+        this.repository.deleteAll(products);
+        products.forEach(product -> publish(ProductChangedEvent.Type.DELETED, product));
+        return new BatchResultDTO(List.of(results));
+    }
+
+    // También se comprueba antes de encolar un lote asíncrono, para responder 400 en lugar de un trabajo fallido
+    public void checkBatchSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new BadRequestException("El lote no puede estar vacío");
+        }
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("El lote no puede tener más de " + MAX_BATCH_SIZE + " elementos");
+        }
+    }
+
+    private Map<Long, User> findOwners(Set<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
         }
+        List<User> users = (List<User>) userRepository.findAllById(ids);
+        return users.stream().collect(Collectors.toMap(User::getId, Function.identity()));
+    }
+
+    private String validate(ProductDTO item) {
+        if (item == null) {
+            return "El producto es obligatorio";
+        }
+        Set<ConstraintViolation<ProductDTO>> violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private BatchItemResultDTO success(int index, HttpStatus status, Product product) {
+        return new BatchItemResultDTO(index, status.value(), product.getId(), ProductMapper.toDTO(product), null);
+    }
+
+    private BatchItemResultDTO failure(int index, HttpStatus status, Long id, String error) {
+        return new BatchItemResultDTO(index, status.value(), id, null, error);
+    }
+
+    // Los oyentes (índice de texto...) lo reciben al confirmar la transacción
+    private void publish(ProductChangedEvent.Type type, Product product) {
+        eventPublisher.publishEvent(ProductChangedEvent.of(type, product));
+    }
+
+    private void publish(ProductChangedEvent.Type type, Product product, Long previousOwnerId) {
+        eventPublisher.publishEvent(ProductChangedEvent.of(type, product, previousOwnerId));
+    }
+
+    private boolean canAssign(AuthenticatedUser currentUser, Long ownerId) {
+        return currentUser.isAdmin() || currentUser.getId().equals(ownerId);
+    }
+
+    private boolean isOwnerOrAdmin(AuthenticatedUser currentUser, Product product) {
+        return currentUser.isAdmin()
+                || (product.getUser() != null && product.getUser().getId().equals(currentUser.getId()));
+    }
+
+    private void validateOwnership(Product product) {
+        AuthenticatedUser currentUser = CurrentUser.get(userRepository);
 
-        if (product.getUser() == null || !product.getUser().getId().equals(currentUser.getId())) {
+        if (!isOwnerOrAdmin(currentUser, product)) {
             throw new AccessDeniedException("No tienes permiso para acceder a este producto");
         }
     }
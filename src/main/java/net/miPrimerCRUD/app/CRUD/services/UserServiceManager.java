@@ -1,16 +1,37 @@
 package net.miPrimerCRUD.app.CRUD.services;
 
 import jakarta.persistence.EntityNotFoundException;
+import net.miPrimerCRUD.app.CRUD.DTO.ProductDTO;
+import net.miPrimerCRUD.app.CRUD.DTO.UserDTO;
 import net.miPrimerCRUD.app.CRUD.entities.User;
+import net.miPrimerCRUD.app.CRUD.etag.ETags;
+import net.miPrimerCRUD.app.CRUD.events.ProductChangedEvent;
+import net.miPrimerCRUD.app.CRUD.events.UserChangedEvent;
+import net.miPrimerCRUD.app.CRUD.pagination.KeysetCursor;
+import net.miPrimerCRUD.app.CRUD.pagination.KeysetPage;
+import net.miPrimerCRUD.app.CRUD.repositories.ProductRepository;
 import net.miPrimerCRUD.app.CRUD.repositories.UserRepository;
+import net.miPrimerCRUD.app.CRUD.security.AuthenticatedUser;
+import net.miPrimerCRUD.app.CRUD.security.CredentialCache;
+import net.miPrimerCRUD.app.CRUD.security.CurrentUser;
+import net.miPrimerCRUD.app.CRUD.sql.RequestSqlStats;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
 
 @Service
 public class UserServiceManager implements UserService {
@@ -18,14 +39,46 @@ public class UserServiceManager implements UserService {
     @Autowired
     private UserRepository repository;
 
+    @Autowired
+    private ProductRepository productRepository;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private CredentialCache credentialCache;
+
+    // Los oyentes (auditoría) reciben los cambios solo si la transacción confirma
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Para la baja en segundo plano: una transacción corta por bloque de productos
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Productos que se borran por sentencia al dar de baja a un usuario
+    @Value("${app.users.delete-chunk-size:500}")
+    private int deleteChunkSize = 500;
+
     @Override
     public List<User> findAll() {
         return (List<User>) this.repository.findAll();
     }
 
+    public KeysetPage<UserDTO> findPage(Long afterId, int limit) {
+        int pageSize = KeysetCursor.clampLimit(limit);
+        List<UserDTO> rows = this.repository.findPageAfter(afterId, Limit.of(pageSize + 1));
+        return KeysetPage.of(rows, pageSize, UserDTO::getId);
+    }
+
+    // Recorre toda la tabla sin materializarla; debe llamarse dentro de una transacción de solo lectura.
+    // Son DTOs, no entidades: el contexto de persistencia no crece y la memoria se mantiene constante
+    public void exportAll(Consumer<UserDTO> consumer) {
+        try (Stream<UserDTO> users = this.repository.streamAllDTOs()) {
+            users.forEach(consumer);
+        }
+    }
+
     @Override
     public User findById(Long id) {
         return this.repository.findById(id)
@@ -40,51 +93,132 @@ public class UserServiceManager implements UserService {
 
     public User getCurrentUser() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String currentUserEmail = auth.getName();
+        if (auth.getPrincipal() instanceof AuthenticatedUser principal) {
+            // Búsqueda por clave primaria con el id resuelto en la autenticación
+            return repository.findById(principal.getId())
+                    .orElseThrow(() -> new EntityNotFoundException("Usuario actual no encontrado"));
+        }
 
-        return repository.findByEmail(currentUserEmail)
+        return repository.findByEmail(auth.getName())
                 .orElseThrow(() -> new EntityNotFoundException("Usuario actual no encontrado"));
     }
 
     @Override
     public User save(User user) {
         user.setPassword(passwordEncoder.encode(user.getPassword()));
-        return this.repository.save(user);
+        User saved = this.repository.save(user);
+        publish(UserChangedEvent.Type.CREATED, saved);
+        return saved;
     }
 
     @Override
     public User update(Long id, User user) {
+        return update(id, user, null);
+    }
+
+    // ifMatch: cabecera If-Match de la petición (null si no es condicional)
+    public User update(Long id, User user, String ifMatch) {
         User user1 = this.repository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Usuario con ID " + id + " no encontrado"));
 
         validateUserAccess(user1);
+        ETags.checkIfMatch(ifMatch, ETags.of(user1));
+
+        String previousEmail = user1.getEmail();
+        boolean credentialsChanged = !previousEmail.equalsIgnoreCase(user.getEmail());
 
         user1.setName(user.getName());
         user1.setEmail(user.getEmail());
         if (user.getPassword() != null && !user.getPassword().isEmpty()) {
             user1.setPassword(passwordEncoder.encode(user.getPassword()));
+            credentialsChanged = true;
         }
-        return this.repository.save(user1);
+
+        // Las credenciales antiguas no pueden seguir autenticando desde la caché
+        if (credentialsChanged) {
+            credentialCache.invalidate(previousEmail);
+        }
+        User updated = this.repository.saveAndFlush(user1);
+        publish(UserChangedEvent.Type.UPDATED, updated);
+        return updated;
     }
 
+    // Baja dentro de la transacción del llamante. Los productos se borran por bloques con DELETE ... WHERE id IN,
+    // sin cargar la colección user.products (ni una entidad por producto) en el contexto de persistencia.
+    // El @QueryBudget del endpoint cubre un bloque; cada bloque más suma su SELECT y su DELETE
     @Override
     public void deleteById(Long id) {
+        User user = findDeletable(id);
+        int deleted = deleteProductChunk(id);
+        while (deleted == deleteChunkSize) {
+            RequestSqlStats.extendBudget(2);
+            deleted = deleteProductChunk(id);
+        }
+        deleteUserRow(user);
+    }
+
+    // Comprueba que el usuario existe y que el actual puede borrarlo (404 / 403 antes de encolar la baja)
+    public User findDeletable(Long id) {
         User user = this.repository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Usuario con ID " + id + " no encontrado"));
-
         validateUserAccess(user);
+        return user;
+    }
 
-        this.repository.deleteById(id);
+    // Baja en segundo plano (ver JobService): cada bloque confirma en su propia transacción, así que no hay bloqueos
+    // largos ni un contexto de persistencia que crezca. Si falla a medias, el usuario sigue existiendo con menos
+    // productos y la baja se puede repetir. progress recibe cuántos productos se han borrado en cada bloque
+    public void deleteInChunks(Long id, LongConsumer progress) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int deleted;
+        do {
+            deleted = transaction.execute(status -> deleteProductChunk(id));
+            progress.accept(deleted);
+        } while (deleted == deleteChunkSize);
+
+        // Los productos creados tras el último bloque se borran en la misma transacción que el usuario: si no,
+        // su DELETE fallaría por la clave ajena después de haber borrado todo lo demás
+        int remaining = transaction.execute(status -> {
+            User user = findDeletable(id);
+            int total = 0;
+            int chunk;
+            while ((chunk = deleteProductChunk(id)) > 0) {
+                total += chunk;
+            }
+            deleteUserRow(user);
+            return total;
+        });
+        if (remaining > 0) {
+            progress.accept(remaining);
+        }
     }
 
-    private void validateUserAccess(User targetUser) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String currentUserEmail = auth.getName();
+    private int deleteProductChunk(Long userId) {
+        List<ProductDTO> chunk = productRepository.findDTOsByUserId(userId, PageRequest.of(0, deleteChunkSize));
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        productRepository.deleteAllByIdIn(chunk.stream().map(ProductDTO::getId).toList());
+        // El índice de texto y los suscriptores de eventos también deben enterarse de estas bajas
+        chunk.forEach(product -> eventPublisher.publishEvent(new ProductChangedEvent(ProductChangedEvent.Type.DELETED,
+                product.getId(), product.getName(), product.getPrice(), userId)));
+        return chunk.size();
+    }
 
-        User currentUser = repository.findByEmail(currentUserEmail)
-                .orElseThrow(() -> new EntityNotFoundException("Usuario actual no encontrado"));
+    private void deleteUserRow(User user) {
+        credentialCache.invalidate(user.getEmail());
+        this.repository.deleteByIdDirectly(user.getId());
+        publish(UserChangedEvent.Type.DELETED, user);
+    }
+
+    private void publish(UserChangedEvent.Type type, User user) {
+        eventPublisher.publishEvent(UserChangedEvent.of(type, user));
+    }
+
+    private void validateUserAccess(User targetUser) {
+        AuthenticatedUser currentUser = CurrentUser.get(repository);
 
-        if (currentUser.getRole().equals("ADMIN")) {
+        if (currentUser.isAdmin()) {
             return;
         }
 
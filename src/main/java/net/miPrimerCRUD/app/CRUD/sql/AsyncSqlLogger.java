@@ -0,0 +1,58 @@
+package net.miPrimerCRUD.app.CRUD.sql;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Escribe los eventos SQL (consultas lentas, N+1, presupuestos superados y resúmenes muestreados) desde un
+ * único hilo en segundo plano, en formato clave=valor. Las peticiones solo encolan: si la cola está llena
+ * el evento se descarta y se cuenta en app.sql.log.dropped, nunca se bloquea a quien atiende la petición.
+ */
+public class AsyncSqlLogger implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger("app.sql");
+
+    private final ThreadPoolExecutor executor;
+
+    public AsyncSqlLogger(int queueCapacity, MeterRegistry meterRegistry) {
+        Counter dropped = Counter.builder("app.sql.log.dropped")
+                .description("Eventos SQL descartados con la cola de log llena")
+                .register(meterRegistry);
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "sql-statistics-log");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (task, pool) -> dropped.increment());
+    }
+
+    public void slowQuery(String endpoint, long elapsedMillis, String sql) {
+        executor.execute(() -> log.warn("event=slow_query endpoint=\"{}\" elapsed_ms={} sql=\"{}\"", endpoint, elapsedMillis, sql));
+    }
+
+    public void nPlusOne(String endpoint, int executions, String sql) {
+        executor.execute(() -> log.warn("event=n_plus_one endpoint=\"{}\" executions={} sql=\"{}\"", endpoint, executions, sql));
+    }
+
+    public void budgetExceeded(String endpoint, int statements, int budget) {
+        executor.execute(() -> log.warn("event=query_budget_exceeded endpoint=\"{}\" statements={} budget={}", endpoint, statements, budget));
+    }
+
+    public void requestSummary(String endpoint, int statements, long sqlMillis, long requestMillis) {
+        executor.execute(() -> log.info("event=request_sql endpoint=\"{}\" statements={} sql_ms={} request_ms={}",
+                endpoint, statements, sqlMillis, requestMillis));
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
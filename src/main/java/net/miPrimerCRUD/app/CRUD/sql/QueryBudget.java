@@ -0,0 +1,19 @@
+package net.miPrimerCRUD.app.CRUD.sql;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Máximo de sentencias SQL que puede ejecutar una petición a este endpoint, autenticación incluida.
+ * Superarlo se registra como aviso; con app.sql.fail-on-budget-exceeded=true (tests) la petición falla.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    int value();
+}
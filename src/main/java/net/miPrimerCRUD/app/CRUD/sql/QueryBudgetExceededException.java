@@ -0,0 +1,9 @@
+package net.miPrimerCRUD.app.CRUD.sql;
+
+// Solo se lanza en modo test (app.sql.fail-on-budget-exceeded=true)
+public class QueryBudgetExceededException extends IllegalStateException {
+
+    public QueryBudgetExceededException(String endpoint, int statements, int budget) {
+        super(endpoint + " ejecutó " + statements + " sentencias SQL (presupuesto: " + budget + ")");
+    }
+}
@@ -0,0 +1,102 @@
+package net.miPrimerCRUD.app.CRUD.sql;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sentencias SQL ejecutadas por la petición en curso. SqlStatisticsFilter la asocia al hilo que atiende
+ * la petición y SqlStatisticsListener la alimenta desde el DataSource.
+ */
+public final class RequestSqlStats {
+
+    public static final int NO_BUDGET = -1;
+
+    private static final ThreadLocal<RequestSqlStats> CURRENT = new ThreadLocal<>();
+
+    // Método y URI de la petición; endpoint es el patrón de la ruta ("GET /api/products/{id}") si hay handler
+    private String request;
+    private String endpoint;
+    private int statements;
+    private long elapsedMillis;
+    private int budget = NO_BUDGET;
+    // Veces que se repite cada SELECT: la misma consulta muchas veces en una petición es un N+1
+    private final Map<String, Integer> selects = new HashMap<>();
+
+    static RequestSqlStats bind(String request) {
+        RequestSqlStats stats = new RequestSqlStats();
+        stats.request = request;
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    // null fuera de una petición HTTP (tareas en segundo plano, arranque)
+    public static RequestSqlStats current() {
+        return CURRENT.get();
+    }
+
+    void record(String sql, long elapsedMillis) {
+        this.statements++;
+        this.elapsedMillis += elapsedMillis;
+        if (isSelect(sql)) {
+            selects.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    // null si la petición no llegó a un controlador (por ejemplo, 401 en el filtro de seguridad)
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    // Para los logs: el patrón del endpoint o, si no hay, la URI
+    public String describe() {
+        return endpoint != null ? endpoint : request;
+    }
+
+    void setEndpoint(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public int getBudget() {
+        return budget;
+    }
+
+    void setBudget(int budget) {
+        this.budget = budget;
+    }
+
+    // Sentencias que dependen de los datos (otro bloque en una baja por bloques): amplían el @QueryBudget de la
+    // petición en curso en vez de fijarlo para el peor caso. Fuera de una petición o sin presupuesto no hace nada
+    public static void extendBudget(int statements) {
+        RequestSqlStats stats = CURRENT.get();
+        if (stats != null && stats.budget != NO_BUDGET) {
+            stats.budget += statements;
+        }
+    }
+
+    // SELECT más repetido de la petición, o null si no hubo ninguno
+    Map.Entry<String, Integer> mostRepeatedSelect() {
+        Map.Entry<String, Integer> top = null;
+        for (Map.Entry<String, Integer> entry : selects.entrySet()) {
+            if (top == null || entry.getValue() > top.getValue()) {
+                top = entry;
+            }
+        }
+        return top;
+    }
+
+    private static boolean isSelect(String sql) {
+        return sql.regionMatches(true, 0, "select", 0, 6);
+    }
+}
@@ -0,0 +1,91 @@
+package net.miPrimerCRUD.app.CRUD.sql;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Cuenta las sentencias SQL de cada petición (autenticación incluida) y al terminar:
+ * - registra el total en app.sql.statements por endpoint,
+ * - avisa de un posible N+1 si un mismo SELECT se repite nPlusOneThreshold veces o más,
+ * - comprueba el @QueryBudget del endpoint (en modo test, superarlo hace fallar la petición),
+ * - escribe un resumen de una fracción sampleRate de las peticiones.
+ * Los avisos se escriben en segundo plano (AsyncSqlLogger), sin retrasar la respuesta.
+ */
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+
+    private final AsyncSqlLogger sqlLogger;
+    private final MeterRegistry meterRegistry;
+    private final int nPlusOneThreshold;
+    private final double sampleRate;
+    private final boolean failOnBudgetExceeded;
+    private final Counter nPlusOne;
+    private final Counter budgetExceeded;
+
+    public SqlStatisticsFilter(AsyncSqlLogger sqlLogger, MeterRegistry meterRegistry,
+                               int nPlusOneThreshold, double sampleRate, boolean failOnBudgetExceeded) {
+        this.sqlLogger = sqlLogger;
+        this.meterRegistry = meterRegistry;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        this.sampleRate = sampleRate;
+        this.failOnBudgetExceeded = failOnBudgetExceeded;
+        this.nPlusOne = Counter.builder("app.sql.n_plus_one")
+                .description("Peticiones que repiten un mismo SELECT (posible N+1)")
+                .register(meterRegistry);
+        this.budgetExceeded = Counter.builder("app.sql.budget_exceeded")
+                .description("Peticiones que superan el @QueryBudget de su endpoint")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        RequestSqlStats stats = RequestSqlStats.bind(request.getMethod() + " " + request.getRequestURI());
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestSqlStats.unbind();
+        }
+        report(stats, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void report(RequestSqlStats stats, long requestMillis) {
+        String endpoint = stats.describe();
+
+        // Etiqueta acotada: patrón de la ruta, nunca la URI con ids
+        DistributionSummary.builder("app.sql.statements")
+                .description("Sentencias SQL por petición")
+                .tag("endpoint", stats.getEndpoint() != null ? stats.getEndpoint() : "UNKNOWN")
+                .register(meterRegistry)
+                .record(stats.getStatements());
+
+        Map.Entry<String, Integer> repeated = stats.mostRepeatedSelect();
+        if (repeated != null && repeated.getValue() >= nPlusOneThreshold) {
+            nPlusOne.increment();
+            sqlLogger.nPlusOne(endpoint, repeated.getValue(), repeated.getKey());
+        }
+
+        if (ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            sqlLogger.requestSummary(endpoint, stats.getStatements(), stats.getElapsedMillis(), requestMillis);
+        }
+
+        int budget = stats.getBudget();
+        if (budget != RequestSqlStats.NO_BUDGET && stats.getStatements() > budget) {
+            budgetExceeded.increment();
+            if (failOnBudgetExceeded) {
+                throw new QueryBudgetExceededException(endpoint, stats.getStatements(), budget);
+            }
+            sqlLogger.budgetExceeded(endpoint, stats.getStatements(), budget);
+        }
+    }
+}
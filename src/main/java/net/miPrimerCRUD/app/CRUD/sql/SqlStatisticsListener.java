@@ -0,0 +1,48 @@
+package net.miPrimerCRUD.app.CRUD.sql;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Recibe cada sentencia que pasa por el DataSource (JPA, JdbcTemplate...). Un lote JDBC cuenta como una
+ * sentencia, igual que en las estadísticas de Hibernate. Sin petición HTTP en curso solo se vigilan las lentas.
+ */
+public class SqlStatisticsListener implements QueryExecutionListener {
+
+    private final long slowQueryMillis;
+    private final AsyncSqlLogger sqlLogger;
+    private final Counter slowQueries;
+
+    public SqlStatisticsListener(Duration slowQueryThreshold, AsyncSqlLogger sqlLogger, MeterRegistry meterRegistry) {
+        this.slowQueryMillis = slowQueryThreshold.toMillis();
+        this.sqlLogger = sqlLogger;
+        this.slowQueries = Counter.builder("app.sql.slow")
+                .description("Sentencias SQL por encima de app.sql.slow-query-threshold")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+        long elapsed = execInfo.getElapsedTime();
+
+        RequestSqlStats stats = RequestSqlStats.current();
+        if (stats != null) {
+            stats.record(sql, elapsed);
+        }
+        if (elapsed >= slowQueryMillis) {
+            slowQueries.increment();
+            sqlLogger.slowQuery(stats != null ? stats.describe() : "-", elapsed, sql);
+        }
+    }
+}
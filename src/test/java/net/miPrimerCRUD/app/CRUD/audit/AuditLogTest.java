@@ -0,0 +1,212 @@
+package net.miPrimerCRUD.app.CRUD.audit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditLogTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private static AuditEntry entry(long id) {
+        return new AuditEntry(Instant.now(), "test@email.com", "product", id, "CREATED", "");
+    }
+
+    private AuditLog auditLog(AuditSink sink, int capacity, AuditOverflowPolicy policy, Duration blockTimeout) {
+        return new AuditLog(sink, capacity, policy, blockTimeout, 100, Duration.ofMillis(10), Duration.ofMillis(10),
+                2, Duration.ofSeconds(5), meterRegistry);
+    }
+
+    @Test
+    void testRecord_WrittenInBatchesOffTheCallerThread() throws Exception {
+        // Arrange
+        List<String> writerThreads = new CopyOnWriteArrayList<>();
+        List<AuditEntry> written = new CopyOnWriteArrayList<>();
+        AuditSink sink = entries -> {
+            writerThreads.add(Thread.currentThread().getName());
+            written.addAll(entries);
+        };
+
+        // Act
+        try (AuditLog auditLog = auditLog(sink, 1024, AuditOverflowPolicy.DROP, Duration.ZERO)) {
+            for (long id = 1; id <= 250; id++) {
+                assertTrue(auditLog.record(entry(id)));
+            }
+        }
+
+        // Assert: close() escribe lo pendiente
+        assertEquals(250, written.size());
+        assertEquals(1L, written.get(0).entityId());
+        assertTrue(writerThreads.stream().allMatch("audit-writer"::equals));
+        assertTrue(writerThreads.size() >= 3, "Lotes de 100 como máximo");
+        assertEquals(250, meterRegistry.get("app.audit.written").counter().count());
+    }
+
+    @Test
+    void testDropPolicy_FullBufferDropsWithoutWaiting() throws Exception {
+        // Arrange: el destino se queda bloqueado con el primer lote
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch firstBatch = new CountDownLatch(1);
+        AuditSink sink = entries -> {
+            firstBatch.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        try (AuditLog auditLog = auditLog(sink, 4, AuditOverflowPolicy.DROP, Duration.ZERO)) {
+            auditLog.record(entry(0));
+            assertTrue(firstBatch.await(5, TimeUnit.SECONDS));
+
+            // Act
+            int accepted = 0;
+            long start = System.nanoTime();
+            for (long id = 1; id <= 10; id++) {
+                if (auditLog.record(entry(id))) accepted++;
+            }
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            // Assert
+            assertEquals(4, accepted);
+            assertEquals(6, meterRegistry.get("app.audit.dropped").counter().count());
+            assertEquals(4, meterRegistry.get("app.audit.buffer.size").gauge().value());
+            assertTrue(elapsedMillis < 1000, "DROP no debe esperar: " + elapsedMillis + " ms");
+            release.countDown();
+        }
+    }
+
+    @Test
+    void testBlockPolicy_WaitsForSpaceInsteadOfDropping() throws Exception {
+        // Arrange: un destino lento que deja sitio poco a poco
+        AtomicInteger written = new AtomicInteger();
+        AuditSink sink = entries -> {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            written.addAndGet(entries.size());
+        };
+
+        // Act
+        try (AuditLog auditLog = auditLog(sink, 4, AuditOverflowPolicy.BLOCK, Duration.ofSeconds(5))) {
+            for (long id = 1; id <= 100; id++) {
+                assertTrue(auditLog.record(entry(id)));
+            }
+        }
+
+        // Assert
+        assertEquals(100, written.get());
+        assertEquals(0, meterRegistry.get("app.audit.dropped").counter().count());
+        assertTrue(meterRegistry.get("app.audit.blocked").timer().count() > 0);
+    }
+
+    @Test
+    void testFailingSink_BatchRetriedUntilItSucceeds() throws Exception {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+        List<AuditEntry> written = new CopyOnWriteArrayList<>();
+        AuditSink sink = entries -> {
+            if (attempts.incrementAndGet() <= 2) {
+                throw new IOException("disco lleno");
+            }
+            written.addAll(entries);
+        };
+
+        // Act
+        try (AuditLog auditLog = auditLog(sink, 16, AuditOverflowPolicy.DROP, Duration.ZERO)) {
+            auditLog.record(entry(1));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (written.isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+        }
+
+        // Assert
+        assertEquals(1, written.size());
+        assertEquals(2, meterRegistry.get("app.audit.write.failures").counter().count());
+        assertEquals(0, meterRegistry.get("app.audit.dropped").counter().count());
+    }
+
+    @Test
+    void testAlwaysFailingSink_EntriesRejectedAfterRetriesAndWriterKeepsGoing() throws Exception {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+        AuditSink sink = entries -> {
+            attempts.incrementAndGet();
+            throw new IOException("tabla audit_log inexistente");
+        };
+
+        // Act
+        try (AuditLog auditLog = auditLog(sink, 16, AuditOverflowPolicy.DROP, Duration.ZERO)) {
+            auditLog.record(entry(1));
+            auditLog.record(entry(2));
+            waitUntil(() -> meterRegistry.get("app.audit.rejected").counter().count() == 2);
+
+            // Un lote posterior también se procesa: el escritor no se queda atascado en el primero
+            auditLog.record(entry(3));
+            waitUntil(() -> meterRegistry.get("app.audit.rejected").counter().count() == 3);
+        }
+
+        // Assert: lote de 2 -> 1 intento + 2 reintentos + una escritura por mitad; lote de 1 -> 3 intentos
+        assertEquals(3, meterRegistry.get("app.audit.rejected").counter().count());
+        assertEquals(8, attempts.get());
+        assertEquals(0, meterRegistry.get("app.audit.written").counter().count());
+    }
+
+    @Test
+    void testPoisonedEntry_IsolatedBySplittingAndTheRestWritten() throws Exception {
+        // Arrange: el destino rechaza cualquier lote que contenga la entrada 13
+        List<AuditEntry> written = new CopyOnWriteArrayList<>();
+        AuditSink sink = entries -> {
+            if (entries.stream().anyMatch(e -> e.entityId() == 13L)) {
+                throw new IOException("valor demasiado largo para la columna");
+            }
+            written.addAll(entries);
+        };
+        CountDownLatch recorded = new CountDownLatch(1);
+        AuditSink gated = entries -> {
+            try {
+                recorded.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            sink.write(entries);
+        };
+
+        // Act: el destino espera a que estén registradas las 20, así la 13 viaja en un lote con otras
+        try (AuditLog auditLog = auditLog(gated, 64, AuditOverflowPolicy.DROP, Duration.ZERO)) {
+            for (long id = 1; id <= 20; id++) {
+                auditLog.record(entry(id));
+            }
+            recorded.countDown();
+            waitUntil(() -> written.size() + meterRegistry.get("app.audit.rejected").counter().count() >= 20);
+        }
+
+        // Assert
+        assertEquals(19, written.size());
+        assertTrue(written.stream().noneMatch(e -> e.entityId() == 13L));
+        assertEquals(1, meterRegistry.get("app.audit.rejected").counter().count());
+        assertEquals(0, meterRegistry.get("app.audit.dropped").counter().count());
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package net.miPrimerCRUD.app.CRUD.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditRingBufferTest {
+
+    @Test
+    void testOfferAndPoll_FifoAcrossWrapAround() {
+        // Arrange
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(4);
+        List<Integer> received = new ArrayList<>();
+
+        // Act: tres vueltas completas al array
+        for (int i = 0; i < 12; i++) {
+            assertTrue(buffer.offer(i));
+            received.add(buffer.poll());
+        }
+
+        // Assert
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11), received);
+        assertNull(buffer.poll());
+    }
+
+    @Test
+    void testOffer_FullBufferRejectsUntilDrained() {
+        // Arrange
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(5);
+        for (int i = 0; i < buffer.capacity(); i++) {
+            assertTrue(buffer.offer(i));
+        }
+
+        // Act
+        boolean accepted = buffer.offer(99);
+        List<Integer> drained = new ArrayList<>();
+        int count = buffer.drainTo(drained, 3);
+
+        // Assert
+        assertEquals(8, buffer.capacity());
+        assertFalse(accepted);
+        assertEquals(3, count);
+        assertEquals(List.of(0, 1, 2), drained);
+        assertEquals(5, buffer.size());
+        assertTrue(buffer.offer(99));
+    }
+
+    @Test
+    void testConcurrentProducers_EveryElementDeliveredOnce() throws Exception {
+        // Arrange
+        int producers = 4;
+        int perProducer = 5_000;
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(64);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // Act
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(base + i)) {
+                        Thread.yield();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        Set<Integer> received = new HashSet<>();
+        List<Integer> batch = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (received.size() < producers * perProducer && System.nanoTime() < deadline) {
+            batch.clear();
+            buffer.drainTo(batch, 32);
+            for (Integer element : batch) {
+                assertTrue(received.add(element), "Elemento repetido: " + element);
+            }
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(producers * perProducer, received.size());
+        assertTrue(buffer.isEmpty());
+    }
+}
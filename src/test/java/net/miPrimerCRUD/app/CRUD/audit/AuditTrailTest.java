@@ -0,0 +1,153 @@
+package net.miPrimerCRUD.app.CRUD.audit;
+
+import net.miPrimerCRUD.app.CRUD.entities.User;
+import net.miPrimerCRUD.app.CRUD.events.ProductChangedEvent;
+import net.miPrimerCRUD.app.CRUD.repositories.ProductRepository;
+import net.miPrimerCRUD.app.CRUD.repositories.UserRepository;
+import net.miPrimerCRUD.app.CRUD.security.CredentialCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Auditoría con la aplicación completa y el destino jdbc: las filas de audit_log llegan desde el hilo escritor
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuditTrailTest {
+
+    private static final String PASSWORD = "password123";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private CredentialCache credentialCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private AuditLog auditLog;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User();
+        owner.setName("Owner");
+        owner.setEmail("owner@email.com");
+        owner.setPassword(passwordEncoder.encode(PASSWORD));
+        owner.setRole("USER");
+        owner = userRepository.save(owner);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        awaitWritten();
+        credentialCache.invalidateAll();
+        productRepository.deleteAll();
+        userRepository.deleteAll();
+        jdbcTemplate.update("delete from audit_log");
+    }
+
+    private void awaitWritten() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (auditLog.pending() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private List<Map<String, Object>> auditRows(String entity, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        List<Map<String, Object>> rows;
+        do {
+            rows = jdbcTemplate.queryForList("select * from audit_log where entity = ? order by id", entity);
+            if (rows.size() >= expected) break;
+            Thread.sleep(10);
+        } while (System.nanoTime() < deadline);
+        return rows;
+    }
+
+    @Test
+    void testProductLifecycle_AuditedWithActor() throws Exception {
+        // Act
+        mockMvc.perform(post("/api/products").with(httpBasic("owner@email.com", PASSWORD))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Teclado\",\"price\":50.0,\"user\":{\"id\":" + owner.getId() + "}}"))
+                .andExpect(status().isOk());
+        Long id = productRepository.findAll().iterator().next().getId();
+        mockMvc.perform(delete("/api/products/" + id).with(httpBasic("owner@email.com", PASSWORD)))
+                .andExpect(status().isNoContent());
+
+        // Assert
+        List<Map<String, Object>> rows = auditRows("product", 2);
+        assertEquals(2, rows.size());
+        assertEquals("CREATED", rows.get(0).get("action"));
+        assertEquals("DELETED", rows.get(1).get("action"));
+        assertEquals(id, ((Number) rows.get(1).get("entity_id")).longValue());
+        assertEquals("owner@email.com", rows.get(0).get("actor"));
+        assertTrue(((String) rows.get(0).get("details")).contains("name=\"Teclado\""));
+    }
+
+    @Test
+    void testPublicRegistration_AuditedAsAnonymousWithoutPassword() throws Exception {
+        // Act
+        mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Nuevo\",\"email\":\"nuevo@email.com\",\"password\":\"secreto123\"}"))
+                .andExpect(status().is2xxSuccessful());
+
+        // Assert
+        List<Map<String, Object>> rows = auditRows("user", 1);
+        assertEquals(1, rows.size());
+        assertEquals(AuditEventListener.ANONYMOUS, rows.get(0).get("actor"));
+        assertFalse(((String) rows.get(0).get("details")).contains("secreto123"));
+    }
+
+    @Test
+    void testRolledBackChange_NotAudited() throws Exception {
+        // Act
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            eventPublisher.publishEvent(new ProductChangedEvent(ProductChangedEvent.Type.CREATED, 999L, "Fantasma", 1.0, owner.getId()));
+            status.setRollbackOnly();
+        });
+        awaitWritten();
+        Thread.sleep(100);
+
+        // Assert
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from audit_log", Integer.class));
+    }
+}
@@ -0,0 +1,64 @@
+package net.miPrimerCRUD.app.CRUD.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RotatingFileAuditSinkTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @TempDir
+    private Path dir;
+
+    private static List<AuditEntry> batch(long firstId) {
+        return List.of(
+                new AuditEntry(Instant.parse("2026-01-01T10:00:00Z"), "test@email.com", "product", firstId, "CREATED", "price=1.0"),
+                new AuditEntry(Instant.parse("2026-01-01T10:00:01Z"), "test@email.com", "product", firstId + 1, "DELETED", "price=2.0"));
+    }
+
+    @Test
+    void testWrite_AppendsOneJsonLinePerEntry() throws Exception {
+        // Arrange
+        Path file = dir.resolve("logs/audit.log");
+        RotatingFileAuditSink sink = new RotatingFileAuditSink(objectMapper, file, 1_000_000, 3);
+
+        // Act
+        sink.write(batch(1));
+        sink.write(batch(3));
+
+        // Assert
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(4, lines.size());
+        AuditEntry first = objectMapper.readValue(lines.get(0), AuditEntry.class);
+        assertEquals(1L, first.entityId());
+        assertEquals("CREATED", first.action());
+        assertTrue(lines.get(0).contains("\"timestamp\":\"2026-01-01T10:00:00Z\""), lines.get(0));
+    }
+
+    @Test
+    void testWrite_RotatesBySizeAndKeepsMaxFiles() throws Exception {
+        // Arrange: cada lote supera el tamaño máximo, así que cada escritura rota
+        Path file = dir.resolve("audit.log");
+        RotatingFileAuditSink sink = new RotatingFileAuditSink(objectMapper, file, 100, 2);
+
+        // Act
+        for (long id = 1; id <= 7; id += 2) {
+            sink.write(batch(id));
+        }
+
+        // Assert
+        assertTrue(Files.readString(file).contains("\"entityId\":7"));
+        assertTrue(Files.readString(dir.resolve("audit.log.1")).contains("\"entityId\":5"));
+        assertTrue(Files.readString(dir.resolve("audit.log.2")).contains("\"entityId\":3"));
+        assertFalse(Files.exists(dir.resolve("audit.log.3")));
+    }
+}
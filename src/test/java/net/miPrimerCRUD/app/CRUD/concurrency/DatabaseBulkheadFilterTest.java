@@ -0,0 +1,56 @@
+package net.miPrimerCRUD.app.CRUD.concurrency;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatabaseBulkheadFilterTest {
+
+    @Test
+    void testDoFilter_PermitAvailable_RunsChainAndReleasesPermit() throws Exception {
+        // Arrange
+        DatabaseBulkheadFilter filter = new DatabaseBulkheadFilter(2, Duration.ofMillis(10));
+        AtomicInteger availableInsideChain = new AtomicInteger(-1);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/products"), response,
+                (req, res) -> availableInsideChain.set(filter.getAvailablePermits()));
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertEquals(1, availableInsideChain.get());
+        assertEquals(2, filter.getAvailablePermits());
+    }
+
+    @Test
+    void testDoFilter_NoPermitWithinTimeout_Returns503WithRetryAfter() throws Exception {
+        // Arrange: la petición externa ocupa el único permiso mientras llega la interna
+        DatabaseBulkheadFilter filter = new DatabaseBulkheadFilter(1, Duration.ofMillis(10));
+        MockHttpServletResponse inner = new MockHttpServletResponse();
+        AtomicInteger innerChainCalls = new AtomicInteger();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/products"), new MockHttpServletResponse(),
+                (req, res) -> filter.doFilter(new MockHttpServletRequest("GET", "/api/products/1"), inner,
+                        (innerReq, innerRes) -> innerChainCalls.incrementAndGet()));
+
+        // Assert
+        assertEquals(503, inner.getStatus());
+        assertEquals("1", inner.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(0, innerChainCalls.get());
+        assertEquals(1, filter.getAvailablePermits());
+    }
+
+    @Test
+    void testConstructor_NoPermits_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new DatabaseBulkheadFilter(0, Duration.ofSeconds(1)));
+    }
+}
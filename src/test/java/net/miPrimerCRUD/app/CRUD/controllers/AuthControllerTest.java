@@ -0,0 +1,128 @@
+package net.miPrimerCRUD.app.CRUD.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.miPrimerCRUD.app.CRUD.entities.User;
+import net.miPrimerCRUD.app.CRUD.repositories.UserRepository;
+import net.miPrimerCRUD.app.CRUD.security.CredentialCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuthControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private CredentialCache credentialCache;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setName("Token User");
+        user.setEmail("token@email.com");
+        user.setPassword(passwordEncoder.encode("password123"));
+        user.setRole("USER");
+        userRepository.save(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        credentialCache.invalidateAll();
+        userRepository.deleteAll();
+    }
+
+    private String login() throws Exception {
+        String response = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"token@email.com\",\"password\":\"password123\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tokenType").value("Bearer"))
+                .andReturn().getResponse().getContentAsString();
+        JsonNode json = objectMapper.readTree(response);
+        return json.get("token").asText();
+    }
+
+    @Test
+    void testLogin_ThenBearerToken_Success() throws Exception {
+        // Arrange
+        String token = login();
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users/me").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("token@email.com"));
+    }
+
+    @Test
+    void testLogin_LegacyHash_RehashedWithCurrentAlgorithmAndCost() throws Exception {
+        // Arrange: hash antiguo, sin prefijo y con menos coste que el configurado
+        User user = userRepository.findByEmail("token@email.com").orElseThrow();
+        user.setPassword(new BCryptPasswordEncoder(4).encode("password123"));
+        userRepository.save(user);
+
+        // Act
+        login();
+
+        // Assert
+        String rehashed = userRepository.findById(user.getId()).orElseThrow().getPassword();
+        assertTrue(rehashed.startsWith("{bcrypt}$2a$10$"));
+        assertFalse(passwordEncoder.upgradeEncoding(rehashed));
+        credentialCache.invalidateAll();
+        login();
+    }
+
+    @Test
+    void testLogin_WrongPassword_Unauthorized() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"token@email.com\",\"password\":\"incorrecta\"}"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testBearerToken_Tampered_Unauthorized() throws Exception {
+        // Arrange
+        String token = login();
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users/me").header("Authorization", "Bearer " + token + "x"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().string("WWW-Authenticate", "Bearer error=\"invalid_token\""));
+    }
+
+    @Test
+    void testBearerToken_UserRole_CannotListUsers() throws Exception {
+        // Arrange
+        String token = login();
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,137 @@
+package net.miPrimerCRUD.app.CRUD.controllers;
+
+import net.miPrimerCRUD.app.CRUD.pagination.KeysetCursor;
+import net.miPrimerCRUD.app.CRUD.security.AuthenticatedUser;
+import net.miPrimerCRUD.app.CRUD.security.TokenService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Comparativa de modos de ejecución: el mismo tráfico (lecturas con consulta a la base de datos y altas con BCrypt)
+ * con muchos más clientes concurrentes que conexiones en el pool. PlatformThreadsLoadTest lo lanza con el pool
+ * de hilos de Tomcat y VirtualThreadsLoadTest con hilos virtuales y el bulkhead; los resultados de ambos
+ * (req/s y p50/p99/p999) quedan en resultsDir con el prefijo del modo.
+ *
+ * Se ejecuta con: mvn test -Pload-tests -Dtest='*ThreadsLoadTest'
+ * Volúmenes configurables: -Dload.clients=400 -Dload.requests=5000 -Dload.heavyRequests=200
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+abstract class ExecutionModeLoadTest {
+
+    private static final String PASSWORD = "password123";
+    private static final int USERS = 200;
+    private static final int PRODUCTS_PER_USER = 50;
+    private static final int CLIENTS = Integer.getInteger("load.clients", 400);
+    private static final int REQUESTS = Integer.getInteger("load.requests", 5_000);
+    private static final int HEAVY_REQUESTS = Integer.getInteger("load.heavyRequests", 200);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TokenService tokenService;
+
+    private LoadDriver driver;
+    private List<String> userTokens;
+    private String adminToken;
+    private final List<LoadDriver.Result> results = new ArrayList<>();
+
+    // Prefijo de los escenarios y de los ficheros .hgrm
+    abstract String mode();
+
+    @BeforeAll
+    void seed() {
+        String hash = passwordEncoder.encode(PASSWORD);
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(new Object[]{"User " + i, mode() + i + "@email.com", hash, "USER"});
+        }
+        users.add(new Object[]{"Admin", mode() + "-admin@email.com", hash, "ADMIN"});
+        jdbcTemplate.batchUpdate("INSERT INTO users (name, email, password, role) VALUES (?, ?, ?, ?)", users);
+
+        List<Long> userIds = jdbcTemplate.queryForList("SELECT id FROM users WHERE role = 'USER' ORDER BY id", Long.class);
+        Long adminId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE role = 'ADMIN'", Long.class);
+
+        List<Object[]> products = new ArrayList<>();
+        for (int i = 0; i < USERS * PRODUCTS_PER_USER; i++) {
+            products.add(new Object[]{i + 1L, "Product " + i, (double) (i % 1000), userIds.get(i % USERS)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO products (id, name, price, user_id) VALUES (?, ?, ?, ?)", products);
+        jdbcTemplate.execute("ALTER SEQUENCE products_seq RESTART WITH " + (USERS * PRODUCTS_PER_USER + 1_000));
+
+        userTokens = new ArrayList<>();
+        for (int k = 0; k < USERS; k++) {
+            userTokens.add(tokenService.issue(new AuthenticatedUser(userIds.get(k), mode() + k + "@email.com", null, "USER")));
+        }
+        adminToken = tokenService.issue(new AuthenticatedUser(adminId, mode() + "-admin@email.com", null, "ADMIN"));
+
+        driver = new LoadDriver(CLIENTS, Path.of(System.getProperty("load.resultsDir", "target/load-results")));
+        System.out.printf("[%s] Sembrados %d usuarios y %d productos; %d clientes concurrentes%n",
+                mode(), USERS, USERS * PRODUCTS_PER_USER, CLIENTS);
+    }
+
+    @AfterAll
+    void report() {
+        System.out.println("==================== Resumen (" + mode() + ") ====================");
+        results.forEach(LoadDriver.Result::print);
+    }
+
+    @Test
+    void testMixedTraffic_ManyMoreClientsThanConnections() throws Exception {
+        // Calentamiento (JIT, pool de conexiones, cachés)
+        driver.run(mode() + " calentamiento", REQUESTS, 200, i -> get("/api/products/my-products?size=20", userTokens.get(i % USERS)));
+
+        run("GET /api/products/my-products", REQUESTS, 200,
+                i -> get("/api/products/my-products?size=20", userTokens.get(i % USERS)));
+        run("GET /api/products", REQUESTS, 200,
+                i -> get("/api/products?limit=50&after=" + KeysetCursor.encode(ThreadLocalRandom.current().nextLong(USERS * PRODUCTS_PER_USER)), adminToken));
+        run("GET /api/users/me", REQUESTS, 200, i -> get("/api/users/me", userTokens.get(i % USERS)));
+        // BCrypt en cada alta: en modo virtual se calcula fuera de los hilos portadores
+        run("POST /api/users", HEAVY_REQUESTS, 200, i -> send("POST", "/api/users", null,
+                "{\"name\":\"Nuevo " + i + "\",\"email\":\"" + mode() + "-nuevo" + i + "@email.com\",\"password\":\"" + PASSWORD + "\"}"));
+    }
+
+    private void run(String scenario, int requests, int expectedStatus, IntFunction<HttpRequest> requestFactory) throws Exception {
+        LoadDriver.Result result = driver.run(mode() + " " + scenario, requests, expectedStatus, requestFactory);
+        results.add(result);
+        assertTrue(result.errors() == 0, scenario + ": " + result.errors() + " errores, el primero: " + result.firstError());
+    }
+
+    private HttpRequest get(String path, String token) {
+        return send("GET", path, token, null);
+    }
+
+    private HttpRequest send(String method, String path, String token, String json) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .method(method, json == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(json));
+        if (json != null) {
+            request.header("Content-Type", "application/json");
+        }
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return request.build();
+    }
+}
@@ -0,0 +1,234 @@
+package net.miPrimerCRUD.app.CRUD.controllers;
+
+import net.miPrimerCRUD.app.CRUD.pagination.KeysetCursor;
+import net.miPrimerCRUD.app.CRUD.security.AuthenticatedUser;
+import net.miPrimerCRUD.app.CRUD.security.TokenService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test de carga de extremo a extremo: arranca la aplicación en un puerto real contra H2 (modo MySQL),
+ * siembra usuarios y productos y lanza tráfico concurrente autenticado contra cada endpoint de
+ * ProductController y UserController. Informa req/s y latencias p50/p99/p999 (HdrHistogram).
+ *
+ * Se ejecuta con: mvn test -Pload-tests -Dtest=HttpEndpointsLoadTest
+ * Volúmenes configurables: -Dload.users=1000 -Dload.products=50000 -Dload.threads=16
+ * -Dload.requests=2000 -Dload.heavyRequests=100. Con -Dload.maxP99Millis=N falla si algún escenario lo supera.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class HttpEndpointsLoadTest {
+
+    private static final String PASSWORD = "password123";
+    private static final int USERS = Integer.getInteger("load.users", 1_000);
+    private static final int PRODUCTS = Integer.getInteger("load.products", 50_000);
+    private static final int THREADS = Integer.getInteger("load.threads", 16);
+    private static final int REQUESTS = Integer.getInteger("load.requests", 2_000);
+    // Endpoints que pasan por BCrypt o recorren tablas completas
+    private static final int HEAVY_REQUESTS = Integer.getInteger("load.heavyRequests", 100);
+    private static final long MAX_P99_MILLIS = Long.getLong("load.maxP99Millis", 0);
+    // Usuarios con token propio que generan el tráfico; el resto se reserva para DELETE /api/users/{id}
+    private static final int ACTIVE_USERS = Math.max(1, Math.min(200, USERS / 2));
+    private static final int BATCH_SIZE = 10;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TokenService tokenService;
+
+    private LoadDriver driver;
+    private List<Long> userIds;
+    private List<String> userTokens;
+    private String adminToken;
+    private int productsPerUser;
+    // Productos de cada usuario activo que aún se pueden borrar (cada uno se borra una sola vez)
+    private List<ConcurrentLinkedDeque<Long>> deletableProducts;
+    private final List<LoadDriver.Result> results = new ArrayList<>();
+
+    @BeforeAll
+    void seed() {
+        String hash = passwordEncoder.encode(PASSWORD);
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(new Object[]{"User " + i, "load" + i + "@email.com", hash, "USER"});
+        }
+        users.add(new Object[]{"Admin", "load-admin@email.com", hash, "ADMIN"});
+        jdbcTemplate.batchUpdate("INSERT INTO users (name, email, password, role) VALUES (?, ?, ?, ?)", users);
+
+        userIds = jdbcTemplate.queryForList("SELECT id FROM users WHERE role = 'USER' ORDER BY id", Long.class);
+        Long adminId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE role = 'ADMIN'", Long.class);
+
+        // El producto con id = i + 1 es del usuario i % USERS
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            batch.add(new Object[]{i + 1L, "Product " + i, (double) (i % 1000), userIds.get(i % USERS)});
+            if (batch.size() == 5_000) {
+                jdbcTemplate.batchUpdate("INSERT INTO products (id, name, price, user_id) VALUES (?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO products (id, name, price, user_id) VALUES (?, ?, ?, ?)", batch);
+        }
+        // Los productos nuevos deben recibir IDs por encima de los sembrados
+        jdbcTemplate.execute("ALTER SEQUENCE products_seq RESTART WITH " + (PRODUCTS + 1_000));
+
+        productsPerUser = PRODUCTS / USERS;
+        userTokens = new ArrayList<>();
+        deletableProducts = new ArrayList<>();
+        for (int k = 0; k < ACTIVE_USERS; k++) {
+            userTokens.add(tokenService.issue(new AuthenticatedUser(userIds.get(k), "load" + k + "@email.com", null, "USER")));
+            // Los primeros BATCH_SIZE productos de cada usuario se leen y modifican; el resto se puede borrar
+            ConcurrentLinkedDeque<Long> deletable = new ConcurrentLinkedDeque<>();
+            for (int m = BATCH_SIZE; m < productsPerUser; m++) {
+                deletable.add(productId(k, m));
+            }
+            deletableProducts.add(deletable);
+        }
+        adminToken = tokenService.issue(new AuthenticatedUser(adminId, "load-admin@email.com", null, "ADMIN"));
+
+        driver = new LoadDriver(THREADS, Path.of(System.getProperty("load.resultsDir", "target/load-results")));
+        System.out.printf("Sembrados %d usuarios y %d productos; %d hilos%n", USERS, PRODUCTS, THREADS);
+    }
+
+    @AfterAll
+    void report() {
+        System.out.println("==================== Resumen ====================");
+        results.forEach(LoadDriver.Result::print);
+        System.out.println("Distribuciones completas (HdrHistogram) en " + System.getProperty("load.resultsDir", "target/load-results"));
+    }
+
+    @Test
+    void testEndpoints_UnderConcurrentLoad() throws Exception {
+        assertTrue(productsPerUser >= 3 * BATCH_SIZE, "Se necesitan al menos " + 3 * BATCH_SIZE + " productos por usuario");
+
+        // Calentamiento (JIT, pool de conexiones, cachés)
+        driver.run("calentamiento", REQUESTS, 200, i -> get("/api/products/" + ownedProduct(user(i)), userToken(i)));
+
+        // ==================== ProductController ====================
+        run("GET /api/products", REQUESTS, 200, i -> get("/api/products?limit=50&after="
+                + KeysetCursor.encode(random(PRODUCTS)), adminToken));
+        run("GET /api/products/{id}", REQUESTS, 200, i -> get("/api/products/" + ownedProduct(user(i)), userToken(i)));
+        run("GET /api/products/my-products", REQUESTS, 200, i -> get("/api/products/my-products?size=20", userToken(i)));
+        run("GET /api/products/export", HEAVY_REQUESTS, 200, i -> get("/api/products/export", adminToken));
+        run("POST /api/products", REQUESTS, 200, i -> send("POST", "/api/products", userToken(i),
+                "{\"name\":\"Nuevo " + i + "\",\"price\":10.0}"));
+        run("PUT /api/products/{id}", REQUESTS, 200, i -> send("PUT", "/api/products/" + ownedProduct(user(i)), userToken(i),
+                "{\"name\":\"Editado " + i + "\",\"price\":20.0}"));
+        run("POST /api/products/batch", REQUESTS / BATCH_SIZE, 200, i -> send("POST", "/api/products/batch", userToken(i),
+                jsonArray(BATCH_SIZE, m -> "{\"name\":\"Lote " + i + "-" + m + "\",\"price\":5.0}")));
+        run("PUT /api/products/batch", REQUESTS / BATCH_SIZE, 200, i -> send("PUT", "/api/products/batch", userToken(i),
+                jsonArray(BATCH_SIZE, m -> "{\"id\":" + productId(user(i), m) + ",\"name\":\"Lote editado\",\"price\":6.0}")));
+        // Cada usuario activo reserva BATCH_SIZE productos borrables para DELETE /batch y usa el resto en DELETE /{id}
+        int deletablePerUser = productsPerUser - BATCH_SIZE;
+        run("DELETE /api/products/{id}", Math.min(REQUESTS, ACTIVE_USERS * (deletablePerUser - BATCH_SIZE)), 204,
+                i -> send("DELETE", "/api/products/" + nextDeletable(user(i)), userToken(i), null));
+        run("DELETE /api/products/batch", Math.min(REQUESTS / BATCH_SIZE, ACTIVE_USERS), 200,
+                i -> send("DELETE", "/api/products/batch", userToken(i), jsonArray(BATCH_SIZE, m -> String.valueOf(nextDeletable(user(i))))));
+
+        // ==================== UserController ====================
+        run("GET /api/users", REQUESTS, 200, i -> get("/api/users?limit=50&after="
+                + KeysetCursor.encode(random(USERS)), adminToken));
+        run("GET /api/users/me", REQUESTS, 200, i -> get("/api/users/me", userToken(i)));
+        run("GET /api/users/{id}", REQUESTS, 200, i -> get("/api/users/" + userIds.get(user(i)), userToken(i)));
+        run("GET /api/users/export", HEAVY_REQUESTS, 200, i -> get("/api/users/export", adminToken));
+        run("POST /api/users", HEAVY_REQUESTS, 200, i -> send("POST", "/api/users", null,
+                "{\"name\":\"Nuevo " + i + "\",\"email\":\"nuevo" + i + "@email.com\",\"password\":\"" + PASSWORD + "\"}"));
+        run("PUT /api/users/{id}", HEAVY_REQUESTS, 200, i -> send("PUT", "/api/users/" + userIds.get(user(i)), userToken(i),
+                "{\"name\":\"Editado " + i + "\",\"email\":\"load" + user(i) + "@email.com\",\"password\":\"" + PASSWORD + "\"}"));
+        run("DELETE /api/users/{id}", Math.min(HEAVY_REQUESTS, USERS - ACTIVE_USERS), 204,
+                i -> send("DELETE", "/api/users/" + userIds.get(ACTIVE_USERS + i), adminToken, null));
+    }
+
+    private void run(String scenario, int requests, int expectedStatus, IntFunction<HttpRequest> requestFactory) throws Exception {
+        LoadDriver.Result result = driver.run(scenario, requests, expectedStatus, requestFactory);
+        results.add(result);
+
+        assertTrue(result.errors() == 0, scenario + ": " + result.errors() + " errores, el primero: " + result.firstError());
+        if (MAX_P99_MILLIS > 0) {
+            assertTrue(result.percentileMillis(99) <= MAX_P99_MILLIS,
+                    scenario + ": p99 de " + result.percentileMillis(99) + " ms supera el límite de " + MAX_P99_MILLIS + " ms");
+        }
+    }
+
+    // Los usuarios activos se reparten las peticiones en turnos
+    private int user(int request) {
+        return request % ACTIVE_USERS;
+    }
+
+    private String userToken(int request) {
+        return userTokens.get(user(request));
+    }
+
+    // m-ésimo producto sembrado del usuario k
+    private long productId(int k, int m) {
+        return (long) m * USERS + k + 1;
+    }
+
+    private long ownedProduct(int k) {
+        return productId(k, ThreadLocalRandom.current().nextInt(BATCH_SIZE));
+    }
+
+    private long nextDeletable(int k) {
+        Long id = deletableProducts.get(k).poll();
+        if (id == null) {
+            throw new IllegalStateException("No quedan productos que borrar del usuario " + k);
+        }
+        return id;
+    }
+
+    private static long random(int bound) {
+        return ThreadLocalRandom.current().nextLong(bound);
+    }
+
+    private static String jsonArray(int size, IntFunction<String> element) {
+        StringBuilder json = new StringBuilder("[");
+        for (int m = 0; m < size; m++) {
+            json.append(m == 0 ? "" : ",").append(element.apply(m));
+        }
+        return json.append("]").toString();
+    }
+
+    private HttpRequest get(String path, String token) {
+        return send("GET", path, token, null);
+    }
+
+    private HttpRequest send(String method, String path, String token, String json) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .method(method, json == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(json));
+        if (json != null) {
+            request.header("Content-Type", "application/json");
+        }
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return request.build();
+    }
+}
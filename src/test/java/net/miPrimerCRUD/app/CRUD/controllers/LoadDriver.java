@@ -0,0 +1,109 @@
+package net.miPrimerCRUD.app.CRUD.controllers;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
+
+/**
+ * Lanza peticiones HTTP reales desde varios hilos y registra la latencia de cada una en un HdrHistogram (microsegundos).
+ * Cada escenario deja su distribución de percentiles en resultsDir/&lt;escenario&gt;.hgrm.
+ */
+class LoadDriver {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final int threads;
+    private final Path resultsDir;
+
+    LoadDriver(int threads, Path resultsDir) {
+        this.threads = threads;
+        this.resultsDir = resultsDir;
+    }
+
+    // La petición i-ésima la construye requestFactory; cualquier código distinto de expectedStatus cuenta como error
+    Result run(String scenario, int requests, int expectedStatus, IntFunction<HttpRequest> requestFactory) throws Exception {
+        Histogram histogram = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        AtomicReference<String> firstError = new AtomicReference<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                workers.add(executor.submit(() -> {
+                    for (int i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+                        HttpRequest request = requestFactory.apply(i);
+                        long sent = System.nanoTime();
+                        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                        histogram.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sent), MAX_LATENCY_MICROS));
+                        if (response.statusCode() != expectedStatus) {
+                            errors.incrementAndGet();
+                            firstError.compareAndSet(null, request.method() + " " + request.uri()
+                                    + " -> " + response.statusCode() + " " + response.body());
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Result result = new Result(scenario, histogram, System.nanoTime() - start, errors.get(), firstError.get());
+        result.print();
+        writeHistogram(scenario, histogram);
+        return result;
+    }
+
+    private void writeHistogram(String scenario, Histogram histogram) throws IOException {
+        Files.createDirectories(resultsDir);
+        String fileName = scenario.replaceAll("[^A-Za-z0-9]+", "_").replaceAll("^_|_$", "") + ".hgrm";
+        try (PrintStream out = new PrintStream(Files.newOutputStream(resultsDir.resolve(fileName)))) {
+            // Valores en milisegundos, formato compatible con HdrHistogram Plotter
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    record Result(String scenario, Histogram histogram, long elapsedNanos, int errors, String firstError) {
+
+        double requestsPerSecond() {
+            return histogram.getTotalCount() / (elapsedNanos / 1_000_000_000.0);
+        }
+
+        double percentileMillis(double percentile) {
+            return histogram.getValueAtPercentile(percentile) / 1000.0;
+        }
+
+        void print() {
+            System.out.printf("%-40s %6d peticiones %9.1f req/s  p50=%8.2f ms  p99=%8.2f ms  p999=%8.2f ms  max=%8.2f ms  errores=%d%n",
+                    scenario, histogram.getTotalCount(), requestsPerSecond(),
+                    percentileMillis(50), percentileMillis(99), percentileMillis(99.9),
+                    histogram.getMaxValue() / 1000.0, errors);
+        }
+    }
+}
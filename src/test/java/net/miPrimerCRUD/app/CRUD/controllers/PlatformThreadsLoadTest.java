@@ -0,0 +1,16 @@
+package net.miPrimerCRUD.app.CRUD.controllers;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.context.SpringBootTest;
+
+// Modo por defecto: pool de hilos de plataforma de Tomcat (200 hilos como máximo)
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.threads.virtual.enabled=false")
+class PlatformThreadsLoadTest extends ExecutionModeLoadTest {
+
+    @Override
+    String mode() {
+        return "platform";
+    }
+}
@@ -1,8 +1,19 @@
 package net.miPrimerCRUD.app.CRUD.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import net.miPrimerCRUD.app.CRUD.DTO.BatchItemResultDTO;
+import net.miPrimerCRUD.app.CRUD.DTO.BatchResultDTO;
+import net.miPrimerCRUD.app.CRUD.DTO.ProductDTO;
 import net.miPrimerCRUD.app.CRUD.entities.Product;
 import net.miPrimerCRUD.app.CRUD.entities.User;
+import net.miPrimerCRUD.app.CRUD.exception.BadRequestException;
+import net.miPrimerCRUD.app.CRUD.exception.PreconditionFailedException;
+import net.miPrimerCRUD.app.CRUD.mapper.ProductMapper;
+import net.miPrimerCRUD.app.CRUD.pagination.KeysetCursor;
+import net.miPrimerCRUD.app.CRUD.pagination.KeysetPage;
+import net.miPrimerCRUD.app.CRUD.search.ProductSearchCriteria;
+import net.miPrimerCRUD.app.CRUD.search.ProductSearchCursor;
+import net.miPrimerCRUD.app.CRUD.search.ProductSort;
 import net.miPrimerCRUD.app.CRUD.services.ProductServiceManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,15 +21,23 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -90,13 +109,143 @@ class ProductControllerTest {
         product2.setPrice(149.99);
         product2.setUser(testUser);
 
-        when(productService.findAll()).thenReturn(Arrays.asList(testProduct, product2));
+        when(productService.findPage(0L, 50)).thenReturn(new KeysetPage<>(
+                Arrays.asList(ProductMapper.toDTO(testProduct), ProductMapper.toDTO(product2)), null));
 
         // Act & Assert
         mockMvc.perform(get("/api/products"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].name").value("Test Product"))
-                .andExpect(jsonPath("$[1].name").value("Product 2"));
+                .andExpect(jsonPath("$[1].name").value("Product 2"))
+                .andExpect(header().doesNotExist("Link"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testGetAllProducts_WithCursor_ReturnsNextLink() throws Exception {
+        // Arrange
+        String cursor = KeysetCursor.encode(10L);
+        when(productService.findPage(10L, 1)).thenReturn(new KeysetPage<>(Arrays.asList(ProductMapper.toDTO(testProduct)), 1L));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products").param("after", cursor).param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Test Product"))
+                .andExpect(header().string("X-Next-Cursor", KeysetCursor.encode(1L)))
+                .andExpect(header().string("Link", containsString("rel=\"next\"")));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testGetAllProducts_InvalidCursor_BadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/products").param("after", "no-es-un-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "test@email.com", roles = "USER")
+    void testSearchProducts_SortedByPrice_ReturnsCursorWithPrice() throws Exception {
+        // Arrange
+        ProductSearchCriteria criteria = ProductSearchCriteria.of("Test", null, 50.0, null, null, "price", "desc");
+        ProductDTO product = ProductMapper.toDTO(testProduct);
+        when(productService.search(criteria, null, 1)).thenReturn(new KeysetPage<>(List.of(product), 1L));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/search?name=Test&minPrice=50&sort=price&direction=desc&limit=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Test Product"))
+                .andExpect(header().string("X-Next-Cursor", ProductSearchCursor.encode(ProductSort.PRICE, product)))
+                .andExpect(header().string("Link", containsString("sort=price")));
+    }
+
+    @Test
+    @WithMockUser(username = "test@email.com", roles = "USER")
+    void testSearchProducts_InvalidSortOrRange_BadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/products/search").param("sort", "owner"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/products/search").param("minPrice", "10").param("maxPrice", "5"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testSearchProducts_WithoutAuth_Unauthorized() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/products/search").param("name", "Test"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockUser(username = "test@email.com", roles = "USER")
+    void testSearchText_ReturnsPageWithTotalCount() throws Exception {
+        // Arrange
+        when(productService.searchText("teclado", 1, 5))
+                .thenReturn(new PageImpl<>(List.of(ProductMapper.toDTO(testProduct)), PageRequest.of(1, 5), 6));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/search/text?q=teclado&page=1&size=5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ProductController.TOTAL_COUNT_HEADER, "6"))
+                .andExpect(jsonPath("$[0].name").value("Test Product"));
+    }
+
+    @Test
+    @WithMockUser(username = "test@email.com", roles = "USER")
+    void testSearchText_BlankQuery_BadRequest() throws Exception {
+        // Arrange
+        when(productService.searchText(" ", 0, 20)).thenThrow(new BadRequestException("El texto de búsqueda es obligatorio"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/search/text").param("q", " "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("El texto de búsqueda es obligatorio"));
+    }
+
+    @Test
+    @WithMockUser(username = "test@email.com", roles = "USER")
+    void testSearchText_UnexpectedIllegalArgument_InternalErrorWithoutMessage() throws Exception {
+        // Arrange: un IllegalArgumentException que no viene de validar la petición es un fallo del servidor
+        when(productService.searchText("teclado", 0, 20)).thenThrow(new IllegalArgumentException("detalle interno"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/search/text").param("q", "teclado"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.message").value("An unexpected error occurred"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testExportProducts_AsAdmin_StreamsNdjson() throws Exception {
+        // Arrange
+        Product product2 = new Product();
+        product2.setId(2L);
+        product2.setName("Product 2");
+        product2.setPrice(149.99);
+        product2.setUser(testUser);
+
+        doAnswer(invocation -> {
+            Consumer<ProductDTO> consumer = invocation.getArgument(0);
+            consumer.accept(ProductMapper.toDTO(testProduct));
+            consumer.accept(ProductMapper.toDTO(product2));
+            return null;
+        }).when(productService).exportAll(any());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(
+                        "{\"id\":1,\"name\":\"Test Product\",\"price\":99.99,\"userId\":1,\"userName\":\"Test User\"}\n" +
+                        "{\"id\":2,\"name\":\"Product 2\",\"price\":149.99,\"userId\":1,\"userName\":\"Test User\"}\n"));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void testExportProducts_AsUser_Forbidden() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/products/export"))
+                .andExpect(status().isForbidden());
     }
 
     @Test
@@ -116,10 +265,40 @@ class ProductControllerTest {
         // Act & Assert
         mockMvc.perform(get("/api/products/1"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0-0\""))
                 .andExpect(jsonPath("$.name").value("Test Product"))
                 .andExpect(jsonPath("$.price").value(99.99));
     }
 
+    @Test
+    @WithMockUser(username = "test@email.com", roles = "USER")
+    void testGetProductById_IfNoneMatchCurrent_NotModified() throws Exception {
+        // Arrange
+        testProduct.setVersion(3L);
+        when(productService.findById(1L)).thenReturn(testProduct);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/1").header("If-None-Match", "\"3-0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3-0\""))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @WithMockUser(username = "test@email.com", roles = "USER")
+    void testUpdateProduct_IfMatchStale_PreconditionFailed() throws Exception {
+        // Arrange
+        when(productService.update(eq(1L), any(Product.class), eq("\"0-0\"")))
+                .thenThrow(new PreconditionFailedException("El recurso ha cambiado desde que se leyó (ETag actual \"1-0\")"));
+
+        // Act & Assert
+        mockMvc.perform(put("/api/products/1")
+                        .header("If-Match", "\"0-0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(testProduct)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
     @Test
     @WithMockUser(username = "test@email.com", roles = "USER")
     void testUpdateProduct_WithAuth_Success() throws Exception {
@@ -130,7 +309,7 @@ class ProductControllerTest {
         updatedProduct.setPrice(199.99);
         updatedProduct.setUser(testUser);
 
-        when(productService.update(eq(1L), any(Product.class))).thenReturn(updatedProduct);
+        when(productService.update(eq(1L), any(Product.class), isNull())).thenReturn(updatedProduct);
 
         // Act & Assert
         mockMvc.perform(put("/api/products/1")
@@ -158,4 +337,48 @@ class ProductControllerTest {
         mockMvc.perform(delete("/api/products/1"))
                 .andExpect(status().isUnauthorized());
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser(username = "test@email.com", roles = "USER")
+    void testCreateBatch_AllSucceed_ReturnsOk() throws Exception {
+        // Arrange
+        ProductDTO created = new ProductDTO(1L, "Test Product", 99.99, 1L, "Test User");
+        when(productService.saveAll(anyList())).thenReturn(new BatchResultDTO(List.of(
+                new BatchItemResultDTO(0, 201, 1L, created, null))));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/products/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\":\"Test Product\",\"price\":99.99}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.results[0].status").value(201))
+                .andExpect(jsonPath("$.results[0].product.id").value(1));
+    }
+
+    @Test
+    @WithMockUser(username = "test@email.com", roles = "USER")
+    void testDeleteBatch_PartialFailure_ReturnsMultiStatus() throws Exception {
+        // Arrange
+        when(productService.deleteAll(anyList())).thenReturn(new BatchResultDTO(List.of(
+                new BatchItemResultDTO(0, 204, 1L, null, null),
+                new BatchItemResultDTO(1, 404, 99L, null, "Producto con ID 99 no encontrado"))));
+
+        // Act & Assert
+        mockMvc.perform(delete("/api/products/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1,99]"))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[1].error").value("Producto con ID 99 no encontrado"));
+    }
+
+    @Test
+    void testCreateBatch_WithoutAuth_Unauthorized() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/products/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isUnauthorized());
+    }
+}
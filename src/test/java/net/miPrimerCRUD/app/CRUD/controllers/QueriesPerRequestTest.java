@@ -0,0 +1,187 @@
+package net.miPrimerCRUD.app.CRUD.controllers;
+
+import jakarta.persistence.EntityManagerFactory;
+import net.miPrimerCRUD.app.CRUD.entities.Product;
+import net.miPrimerCRUD.app.CRUD.entities.User;
+import net.miPrimerCRUD.app.CRUD.repositories.ProductRepository;
+import net.miPrimerCRUD.app.CRUD.repositories.UserRepository;
+import net.miPrimerCRUD.app.CRUD.security.CredentialCache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Cuenta las sentencias SQL que ejecuta cada petición autenticada (métrica de consultas por petición)
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class QueriesPerRequestTest {
+
+    private static final String EMAIL = "owner@email.com";
+    private static final String PASSWORD = "password123";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CredentialCache credentialCache;
+
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        User owner = new User();
+        owner.setName("Owner");
+        owner.setEmail(EMAIL);
+        owner.setPassword(passwordEncoder.encode(PASSWORD));
+        owner.setRole("USER");
+        owner = userRepository.save(owner);
+
+        Product product = new Product();
+        product.setName("Producto");
+        product.setPrice(10.0);
+        product.setUser(owner);
+        productId = productRepository.save(product).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Los usuarios se borran sin pasar por el servicio: la caché no se entera sola
+        credentialCache.invalidateAll();
+        productRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testUpdateProduct_QueryCount() throws Exception {
+        long queries = countQueries("PUT /api/products/{id}", put("/api/products/" + productId)
+                .with(httpBasic(EMAIL, PASSWORD))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Producto editado\",\"price\":20.0}"));
+
+        // autenticación + producto con su dueño + UPDATE (antes: 4, con un findByEmail extra)
+        assertTrue(queries <= 3, "PUT /api/products/{id} ejecutó " + queries + " consultas");
+    }
+
+    @Test
+    void testGetProduct_QueryCount() throws Exception {
+        long queries = countQueries("GET /api/products/{id}", get("/api/products/" + productId).with(httpBasic(EMAIL, PASSWORD)));
+
+        // autenticación + producto con su dueño (antes: 3)
+        assertTrue(queries <= 2, "GET /api/products/{id} ejecutó " + queries + " consultas");
+    }
+
+    @Test
+    void testMyProducts_QueryCount() throws Exception {
+        long queries = countQueries("GET /api/products/my-products", get("/api/products/my-products").with(httpBasic(EMAIL, PASSWORD)));
+
+        // autenticación + página de productos (antes: 3, el usuario se volvía a buscar por email)
+        assertTrue(queries <= 2, "GET /api/products/my-products ejecutó " + queries + " consultas");
+    }
+
+    @Test
+    void testSearchProducts_QueryCount() throws Exception {
+        long queries = countQueries("GET /api/products/search", get("/api/products/search")
+                .param("name", "Prod").param("sort", "price")
+                .with(httpBasic(EMAIL, PASSWORD)));
+
+        // autenticación + una sola consulta con filtros, orden y dueño
+        assertTrue(queries <= 2, "GET /api/products/search ejecutó " + queries + " consultas");
+    }
+
+    @Test
+    void testCachedCredentials_SkipUserLookup() throws Exception {
+        countQueries("GET /api/products/my-products (1ª)", get("/api/products/my-products").with(httpBasic(EMAIL, PASSWORD)));
+        long queries = countQueries("GET /api/products/my-products (caché)", get("/api/products/my-products").with(httpBasic(EMAIL, PASSWORD)));
+
+        // credenciales verificadas en caché: solo la página de productos
+        assertTrue(queries <= 1, "GET /api/products/my-products con credenciales en caché ejecutó " + queries + " consultas");
+    }
+
+    @Test
+    void testCurrentUser_QueryCount() throws Exception {
+        long queries = countQueries("GET /api/users/me", get("/api/users/me").with(httpBasic(EMAIL, PASSWORD)));
+
+        // autenticación + búsqueda por clave primaria
+        assertTrue(queries <= 2, "GET /api/users/me ejecutó " + queries + " consultas");
+    }
+
+    @Test
+    void testListProducts_ManyOwners_SingleQuery() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            User other = new User();
+            other.setName("Otro " + i);
+            other.setEmail("otro" + i + "@email.com");
+            other.setPassword("x");
+            other.setRole("USER");
+            other = userRepository.save(other);
+
+            Product product = new Product();
+            product.setName("Producto " + i);
+            product.setPrice(1.0);
+            product.setUser(other);
+            productRepository.save(product);
+        }
+        User admin = new User();
+        admin.setName("Admin");
+        admin.setEmail("admin@email.com");
+        admin.setPassword(passwordEncoder.encode(PASSWORD));
+        admin.setRole("ADMIN");
+        userRepository.save(admin);
+
+        long queries = countQueries("GET /api/products (11 dueños)", get("/api/products").with(httpBasic("admin@email.com", PASSWORD)));
+
+        // autenticación + página proyectada a DTO con el nombre del dueño en la misma consulta (sin N+1)
+        assertTrue(queries <= 2, "GET /api/products ejecutó " + queries + " consultas");
+    }
+
+    @Test
+    void testCreateBatch_QueryCount() throws Exception {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < 100; i++) {
+            body.append(i == 0 ? "" : ",").append("{\"name\":\"Producto ").append(i).append("\",\"price\":1.0}");
+        }
+        body.append("]");
+
+        long queries = countQueries("POST /api/products/batch (100 productos)", post("/api/products/batch")
+                .with(httpBasic(EMAIL, PASSWORD))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body.toString()));
+
+        // autenticación + dueños + secuencia por bloques de 50 + INSERT en lotes de 50 (uno a uno serían más de 200)
+        assertTrue(queries <= 10, "POST /api/products/batch ejecutó " + queries + " consultas");
+    }
+
+    private long countQueries(String label, RequestBuilder request) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(request).andExpect(status().is2xxSuccessful());
+        long queries = statistics.getPrepareStatementCount();
+        System.out.println(label + " -> " + queries + " consultas SQL");
+        return queries;
+    }
+}
@@ -1,7 +1,11 @@
 package net.miPrimerCRUD.app.CRUD.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import net.miPrimerCRUD.app.CRUD.DTO.UserDTO;
 import net.miPrimerCRUD.app.CRUD.entities.User;
+import net.miPrimerCRUD.app.CRUD.mapper.UserMapper;
+import net.miPrimerCRUD.app.CRUD.pagination.KeysetCursor;
+import net.miPrimerCRUD.app.CRUD.pagination.KeysetPage;
 import net.miPrimerCRUD.app.CRUD.services.UserServiceManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,9 +19,12 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -75,7 +82,8 @@ class UserControllerTest {
         user2.setRole("USER");
         user2.setProducts(new ArrayList<>());
 
-        when(userService.findAll()).thenReturn(Arrays.asList(testUser, user2));
+        when(userService.findPage(0L, 50)).thenReturn(new KeysetPage<>(
+                Arrays.asList(UserMapper.toDTO(testUser), UserMapper.toDTO(user2)), null));
 
         // Act & Assert
         mockMvc.perform(get("/api/users"))
@@ -84,6 +92,19 @@ class UserControllerTest {
                 .andExpect(jsonPath("$[1].name").value("User 2"));
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testGetAllUsers_WithMorePages_ReturnsNextCursor() throws Exception {
+        // Arrange
+        when(userService.findPage(0L, 1)).thenReturn(new KeysetPage<>(Arrays.asList(UserMapper.toDTO(testUser)), 1L));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Test User"))
+                .andExpect(header().string("X-Next-Cursor", KeysetCursor.encode(1L)));
+    }
+
     @Test
     @WithMockUser(roles = "USER")
     void testGetAllUsers_AsUser_Forbidden() throws Exception {
@@ -92,6 +113,32 @@ class UserControllerTest {
                 .andExpect(status().isForbidden());
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testExportUsers_AsAdmin_StreamsNdjsonWithoutPasswords() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            Consumer<UserDTO> consumer = invocation.getArgument(0);
+            consumer.accept(UserMapper.toDTO(testUser));
+            return null;
+        }).when(userService).exportAll(any());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(
+                        "{\"id\":1,\"name\":\"Test User\",\"email\":\"test@email.com\",\"role\":\"USER\"}\n"));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void testExportUsers_AsUser_Forbidden() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/users/export"))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     void testGetAllUsers_WithoutAuth_Unauthorized() throws Exception {
         // Act & Assert
@@ -103,15 +150,52 @@ class UserControllerTest {
     @WithMockUser(username = "test@email.com", roles = "USER")
     void testGetUserById_WithAuth_Success() throws Exception {
         // Arrange
-        when(userService.findById(1L)).thenReturn(testUser);
+        when(userService.findByIdWithValidation(1L)).thenReturn(testUser);
 
         // Act & Assert
         mockMvc.perform(get("/api/users/1"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0\""))
                 .andExpect(jsonPath("$.name").value("Test User"))
                 .andExpect(jsonPath("$.email").value("test@email.com"));
     }
 
+    @Test
+    @WithMockUser(username = "test@email.com", roles = "USER")
+    void testGetCurrentUser_IfNoneMatchCurrent_NotModified() throws Exception {
+        // Arrange
+        testUser.setVersion(2L);
+        when(userService.getCurrentUser()).thenReturn(testUser);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users/me").header("If-None-Match", "\"2\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @WithMockUser(username = "test@email.com", roles = "USER")
+    void testUpdateUser_ReturnsNewETag() throws Exception {
+        // Arrange
+        User updatedUser = new User();
+        updatedUser.setId(1L);
+        updatedUser.setName("Updated User");
+        updatedUser.setEmail("test@email.com");
+        updatedUser.setPassword("password123");
+        updatedUser.setRole("USER");
+        updatedUser.setVersion(5L);
+
+        when(userService.update(eq(1L), any(User.class), eq("\"4\""))).thenReturn(updatedUser);
+
+        // Act & Assert
+        mockMvc.perform(put("/api/users/1")
+                        .header("If-Match", "\"4\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updatedUser)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"5\""));
+    }
+
     @Test
     @WithMockUser(username = "test@email.com", roles = "USER")
     void testUpdateUser_WithAuth_Success() throws Exception {
@@ -124,7 +208,7 @@ class UserControllerTest {
         updatedUser.setRole("USER");
         updatedUser.setProducts(new ArrayList<>());
 
-        when(userService.update(eq(1L), any(User.class))).thenReturn(updatedUser);
+        when(userService.update(eq(1L), any(User.class), isNull())).thenReturn(updatedUser);
 
         // Act & Assert
         mockMvc.perform(put("/api/users/1")
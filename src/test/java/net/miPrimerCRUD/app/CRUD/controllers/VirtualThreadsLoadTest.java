@@ -0,0 +1,19 @@
+package net.miPrimerCRUD.app.CRUD.controllers;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.test.context.SpringBootTest;
+
+// Hilos virtuales + bulkhead del tamaño del pool; el timeout amplio evita 503 y mide solo la espera
+@Tag("load")
+@EnabledForJreRange(min = JRE.JAVA_21)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.threads.virtual.enabled=true", "app.bulkhead.timeout=60s"})
+class VirtualThreadsLoadTest extends ExecutionModeLoadTest {
+
+    @Override
+    String mode() {
+        return "virtual";
+    }
+}
@@ -0,0 +1,199 @@
+package net.miPrimerCRUD.app.CRUD.events;
+
+import net.miPrimerCRUD.app.CRUD.entities.User;
+import net.miPrimerCRUD.app.CRUD.repositories.ProductRepository;
+import net.miPrimerCRUD.app.CRUD.repositories.UserRepository;
+import net.miPrimerCRUD.app.CRUD.security.CredentialCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Flujo SSE con la aplicación completa: cada conexión recibe solo los cambios confirmados que le corresponden
+@SpringBootTest(properties = "app.products.events.max-per-user=2")
+@AutoConfigureMockMvc
+class ProductEventStreamTest {
+
+    private static final String PASSWORD = "password123";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private CredentialCache credentialCache;
+
+    @Autowired
+    private ProductEventBus eventBus;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<MvcResult> streams = new ArrayList<>();
+    private User owner;
+    private User other;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(user("owner@email.com", "USER"));
+        other = userRepository.save(user("other@email.com", "USER"));
+        userRepository.save(user("admin@email.com", "ADMIN"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Cerrar la petición asíncrona equivale a que el cliente se desconecte
+        streams.forEach(stream -> stream.getRequest().getAsyncContext().complete());
+        assertEquals(0, eventBus.subscribers());
+        credentialCache.invalidateAll();
+        productRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private User user(String email, String role) {
+        User user = new User();
+        user.setName("Usuario");
+        user.setEmail(email);
+        user.setPassword(passwordEncoder.encode(PASSWORD));
+        user.setRole(role);
+        return user;
+    }
+
+    private MockHttpServletResponse open(String email) throws Exception {
+        MvcResult stream = mockMvc.perform(get("/api/products/events").with(httpBasic(email, PASSWORD)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        streams.add(stream);
+        return stream.getResponse();
+    }
+
+    private void createProduct(User user, String name) throws Exception {
+        mockMvc.perform(post("/api/products").with(httpBasic(user.getEmail(), PASSWORD))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"" + name + "\",\"price\":10.0,\"user\":{\"id\":" + user.getId() + "}}"))
+                .andExpect(status().isOk());
+    }
+
+    private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        String content = response.getContentAsString();
+        while (!content.contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            content = response.getContentAsString();
+        }
+        return content;
+    }
+
+    @Test
+    void testSubscribers_ReceiveOnlyTheirOwnProducts() throws Exception {
+        // Arrange
+        MockHttpServletResponse ownerStream = open("owner@email.com");
+        MockHttpServletResponse otherStream = open("other@email.com");
+        MockHttpServletResponse adminStream = open("admin@email.com");
+        assertTrue(ownerStream.getContentAsString().contains("event:ready"));
+
+        // Act
+        createProduct(owner, "Teclado");
+        createProduct(other, "Ratón");
+
+        // Assert
+        String ownerEvents = awaitContent(ownerStream, "Teclado");
+        assertTrue(ownerEvents.contains("event:product"));
+        assertTrue(ownerEvents.contains("\"type\":\"CREATED\""));
+        assertFalse(ownerEvents.contains("Ratón"));
+        assertFalse(awaitContent(otherStream, "Ratón").contains("Teclado"));
+        String adminEvents = awaitContent(adminStream, "Ratón");
+        assertTrue(adminEvents.contains("Teclado"));
+    }
+
+    @Test
+    void testReassignedProduct_DeletedForPreviousOwnerAndUpdatedForNewOne() throws Exception {
+        // Arrange
+        createProduct(owner, "Monitor");
+        Long productId = productRepository.findAll().iterator().next().getId();
+        MockHttpServletResponse ownerStream = open("owner@email.com");
+        MockHttpServletResponse otherStream = open("other@email.com");
+
+        // Act: un ADMIN pasa el producto a otro usuario
+        mockMvc.perform(put("/api/products/" + productId).with(httpBasic("admin@email.com", PASSWORD))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Monitor\",\"price\":10.0,\"user\":{\"id\":" + other.getId() + "}}"))
+                .andExpect(status().isOk());
+
+        // Assert
+        String ownerEvents = awaitContent(ownerStream, "Monitor");
+        assertTrue(ownerEvents.contains("\"type\":\"DELETED\""));
+        assertFalse(ownerEvents.contains("\"type\":\"UPDATED\""));
+        String otherEvents = awaitContent(otherStream, "Monitor");
+        assertTrue(otherEvents.contains("\"type\":\"UPDATED\""));
+        assertTrue(otherEvents.contains("\"previousOwnerId\":" + owner.getId()));
+    }
+
+    @Test
+    void testRolledBackChange_NotStreamed() throws Exception {
+        // Arrange
+        MockHttpServletResponse ownerStream = open("owner@email.com");
+
+        // Act
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            eventPublisher.publishEvent(new ProductChangedEvent(ProductChangedEvent.Type.CREATED, 999L, "Fantasma", 1.0, owner.getId()));
+            status.setRollbackOnly();
+        });
+        createProduct(owner, "Real");
+
+        // Assert: el evento confirmado llega y el revertido no
+        String events = awaitContent(ownerStream, "Real");
+        assertTrue(events.contains("Real"));
+        assertFalse(events.contains("Fantasma"));
+    }
+
+    @Test
+    void testTooManyConnectionsPerUser_Rejected() throws Exception {
+        // Arrange
+        open("owner@email.com");
+        open("owner@email.com");
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/events").with(httpBasic("owner@email.com", PASSWORD)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"));
+        assertEquals(2, eventBus.subscribers());
+    }
+
+    @Test
+    void testWithoutAuth_Unauthorized() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/products/events"))
+                .andExpect(status().isUnauthorized());
+    }
+}
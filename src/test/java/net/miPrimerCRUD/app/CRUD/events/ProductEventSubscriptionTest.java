@@ -0,0 +1,99 @@
+package net.miPrimerCRUD.app.CRUD.events;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductEventSubscriptionTest {
+
+    private static ProductChangedEvent event(ProductChangedEvent.Type type, long productId, String name) {
+        return new ProductChangedEvent(type, productId, name, 10.0, 1L);
+    }
+
+    @Test
+    void testOffer_SchedulesOnceUntilDrained() {
+        // Arrange
+        ProductEventSubscription subscription = new ProductEventSubscription(1L, false, 10);
+
+        // Act & Assert
+        assertEquals(ProductEventSubscription.Offer.SCHEDULE, subscription.offer(event(ProductChangedEvent.Type.CREATED, 1L, "A")));
+        assertEquals(ProductEventSubscription.Offer.QUEUED, subscription.offer(event(ProductChangedEvent.Type.CREATED, 2L, "B")));
+        assertEquals(2, subscription.takePending().size());
+        // La cola está vacía: la siguiente vuelta termina el envío y el próximo evento lo vuelve a programar
+        assertTrue(subscription.takePending().isEmpty());
+        assertEquals(ProductEventSubscription.Offer.SCHEDULE, subscription.offer(event(ProductChangedEvent.Type.UPDATED, 1L, "A2")));
+    }
+
+    @Test
+    void testOffer_CoalescesChangesOfTheSameProduct() {
+        // Arrange
+        ProductEventSubscription subscription = new ProductEventSubscription(1L, false, 10);
+        subscription.offer(event(ProductChangedEvent.Type.CREATED, 1L, "Teclado"));
+        subscription.offer(event(ProductChangedEvent.Type.CREATED, 2L, "Ratón"));
+
+        // Act
+        ProductEventSubscription.Offer result = subscription.offer(event(ProductChangedEvent.Type.UPDATED, 1L, "Teclado mecánico"));
+
+        // Assert: un evento por producto, el último, en el orden del último cambio
+        assertEquals(ProductEventSubscription.Offer.COALESCED, result);
+        List<ProductChangedEvent> pending = subscription.takePending();
+        assertEquals(List.of(2L, 1L), pending.stream().map(ProductChangedEvent::productId).toList());
+        assertEquals("Teclado mecánico", pending.get(1).name());
+    }
+
+    @Test
+    void testOffer_OverflowWhenTooManyDistinctProductsPending() {
+        // Arrange
+        ProductEventSubscription subscription = new ProductEventSubscription(1L, false, 3);
+        for (long id = 1; id <= 3; id++) {
+            subscription.offer(event(ProductChangedEvent.Type.CREATED, id, "P" + id));
+        }
+
+        // Act & Assert
+        assertEquals(ProductEventSubscription.Offer.OVERFLOW, subscription.offer(event(ProductChangedEvent.Type.CREATED, 4L, "P4")));
+        // Un cambio de un producto ya pendiente no ocupa sitio nuevo
+        assertEquals(ProductEventSubscription.Offer.COALESCED, subscription.offer(event(ProductChangedEvent.Type.DELETED, 3L, "P3")));
+    }
+
+    @Test
+    void testHeartbeat_KeepsDeliveryScheduledUntilSent() {
+        // Arrange
+        ProductEventSubscription subscription = new ProductEventSubscription(1L, false, 3);
+
+        // Act & Assert
+        assertEquals(ProductEventSubscription.Offer.SCHEDULE, subscription.requestHeartbeat());
+        assertTrue(subscription.takePending().isEmpty());
+        assertEquals(ProductEventSubscription.Offer.QUEUED, subscription.offer(event(ProductChangedEvent.Type.CREATED, 1L, "A")));
+        assertTrue(subscription.takeHeartbeat());
+        assertFalse(subscription.takeHeartbeat());
+    }
+
+    @Test
+    void testEmitterOrRelease_BeforeConnect_ResumeSchedulesWhatArrived() {
+        // Arrange: un cambio llega entre subscribe y connect
+        ProductEventSubscription subscription = new ProductEventSubscription(1L, false, 3);
+        assertEquals(ProductEventSubscription.Offer.SCHEDULE, subscription.offer(event(ProductChangedEvent.Type.CREATED, 1L, "A")));
+
+        // Act & Assert: el envío se suelta sin tocar la cola y se vuelve a programar al conectarse
+        assertNull(subscription.emitterOrRelease());
+        assertTrue(subscription.attach(new SseEmitter()));
+        assertEquals(ProductEventSubscription.Offer.SCHEDULE, subscription.resume());
+        assertNotNull(subscription.emitterOrRelease());
+        assertEquals(1, subscription.takePending().size());
+    }
+
+    @Test
+    void testAttach_AfterClose_Rejected() {
+        // Arrange
+        ProductEventSubscription subscription = new ProductEventSubscription(1L, false, 3);
+
+        // Act
+        subscription.close();
+
+        // Assert
+        assertFalse(subscription.attach(new SseEmitter()));
+    }
+}
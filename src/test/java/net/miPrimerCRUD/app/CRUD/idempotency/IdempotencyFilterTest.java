@@ -0,0 +1,263 @@
+package net.miPrimerCRUD.app.CRUD.idempotency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(100, Duration.ofMinutes(1), meterRegistry);
+
+    private IdempotencyFilter filter(Duration inFlightTimeout, int maxResponseBytes) {
+        return new IdempotencyFilter(store, Set.of("/api/products"), inFlightTimeout, 64, maxResponseBytes, meterRegistry);
+    }
+
+    private static MockHttpServletRequest post(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/products");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.HEADER, key);
+        }
+        return request;
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("app.idempotency.requests").tag("result", result).counter().count();
+    }
+
+    @Test
+    void testDoFilter_SameKeyTwice_SecondIsReplayedWithoutRunningChain() throws Exception {
+        // Arrange
+        IdempotencyFilter filter = filter(Duration.ofSeconds(1), 1024);
+        AtomicInteger chainCalls = new AtomicInteger();
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        MockHttpServletResponse second = new MockHttpServletResponse();
+
+        // Act
+        for (MockHttpServletResponse response : new MockHttpServletResponse[]{first, second}) {
+            filter.doFilter(post("k1", "{\"name\":\"A\"}"), response, (req, res) -> {
+                // El controlador puede leer el cuerpo aunque el filtro ya lo haya leído
+                assertEquals("{\"name\":\"A\"}", new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+                res.setContentType("application/json");
+                res.getWriter().write("{\"id\":" + chainCalls.incrementAndGet() + "}");
+            });
+        }
+
+        // Assert
+        assertEquals(1, chainCalls.get());
+        assertEquals("{\"id\":1}", first.getContentAsString());
+        assertNull(first.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(200, second.getStatus());
+        assertEquals("{\"id\":1}", second.getContentAsString());
+        assertEquals("application/json", second.getContentType());
+        assertEquals("true", second.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(1.0, requests("executed"));
+        assertEquals(1.0, requests("replayed"));
+    }
+
+    @Test
+    void testDoFilter_SameKeyDifferentBody_Returns422() throws Exception {
+        // Arrange
+        IdempotencyFilter filter = filter(Duration.ofSeconds(1), 1024);
+        filter.doFilter(post("k1", "{\"name\":\"A\"}"), new MockHttpServletResponse(), (req, res) -> res.getWriter().write("{}"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicInteger chainCalls = new AtomicInteger();
+
+        // Act
+        filter.doFilter(post("k1", "{\"name\":\"B\"}"), response, (req, res) -> chainCalls.incrementAndGet());
+
+        // Assert
+        assertEquals(422, response.getStatus());
+        assertEquals(0, chainCalls.get());
+        assertEquals(1.0, requests("mismatch"));
+    }
+
+    @Test
+    void testDoFilter_ErrorOrOversizedResponse_NotStored() throws Exception {
+        // Arrange
+        IdempotencyFilter filter = filter(Duration.ofSeconds(1), 4);
+        AtomicInteger chainCalls = new AtomicInteger();
+
+        // Act
+        for (int i = 0; i < 2; i++) {
+            filter.doFilter(post("error", "{}"), new MockHttpServletResponse(), (req, res) -> {
+                chainCalls.incrementAndGet();
+                ((HttpServletResponse) res).setStatus(400);
+            });
+            filter.doFilter(post("grande", "{}"), new MockHttpServletResponse(), (req, res) -> {
+                chainCalls.incrementAndGet();
+                res.getWriter().write("{\"id\":12345}");
+            });
+        }
+
+        // Assert
+        assertEquals(4, chainCalls.get());
+    }
+
+    @Test
+    void testDoFilter_TwoAnonymousClientsSameKey_EachRunsItsOwnRequest() throws Exception {
+        // Arrange: sin autenticación, como el registro público; misma clave, distinta IP
+        IdempotencyFilter filter = filter(Duration.ofSeconds(1), 1024);
+        AtomicInteger chainCalls = new AtomicInteger();
+        MockHttpServletRequest first = post("k1", "{\"name\":\"A\"}");
+        first.setRemoteAddr("10.0.0.1");
+        MockHttpServletRequest sameBody = post("k1", "{\"name\":\"A\"}");
+        sameBody.setRemoteAddr("10.0.0.2");
+        MockHttpServletRequest otherBody = post("k1", "{\"name\":\"B\"}");
+        otherBody.setRemoteAddr("10.0.0.3");
+        MockHttpServletResponse sameBodyResponse = new MockHttpServletResponse();
+        MockHttpServletResponse otherBodyResponse = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(first, new MockHttpServletResponse(),
+                (req, res) -> res.getWriter().write("{\"id\":" + chainCalls.incrementAndGet() + "}"));
+        filter.doFilter(sameBody, sameBodyResponse,
+                (req, res) -> res.getWriter().write("{\"id\":" + chainCalls.incrementAndGet() + "}"));
+        filter.doFilter(otherBody, otherBodyResponse,
+                (req, res) -> res.getWriter().write("{\"id\":" + chainCalls.incrementAndGet() + "}"));
+
+        // Assert: ninguno recibe la respuesta del otro ni un 422 por su cuerpo
+        assertEquals(3, chainCalls.get());
+        assertEquals("{\"id\":2}", sameBodyResponse.getContentAsString());
+        assertNull(sameBodyResponse.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(200, otherBodyResponse.getStatus());
+        assertEquals("{\"id\":3}", otherBodyResponse.getContentAsString());
+        assertEquals(3.0, requests("executed"));
+        assertEquals(0.0, requests("mismatch"));
+    }
+
+    @Test
+    void testDoFilter_WithoutKeyOrOtherPath_NotFiltered() throws Exception {
+        // Arrange
+        IdempotencyFilter filter = filter(Duration.ofSeconds(1), 1024);
+        AtomicInteger chainCalls = new AtomicInteger();
+        MockHttpServletRequest otherPath = post("k1", "{}");
+        otherPath.setRequestURI("/api/products/batch");
+
+        // Act
+        filter.doFilter(post(null, "{}"), new MockHttpServletResponse(), (req, res) -> chainCalls.incrementAndGet());
+        filter.doFilter(post(null, "{}"), new MockHttpServletResponse(), (req, res) -> chainCalls.incrementAndGet());
+        filter.doFilter(otherPath, new MockHttpServletResponse(), (req, res) -> chainCalls.incrementAndGet());
+        filter.doFilter(otherPath, new MockHttpServletResponse(), (req, res) -> chainCalls.incrementAndGet());
+
+        // Assert
+        assertEquals(4, chainCalls.get());
+        assertEquals(0.0, requests("executed"));
+    }
+
+    @Test
+    void testDoFilter_BodyOverMaxRequestSize_Returns413WithoutRunningChain() throws Exception {
+        // Arrange: máximo de 64 bytes, con Content-Length y sin él (chunked)
+        IdempotencyFilter filter = filter(Duration.ofSeconds(1), 1024);
+        String body = "{\"name\":\"" + "x".repeat(100) + "\"}";
+        MockHttpServletResponse withLength = new MockHttpServletResponse();
+        MockHttpServletResponse chunked = new MockHttpServletResponse();
+        HttpServletRequest chunkedRequest = new HttpServletRequestWrapper(post("k2", body)) {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+
+        // Act
+        filter.doFilter(post("k1", body), withLength, (req, res) -> fail());
+        filter.doFilter(chunkedRequest, chunked, (req, res) -> fail());
+
+        // Assert
+        assertEquals(413, withLength.getStatus());
+        assertEquals(413, chunked.getStatus());
+        assertEquals(2, requests("too_large"));
+    }
+
+    @Test
+    void testDoFilter_KeyTooLong_Returns400() throws Exception {
+        // Arrange
+        IdempotencyFilter filter = filter(Duration.ofSeconds(1), 1024);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(post("x".repeat(IdempotencyFilter.MAX_KEY_LENGTH + 1), "{}"), response, (req, res) -> fail());
+
+        // Assert
+        assertEquals(400, response.getStatus());
+    }
+
+    @Test
+    void testDoFilter_ConcurrentDuplicate_WaitsForOriginalAndReplaysIt() throws Exception {
+        // Arrange: la primera petición se queda dentro del controlador hasta que llega la segunda
+        IdempotencyFilter filter = filter(Duration.ofSeconds(5), 1024);
+        CountDownLatch inChain = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger chainCalls = new AtomicInteger();
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // Act
+            Future<?> original = executor.submit(() -> {
+                filter.doFilter(post("k1", "{}"), first, (req, res) -> {
+                    chainCalls.incrementAndGet();
+                    inChain.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                    res.getWriter().write("{\"id\":7}");
+                });
+                return null;
+            });
+            assertTrue(inChain.await(5, TimeUnit.SECONDS));
+            Future<?> duplicate = executor.submit(() -> {
+                filter.doFilter(post("k1", "{}"), second, (req, res) -> chainCalls.incrementAndGet());
+                return null;
+            });
+            Thread.sleep(100);
+            release.countDown();
+            original.get(5, TimeUnit.SECONDS);
+            duplicate.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert
+        assertEquals(1, chainCalls.get());
+        assertEquals("{\"id\":7}", second.getContentAsString());
+        assertEquals("true", second.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(1.0, requests("coalesced"));
+    }
+
+    @Test
+    void testDoFilter_OriginalStillRunningAfterTimeout_Returns409() throws Exception {
+        // Arrange
+        IdempotencyFilter filter = filter(Duration.ofMillis(50), 1024);
+        MockHttpServletResponse duplicate = new MockHttpServletResponse();
+
+        // Act: el duplicado llega desde dentro de la petición original, que aún no ha terminado
+        filter.doFilter(post("k1", "{}"), new MockHttpServletResponse(),
+                (req, res) -> filter.doFilter(post("k1", "{}"), duplicate, (innerReq, innerRes) -> fail()));
+
+        // Assert
+        assertEquals(409, duplicate.getStatus());
+        assertEquals(1.0, requests("conflict"));
+    }
+}
@@ -0,0 +1,188 @@
+package net.miPrimerCRUD.app.CRUD.idempotency;
+
+import net.miPrimerCRUD.app.CRUD.entities.User;
+import net.miPrimerCRUD.app.CRUD.repositories.ProductRepository;
+import net.miPrimerCRUD.app.CRUD.repositories.UserRepository;
+import net.miPrimerCRUD.app.CRUD.security.CredentialCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Idempotency-Key con la aplicación completa (almacén en memoria) y el almacén jdbc contra la tabla idempotency_keys
+@SpringBootTest
+@AutoConfigureMockMvc
+class IdempotencyTest {
+
+    private static final String PASSWORD = "password123";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private CredentialCache credentialCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User();
+        owner.setName("Usuario");
+        owner.setEmail("owner@email.com");
+        owner.setPassword(passwordEncoder.encode(PASSWORD));
+        owner.setRole("USER");
+        owner = userRepository.save(owner);
+    }
+
+    @AfterEach
+    void tearDown() {
+        credentialCache.invalidateAll();
+        productRepository.deleteAll();
+        userRepository.deleteAll();
+        jdbcTemplate.update("delete from idempotency_keys");
+    }
+
+    private String productJson(String name) {
+        return "{\"name\":\"" + name + "\",\"price\":10.0,\"user\":{\"id\":" + owner.getId() + "}}";
+    }
+
+    @Test
+    void testCreateProduct_RetriedWithSameKey_CreatesOnceAndReplaysResponse() throws Exception {
+        // Arrange
+        String first = mockMvc.perform(post("/api/products").with(httpBasic("owner@email.com", PASSWORD))
+                        .header(IdempotencyFilter.HEADER, "pedido-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(productJson("Teclado")))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER))
+                .andReturn().getResponse().getContentAsString();
+
+        // Act & Assert
+        String replay = mockMvc.perform(post("/api/products").with(httpBasic("owner@email.com", PASSWORD))
+                        .header(IdempotencyFilter.HEADER, "pedido-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(productJson("Teclado")))
+                .andExpect(status().isOk())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(first, replay);
+        assertEquals(1, productRepository.count());
+    }
+
+    @Test
+    void testCreateProduct_SameKeyDifferentBody_Returns422() throws Exception {
+        // Arrange
+        mockMvc.perform(post("/api/products").with(httpBasic("owner@email.com", PASSWORD))
+                        .header(IdempotencyFilter.HEADER, "pedido-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(productJson("Teclado")))
+                .andExpect(status().isOk());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/products").with(httpBasic("owner@email.com", PASSWORD))
+                        .header(IdempotencyFilter.HEADER, "pedido-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(productJson("Ratón")))
+                .andExpect(status().isUnprocessableEntity());
+        assertEquals(1, productRepository.count());
+    }
+
+    @Test
+    void testRegisterUser_RetriedWithSameKey_CreatesOneUser() throws Exception {
+        // Arrange
+        String body = "{\"name\":\"Nuevo\",\"email\":\"nuevo@email.com\",\"password\":\"secreto123\"}";
+        mockMvc.perform(post("/api/users").header(IdempotencyFilter.HEADER, "alta-1")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().is2xxSuccessful());
+
+        // Act & Assert: sin la clave el segundo alta fallaría por el email duplicado
+        mockMvc.perform(post("/api/users").header(IdempotencyFilter.HEADER, "alta-1")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().is2xxSuccessful())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$.email").value("nuevo@email.com"));
+        assertEquals(2, userRepository.count());
+    }
+
+    @Test
+    void testJdbcStore_ExpiredRowsIgnoredReplacedAndPurged() {
+        // Arrange
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        JdbcIdempotencyStore store = new JdbcIdempotencyStore(jdbcTemplate, Duration.ofMinutes(10), clock);
+        IdempotentResponse response = new IdempotentResponse("huella", 200, "application/json",
+                "{\"id\":1}".getBytes(), clock.instant());
+
+        // Act & Assert
+        store.save("clave", response);
+        store.save("clave", response);
+        IdempotentResponse found = store.find("clave");
+        assertNotNull(found);
+        assertEquals("huella", found.fingerprint());
+        assertArrayEquals(response.body(), found.body());
+
+        clock.advance(Duration.ofMinutes(11));
+        assertNull(store.find("clave"));
+        store.save("clave", new IdempotentResponse("otra", 201, null, new byte[0], clock.instant()));
+        assertEquals("otra", store.find("clave").fingerprint());
+
+        clock.advance(Duration.ofMinutes(11));
+        assertEquals(1, store.purgeExpired());
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from idempotency_keys", Integer.class));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package net.miPrimerCRUD.app.CRUD.jobs;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.miPrimerCRUD.app.CRUD.entities.Product;
+import net.miPrimerCRUD.app.CRUD.entities.User;
+import net.miPrimerCRUD.app.CRUD.repositories.ProductRepository;
+import net.miPrimerCRUD.app.CRUD.repositories.UserRepository;
+import net.miPrimerCRUD.app.CRUD.security.CredentialCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Escrituras con "Prefer: respond-async": 202, trabajo en segundo plano y consulta en GET /api/jobs/{id}.
+// Bloques de 2 productos para que la baja de un usuario recorra varios
+@SpringBootTest(properties = "app.users.delete-chunk-size=2")
+@AutoConfigureMockMvc
+class AsyncJobsTest {
+
+    private static final String PASSWORD = "password123";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private CredentialCache credentialCache;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        createUser("Admin", "admin@email.com", "ADMIN");
+        createUser("Otro", "other@email.com", "USER");
+        owner = createUser("Usuario", "owner@email.com", "USER");
+    }
+
+    @AfterEach
+    void tearDown() {
+        credentialCache.invalidateAll();
+        productRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private void createProducts(User user, int count) {
+        for (int i = 0; i < count; i++) {
+            Product product = new Product();
+            product.setName("Producto " + i);
+            product.setPrice(10.0);
+            product.setUser(user);
+            productRepository.save(product);
+        }
+    }
+
+    private User createUser(String name, String email, String role) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        user.setPassword(passwordEncoder.encode(PASSWORD));
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+
+    // Consulta el trabajo hasta que termina (o 10 segundos)
+    private JsonNode awaitJob(String location, String email) throws Exception {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (true) {
+            String body = mockMvc.perform(get(location).with(httpBasic(email, PASSWORD)))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode job = objectMapper.readTree(body);
+            String status = job.get("status").asText();
+            if (status.equals("SUCCEEDED") || status.equals("FAILED") || System.nanoTime() > deadline) {
+                return job;
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    @Test
+    void testDeleteUser_RespondAsync_DeletesUserAndProductsInBackground() throws Exception {
+        // Arrange
+        createProducts(owner, 3);
+
+        // Act
+        String location = mockMvc.perform(delete("/api/users/" + owner.getId()).with(httpBasic("admin@email.com", PASSWORD))
+                        .header(AsyncRequests.PREFER_HEADER, "respond-async"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(AsyncRequests.PREFERENCE_APPLIED_HEADER, "respond-async"))
+                .andExpect(jsonPath("$.type").value("user-delete"))
+                .andReturn().getResponse().getHeader("Location");
+
+        // Assert
+        JsonNode job = awaitJob(location, "admin@email.com");
+        assertEquals("SUCCEEDED", job.get("status").asText(), job.toString());
+        assertEquals(3, job.get("processed").asLong());
+        assertFalse(userRepository.existsById(owner.getId()));
+        assertEquals(0, productRepository.count());
+    }
+
+    @Test
+    void testDeleteUser_WithoutPreferAndSeveralChunks_DeletedSynchronouslyWithinQueryBudget() throws Exception {
+        // Arrange: 5 productos son 3 bloques
+        createProducts(owner, 5);
+
+        // Act & Assert: sin "Prefer" la baja es síncrona aunque no quepa en un bloque; en los tests, superar el
+        // @QueryBudget (ampliado por bloque) hace fallar la petición
+        mockMvc.perform(delete("/api/users/" + owner.getId()).with(httpBasic("admin@email.com", PASSWORD)))
+                .andExpect(status().isNoContent());
+        assertFalse(userRepository.existsById(owner.getId()));
+        assertEquals(0, productRepository.count());
+    }
+
+    @Test
+    void testDeleteUser_RespondAsyncUnknownUser_Returns404WithoutJob() throws Exception {
+        // Act & Assert: el acceso se comprueba antes de encolar
+        mockMvc.perform(delete("/api/users/999999").with(httpBasic("admin@email.com", PASSWORD))
+                        .header(AsyncRequests.PREFER_HEADER, "respond-async"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testBatchCreate_RespondAsync_ResultAvailableInJob() throws Exception {
+        // Arrange
+        String body = "[{\"name\":\"Teclado\",\"price\":10.0},{\"name\":\"Ratón\",\"price\":5.0}]";
+
+        // Act
+        String location = mockMvc.perform(post("/api/products/batch").with(httpBasic("owner@email.com", PASSWORD))
+                        .header(AsyncRequests.PREFER_HEADER, "respond-async, wait=1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getHeader("Location");
+
+        // Assert
+        JsonNode job = awaitJob(location, "owner@email.com");
+        assertEquals("SUCCEEDED", job.get("status").asText(), job.toString());
+        assertEquals(2, job.get("result").get("succeeded").asInt());
+        assertEquals(2, productRepository.count());
+
+        // El trabajo de otro usuario se ve como inexistente
+        mockMvc.perform(get(location).with(httpBasic("other@email.com", PASSWORD)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testJob_OwnerChangesEmail_StillSeesOwnJob() throws Exception {
+        // Arrange
+        String location = mockMvc.perform(post("/api/products/batch").with(httpBasic("owner@email.com", PASSWORD))
+                        .header(AsyncRequests.PREFER_HEADER, "respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\":\"Teclado\",\"price\":10.0}]"))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getHeader("Location");
+
+        // Act: el trabajo se asocia al id del usuario, no a su email
+        mockMvc.perform(put("/api/users/" + owner.getId()).with(httpBasic("owner@email.com", PASSWORD))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Usuario\",\"email\":\"renamed@email.com\",\"password\":\"" + PASSWORD + "\"}"))
+                .andExpect(status().isOk());
+
+        // Assert
+        JsonNode job = awaitJob(location, "renamed@email.com");
+        assertEquals("SUCCEEDED", job.get("status").asText(), job.toString());
+    }
+
+    @Test
+    void testBatchCreate_RespondAsyncEmptyBatch_Returns400() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/products/batch").with(httpBasic("owner@email.com", PASSWORD))
+                        .header(AsyncRequests.PREFER_HEADER, "respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testIsRequested_ParsesPreferHeader() {
+        assertTrue(AsyncRequests.isRequested("respond-async"));
+        assertTrue(AsyncRequests.isRequested("return=minimal, Respond-Async; x=1"));
+        assertFalse(AsyncRequests.isRequested("return=minimal"));
+        assertFalse(AsyncRequests.isRequested(null));
+    }
+}
@@ -0,0 +1,81 @@
+package net.miPrimerCRUD.app.CRUD.monitoring;
+
+import net.miPrimerCRUD.app.CRUD.entities.User;
+import net.miPrimerCRUD.app.CRUD.repositories.UserRepository;
+import net.miPrimerCRUD.app.CRUD.security.CredentialCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Los tests desactivan la exportación de métricas por defecto: @AutoConfigureObservability activa el registro Prometheus
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class PrometheusMetricsTest {
+
+    private static final String EMAIL = "metrics@email.com";
+    private static final String PASSWORD = "password123";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private CredentialCache credentialCache;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setName("Metrics");
+        user.setEmail(EMAIL);
+        user.setPassword(passwordEncoder.encode(PASSWORD));
+        user.setRole("USER");
+        userRepository.save(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        credentialCache.invalidateAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testPrometheusEndpoint_ExposesEndpointRepositoryAndBCryptTimers() throws Exception {
+        // Arrange
+        mockMvc.perform(get("/api/users/me").with(httpBasic(EMAIL, PASSWORD)))
+                .andExpect(status().isOk());
+
+        // Act & Assert
+        mockMvc.perform(get("/actuator/prometheus").with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{")))
+                .andExpect(content().string(containsString("uri=\"/api/users/me\"")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_count{")))
+                .andExpect(content().string(containsString("repository=\"UserRepository\"")))
+                .andExpect(content().string(containsString("app_password_encoder_seconds_count{")))
+                .andExpect(content().string(containsString("operation=\"matches\",outcome=\"match\"")));
+    }
+
+    @Test
+    void testPrometheusEndpoint_AsUser_Forbidden() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus").with(user("user").roles("USER")))
+                .andExpect(status().isForbidden());
+    }
+}
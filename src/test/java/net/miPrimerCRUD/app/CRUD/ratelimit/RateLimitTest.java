@@ -0,0 +1,132 @@
+package net.miPrimerCRUD.app.CRUD.ratelimit;
+
+import net.miPrimerCRUD.app.CRUD.entities.User;
+import net.miPrimerCRUD.app.CRUD.repositories.UserRepository;
+import net.miPrimerCRUD.app.CRUD.security.CredentialCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Límites con la aplicación completa: registro anónimo por IP y el resto de /api por usuario
+@SpringBootTest(properties = {
+        "app.ratelimit.enabled=true",
+        "app.ratelimit.rules=POST /api/users=2/1h,/api/**=3/1h",
+        "app.ratelimit.auth-failures=/api/**=2/1h"
+})
+@AutoConfigureMockMvc
+class RateLimitTest {
+
+    private static final String PASSWORD = "password123";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private CredentialCache credentialCache;
+
+    @AfterEach
+    void tearDown() {
+        credentialCache.invalidateAll();
+        userRepository.deleteAll();
+    }
+
+    private String registration(String email) {
+        return "{\"name\":\"Nuevo\",\"email\":\"" + email + "\",\"password\":\"secreto123\"}";
+    }
+
+    @Test
+    void testRegister_OverLimitFromSameIp_Returns429WithRetryAfter() throws Exception {
+        // Arrange
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/users").with(request -> { request.setRemoteAddr("10.0.0.1"); return request; })
+                            .contentType(MediaType.APPLICATION_JSON).content(registration("nuevo" + i + "@email.com")))
+                    .andExpect(status().is2xxSuccessful())
+                    .andExpect(header().string(RateLimitFilter.LIMIT_HEADER, "2"));
+        }
+
+        // Act & Assert: la tercera alta no llega a cifrar la contraseña; otra IP sigue pudiendo registrarse
+        mockMvc.perform(post("/api/users").with(request -> { request.setRemoteAddr("10.0.0.1"); return request; })
+                        .contentType(MediaType.APPLICATION_JSON).content(registration("nuevo2@email.com")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                .andExpect(header().string(RateLimitFilter.REMAINING_HEADER, "0"));
+        mockMvc.perform(post("/api/users").with(request -> { request.setRemoteAddr("10.0.0.2"); return request; })
+                        .contentType(MediaType.APPLICATION_JSON).content(registration("nuevo3@email.com")))
+                .andExpect(status().is2xxSuccessful());
+        assertEquals(3, userRepository.count());
+    }
+
+    @Test
+    void testAuthenticatedRequests_CountedPerUser() throws Exception {
+        // Arrange
+        for (String email : new String[]{"a@email.com", "b@email.com"}) {
+            User user = new User();
+            user.setName("Usuario");
+            user.setEmail(email);
+            user.setPassword(passwordEncoder.encode(PASSWORD));
+            user.setRole("USER");
+            userRepository.save(user);
+        }
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/users/me").with(httpBasic("a@email.com", PASSWORD)))
+                    .andExpect(status().isOk());
+        }
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users/me").with(httpBasic("a@email.com", PASSWORD)))
+                .andExpect(status().isTooManyRequests());
+        mockMvc.perform(get("/api/users/me").with(httpBasic("b@email.com", PASSWORD)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(RateLimitFilter.REMAINING_HEADER, "2"));
+    }
+
+    @Test
+    void testBadBasicCredentials_OverLimitFromSameIp_Returns429BeforeAuthenticating() throws Exception {
+        // Arrange
+        User user = new User();
+        user.setName("Usuario");
+        user.setEmail("c@email.com");
+        user.setPassword(passwordEncoder.encode(PASSWORD));
+        user.setRole("USER");
+        userRepository.save(user);
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/users/me").with(httpBasic("c@email.com", "incorrecta" + i))
+                            .with(request -> { request.setRemoteAddr("10.0.0.3"); return request; }))
+                    .andExpect(status().isUnauthorized());
+        }
+
+        // Act & Assert: desde esa IP ya no se comprueba ninguna contraseña, ni siquiera la correcta; otra IP sí entra
+        mockMvc.perform(get("/api/users/me").with(httpBasic("c@email.com", "incorrecta"))
+                        .with(request -> { request.setRemoteAddr("10.0.0.3"); return request; }))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+        mockMvc.perform(get("/api/users/me").with(httpBasic("c@email.com", PASSWORD))
+                        .with(request -> { request.setRemoteAddr("10.0.0.3"); return request; }))
+                .andExpect(status().isTooManyRequests());
+        mockMvc.perform(post("/api/auth/login").with(request -> { request.setRemoteAddr("10.0.0.3"); return request; })
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"c@email.com\",\"password\":\"" + PASSWORD + "\"}"))
+                .andExpect(status().isTooManyRequests());
+        mockMvc.perform(get("/api/users/me").with(httpBasic("c@email.com", PASSWORD))
+                        .with(request -> { request.setRemoteAddr("10.0.0.4"); return request; }))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,144 @@
+package net.miPrimerCRUD.app.CRUD.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    private RateLimiter limiter(String... rules) {
+        return new RateLimiter(List.of(rules).stream().map(RateLimitRule::parse).toList(), 1000, now::get);
+    }
+
+    @Test
+    void testParse_WithAndWithoutMethod() {
+        // Act
+        RateLimitRule register = RateLimitRule.parse("post /api/users=5/1m");
+        RateLimitRule all = RateLimitRule.parse("/api/**=100/1s");
+
+        // Assert
+        assertEquals("POST", register.method());
+        assertEquals(5, register.capacity());
+        assertEquals(Duration.ofMinutes(1), register.period());
+        assertTrue(register.matches("POST", "/api/users"));
+        assertFalse(register.matches("GET", "/api/users"));
+        assertNull(all.method());
+        assertTrue(all.matches("DELETE", "/api/products/7"));
+        assertThrows(IllegalArgumentException.class, () -> RateLimitRule.parse("/api/users"));
+        assertThrows(IllegalArgumentException.class, () -> RateLimitRule.parse("/api/users=0/1s"));
+    }
+
+    @Test
+    void testMatch_FirstMatchingRuleWins() {
+        // Arrange
+        RateLimiter limiter = limiter("POST /api/users=5/1m", "/api/**=100/1s");
+
+        // Act & Assert
+        assertEquals(5, limiter.match("POST", "/api/users").capacity());
+        assertEquals(100, limiter.match("GET", "/api/users/me").capacity());
+        assertNull(limiter.match("GET", "/actuator/health"));
+    }
+
+    @Test
+    void testTryAcquire_BurstThenRefillOneTokenPerInterval() {
+        // Arrange: 3 peticiones por segundo, un token cada 333 ms
+        RateLimiter limiter = limiter("/api/**=3/1s");
+        RateLimitRule rule = limiter.match("GET", "/api/products");
+
+        // Act & Assert
+        assertEquals(2, limiter.tryAcquire(rule, "a").remaining());
+        assertEquals(1, limiter.tryAcquire(rule, "a").remaining());
+        assertEquals(0, limiter.tryAcquire(rule, "a").remaining());
+        TokenBucket.Decision rejected = limiter.tryAcquire(rule, "a");
+        assertFalse(rejected.allowed());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(1000) / 3, rejected.retryAfterNanos());
+        assertTrue(limiter.tryAcquire(rule, "b").allowed());
+
+        now.addAndGet(rejected.retryAfterNanos());
+        assertTrue(limiter.tryAcquire(rule, "a").allowed());
+        assertFalse(limiter.tryAcquire(rule, "a").allowed());
+
+        // Sin uso durante mucho tiempo no se acumulan más tokens que la capacidad
+        now.addAndGet(TimeUnit.MINUTES.toNanos(5));
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire(rule, "a").allowed());
+        }
+        assertFalse(limiter.tryAcquire(rule, "a").allowed());
+    }
+
+    @Test
+    void testTrackedKeys_IdleBucketsEvictedAfterLongestPeriod() {
+        // Arrange
+        RateLimiter limiter = limiter("POST /api/users=1/1m", "/api/**=10/1s");
+        limiter.tryAcquire(limiter.match("POST", "/api/users"), "ip:10.0.0.1");
+        limiter.tryAcquire(limiter.match("GET", "/api/products"), "user:a@email.com");
+        assertEquals(2, limiter.trackedKeys());
+
+        // Act
+        now.addAndGet(TimeUnit.MINUTES.toNanos(1) + 1);
+        limiter.tryAcquire(limiter.match("GET", "/api/products"), "user:b@email.com");
+
+        // Assert: el alta rechazada de antes vuelve a estar permitida porque el bucket se eliminó lleno
+        assertTrue(limiter.tryAcquire(limiter.match("POST", "/api/users"), "ip:10.0.0.1").allowed());
+    }
+
+    @Test
+    void testTryAcquire_ConcurrentClients_GrantExactlyCapacity() throws Exception {
+        // Arrange: sin avanzar el reloj, 8 hilos compiten por 100 tokens del mismo cliente
+        RateLimiter limiter = limiter("/api/**=100/1h");
+        RateLimitRule rule = limiter.match("GET", "/api/products");
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Act
+        try {
+            for (int t = 0; t < 8; t++) {
+                executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 50; i++) {
+                        if (limiter.tryAcquire(rule, "mismo").allowed()) {
+                            granted.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert
+        assertEquals(100, granted.get());
+    }
+
+    @Test
+    void testPeek_DoesNotConsumeTokens() {
+        // Arrange
+        RateLimiter limiter = limiter("/api/**=2/1m");
+        RateLimitRule rule = limiter.match("GET", "/api/users/me");
+
+        // Act & Assert
+        assertEquals(2, limiter.peek(rule, "a").remaining());
+        assertEquals(2, limiter.peek(rule, "a").remaining());
+        limiter.tryAcquire(rule, "a");
+        limiter.tryAcquire(rule, "a");
+        assertFalse(limiter.peek(rule, "a").allowed());
+        now.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        assertEquals(1, limiter.peek(rule, "a").remaining());
+    }
+}
@@ -0,0 +1,220 @@
+package net.miPrimerCRUD.app.CRUD.reactive.controllers;
+
+import net.miPrimerCRUD.app.CRUD.DTO.ProductDTO;
+import net.miPrimerCRUD.app.CRUD.pagination.KeysetLinks;
+import net.miPrimerCRUD.app.CRUD.reactive.ReactiveCrudApplication;
+import net.miPrimerCRUD.app.CRUD.security.AuthenticatedUser;
+import net.miPrimerCRUD.app.CRUD.security.TokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Extremo a extremo contra H2 por R2DBC: WebFlux, seguridad, servicios y SQL reales
+@SpringBootTest(classes = ReactiveCrudApplication.class, properties = "spring.main.web-application-type=reactive")
+@AutoConfigureWebTestClient
+@ActiveProfiles(ReactiveCrudApplication.PROFILE)
+class ReactiveProductControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private TokenService tokenService;
+
+    private String ownerToken;
+    private String otherToken;
+    private String adminToken;
+
+    @BeforeEach
+    void setUp() {
+        databaseClient.sql("DELETE FROM products").then()
+                .then(databaseClient.sql("DELETE FROM users").then())
+                .then(databaseClient.sql("INSERT INTO users (id, name, email, password, role) VALUES "
+                        + "(1, 'Owner', 'owner@email.com', 'x', 'USER'), "
+                        + "(2, 'Other', 'other@email.com', 'x', 'USER'), "
+                        + "(3, 'Admin', 'admin@email.com', 'x', 'ADMIN')").then())
+                .then(databaseClient.sql("INSERT INTO products (id, name, price, user_id) VALUES "
+                        + "(1, 'Producto 1', 10.0, 1), (2, 'Producto 2', 20.0, 1), (3, 'Producto 3', 30.0, 2)").then())
+                // Los productos nuevos deben recibir IDs por encima de los sembrados
+                .then(databaseClient.sql("ALTER SEQUENCE products_seq RESTART WITH 1000").then())
+                .block();
+
+        ownerToken = tokenService.issue(new AuthenticatedUser(1L, "owner@email.com", null, "USER"));
+        otherToken = tokenService.issue(new AuthenticatedUser(2L, "other@email.com", null, "USER"));
+        adminToken = tokenService.issue(new AuthenticatedUser(3L, "admin@email.com", null, "ADMIN"));
+    }
+
+    @Test
+    void testGetProduct_AsOwner_Success() {
+        // Act & Assert
+        webTestClient.get().uri("/api/products/1")
+                .headers(h -> h.setBearerAuth(ownerToken))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Producto 1")
+                .jsonPath("$.userId").isEqualTo(1)
+                .jsonPath("$.userName").isEqualTo("Owner");
+    }
+
+    @Test
+    void testGetProduct_AsOtherUser_Forbidden() {
+        // Act & Assert
+        webTestClient.get().uri("/api/products/1")
+                .headers(h -> h.setBearerAuth(otherToken))
+                .exchange()
+                .expectStatus().isForbidden()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("No tienes permiso para acceder a este producto");
+    }
+
+    @Test
+    void testGetProduct_NotFound() {
+        // Act & Assert
+        webTestClient.get().uri("/api/products/999")
+                .headers(h -> h.setBearerAuth(adminToken))
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void testGetProduct_WithoutAuth_Unauthorized() {
+        // Act & Assert
+        webTestClient.get().uri("/api/products/1")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void testCreateProduct_AssignsCurrentUserAndSequenceId() {
+        // Act
+        ProductDTO created = webTestClient.post().uri("/api/products")
+                .headers(h -> h.setBearerAuth(otherToken))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("name", "Nuevo", "price", 5.0))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ProductDTO.class)
+                .returnResult().getResponseBody();
+
+        // Assert
+        assertNotNull(created.getId());
+        assertEquals(2L, created.getUserId());
+        assertEquals("Other", created.getUserName());
+    }
+
+    @Test
+    void testCreateProduct_ForOtherUserAsUser_Forbidden() {
+        // Act & Assert
+        webTestClient.post().uri("/api/products")
+                .headers(h -> h.setBearerAuth(otherToken))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("name", "Nuevo", "price", 5.0, "userId", 1))
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+
+    @Test
+    void testCreateProduct_InvalidBody_BadRequest() {
+        // Act & Assert
+        webTestClient.post().uri("/api/products")
+                .headers(h -> h.setBearerAuth(ownerToken))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("name", "", "price", -1.0))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errors.price").isEqualTo("El precio no puede ser negativo");
+    }
+
+    @Test
+    void testUpdateAndDeleteProduct_OnlyOwner() {
+        // Act & Assert
+        webTestClient.put().uri("/api/products/3")
+                .headers(h -> h.setBearerAuth(ownerToken))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("name", "Ajeno", "price", 1.0))
+                .exchange()
+                .expectStatus().isForbidden();
+        webTestClient.put().uri("/api/products/1")
+                .headers(h -> h.setBearerAuth(ownerToken))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("name", "Editado", "price", 11.0))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Editado")
+                .jsonPath("$.userId").isEqualTo(1);
+        webTestClient.delete().uri("/api/products/1")
+                .headers(h -> h.setBearerAuth(ownerToken))
+                .exchange()
+                .expectStatus().isNoContent();
+        webTestClient.get().uri("/api/products/1")
+                .headers(h -> h.setBearerAuth(ownerToken))
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void testMyProducts_ReturnsOnlyOwnProducts() {
+        // Act & Assert
+        webTestClient.get().uri("/api/products/my-products?size=1&page=1")
+                .headers(h -> h.setBearerAuth(ownerToken))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo(2);
+    }
+
+    @Test
+    void testGetAllProducts_AsAdmin_KeysetPage() {
+        // Act & Assert
+        webTestClient.get().uri("/api/products?limit=2")
+                .headers(h -> h.setBearerAuth(adminToken))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(KeysetLinks.NEXT_CURSOR_HEADER)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2);
+        webTestClient.get().uri("/api/products")
+                .headers(h -> h.setBearerAuth(ownerToken))
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+
+    @Test
+    void testExportProducts_StreamsNdjsonWithBackpressure() {
+        // Act
+        Flux<ProductDTO> body = webTestClient.get().uri("/api/products/export")
+                .headers(h -> h.setBearerAuth(adminToken))
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(ProductDTO.class)
+                .getResponseBody();
+
+        // Assert: se piden los elementos de uno en uno
+        StepVerifier.create(body.map(ProductDTO::getId), 1)
+                .expectNext(1L)
+                .thenRequest(2)
+                .expectNextSequence(List.of(2L, 3L))
+                .verifyComplete();
+    }
+}
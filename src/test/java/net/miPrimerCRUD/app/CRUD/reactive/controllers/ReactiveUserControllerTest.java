@@ -0,0 +1,161 @@
+package net.miPrimerCRUD.app.CRUD.reactive.controllers;
+
+import net.miPrimerCRUD.app.CRUD.reactive.ReactiveCrudApplication;
+import net.miPrimerCRUD.app.CRUD.security.AuthenticatedUser;
+import net.miPrimerCRUD.app.CRUD.security.TokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = ReactiveCrudApplication.class, properties = "spring.main.web-application-type=reactive")
+@AutoConfigureWebTestClient
+@ActiveProfiles(ReactiveCrudApplication.PROFILE)
+class ReactiveUserControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private String userToken;
+    private String adminToken;
+
+    @BeforeEach
+    void setUp() {
+        databaseClient.sql("DELETE FROM products").then()
+                .then(databaseClient.sql("DELETE FROM users").then())
+                .then(databaseClient.sql("INSERT INTO users (id, name, email, password, role) VALUES "
+                        + "(1, 'User', 'user@email.com', 'x', 'USER'), "
+                        + "(2, 'Admin', 'admin@email.com', 'x', 'ADMIN')").then())
+                .then(databaseClient.sql("INSERT INTO products (id, name, price, user_id) VALUES (1, 'Producto', 10.0, 1)").then())
+                .block();
+
+        userToken = tokenService.issue(new AuthenticatedUser(1L, "user@email.com", null, "USER"));
+        adminToken = tokenService.issue(new AuthenticatedUser(2L, "admin@email.com", null, "ADMIN"));
+    }
+
+    @Test
+    void testCreateUser_HashesPasswordAndAllowsBasicLogin() {
+        // Act
+        webTestClient.post().uri("/api/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("name", "Nuevo", "email", "nuevo@email.com", "password", "password123"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.email").isEqualTo("nuevo@email.com")
+                .jsonPath("$.role").isEqualTo("USER")
+                .jsonPath("$.password").doesNotExist();
+
+        // Assert
+        String hash = databaseClient.sql("SELECT password FROM users WHERE email = 'nuevo@email.com'")
+                .map(row -> row.get("password", String.class)).one().block();
+        assertTrue(passwordEncoder.matches("password123", hash));
+        webTestClient.get().uri("/api/users/me")
+                .headers(h -> h.setBasicAuth("nuevo@email.com", "password123"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Nuevo");
+        webTestClient.get().uri("/api/users/me")
+                .headers(h -> h.setBasicAuth("nuevo@email.com", "incorrecta"))
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void testLogin_ReturnsBearerToken() {
+        // Arrange
+        databaseClient.sql("UPDATE users SET password = :hash WHERE id = 1")
+                .bind("hash", passwordEncoder.encode("password123")).then().block();
+
+        // Act & Assert
+        webTestClient.post().uri("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("email", "user@email.com", "password", "password123"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.tokenType").isEqualTo("Bearer")
+                .jsonPath("$.token").isNotEmpty();
+    }
+
+    @Test
+    void testGetUser_OtherUserForbidden_AdminAllowed() {
+        // Act & Assert
+        webTestClient.get().uri("/api/users/2")
+                .headers(h -> h.setBearerAuth(userToken))
+                .exchange()
+                .expectStatus().isForbidden();
+        webTestClient.get().uri("/api/users/1")
+                .headers(h -> h.setBearerAuth(adminToken))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.email").isEqualTo("user@email.com");
+    }
+
+    @Test
+    void testUpdateUser_KeepsPasswordWhenEmpty() {
+        // Act & Assert
+        webTestClient.put().uri("/api/users/1")
+                .headers(h -> h.setBearerAuth(userToken))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("name", "Editado", "email", "user@email.com", "password", "nueva123"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Editado");
+
+        String hash = databaseClient.sql("SELECT password FROM users WHERE id = 1")
+                .map(row -> row.get("password", String.class)).one().block();
+        assertTrue(passwordEncoder.matches("nueva123", hash));
+    }
+
+    @Test
+    void testDeleteUser_AsAdmin_RemovesUserAndProducts() {
+        // Act & Assert
+        webTestClient.delete().uri("/api/users/1")
+                .headers(h -> h.setBearerAuth(userToken))
+                .exchange()
+                .expectStatus().isForbidden();
+        webTestClient.delete().uri("/api/users/1")
+                .headers(h -> h.setBearerAuth(adminToken))
+                .exchange()
+                .expectStatus().isNoContent();
+
+        Long products = databaseClient.sql("SELECT COUNT(*) AS total FROM products WHERE user_id = 1")
+                .map(row -> row.get("total", Long.class)).one().block();
+        assertEquals(0L, products);
+    }
+
+    @Test
+    void testGetAllUsers_AsAdmin_Success() {
+        // Act & Assert
+        webTestClient.get().uri("/api/users?limit=1")
+                .headers(h -> h.setBearerAuth(adminToken))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueMatches("Link", ".*after=.*rel=\"next\"")
+                .expectBody()
+                .jsonPath("$[0].id").isEqualTo(1);
+    }
+}
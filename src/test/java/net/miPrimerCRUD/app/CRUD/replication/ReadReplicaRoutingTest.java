@@ -0,0 +1,148 @@
+package net.miPrimerCRUD.app.CRUD.replication;
+
+import net.miPrimerCRUD.app.CRUD.entities.User;
+import net.miPrimerCRUD.app.CRUD.repositories.UserRepository;
+import net.miPrimerCRUD.app.CRUD.security.CredentialCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Principal y dos réplicas en H2 embebido. Cada base tiene un número distinto de usuarios para saber de cuál se leyó
+@SpringBootTest(properties = {
+        "app.datasource.replicas.urls=" + ReadReplicaRoutingTest.REPLICA_1 + "," + ReadReplicaRoutingTest.REPLICA_2,
+        "app.datasource.replicas.strategy=ROUND_ROBIN"
+})
+@AutoConfigureMockMvc
+class ReadReplicaRoutingTest {
+
+    // Mismo esquema que genera Hibernate en la principal
+    static final String REPLICA_1 = "jdbc:h2:mem:replica1;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;"
+            + "INIT=RUNSCRIPT FROM 'classpath:reactive-schema.sql'";
+    static final String REPLICA_2 = "jdbc:h2:mem:replica2;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;"
+            + "INIT=RUNSCRIPT FROM 'classpath:reactive-schema.sql'";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private CredentialCache credentialCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        seedReplica(REPLICA_1, 1);
+        seedReplica(REPLICA_2, 2);
+        for (int i = 0; i < 3; i++) {
+            userRepository.save(user("primary" + i + "@email.com"));
+        }
+
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        credentialCache.invalidateAll();
+        userRepository.deleteAll();
+    }
+
+    private User user(String email) {
+        User user = new User();
+        user.setName("Usuario");
+        user.setEmail(email);
+        user.setPassword(passwordEncoder.encode("password123"));
+        user.setRole("USER");
+        return user;
+    }
+
+    private void seedReplica(String url, int users) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+        jdbcTemplate.update("DELETE FROM products");
+        jdbcTemplate.update("DELETE FROM users");
+        for (int i = 0; i < users; i++) {
+            jdbcTemplate.update("INSERT INTO users (name, email, password, role) VALUES (?, ?, ?, 'USER')",
+                    "Réplica", "replica" + i + "@email.com", "x");
+        }
+    }
+
+    @Test
+    void testReadOnlyTransactions_RoundRobinAcrossReplicas() {
+        // Act
+        Set<Long> counts = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            counts.add(readOnly.execute(status -> userRepository.count()));
+        }
+
+        // Assert
+        assertEquals(Set.of(1L, 2L), counts);
+    }
+
+    @Test
+    void testRepositoryReadWithoutTransaction_GoesToReplica() {
+        // Act (los métodos de lectura de Spring Data son @Transactional(readOnly = true))
+        long count = userRepository.count();
+
+        // Assert
+        assertTrue(count == 1 || count == 2, "count=" + count);
+    }
+
+    @Test
+    void testWriteTransaction_UsesPrimary() {
+        // Act
+        long count = readWrite.execute(status -> userRepository.count());
+
+        // Assert
+        assertEquals(3, count);
+    }
+
+    @Test
+    void testPrimaryPin_ReadOnlyTransactionUsesPrimary() {
+        // Act
+        long count = PrimaryPin.call(() -> readOnly.execute(status -> userRepository.count()));
+
+        // Assert
+        assertEquals(3, count);
+        assertFalse(PrimaryPin.isActive());
+    }
+
+    @Test
+    void testLogin_UserOnlyOnPrimary_AuthenticationIsPinned() throws Exception {
+        // Arrange: recién registrado, todavía no ha llegado a las réplicas
+        userRepository.save(user("nuevo@email.com"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"nuevo@email.com\",\"password\":\"password123\"}"))
+                .andExpect(status().isOk());
+    }
+}
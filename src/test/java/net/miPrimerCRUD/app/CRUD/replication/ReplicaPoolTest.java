@@ -0,0 +1,95 @@
+package net.miPrimerCRUD.app.CRUD.replication;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaPoolTest {
+
+    private static final String GOOD_1 = "jdbc:h2:mem:pool-replica1;DB_CLOSE_DELAY=-1";
+    private static final String GOOD_2 = "jdbc:h2:mem:pool-replica2;DB_CLOSE_DELAY=-1";
+    // Nadie escucha en el puerto 1: la conexión se rechaza enseguida
+    private static final String DOWN = "jdbc:h2:tcp://localhost:1/nada";
+    private static final String PRIMARY = "jdbc:h2:mem:pool-primary;DB_CLOSE_DELAY=-1";
+
+    private ReplicaPool pool;
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    private ReplicaPool pool(ReplicaPool.Strategy strategy, String... urls) {
+        // Comprobación periódica muy espaciada: el test la lanza a mano con checkHealth()
+        return new ReplicaPool(List.of(urls), "sa", "", 2, Duration.ofMillis(250), strategy, Duration.ofHours(1));
+    }
+
+    private String databaseOf(Connection connection) throws Exception {
+        return connection.getMetaData().getURL();
+    }
+
+    @Test
+    void testHealthCheck_RemovesUnreachableReplica() {
+        // Arrange
+        pool = pool(ReplicaPool.Strategy.ROUND_ROBIN, GOOD_1, DOWN);
+
+        // Act
+        pool.checkHealth();
+
+        // Assert
+        assertEquals(List.of("replica-1"), pool.getHealthyReplicas());
+        for (int i = 0; i < 4; i++) {
+            assertEquals("replica-1", pool.select().name());
+        }
+    }
+
+    @Test
+    void testLeastConnections_PrefersIdleReplica() throws Exception {
+        // Arrange
+        pool = pool(ReplicaPool.Strategy.LEAST_CONNECTIONS, GOOD_1, GOOD_2);
+
+        // Act & Assert
+        try (Connection busy = pool.select().dataSource().getConnection()) {
+            assertTrue(databaseOf(busy).contains("pool-replica1"));
+            assertEquals("replica-2", pool.select().name());
+        }
+    }
+
+    @Test
+    void testRouting_FailedReplicaMarkedDown_FallsBackToPrimary() throws Exception {
+        // Arrange
+        pool = pool(ReplicaPool.Strategy.ROUND_ROBIN, DOWN);
+        ReadOnlyRoutingDataSource routing = new ReadOnlyRoutingDataSource(pool, new DriverManagerDataSource(PRIMARY, "sa", ""));
+
+        // Act
+        try (Connection connection = routing.getConnection()) {
+            // Assert
+            assertTrue(databaseOf(connection).contains("pool-primary"));
+        }
+        assertTrue(pool.getHealthyReplicas().isEmpty());
+    }
+
+    @Test
+    void testRouting_ExhaustedReplicaPool_FallsBackWithoutMarkingDown() throws Exception {
+        // Arrange: las 2 conexiones del pool de la réplica en uso
+        pool = pool(ReplicaPool.Strategy.ROUND_ROBIN, GOOD_1);
+        ReadOnlyRoutingDataSource routing = new ReadOnlyRoutingDataSource(pool, new DriverManagerDataSource(PRIMARY, "sa", ""));
+        try (Connection first = pool.select().dataSource().getConnection();
+             Connection second = pool.select().dataSource().getConnection()) {
+
+            // Act
+            try (Connection connection = routing.getConnection()) {
+                // Assert: esta lectura va a la principal, pero la réplica sigue en la rotación
+                assertTrue(databaseOf(connection).contains("pool-primary"));
+            }
+            pool.checkHealth();
+            assertEquals(List.of("replica-1"), pool.getHealthyReplicas());
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package net.miPrimerCRUD.app.CRUD.repositories;
+
+import net.miPrimerCRUD.app.CRUD.DTO.ProductDTO;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test de carga: la latencia de "mis productos" no debe crecer con el tamaño del catálogo.
+ * Se ejecuta con: mvn test -Pload-tests
+ * Tamaños configurables con -Dload.catalogSizes=10000,100000,300000
+ */
+@Tag("load")
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductRepositoryLoadTest {
+
+    private static final long OWNER_ID = 1L;
+    private static final int OWNER_PRODUCTS = 20;
+    private static final int OTHER_USERS = 100;
+    private static final int ITERATIONS = 200;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testFindByUserId_LatencyStaysFlatAsCatalogGrows() {
+        int[] catalogSizes = Arrays.stream(System.getProperty("load.catalogSizes", "10000,100000,300000").split(","))
+                .mapToInt(size -> Integer.parseInt(size.trim()))
+                .sorted()
+                .toArray();
+
+        seedUsers();
+        PageRequest page = PageRequest.of(0, OWNER_PRODUCTS);
+
+        List<Double> medians = new ArrayList<>();
+        int seeded = 0;
+        for (int catalogSize : catalogSizes) {
+            seedProducts(seeded, catalogSize);
+            seeded = catalogSize;
+
+            // Calentamiento
+            for (int i = 0; i < ITERATIONS; i++) {
+                productRepository.findDTOsByUserId(OWNER_ID, page);
+            }
+
+            long[] samples = new long[ITERATIONS];
+            for (int i = 0; i < ITERATIONS; i++) {
+                long start = System.nanoTime();
+                List<ProductDTO> products = productRepository.findDTOsByUserId(OWNER_ID, page);
+                samples[i] = System.nanoTime() - start;
+                assertEquals(OWNER_PRODUCTS, products.size());
+            }
+            Arrays.sort(samples);
+            double medianMicros = samples[ITERATIONS / 2] / 1_000.0;
+            medians.add(medianMicros);
+            System.out.printf("catalogo=%d productos -> mediana findDTOsByUserId=%.1f us%n", catalogSize, medianMicros);
+        }
+
+        // Con el índice por user_id la mediana no depende del tamaño de la tabla (margen para ruido de CI)
+        double smallest = medians.get(0);
+        double largest = medians.get(medians.size() - 1);
+        assertTrue(largest < smallest * 3 + 500,
+                "La latencia crece con el catálogo: " + smallest + " us -> " + largest + " us");
+    }
+
+    private void seedUsers() {
+        List<Object[]> users = new ArrayList<>();
+        for (long id = OWNER_ID; id <= OTHER_USERS + 1; id++) {
+            users.add(new Object[]{id, "User " + id, "user" + id + "@email.com", "x", "USER"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, name, email, password, role) VALUES (?, ?, ?, ?, ?)", users);
+    }
+
+    private void seedProducts(int from, int to) {
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            // Los primeros OWNER_PRODUCTS productos son del usuario medido; el resto se reparte entre los demás
+            long owner = i < OWNER_PRODUCTS ? OWNER_ID : 2 + (i % OTHER_USERS);
+            batch.add(new Object[]{i + 1L, "Product " + i, (double) (i % 1000), owner});
+            if (batch.size() == 5_000) {
+                insertProducts(batch);
+                batch.clear();
+            }
+        }
+        insertProducts(batch);
+    }
+
+    private void insertProducts(List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("INSERT INTO products (id, name, price, user_id) VALUES (?, ?, ?, ?)", batch);
+    }
+}
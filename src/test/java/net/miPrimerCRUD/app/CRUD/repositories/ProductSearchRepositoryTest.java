@@ -0,0 +1,127 @@
+package net.miPrimerCRUD.app.CRUD.repositories;
+
+import net.miPrimerCRUD.app.CRUD.DTO.ProductDTO;
+import net.miPrimerCRUD.app.CRUD.search.ProductSearchCriteria;
+import net.miPrimerCRUD.app.CRUD.search.ProductSearchCursor;
+import net.miPrimerCRUD.app.CRUD.search.ProductSort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class ProductSearchRepositoryTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO users (id, name, email, password, role, version) VALUES (1, 'Ana', 'ana@email.com', 'x', 'USER', 0)");
+        jdbcTemplate.update("INSERT INTO users (id, name, email, password, role, version) VALUES (2, 'Luis', 'luis@email.com', 'x', 'USER', 0)");
+        insert(1, "Teclado mecánico", 79.99, 1);
+        insert(2, "Teclado compacto", 49.99, 2);
+        insert(3, "Ratón", 19.99, 1);
+        insert(4, "Alfombrilla teclado", 9.99, 2);
+        insert(5, "Monitor", 199.0, 1);
+        insert(6, "100% algodón", 19.99, 1);
+        insert(7, "Funda portátil", 19.99, 2);
+    }
+
+    private void insert(long id, String name, double price, long userId) {
+        jdbcTemplate.update("INSERT INTO products (id, name, price, user_id, version) VALUES (?, ?, ?, ?, 0)",
+                id, name, price, userId);
+    }
+
+    private List<Long> ids(List<ProductDTO> products) {
+        return products.stream().map(ProductDTO::getId).toList();
+    }
+
+    private ProductSearchCriteria criteria(String name, String match, Double min, Double max, Long userId,
+                                           String sort, String direction) {
+        return ProductSearchCriteria.of(name, match, min, max, userId, sort, direction);
+    }
+
+    @Test
+    void testSearch_NamePrefixAndContains() {
+        // Act
+        List<ProductDTO> prefix = productRepository.search(criteria("Teclado", null, null, null, null, null, null), null, 10);
+        List<ProductDTO> contains = productRepository.search(criteria("teclado", "contains", null, null, null, null, null), null, 10);
+
+        // Assert
+        assertEquals(List.of(1L, 2L), ids(prefix));
+        assertEquals(List.of(4L), ids(contains));
+        assertEquals("Ana", prefix.get(0).getUserName());
+    }
+
+    @Test
+    void testSearch_LikeWildcardsAreLiteral() {
+        // Act: "%" no es un comodín, solo coincide con el nombre que lo contiene
+        List<ProductDTO> products = productRepository.search(criteria("100%", null, null, null, null, null, null), null, 10);
+
+        // Assert
+        assertEquals(List.of(6L), ids(products));
+    }
+
+    @Test
+    void testSearch_PriceRangeAndOwner_SortedByPriceDesc() {
+        // Act
+        List<ProductDTO> products = productRepository.search(
+                criteria(null, null, 10.0, 100.0, 1L, "price", "desc"), null, 10);
+
+        // Assert: a igual precio desempata el id (también en orden descendente)
+        assertEquals(List.of(1L, 6L, 3L), ids(products));
+    }
+
+    @Test
+    void testSearch_KeysetPagingByPrice_VisitsEveryRowOnce() {
+        // Arrange
+        ProductSearchCriteria criteria = criteria(null, null, null, null, null, "price", "asc");
+        List<ProductDTO> expected = new ArrayList<>(productRepository.search(criteria, null, 100));
+        expected.sort(Comparator.comparing(ProductDTO::getPrice).thenComparing(ProductDTO::getId));
+
+        // Act: páginas de 2 siguiendo el cursor, con empates de precio entre páginas
+        List<ProductDTO> visited = new ArrayList<>();
+        ProductSearchCursor.Position after = null;
+        List<ProductDTO> page;
+        do {
+            page = productRepository.search(criteria, after, 2);
+            visited.addAll(page);
+            if (!page.isEmpty()) {
+                String cursor = ProductSearchCursor.encode(ProductSort.PRICE, page.get(page.size() - 1));
+                after = ProductSearchCursor.decode(cursor, ProductSort.PRICE);
+            }
+        } while (page.size() == 2);
+
+        // Assert
+        assertEquals(ids(expected), ids(visited));
+        assertEquals(7, visited.size());
+    }
+
+    @Test
+    void testSchema_SearchIndexesAreUsed() {
+        // Act
+        String byName = explain("SELECT id FROM products WHERE name LIKE 'Tecl%' ORDER BY name, id");
+        String byPrice = explain("SELECT id FROM products WHERE price BETWEEN 10 AND 100");
+        String byOwner = explain("SELECT id FROM products WHERE user_id = 1 AND id > 2 ORDER BY id");
+
+        // Assert
+        assertTrue(byName.contains("idx_products_name"), byName);
+        assertTrue(byPrice.contains("idx_products_price"), byPrice);
+        assertTrue(byOwner.contains("idx_products_user_id_id"), byOwner);
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class).toLowerCase();
+    }
+}
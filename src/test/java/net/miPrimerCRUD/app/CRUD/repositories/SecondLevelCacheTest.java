@@ -0,0 +1,174 @@
+package net.miPrimerCRUD.app.CRUD.repositories;
+
+import jakarta.persistence.EntityManagerFactory;
+import net.miPrimerCRUD.app.CRUD.entities.Product;
+import net.miPrimerCRUD.app.CRUD.entities.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SecondLevelCacheTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Statistics statistics;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        // El proveedor JCache es único en la JVM: otros contextos de test dejan entradas (y bloqueos de borrado)
+        // con los mismos ids, y con @Version Hibernate no sobrescribe un bloqueo de la misma versión
+        entityManagerFactory.getCache().evictAll();
+
+        User owner = new User();
+        owner.setName("Owner");
+        owner.setEmail("cache@email.com");
+        owner.setPassword("x");
+        owner.setRole("USER");
+        owner = userRepository.save(owner);
+
+        Product product = new Product();
+        product.setName("Producto");
+        product.setPrice(10.0);
+        product.setUser(owner);
+        productId = productRepository.save(product).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private Product loadProduct() {
+        return transactionTemplate.execute(status -> {
+            Product product = productRepository.findById(productId).orElseThrow();
+            product.getUser().getName();
+            return product;
+        });
+    }
+
+    @Test
+    void testFindById_SecondReadComesFromCache() {
+        // Arrange
+        loadProduct();
+        statistics.clear();
+
+        // Act
+        Product product = loadProduct();
+
+        // Assert
+        assertEquals("Producto", product.getName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getSecondLevelCacheHitCount() > 0);
+    }
+
+    @Test
+    void testSave_RefreshesCachedEntity() {
+        // Arrange
+        loadProduct();
+        transactionTemplate.executeWithoutResult(status -> {
+            Product product = productRepository.findById(productId).orElseThrow();
+            product.setName("Producto editado");
+            productRepository.save(product);
+        });
+
+        // Act
+        Product product = loadProduct();
+
+        // Assert
+        assertEquals("Producto editado", product.getName());
+    }
+
+    @Test
+    void testDelete_EvictsCachedEntity() {
+        // Arrange
+        loadProduct();
+
+        // Act
+        productRepository.deleteById(productId);
+
+        // Assert
+        assertTrue(productRepository.findById(productId).isEmpty());
+    }
+
+    @Test
+    void testFindByEmail_UsesQueryCache() {
+        // Arrange
+        transactionTemplate.execute(status -> userRepository.findByEmail("cache@email.com"));
+        statistics.clear();
+
+        // Act
+        User user = transactionTemplate.execute(status -> userRepository.findByEmail("cache@email.com").orElseThrow());
+
+        // Assert
+        assertEquals("Owner", user.getName());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testFindByEmail_InvalidatedAfterUserWrite() {
+        // Arrange
+        transactionTemplate.execute(status -> userRepository.findByEmail("cache@email.com"));
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = userRepository.findByEmail("cache@email.com").orElseThrow();
+            user.setEmail("nuevo@email.com");
+            userRepository.save(user);
+        });
+
+        // Act & Assert
+        assertTrue(transactionTemplate.execute(status -> userRepository.findByEmail("cache@email.com")).isEmpty());
+        assertTrue(transactionTemplate.execute(status -> userRepository.findByEmail("nuevo@email.com")).isPresent());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testCacheStatsEndpoint_ExposesHitRatios() throws Exception {
+        // Arrange
+        loadProduct();
+        loadProduct();
+
+        // Act & Assert
+        mockMvc.perform(get("/actuator/cachestats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.statisticsEnabled").value(true))
+                .andExpect(jsonPath("$.regions.products.hitRatio").isNumber())
+                .andExpect(jsonPath("$.secondLevel.hitRatio").isNumber());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void testCacheStatsEndpoint_AsUser_Forbidden() throws Exception {
+        mockMvc.perform(get("/actuator/cachestats"))
+                .andExpect(status().isForbidden());
+    }
+}
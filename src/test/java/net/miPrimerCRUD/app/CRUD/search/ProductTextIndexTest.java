@@ -0,0 +1,114 @@
+package net.miPrimerCRUD.app.CRUD.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductTextIndexTest {
+
+    private ProductTextIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductTextIndex();
+        index.put(1L, "Teclado mecánico retroiluminado", 1L);
+        index.put(2L, "Teclado", 1L);
+        index.put(3L, "Ratón inalámbrico", 1L);
+        index.put(4L, "Teclado inalámbrico", 2L);
+        index.put(5L, "Tecladista de jazz", 2L);
+    }
+
+    @Test
+    void testSearch_ExactWordBeatsPrefixAndShortNamesFirst() {
+        // Act
+        ProductTextIndex.Hits hits = index.search("teclado", null, 0, 10);
+
+        // Assert
+        assertEquals(List.of(2L, 4L, 1L), hits.ids());
+        assertEquals(3, hits.total());
+    }
+
+    @Test
+    void testSearch_PrefixIgnoresAccentsAndCase() {
+        // Act
+        ProductTextIndex.Hits hits = index.search("TECLA", null, 0, 10);
+        ProductTextIndex.Hits accents = index.search("raton INALAMBRICO", null, 0, 10);
+
+        // Assert
+        assertEquals(4, hits.total());
+        assertEquals(List.of(3L), accents.ids());
+    }
+
+    @Test
+    void testSearch_EveryWordMustMatch() {
+        // Act
+        ProductTextIndex.Hits hits = index.search("teclado inal", null, 0, 10);
+
+        // Assert
+        assertEquals(List.of(4L), hits.ids());
+    }
+
+    @Test
+    void testSearch_SingleLetterIsNotAPrefix() {
+        // Act & Assert
+        assertEquals(0, index.search("t", null, 0, 10).total());
+    }
+
+    @Test
+    void testSearch_FiltersByOwnerAndPages() {
+        // Act
+        ProductTextIndex.Hits firstPage = index.search("tecla", 1L, 0, 1);
+        ProductTextIndex.Hits secondPage = index.search("tecla", 1L, 1, 1);
+
+        // Assert
+        assertEquals(List.of(2L), firstPage.ids());
+        assertEquals(List.of(1L), secondPage.ids());
+        assertEquals(2, firstPage.total());
+    }
+
+    @Test
+    void testPutAndRemove_ReplaceOldTerms() {
+        // Act
+        index.put(2L, "Monitor", 1L);
+        index.remove(3L);
+
+        // Assert
+        assertFalse(index.search("teclado", null, 0, 10).ids().contains(2L));
+        assertEquals(List.of(2L), index.search("monitor", null, 0, 10).ids());
+        assertEquals(0, index.search("raton", null, 0, 10).total());
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void testRebuild_KeepsChangesReceivedWhileLoading() {
+        // Act
+        int documents = index.rebuild(loader -> {
+            loader.add(10L, "Silla de oficina", 1L);
+            // Llega un cambio confirmado mientras se lee la tabla
+            index.put(11L, "Mesa de oficina", 1L);
+            // Durante la carga se sigue buscando en el índice anterior
+            assertEquals(3, index.search("teclado", null, 0, 10).total());
+        });
+
+        // Assert
+        assertEquals(2, documents);
+        assertEquals(List.of(10L, 11L), index.search("oficina", null, 0, 10).ids());
+        assertEquals(0, index.search("teclado", null, 0, 10).total());
+    }
+
+    @Test
+    void testRebuild_FailureKeepsPreviousIndex() {
+        // Act
+        assertThrows(IllegalStateException.class, () -> index.rebuild(loader -> {
+            loader.add(10L, "Silla", 1L);
+            throw new IllegalStateException("sin conexión");
+        }));
+
+        // Assert
+        assertEquals(5, index.size());
+        assertEquals(0, index.search("silla", null, 0, 10).total());
+    }
+}
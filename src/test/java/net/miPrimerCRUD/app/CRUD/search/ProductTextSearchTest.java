@@ -0,0 +1,170 @@
+package net.miPrimerCRUD.app.CRUD.search;
+
+import net.miPrimerCRUD.app.CRUD.entities.Product;
+import net.miPrimerCRUD.app.CRUD.entities.User;
+import net.miPrimerCRUD.app.CRUD.events.ProductChangedEvent;
+import net.miPrimerCRUD.app.CRUD.repositories.ProductRepository;
+import net.miPrimerCRUD.app.CRUD.repositories.UserRepository;
+import net.miPrimerCRUD.app.CRUD.security.CredentialCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Índice de texto con la aplicación completa: se alimenta de los cambios confirmados y se reconstruye desde la tabla
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProductTextSearchTest {
+
+    private static final String PASSWORD = "password123";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private CredentialCache credentialCache;
+
+    @Autowired
+    private ProductTextIndexer textIndexer;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(user("owner@email.com", "USER"));
+        userRepository.save(user("admin@email.com", "ADMIN"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        credentialCache.invalidateAll();
+        productRepository.deleteAll();
+        userRepository.deleteAll();
+        textIndexer.rebuild();
+    }
+
+    private User user(String email, String role) {
+        User user = new User();
+        user.setName("Usuario");
+        user.setEmail(email);
+        user.setPassword(passwordEncoder.encode(PASSWORD));
+        user.setRole(role);
+        return user;
+    }
+
+    @Test
+    void testCreateUpdateDelete_ReflectedInSearch() throws Exception {
+        // Arrange
+        mockMvc.perform(post("/api/products").with(httpBasic("owner@email.com", PASSWORD))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Teclado mecánico\",\"price\":50.0,\"user\":{\"id\":" + owner.getId() + "}}"))
+                .andExpect(status().isOk());
+        Long id = productRepository.findAll().iterator().next().getId();
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/search/text?q=mecanico").with(httpBasic("owner@email.com", PASSWORD)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "1"))
+                .andExpect(jsonPath("$[0].id").value(id));
+
+        mockMvc.perform(put("/api/products/" + id).with(httpBasic("owner@email.com", PASSWORD))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Ratón óptico\",\"price\":20.0,\"user\":{\"id\":" + owner.getId() + "}}"))
+                .andExpect(status().isOk());
+        assertEquals(0, textIndexer.index().search("teclado", null, 0, 10).total());
+        assertEquals(1, textIndexer.index().search("optico", null, 0, 10).total());
+
+        mockMvc.perform(delete("/api/products/" + id).with(httpBasic("owner@email.com", PASSWORD)))
+                .andExpect(status().isNoContent());
+        assertEquals(0, textIndexer.index().size());
+    }
+
+    @Test
+    void testRolledBackChange_NotIndexed() {
+        // Arrange
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // Act
+        transaction.executeWithoutResult(status -> {
+            eventPublisher.publishEvent(new ProductChangedEvent(ProductChangedEvent.Type.CREATED, 999L, "Fantasma", 1.0, owner.getId()));
+            status.setRollbackOnly();
+        });
+
+        // Assert
+        assertEquals(0, textIndexer.index().search("fantasma", null, 0, 10).total());
+    }
+
+    @Test
+    void testUserOnlyFindsOwnProducts_AdminFindsAll() throws Exception {
+        // Arrange
+        User other = userRepository.save(user("other@email.com", "USER"));
+        mockMvc.perform(post("/api/products").with(httpBasic("owner@email.com", PASSWORD))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Silla\",\"price\":50.0,\"user\":{\"id\":" + owner.getId() + "}}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/products").with(httpBasic(other.getEmail(), PASSWORD))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Silla\",\"price\":60.0,\"user\":{\"id\":" + other.getId() + "}}"))
+                .andExpect(status().isOk());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/search/text?q=silla").with(httpBasic("owner@email.com", PASSWORD)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].price").value(50.0));
+        mockMvc.perform(get("/api/products/search/text?q=silla").with(httpBasic("admin@email.com", PASSWORD)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "2"));
+    }
+
+    @Test
+    void testActuatorRebuild_LoadsRowsWrittenWithoutEvents() throws Exception {
+        // Arrange: escritura directa en la tabla, sin pasar por el servicio
+        jdbcTemplate.update("insert into products (id, name, price, user_id, version) values (1000000, ?, ?, ?, 0)",
+                "Lámpara de pie", 30.0, owner.getId());
+        assertEquals(0, textIndexer.index().search("lampara", null, 0, 10).total());
+
+        // Act
+        mockMvc.perform(post("/actuator/productindex").with(httpBasic("admin@email.com", PASSWORD)))
+                .andExpect(status().isOk());
+
+        // Assert
+        assertEquals(1, textIndexer.index().search("lampara", null, 0, 10).total());
+        mockMvc.perform(get("/actuator/productindex").with(httpBasic("admin@email.com", PASSWORD)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products").value(1));
+    }
+}
@@ -0,0 +1,99 @@
+package net.miPrimerCRUD.app.CRUD.security;
+
+import net.miPrimerCRUD.app.CRUD.entities.User;
+import net.miPrimerCRUD.app.CRUD.repositories.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Comparativa de rendimiento: HTTP Basic (BCrypt + consulta), HTTP Basic con caché y token Bearer.
+ * Se ejecuta con: mvn test -Pload-tests
+ */
+@Tag("load")
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuthenticationThroughputLoadTest {
+
+    private static final String EMAIL = "bench@email.com";
+    private static final String PASSWORD = "password123";
+    private static final int REQUESTS = Integer.getInteger("load.authRequests", 200);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private CredentialCache credentialCache;
+
+    @Autowired
+    private TokenService tokenService;
+
+    private AuthenticatedUser principal;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setName("Bench");
+        user.setEmail(EMAIL);
+        user.setPassword(passwordEncoder.encode(PASSWORD));
+        user.setRole("USER");
+        principal = AuthenticatedUser.from(userRepository.save(user));
+    }
+
+    @AfterEach
+    void tearDown() {
+        credentialCache.invalidateAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testThroughput_BearerVersusBasic() throws Exception {
+        double basic = measure("Basic (BCrypt en cada petición)", true,
+                get("/api/users/me").with(httpBasic(EMAIL, PASSWORD)));
+        double cachedBasic = measure("Basic con caché de credenciales", false,
+                get("/api/users/me").with(httpBasic(EMAIL, PASSWORD)));
+        String token = tokenService.issue(principal);
+        double bearer = measure("Bearer token", false,
+                get("/api/users/me").header("Authorization", "Bearer " + token));
+
+        assertTrue(bearer > basic, "El token debería ser más rápido que Basic sin caché");
+        assertTrue(cachedBasic > basic, "La caché debería ser más rápida que Basic sin caché");
+    }
+
+    private double measure(String label, boolean clearCache, RequestBuilder request) throws Exception {
+        // Calentamiento
+        for (int i = 0; i < 20; i++) {
+            mockMvc.perform(request).andExpect(status().isOk());
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            if (clearCache) {
+                credentialCache.invalidateAll();
+            }
+            mockMvc.perform(request).andExpect(status().isOk());
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        double throughput = REQUESTS / seconds;
+        System.out.printf("%-35s %8.1f peticiones/s%n", label, throughput);
+        return throughput;
+    }
+}
@@ -0,0 +1,84 @@
+package net.miPrimerCRUD.app.CRUD.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingAuthenticationProviderTest {
+
+    @Mock
+    private AuthenticationProvider delegate;
+
+    private CredentialCache credentialCache;
+    private CachingAuthenticationProvider provider;
+    private AuthenticatedUser principal;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        credentialCache = new CredentialCache(100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+        provider = new CachingAuthenticationProvider(delegate, credentialCache);
+        principal = new AuthenticatedUser(1L, "test@email.com", "$2a$10$hash", "USER");
+    }
+
+    private void delegateAccepts() {
+        when(delegate.authenticate(any())).thenReturn(
+                UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities()));
+    }
+
+    @Test
+    void testAuthenticate_SecondCallHitsCache() {
+        // Arrange
+        delegateAccepts();
+
+        // Act
+        provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("test@email.com", "password123"));
+        Authentication result = provider.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated("test@email.com", "password123"));
+
+        // Assert
+        assertTrue(result.isAuthenticated());
+        assertSame(principal, result.getPrincipal());
+        verify(delegate, times(1)).authenticate(any());
+    }
+
+    @Test
+    void testAuthenticate_WrongPassword_GoesToDelegate() {
+        // Arrange
+        delegateAccepts();
+        provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("test@email.com", "password123"));
+        when(delegate.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+
+        // Act & Assert
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated("test@email.com", "otra")));
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    void testInvalidate_ForcesNewVerification() {
+        // Arrange
+        delegateAccepts();
+        provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("test@email.com", "password123"));
+
+        // Act
+        credentialCache.invalidate("TEST@email.com");
+        provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("test@email.com", "password123"));
+
+        // Assert
+        verify(delegate, times(2)).authenticate(any());
+    }
+}
@@ -0,0 +1,104 @@
+package net.miPrimerCRUD.app.CRUD.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import net.miPrimerCRUD.app.CRUD.exception.PasswordHashingBusyException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffloadingPasswordEncoderTest {
+
+    private final AtomicReference<String> hashingThread = new AtomicReference<>();
+    private OffloadingPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        PasswordEncoder delegate = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                hashingThread.set(Thread.currentThread().getName());
+                return "hash:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                if (rawPassword == null) {
+                    throw new IllegalArgumentException("rawPassword cannot be null");
+                }
+                return encodedPassword.equals("hash:" + rawPassword);
+            }
+        };
+        encoder = new OffloadingPasswordEncoder(delegate, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        encoder.close();
+    }
+
+    @Test
+    void testEncode_RunsOnHashingPool() {
+        // Act
+        String hash = encoder.encode("password123");
+
+        // Assert
+        assertEquals("hash:password123", hash);
+        assertTrue(hashingThread.get().startsWith("password-hashing-"));
+        assertNotEquals(Thread.currentThread().getName(), hashingThread.get());
+    }
+
+    @Test
+    void testMatches_DelegatesResultAndExceptions() {
+        // Act & Assert
+        assertTrue(encoder.matches("password123", "hash:password123"));
+        assertFalse(encoder.matches("otra", "hash:password123"));
+        assertThrows(IllegalArgumentException.class, () -> encoder.matches(null, "hash:password123"));
+    }
+
+    @Test
+    void testEncode_QueueFull_FailsImmediately() throws Exception {
+        // Arrange: un hilo ocupado y un hash en cola llenan un pool de 1 hilo y cola de 1
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder slow = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return false;
+            }
+        };
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try (OffloadingPasswordEncoder bounded = new OffloadingPasswordEncoder(slow, 1, 1)) {
+            Future<String> running = callers.submit(() -> bounded.encode("a"));
+            Future<String> queued = callers.submit(() -> bounded.encode("b"));
+            while (bounded.getQueued() < 1) {
+                Thread.sleep(5);
+            }
+
+            // Act & Assert
+            assertThrows(PasswordHashingBusyException.class, () -> bounded.encode("c"));
+            release.countDown();
+            assertEquals("hash:a", running.get(5, TimeUnit.SECONDS));
+            assertEquals("hash:b", queued.get(5, TimeUnit.SECONDS));
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+}
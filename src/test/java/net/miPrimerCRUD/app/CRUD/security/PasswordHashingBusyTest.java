@@ -0,0 +1,89 @@
+package net.miPrimerCRUD.app.CRUD.security;
+
+import net.miPrimerCRUD.app.CRUD.entities.User;
+import net.miPrimerCRUD.app.CRUD.exception.PasswordHashingBusyException;
+import net.miPrimerCRUD.app.CRUD.repositories.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Con el pool de hash saturado, la autenticación responde 503 con Retry-After (y no 500 ni 401)
+@SpringBootTest
+@AutoConfigureMockMvc
+class PasswordHashingBusyTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CredentialCache credentialCache;
+
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setName("Usuario");
+        user.setEmail("busy@email.com");
+        user.setPassword("{bcrypt}$2a$10$hash");
+        user.setRole("USER");
+        userRepository.save(user);
+        when(passwordEncoder.matches(any(), any()))
+                .thenThrow(new PasswordHashingBusyException("Servidor saturado, inténtalo de nuevo"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        credentialCache.invalidateAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testHttpBasic_EncoderSaturated_Returns503WithRetryAfter() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/users/me").with(httpBasic("busy@email.com", "password123")))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+
+    @Test
+    void testLogin_EncoderSaturated_Returns503WithRetryAfter() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"busy@email.com\",\"password\":\"password123\"}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+
+    @Test
+    void testHttpBasic_WrongPasswordStill401() throws Exception {
+        // Arrange
+        doReturn(false).when(passwordEncoder).matches(any(), any());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users/me").with(httpBasic("busy@email.com", "incorrecta")))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().exists(HttpHeaders.WWW_AUTHENTICATE));
+    }
+}
@@ -0,0 +1,74 @@
+package net.miPrimerCRUD.app.CRUD.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void testDelegating_EncodesWithPrefixAndMatchesEveryAlgorithm() {
+        // Arrange
+        PasswordEncoder bcrypt = PasswordHashing.delegating(PasswordHashingAlgorithm.BCRYPT, 10);
+        PasswordEncoder argon2 = PasswordHashing.delegating(PasswordHashingAlgorithm.ARGON2, 2);
+        String legacy = new BCryptPasswordEncoder().encode("password123");
+
+        // Act
+        String bcryptHash = bcrypt.encode("password123");
+        String argon2Hash = argon2.encode("password123");
+
+        // Assert
+        assertTrue(bcryptHash.startsWith("{bcrypt}$2a$10$"));
+        assertTrue(argon2Hash.startsWith("{argon2}$argon2id$"));
+        assertTrue(bcrypt.matches("password123", argon2Hash));
+        assertTrue(argon2.matches("password123", bcryptHash));
+        assertTrue(argon2.matches("password123", legacy));
+        assertFalse(argon2.matches("otra", legacy));
+    }
+
+    @Test
+    void testUpgradeEncoding_OtherAlgorithmLegacyOrWeakerCost() {
+        // Arrange
+        PasswordEncoder encoder = PasswordHashing.delegating(PasswordHashingAlgorithm.BCRYPT, 11);
+
+        // Act & Assert
+        assertFalse(encoder.upgradeEncoding(encoder.encode("password123")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(11).encode("password123")));
+        assertTrue(encoder.upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder(10).encode("password123")));
+        assertTrue(encoder.upgradeEncoding(PasswordHashing.delegating(PasswordHashingAlgorithm.ARGON2, 2).encode("password123")));
+    }
+
+    @Test
+    void testCalibrate_PicksHighestCostWithinTarget() {
+        // Arrange: bcrypt tarda 60 ms con coste 10 y se duplica con cada punto
+        int[] measured = new int[1];
+
+        // Act
+        int cost = PasswordHashing.calibrate(PasswordHashingAlgorithm.BCRYPT, Duration.ofMillis(250), candidate -> {
+            measured[0]++;
+            return (60 * MILLIS) << (candidate - 10);
+        });
+
+        // Assert: 10 -> 60 ms, 11 -> 120 ms, 12 -> 240 ms; 13 (480 ms previstos) ni se mide
+        assertEquals(12, cost);
+        assertEquals(3, measured[0]);
+    }
+
+    @Test
+    void testCalibrate_NeverBelowMinimumNorAboveMaximum() {
+        // Act & Assert
+        assertEquals(10, PasswordHashing.calibrate(PasswordHashingAlgorithm.BCRYPT, Duration.ofMillis(1), candidate -> 60 * MILLIS));
+        assertEquals(PasswordHashingAlgorithm.ARGON2.maxCost(),
+                PasswordHashing.calibrate(PasswordHashingAlgorithm.ARGON2, Duration.ofSeconds(1), candidate -> candidate * MILLIS));
+        // Una medida real más lenta de lo previsto detiene la subida
+        assertEquals(620_000, PasswordHashing.calibrate(PasswordHashingAlgorithm.PBKDF2, Duration.ofMillis(500),
+                candidate -> candidate < 1_000_000 ? 100 * MILLIS : 900 * MILLIS));
+    }
+}
@@ -0,0 +1,64 @@
+package net.miPrimerCRUD.app.CRUD.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimedPasswordEncoderTest {
+
+    private SimpleMeterRegistry registry;
+    private TimedPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        PasswordEncoder delegate = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return "hash:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encodedPassword.equals("hash:" + rawPassword);
+            }
+        };
+        registry = new SimpleMeterRegistry();
+        encoder = new TimedPasswordEncoder(delegate, registry);
+    }
+
+    private long count(String operation, String outcome) {
+        return registry.get(TimedPasswordEncoder.METRIC)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .timer()
+                .count();
+    }
+
+    @Test
+    void testEncode_RecordsEncodeTimer() {
+        // Act
+        String hash = encoder.encode("password123");
+
+        // Assert
+        assertEquals("hash:password123", hash);
+        assertEquals(1, count("encode", "success"));
+        assertEquals(0, count("matches", "match"));
+    }
+
+    @Test
+    void testMatches_RecordsOutcome() {
+        // Act
+        boolean ok = encoder.matches("password123", "hash:password123");
+        boolean wrong = encoder.matches("otra", "hash:password123");
+        encoder.matches("otra", "hash:password123");
+
+        // Assert
+        assertTrue(ok);
+        assertFalse(wrong);
+        assertEquals(1, count("matches", "match"));
+        assertEquals(2, count("matches", "mismatch"));
+    }
+}
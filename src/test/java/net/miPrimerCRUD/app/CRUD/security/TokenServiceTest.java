@@ -0,0 +1,80 @@
+package net.miPrimerCRUD.app.CRUD.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T10:00:00Z");
+
+    private TokenService tokenService;
+    private AuthenticatedUser user;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        tokenService = new TokenService(new ObjectMapper(), "", Duration.ofMinutes(15), Clock.fixed(NOW, ZoneOffset.UTC));
+        user = new AuthenticatedUser(7L, "test@email.com", null, "ADMIN");
+    }
+
+    @Test
+    void testVerify_ValidToken_ReturnsClaims() {
+        // Act
+        AuthenticatedUser result = tokenService.verify(tokenService.issue(user));
+
+        // Assert
+        assertEquals(7L, result.getId());
+        assertEquals("test@email.com", result.getEmail());
+        assertTrue(result.isAdmin());
+    }
+
+    @Test
+    void testVerify_TamperedPayload_ThrowsException() {
+        // Arrange
+        String[] parts = tokenService.issue(user).split("\\.");
+        String forged = parts[0] + "." + parts[1].substring(0, parts[1].length() - 2) + "AA." + parts[2];
+
+        // Act & Assert
+        assertThrows(BadCredentialsException.class, () -> tokenService.verify(forged));
+    }
+
+    @Test
+    void testVerify_TokenFromOtherKey_ThrowsException() throws Exception {
+        // Arrange
+        TokenService other = new TokenService(new ObjectMapper(), "", Duration.ofMinutes(15), Clock.fixed(NOW, ZoneOffset.UTC));
+
+        // Act & Assert
+        assertThrows(BadCredentialsException.class, () -> tokenService.verify(other.issue(user)));
+    }
+
+    @Test
+    void testVerify_ExpiredToken_ThrowsException() throws Exception {
+        // Arrange: dos instancias con el mismo secreto, la segunda 16 minutos después
+        String secret = Base64.getEncoder().encodeToString(new byte[32]);
+        TokenService issuer = new TokenService(new ObjectMapper(), secret, Duration.ofMinutes(15), Clock.fixed(NOW, ZoneOffset.UTC));
+        TokenService verifier = new TokenService(new ObjectMapper(), secret, Duration.ofMinutes(15),
+                Clock.fixed(NOW.plus(Duration.ofMinutes(16)), ZoneOffset.UTC));
+        String token = issuer.issue(user);
+
+        // Act & Assert
+        assertEquals(7L, issuer.verify(token).getId());
+        BadCredentialsException ex = assertThrows(BadCredentialsException.class, () -> verifier.verify(token));
+        assertEquals("Token caducado", ex.getMessage());
+    }
+
+    @Test
+    void testVerify_Garbage_ThrowsException() {
+        // Act & Assert
+        assertThrows(BadCredentialsException.class, () -> tokenService.verify("no.es.token"));
+        assertThrows(BadCredentialsException.class, () -> tokenService.verify("abc"));
+    }
+}
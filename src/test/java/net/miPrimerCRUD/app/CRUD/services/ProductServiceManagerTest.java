@@ -1,10 +1,25 @@
 package net.miPrimerCRUD.app.CRUD.services;
 
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import net.miPrimerCRUD.app.CRUD.DTO.BatchResultDTO;
+import net.miPrimerCRUD.app.CRUD.DTO.ProductDTO;
 import net.miPrimerCRUD.app.CRUD.entities.Product;
 import net.miPrimerCRUD.app.CRUD.entities.User;
+import net.miPrimerCRUD.app.CRUD.events.ProductChangedEvent;
+import net.miPrimerCRUD.app.CRUD.exception.BadRequestException;
+import net.miPrimerCRUD.app.CRUD.exception.PreconditionFailedException;
+import net.miPrimerCRUD.app.CRUD.pagination.KeysetCursor;
+import net.miPrimerCRUD.app.CRUD.pagination.KeysetPage;
 import net.miPrimerCRUD.app.CRUD.repositories.ProductRepository;
 import net.miPrimerCRUD.app.CRUD.repositories.UserRepository;
+import net.miPrimerCRUD.app.CRUD.search.ProductSearchCriteria;
+import net.miPrimerCRUD.app.CRUD.search.ProductSearchCursor;
+import net.miPrimerCRUD.app.CRUD.search.ProductSort;
+import net.miPrimerCRUD.app.CRUD.search.ProductTextIndex;
+import net.miPrimerCRUD.app.CRUD.search.ProductTextIndexer;
+import net.miPrimerCRUD.app.CRUD.security.AuthenticatedUser;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,6 +27,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -20,9 +41,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +60,15 @@ class ProductServiceManagerTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ProductTextIndexer textIndexer;
+
     @InjectMocks
     private ProductServiceManager productService;
 
@@ -78,6 +113,41 @@ class ProductServiceManagerTest {
         when(userRepository.findByEmail(email)).thenReturn(Optional.of(currentUser));
     }
 
+    private ProductDTO dto(long id) {
+        return new ProductDTO(id, "Product " + id, 10.0, 1L, "Test User");
+    }
+
+    private void setupPrincipal(Long id, String email, String role) {
+        AuthenticatedUser principal = new AuthenticatedUser(id, email, null, role);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @Test
+    void testFindById_WithResolvedPrincipal_SkipsUserLookup() {
+        // Arrange
+        setupPrincipal(1L, "test@email.com", "USER");
+        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+
+        // Act
+        Product result = productService.findById(1L);
+
+        // Assert
+        assertEquals("Test Product", result.getName());
+        verify(userRepository, never()).findByEmail(any());
+    }
+
+    @Test
+    void testFindById_WithResolvedPrincipal_OtherOwner_ThrowsAccessDenied() {
+        // Arrange
+        setupPrincipal(2L, "other@email.com", "USER");
+        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+
+        // Act & Assert
+        assertThrows(AccessDeniedException.class, () -> productService.findById(1L));
+        verify(userRepository, never()).findByEmail(any());
+    }
+
     @Test
     void testFindAll_ReturnsProductList() {
         // Arrange
@@ -99,6 +169,163 @@ class ProductServiceManagerTest {
         verify(productRepository, times(1)).findAll();
     }
 
+    @Test
+    void testFindPage_WithExtraRow_ReturnsNextCursor() {
+        // Arrange
+        when(productRepository.findPageAfter(0L, Limit.of(2)))
+                .thenReturn(Arrays.asList(dto(1L), dto(2L)));
+
+        // Act
+        KeysetPage<ProductDTO> page = productService.findPage(0L, 1);
+
+        // Assert
+        assertEquals(1, page.items().size());
+        assertEquals(1L, page.nextAfterId());
+        verify(productRepository, never()).findAll();
+    }
+
+    @Test
+    void testFindPage_LastPage_HasNoNext() {
+        // Arrange
+        when(productRepository.findPageAfter(5L, Limit.of(KeysetCursor.MAX_LIMIT + 1)))
+                .thenReturn(List.of(dto(6L)));
+
+        // Act
+        KeysetPage<ProductDTO> page = productService.findPage(5L, 100_000);
+
+        // Assert
+        assertEquals(1, page.items().size());
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    void testSearch_AsUser_RestrictedToOwnProducts() {
+        // Arrange
+        setupPrincipal(1L, "test@email.com", "USER");
+        ProductSearchCriteria criteria = ProductSearchCriteria.of("Prod", null, null, null, null, null, null);
+        when(productRepository.search(criteria.withUserId(1L), null, 3)).thenReturn(List.of(dto(1L), dto(2L), dto(3L)));
+
+        // Act
+        KeysetPage<ProductDTO> page = productService.search(criteria, null, 2);
+
+        // Assert
+        assertEquals(2, page.items().size());
+        assertEquals(2L, page.nextAfterId());
+    }
+
+    @Test
+    void testSearch_AsUser_OtherOwner_AccessDenied() {
+        // Arrange
+        setupPrincipal(1L, "test@email.com", "USER");
+        ProductSearchCriteria criteria = ProductSearchCriteria.of(null, null, null, null, 2L, null, null);
+
+        // Act & Assert
+        assertThrows(AccessDeniedException.class, () -> productService.search(criteria, null, 10));
+        verify(productRepository, never()).search(any(), any(), anyInt());
+    }
+
+    @Test
+    void testSearch_AsAdmin_WithCursorOfAnotherSort_BadRequest() {
+        // Arrange
+        setupPrincipal(1L, "admin@email.com", "ADMIN");
+        ProductSearchCriteria byName = ProductSearchCriteria.of(null, null, null, null, null, "name", null);
+        String priceCursor = ProductSearchCursor.encode(ProductSort.PRICE, dto(5L));
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> productService.search(byName, priceCursor, 10));
+    }
+
+    @Test
+    void testSearchText_KeepsRankingAndSkipsMissingRowsWithoutTouchingIndex() {
+        // Arrange
+        setupPrincipal(1L, "test@email.com", "USER");
+        ProductTextIndex index = new ProductTextIndex();
+        index.put(1L, "Teclado", 1L);
+        index.put(2L, "Teclado mecánico retroiluminado", 1L);
+        index.put(3L, "Teclado inalámbrico", 1L);
+        index.put(4L, "Teclado de otro usuario", 2L);
+        when(textIndexer.index()).thenReturn(index);
+        // El 3 no aparece en la lectura (p. ej. una réplica que aún no lo tiene)
+        when(productRepository.findDTOsByIdIn(List.of(1L, 3L))).thenReturn(List.of(dto(1L)));
+
+        // Act
+        Page<ProductDTO> page = productService.searchText("teclado", 0, 2);
+
+        // Assert: fuera de la página y del total, pero sigue en el índice
+        assertEquals(List.of(1L), page.getContent().stream().map(ProductDTO::getId).toList());
+        assertEquals(2, page.getTotalElements());
+        assertEquals(4, index.size());
+        assertEquals(3, index.search("teclado", 1L, 0, 10).total());
+    }
+
+    @Test
+    void testSearchText_BlankQuery_Rejected() {
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> productService.searchText(" ", 0, 10));
+        verifyNoInteractions(textIndexer);
+    }
+
+    @Test
+    void testDeleteById_PublishesDeletedEventWithOwner() {
+        // Arrange
+        setupPrincipal(1L, "test@email.com", "USER");
+        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+
+        // Act
+        productService.deleteById(1L);
+
+        // Assert
+        verify(eventPublisher).publishEvent(new ProductChangedEvent(ProductChangedEvent.Type.DELETED, 1L, "Test Product", 99.99, 1L));
+    }
+
+    @Test
+    void testExportAll_StreamsEveryRowAndClosesStream() {
+        // Arrange
+        int rows = 2_005;
+        AtomicBoolean closed = new AtomicBoolean(false);
+        Stream<ProductDTO> stream = LongStream.rangeClosed(1, rows).mapToObj(this::dto).onClose(() -> closed.set(true));
+        when(productRepository.streamAllDTOs()).thenReturn(stream);
+
+        // Act
+        List<Long> exported = new ArrayList<>();
+        productService.exportAll(product -> exported.add(product.getId()));
+
+        // Assert
+        assertEquals(rows, exported.size());
+        assertTrue(closed.get());
+        verify(productRepository, never()).findAll();
+    }
+
+    @Test
+    void testFindMyProducts_QueriesByOwnerWithPage() {
+        // Arrange
+        setupSecurityContext("test@email.com", "USER");
+        when(productRepository.findDTOsByUserId(eq(1L), any(Pageable.class))).thenReturn(List.of(dto(1L)));
+
+        // Act
+        List<ProductDTO> result = productService.findMyProducts(2, 10);
+
+        // Assert
+        assertEquals(1, result.size());
+        verify(productRepository, never()).findAll();
+        verify(productRepository).findDTOsByUserId(eq(1L), argThat(pageable ->
+                pageable.getPageNumber() == 2 && pageable.getPageSize() == 10));
+    }
+
+    @Test
+    void testFindMyProducts_ClampsPageSize() {
+        // Arrange
+        setupSecurityContext("test@email.com", "USER");
+        when(productRepository.findDTOsByUserId(eq(1L), any(Pageable.class))).thenReturn(List.of());
+
+        // Act
+        productService.findMyProducts(-1, 10_000);
+
+        // Assert
+        verify(productRepository).findDTOsByUserId(eq(1L), argThat(pageable ->
+                pageable.getPageNumber() == 0 && pageable.getPageSize() == ProductServiceManager.MAX_PAGE_SIZE));
+    }
+
     @Test
     void testFindById_ProductExists_ReturnsProduct() {
         // Arrange
@@ -199,7 +426,7 @@ class ProductServiceManagerTest {
 
         when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(productRepository.save(any(Product.class))).thenReturn(testProduct);
+        when(productRepository.saveAndFlush(any(Product.class))).thenReturn(testProduct);
 
         // Act
         Product result = productService.update(1L, updatedData);
@@ -207,7 +434,59 @@ class ProductServiceManagerTest {
         // Assert
         assertNotNull(result);
         verify(productRepository, times(1)).findById(1L);
-        verify(productRepository, times(1)).save(testProduct);
+        verify(productRepository, times(1)).saveAndFlush(testProduct);
+    }
+
+    @Test
+    void testUpdate_ReassignedToAnotherUser_PublishesPreviousOwner() {
+        // Arrange
+        setupPrincipal(9L, "admin@email.com", "ADMIN");
+        User newOwner = new User();
+        newOwner.setId(2L);
+        Product updatedData = new Product(newOwner, 99.99, "Test Product", 1L);
+
+        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+        when(userRepository.findById(2L)).thenReturn(Optional.of(newOwner));
+        when(productRepository.saveAndFlush(testProduct)).thenReturn(testProduct);
+
+        // Act
+        productService.update(1L, updatedData);
+
+        // Assert
+        verify(eventPublisher).publishEvent(new ProductChangedEvent(ProductChangedEvent.Type.UPDATED, 1L,
+                "Test Product", 99.99, 2L, 1L));
+    }
+
+    @Test
+    void testUpdateAll_ReassignedToAnotherUser_PublishesPreviousOwner() {
+        // Arrange
+        setupPrincipal(9L, "admin@email.com", "ADMIN");
+        User newOwner = new User();
+        newOwner.setId(2L);
+        when(productRepository.findByIdIn(Set.of(1L))).thenReturn(List.of(testProduct));
+        when(userRepository.findAllById(Set.of(2L))).thenReturn(List.of(newOwner));
+
+        // Act
+        productService.updateAll(List.of(new ProductDTO(1L, "Test Product", 99.99, 2L, null)));
+
+        // Assert
+        verify(eventPublisher).publishEvent(new ProductChangedEvent(ProductChangedEvent.Type.UPDATED, 1L,
+                "Test Product", 99.99, 2L, 1L));
+    }
+
+    @Test
+    void testUpdate_IfMatchStale_ThrowsPreconditionFailed() {
+        // Arrange
+        setupSecurityContext("test@email.com", "USER");
+        testProduct.setVersion(2L);
+        Product updatedData = new Product();
+        updatedData.setName("Updated Product");
+
+        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+
+        // Act & Assert
+        assertThrows(PreconditionFailedException.class, () -> productService.update(1L, updatedData, "\"1-0\""));
+        verify(productRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -266,4 +545,102 @@ class ProductServiceManagerTest {
         verify(productRepository, times(1)).findById(999L);
         verify(productRepository, never()).deleteById(anyLong());
     }
-}
\ No newline at end of file
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSaveAll_ResolvesOwnersOnce_AndReportsInvalidItems() {
+        // Arrange
+        setupPrincipal(1L, "test@email.com", "USER");
+        ProductDTO valid = new ProductDTO(null, "Producto A", 10.0, null, null);
+        ProductDTO invalid = new ProductDTO(null, "", 10.0, null, null);
+        ConstraintViolation<ProductDTO> violation = mock(ConstraintViolation.class);
+        when(violation.getMessage()).thenReturn("El nombre del producto es obligatorio");
+        when(validator.validate(any(ProductDTO.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0) == invalid ? Set.of(violation) : Set.of());
+        when(userRepository.findAllById(Set.of(1L))).thenReturn(List.of(testUser));
+
+        // Act
+        BatchResultDTO result = productService.saveAll(Arrays.asList(valid, invalid));
+
+        // Assert
+        assertEquals(1, result.getSucceeded());
+        assertEquals(1, result.getFailed());
+        assertEquals(201, result.getResults().get(0).getStatus());
+        assertEquals(1L, result.getResults().get(0).getProduct().getUserId());
+        assertEquals(400, result.getResults().get(1).getStatus());
+        assertEquals("El nombre del producto es obligatorio", result.getResults().get(1).getError());
+        verify(userRepository, times(1)).findAllById(any());
+        verify(userRepository, never()).findById(any());
+        verify(productRepository, times(1)).saveAll(any());
+    }
+
+    @Test
+    void testSaveAll_AsUser_OtherOwner_ReportsForbidden() {
+        // Arrange
+        setupPrincipal(1L, "test@email.com", "USER");
+        ProductDTO foreign = new ProductDTO(null, "Producto B", 5.0, 2L, null);
+
+        // Act
+        BatchResultDTO result = productService.saveAll(List.of(foreign));
+
+        // Assert
+        assertEquals(0, result.getSucceeded());
+        assertEquals(403, result.getResults().get(0).getStatus());
+    }
+
+    @Test
+    void testSaveAll_TooManyItems_ThrowsBadRequest() {
+        // Arrange
+        List<ProductDTO> items = new ArrayList<>();
+        for (int i = 0; i <= ProductServiceManager.MAX_BATCH_SIZE; i++) {
+            items.add(new ProductDTO(null, "Producto " + i, 1.0, null, null));
+        }
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> productService.saveAll(items));
+        verify(productRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void testUpdateAll_ReportsMissingAndForeignProducts() {
+        // Arrange
+        setupPrincipal(1L, "test@email.com", "USER");
+        User otherUser = new User();
+        otherUser.setId(2L);
+        Product foreign = new Product(otherUser, 1.0, "Ajeno", 2L);
+        when(productRepository.findByIdIn(Set.of(1L, 2L, 3L))).thenReturn(List.of(testProduct, foreign));
+
+        // Act
+        BatchResultDTO result = productService.updateAll(List.of(
+                new ProductDTO(1L, "Producto editado", 20.0, null, null),
+                new ProductDTO(2L, "Ajeno editado", 20.0, null, null),
+                new ProductDTO(3L, "No existe", 20.0, null, null)));
+
+        // Assert
+        assertEquals(1, result.getSucceeded());
+        assertEquals(200, result.getResults().get(0).getStatus());
+        assertEquals("Producto editado", testProduct.getName());
+        assertEquals(403, result.getResults().get(1).getStatus());
+        assertEquals("Ajeno", foreign.getName());
+        assertEquals(404, result.getResults().get(2).getStatus());
+        verify(productRepository, never()).findById(any());
+    }
+
+    @Test
+    void testDeleteAll_DeletesOnlyAccessibleProducts() {
+        // Arrange
+        setupPrincipal(1L, "test@email.com", "USER");
+        User otherUser = new User();
+        otherUser.setId(2L);
+        Product foreign = new Product(otherUser, 1.0, "Ajeno", 2L);
+        when(productRepository.findByIdIn(Set.of(1L, 2L))).thenReturn(List.of(testProduct, foreign));
+
+        // Act
+        BatchResultDTO result = productService.deleteAll(List.of(1L, 2L));
+
+        // Assert
+        assertEquals(204, result.getResults().get(0).getStatus());
+        assertEquals(403, result.getResults().get(1).getStatus());
+        verify(productRepository).deleteAll(Set.of(testProduct));
+    }
+}
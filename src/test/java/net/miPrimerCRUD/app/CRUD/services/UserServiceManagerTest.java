@@ -1,15 +1,35 @@
 package net.miPrimerCRUD.app.CRUD.services;
 
 import jakarta.persistence.EntityNotFoundException;
+import net.miPrimerCRUD.app.CRUD.DTO.ProductDTO;
 import net.miPrimerCRUD.app.CRUD.entities.User;
+import net.miPrimerCRUD.app.CRUD.events.ProductChangedEvent;
+import net.miPrimerCRUD.app.CRUD.events.UserChangedEvent;
+import net.miPrimerCRUD.app.CRUD.exception.PreconditionFailedException;
+import net.miPrimerCRUD.app.CRUD.DTO.UserDTO;
+import net.miPrimerCRUD.app.CRUD.pagination.KeysetPage;
+import net.miPrimerCRUD.app.CRUD.security.AuthenticatedUser;
+import net.miPrimerCRUD.app.CRUD.security.CredentialCache;
+import net.miPrimerCRUD.app.CRUD.repositories.ProductRepository;
 import net.miPrimerCRUD.app.CRUD.repositories.UserRepository;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -26,9 +46,21 @@ class UserServiceManagerTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ProductRepository productRepository;
+
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private CredentialCache credentialCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private UserServiceManager userService;
 
@@ -45,6 +77,43 @@ class UserServiceManagerTest {
         testUser.setProducts(new ArrayList<>());
     }
 
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private void setupSecurityContext(String email, String role) {
+        Authentication authentication = mock(Authentication.class);
+        SecurityContext securityContext = mock(SecurityContext.class);
+
+        when(authentication.getName()).thenReturn(email);
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        SecurityContextHolder.setContext(securityContext);
+
+        User currentUser = new User();
+        currentUser.setId(1L);
+        currentUser.setEmail(email);
+        currentUser.setRole(role);
+
+        when(userRepository.findByEmail(email)).thenReturn(Optional.of(currentUser));
+    }
+
+    @Test
+    void testGetCurrentUser_WithResolvedPrincipal_LooksUpById() {
+        // Arrange
+        AuthenticatedUser principal = new AuthenticatedUser(1L, "test@email.com", null, "USER");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+
+        // Act
+        User result = userService.getCurrentUser();
+
+        // Assert
+        assertEquals("test@email.com", result.getEmail());
+        verify(userRepository, never()).findByEmail(any());
+    }
+
     @Test
     void testFindAll_ReturnsUserList() {
         // Arrange
@@ -67,6 +136,22 @@ class UserServiceManagerTest {
         verify(userRepository, times(1)).findAll();
     }
 
+    @Test
+    void testFindPage_ReadsOneExtraRowForNextCursor() {
+        // Arrange
+        when(userRepository.findPageAfter(0L, Limit.of(3))).thenReturn(Arrays.asList(
+                new UserDTO(1L, "Test User", "test@email.com", "USER"),
+                new UserDTO(2L, "User 2", "user2@email.com", "USER")));
+
+        // Act
+        KeysetPage<UserDTO> page = userService.findPage(0L, 2);
+
+        // Assert
+        assertEquals(2, page.items().size());
+        assertFalse(page.hasNext());
+        verify(userRepository, never()).findAll();
+    }
+
     @Test
     void testFindById_UserExists_ReturnsUser() {
         // Arrange
@@ -114,6 +199,7 @@ class UserServiceManagerTest {
     @Test
     void testUpdate_UpdatesUserFields() {
         // Arrange
+        setupSecurityContext("test@email.com", "USER");
         User updatedData = new User();
         updatedData.setName("Updated Name");
         updatedData.setEmail("updated@email.com");
@@ -121,7 +207,7 @@ class UserServiceManagerTest {
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
         when(passwordEncoder.encode("newpassword")).thenReturn("$2a$10$newencrypted");
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(testUser);
 
         // Act
         User result = userService.update(1L, updatedData);
@@ -130,7 +216,48 @@ class UserServiceManagerTest {
         assertNotNull(result);
         verify(userRepository, times(1)).findById(1L);
         verify(passwordEncoder, times(1)).encode("newpassword");
-        verify(userRepository, times(1)).save(testUser);
+        verify(userRepository, times(1)).saveAndFlush(testUser);
+        verify(credentialCache, times(1)).invalidate("test@email.com");
+    }
+
+    @Test
+    void testUpdate_SameCredentials_KeepsCachedCredentials() {
+        // Arrange
+        setupSecurityContext("test@email.com", "USER");
+        User updatedData = new User();
+        updatedData.setName("Updated Name");
+        updatedData.setEmail("test@email.com");
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(testUser);
+
+        // Act
+        userService.update(1L, updatedData);
+
+        // Assert
+        verify(passwordEncoder, never()).encode(any());
+        verify(credentialCache, never()).invalidate(any());
+    }
+
+    @Test
+    void testUpdate_IfMatchCurrentOrWildcard_Updates() {
+        // Arrange
+        setupSecurityContext("test@email.com", "USER");
+        testUser.setVersion(7L);
+        User updatedData = new User();
+        updatedData.setName("Updated Name");
+        updatedData.setEmail("test@email.com");
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(testUser);
+
+        // Act
+        userService.update(1L, updatedData, "\"6\", \"7\"");
+        userService.update(1L, updatedData, "*");
+
+        // Assert
+        verify(userRepository, times(2)).saveAndFlush(testUser);
+        assertThrows(PreconditionFailedException.class, () -> userService.update(1L, updatedData, "W/\"7\""));
     }
 
     @Test
@@ -148,15 +275,70 @@ class UserServiceManagerTest {
     @Test
     void testDeleteById_UserExists_DeletesSuccessfully() {
         // Arrange
+        setupSecurityContext("admin@email.com", "ADMIN");
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        doNothing().when(userRepository).deleteById(1L);
+        when(productRepository.findDTOsByUserId(1L, PageRequest.of(0, 500))).thenReturn(List.of());
 
         // Act
         userService.deleteById(1L);
 
         // Assert
         verify(userRepository, times(1)).findById(1L);
-        verify(userRepository, times(1)).deleteById(1L);
+        verify(userRepository, times(1)).deleteByIdDirectly(1L);
+        verify(productRepository, never()).deleteAllByIdIn(any());
+        verify(credentialCache, times(1)).invalidate("test@email.com");
+        verify(eventPublisher).publishEvent(UserChangedEvent.of(UserChangedEvent.Type.DELETED, testUser));
+    }
+
+    @Test
+    void testDeleteById_WithProducts_DeletesInChunks() {
+        // Arrange
+        ReflectionTestUtils.setField(userService, "deleteChunkSize", 2);
+        setupSecurityContext("admin@email.com", "ADMIN");
+        ProductDTO p1 = new ProductDTO(10L, "Uno", 1.0, 1L, "Test User");
+        ProductDTO p2 = new ProductDTO(11L, "Dos", 2.0, 1L, "Test User");
+        ProductDTO p3 = new ProductDTO(12L, "Tres", 3.0, 1L, "Test User");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(productRepository.findDTOsByUserId(1L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(p1, p2))
+                .thenReturn(List.of(p3));
+
+        // Act
+        userService.deleteById(1L);
+
+        // Assert: un DELETE por bloque y ninguna entidad Product cargada
+        verify(productRepository).deleteAllByIdIn(List.of(10L, 11L));
+        verify(productRepository).deleteAllByIdIn(List.of(12L));
+        verify(productRepository, never()).findById(anyLong());
+        verify(userRepository).deleteByIdDirectly(1L);
+        verify(eventPublisher).publishEvent(
+                new ProductChangedEvent(ProductChangedEvent.Type.DELETED, 12L, "Tres", 3.0, 1L));
+    }
+
+    @Test
+    void testDeleteInChunks_ProductAddedAfterLastChunk_DeletedWithTheUser() {
+        // Arrange: tras los bloques [10, 11] y [12] aparece el producto 13 antes de borrar al usuario
+        ReflectionTestUtils.setField(userService, "deleteChunkSize", 2);
+        setupSecurityContext("admin@email.com", "ADMIN");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(productRepository.findDTOsByUserId(1L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(new ProductDTO(10L, "Uno", 1.0, 1L, "Test User"),
+                        new ProductDTO(11L, "Dos", 2.0, 1L, "Test User")))
+                .thenReturn(List.of(new ProductDTO(12L, "Tres", 3.0, 1L, "Test User")))
+                .thenReturn(List.of(new ProductDTO(13L, "Nuevo", 4.0, 1L, "Test User")))
+                .thenReturn(List.of());
+        List<Long> progress = new ArrayList<>();
+
+        // Act
+        userService.deleteInChunks(1L, progress::add);
+
+        // Assert: el producto nuevo y el usuario se borran en la misma (tercera) transacción
+        InOrder inOrder = inOrder(transactionManager, productRepository, userRepository);
+        inOrder.verify(transactionManager, calls(2)).commit(any());
+        inOrder.verify(productRepository).deleteAllByIdIn(List.of(13L));
+        inOrder.verify(userRepository).deleteByIdDirectly(1L);
+        inOrder.verify(transactionManager).commit(any());
+        assertEquals(List.of(2L, 1L, 1L), progress);
     }
 
     @Test
@@ -169,6 +351,8 @@ class UserServiceManagerTest {
             userService.deleteById(999L);
         });
         verify(userRepository, times(1)).findById(999L);
-        verify(userRepository, never()).deleteById(anyLong());
+        verify(userRepository, never()).deleteByIdDirectly(anyLong());
+        verifyNoInteractions(productRepository);
+        verifyNoInteractions(eventPublisher);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,113 @@
+package net.miPrimerCRUD.app.CRUD.sql;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatisticsFilterTest {
+
+    private static final String SELECT_USER = "select u1_0.id,u1_0.name from users u1_0 where u1_0.id=?";
+
+    private SimpleMeterRegistry registry;
+    private AsyncSqlLogger sqlLogger;
+    private SqlStatisticsListener listener;
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        sqlLogger = new AsyncSqlLogger(100, registry);
+        listener = new SqlStatisticsListener(Duration.ofMillis(500), sqlLogger, registry);
+        request = new MockHttpServletRequest("GET", "/api/products/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/products/{id}");
+    }
+
+    @AfterEach
+    void tearDown() {
+        sqlLogger.close();
+    }
+
+    private void execute(String sql, long elapsedMillis) {
+        ExecutionInfo executionInfo = new ExecutionInfo();
+        executionInfo.setElapsedTime(elapsedMillis);
+        listener.afterQuery(executionInfo, List.of(new QueryInfo(sql)));
+    }
+
+    // Simula el controlador: resuelve el endpoint con su presupuesto y ejecuta las sentencias indicadas
+    private FilterChain handler(int budget, String... statements) {
+        return (req, res) -> {
+            new QueryBudgetInterceptor().preHandle(request, new MockHttpServletResponse(), null);
+            RequestSqlStats.current().setBudget(budget);
+            for (String sql : statements) {
+                execute(sql, 1);
+            }
+        };
+    }
+
+    private SqlStatisticsFilter filter(boolean failOnBudgetExceeded) {
+        return new SqlStatisticsFilter(sqlLogger, registry, 5, 0.0, failOnBudgetExceeded);
+    }
+
+    @Test
+    void testBudgetExceeded_FailMode_Throws() {
+        // Arrange
+        FilterChain chain = handler(2, "select 1", "select 2", "update products set name=? where id=?");
+
+        // Act & Assert
+        QueryBudgetExceededException ex = assertThrows(QueryBudgetExceededException.class,
+                () -> filter(true).doFilter(request, new MockHttpServletResponse(), chain));
+        assertTrue(ex.getMessage().contains("GET /api/products/{id}"));
+        assertEquals(1, registry.get("app.sql.budget_exceeded").counter().count());
+        assertNull(RequestSqlStats.current());
+    }
+
+    @Test
+    void testBudgetExceeded_WarnMode_OnlyCounts() throws Exception {
+        // Arrange
+        FilterChain chain = handler(1, "select 1", "select 2");
+
+        // Act
+        filter(false).doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertEquals(1, registry.get("app.sql.budget_exceeded").counter().count());
+        assertEquals(2.0, registry.get("app.sql.statements").tag("endpoint", "GET /api/products/{id}").summary().totalAmount());
+    }
+
+    @Test
+    void testRepeatedSelect_FlaggedAsNPlusOne() throws Exception {
+        // Arrange
+        FilterChain chain = handler(RequestSqlStats.NO_BUDGET,
+                "select p1_0.id from products p1_0", SELECT_USER, SELECT_USER, SELECT_USER, SELECT_USER, SELECT_USER);
+
+        // Act
+        filter(true).doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertEquals(1, registry.get("app.sql.n_plus_one").counter().count());
+        assertEquals(0, registry.get("app.sql.budget_exceeded").counter().count());
+    }
+
+    @Test
+    void testSlowQuery_OutsideRequest_Counted() {
+        // Act
+        execute("select * from products", 800);
+        execute("select * from users", 10);
+
+        // Assert
+        assertNull(RequestSqlStats.current());
+        assertEquals(1, registry.get("app.sql.slow").counter().count());
+    }
+}